@@ -0,0 +1,92 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.management.CatalogoMetersService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.function.Supplier;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base H2 en memoria con el esquema de Liquibase, para los benchmarks que leen o escriben el catálogo sin levantar el
+ * contexto de Spring.
+ */
+final class BaseDatosBenchmark implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+
+    private final TransactionTemplate transactionTemplate;
+
+    BaseDatosBenchmark() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=MYSQL");
+        dataSource.setUsername("servidorApi");
+        dataSource.setMaximumPoolSize(2);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:config/liquibase/master.xml");
+        liquibase.setContexts("test");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        try {
+            liquibase.afterPropertiesSet();
+        } catch (Exception e) {
+            dataSource.close();
+            throw new IllegalStateException("No se pudo crear el esquema", e);
+        }
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * @return el servicio de sincronización sobre esta base, con una caché de segundo nivel que no hace nada.
+     */
+    SincronizacionCatalogoService sincronizacion() {
+        return new SincronizacionCatalogoService(
+            new NamedParameterJdbcTemplate(dataSource),
+            entityManagerFactorySinCache(),
+            new ObjectMapper(),
+            new CatalogoMetersService(new SimpleMeterRegistry())
+        );
+    }
+
+    <T> T enTransaccion(Supplier<T> accion) {
+        return transactionTemplate.execute(status -> accion.get());
+    }
+
+    void vaciarCatalogo() {
+        transactionTemplate.executeWithoutResult(status -> {
+            JdbcTemplate jdbcTemplate = jdbcTemplate();
+            for (String tabla : new String[] { "opcion", "personalizacion", "caracteristica", "adicional", "dispositivo" }) {
+                jdbcTemplate.update("delete from " + tabla);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private static EntityManagerFactory entityManagerFactorySinCache() {
+        ClassLoader classLoader = BaseDatosBenchmark.class.getClassLoader();
+        Cache cache = (Cache) Proxy.newProxyInstance(classLoader, new Class<?>[] { Cache.class }, (proxy, method, args) -> null);
+        return (EntityManagerFactory) Proxy.newProxyInstance(
+            classLoader,
+            new Class<?>[] { EntityManagerFactory.class },
+            (proxy, method, args) -> "getCache".equals(method.getName()) ? cache : null
+        );
+    }
+}
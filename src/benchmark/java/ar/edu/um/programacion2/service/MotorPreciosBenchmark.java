@@ -0,0 +1,117 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.externo.CatalogoSintetico;
+import ar.edu.um.programacion2.service.dto.CotizacionDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Mide el cálculo del precio de una venta que hace {@link VentaService#registrarVenta(VentaRequest)} a través de
+ * {@link MotorPreciosService#cotizar(VentaRequest)}, y la recarga de la tabla de precios que sigue a cada
+ * sincronización. Cada venta elige una opción de cada personalización y todos los adicionales de su dispositivo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MotorPreciosBenchmark {
+
+    @Param({ "100", "10000" })
+    public int dispositivos;
+
+    private BaseDatosBenchmark baseDatos;
+
+    private MotorPreciosService motorPreciosService;
+
+    private VentaRequest[] ventas;
+
+    @Setup(Level.Trial)
+    public void cargarCatalogo() {
+        baseDatos = new BaseDatosBenchmark();
+        SincronizacionCatalogoService sincronizacion = baseDatos.sincronizacion();
+        baseDatos.enTransaccion(() -> sincronizacion.sincronizar(CatalogoSintetico.generar(dispositivos, 0)));
+        JdbcTemplate jdbcTemplate = baseDatos.jdbcTemplate();
+        motorPreciosService = new MotorPreciosService(jdbcTemplate);
+        motorPreciosService.recargar();
+        ventas = ventas(jdbcTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrarBaseDatos() {
+        baseDatos.close();
+    }
+
+    /**
+     * Recorre las ventas en orden, una por llamada, para no medir siempre las mismas entradas de los mapas.
+     */
+    @State(Scope.Thread)
+    public static class Siguiente {
+
+        int posicion;
+    }
+
+    @Benchmark
+    public CotizacionDTO cotizar(Siguiente siguiente) {
+        VentaRequest venta = ventas[siguiente.posicion];
+        siguiente.posicion = (siguiente.posicion + 1) % ventas.length;
+        return motorPreciosService.cotizar(venta);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public MotorPreciosService.Cotizador recargar() {
+        motorPreciosService.recargar();
+        return motorPreciosService.instantanea();
+    }
+
+    private static VentaRequest[] ventas(JdbcTemplate jdbcTemplate) {
+        Map<Long, VentaRequest> porDispositivo = new LinkedHashMap<>();
+        jdbcTemplate.query("select id from dispositivo order by id", rs -> {
+            VentaRequest venta = new VentaRequest();
+            venta.setIdDispositivo(rs.getLong("id"));
+            venta.setPersonalizaciones(new ArrayList<>());
+            venta.setAdicionales(new ArrayList<>());
+            porDispositivo.put(venta.getIdDispositivo(), venta);
+        });
+        Map<Long, VentaRequest.PersonalizacionRequest> porPersonalizacion = new LinkedHashMap<>();
+        jdbcTemplate.query("select id, dispositivo_id from personalizacion order by id", rs -> {
+            VentaRequest.PersonalizacionRequest personalizacion = new VentaRequest.PersonalizacionRequest();
+            personalizacion.setId(rs.getLong("id"));
+            porDispositivo.get(rs.getLong("dispositivo_id")).getPersonalizaciones().add(personalizacion);
+            porPersonalizacion.put(personalizacion.getId(), personalizacion);
+        });
+        // La última opción de cada personalización, que es la de mayor recargo
+        jdbcTemplate.query("select id, personalizacion_id from opcion order by id", rs -> {
+            VentaRequest.OpcionRequest opcion = new VentaRequest.OpcionRequest();
+            opcion.setId(rs.getLong("id"));
+            porPersonalizacion.get(rs.getLong("personalizacion_id")).setOpcion(opcion);
+        });
+        jdbcTemplate.query("select id, dispositivo_id from adicional order by id", rs -> {
+            VentaRequest.AdicionalRequest adicional = new VentaRequest.AdicionalRequest();
+            adicional.setId(rs.getLong("id"));
+            porDispositivo.get(rs.getLong("dispositivo_id")).getAdicionales().add(adicional);
+        });
+        List<VentaRequest> ventas = new ArrayList<>(porDispositivo.values());
+        return ventas.toArray(VentaRequest[]::new);
+    }
+}
@@ -0,0 +1,96 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.externo.CatalogoSintetico;
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide la fusión de los dispositivos externos con el catálogo local que hace
+ * {@link SincronizacionCatalogoService#sincronizar(List)}, contra H2 en memoria, en sus tres casos: un catálogo nuevo,
+ * uno sin cambios (sólo se comparan las huellas) y uno con todos los precios cambiados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SincronizacionCatalogoBenchmark {
+
+    @Param({ "100", "1000" })
+    public int dispositivos;
+
+    private BaseDatosBenchmark baseDatos;
+
+    private SincronizacionCatalogoService sincronizacion;
+
+    private List<DispositivoExternoDTO> catalogo;
+
+    private List<DispositivoExternoDTO> catalogoConOtrosPrecios;
+
+    private int sincronizaciones;
+
+    @Setup(Level.Trial)
+    public void crearBaseDatos() {
+        baseDatos = new BaseDatosBenchmark();
+        sincronizacion = baseDatos.sincronizacion();
+        catalogo = CatalogoSintetico.generar(dispositivos, 0);
+        catalogoConOtrosPrecios = CatalogoSintetico.generar(dispositivos, 1);
+    }
+
+    @Setup(Level.Iteration)
+    public void cargarCatalogo() {
+        baseDatos.vaciarCatalogo();
+        baseDatos.enTransaccion(() -> sincronizacion.sincronizar(catalogo));
+        sincronizaciones = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrarBaseDatos() {
+        baseDatos.close();
+    }
+
+    @Benchmark
+    public ResultadoSincronizacionDTO sincronizarSinCambios() {
+        return baseDatos.enTransaccion(() -> sincronizacion.sincronizar(catalogo));
+    }
+
+    @Benchmark
+    public ResultadoSincronizacionDTO sincronizarConCambios() {
+        // Alterna entre las dos versiones de los precios para que cada llamada reescriba todos los dispositivos
+        List<DispositivoExternoDTO> siguiente = sincronizaciones++ % 2 == 0 ? catalogoConOtrosPrecios : catalogo;
+        return baseDatos.enTransaccion(() -> sincronizacion.sincronizar(siguiente));
+    }
+
+    /**
+     * Importa el catálogo en una base vacía; el catálogo anterior se borra antes de cada llamada, fuera de la medición.
+     */
+    @State(Scope.Thread)
+    public static class BaseVacia {
+
+        @Setup(Level.Invocation)
+        public void vaciar(SincronizacionCatalogoBenchmark benchmark) {
+            benchmark.baseDatos.vaciarCatalogo();
+        }
+    }
+
+    @Benchmark
+    public ResultadoSincronizacionDTO importarCatalogo(BaseVacia baseVacia) {
+        return baseDatos.enTransaccion(() -> sincronizacion.sincronizar(catalogo));
+    }
+}
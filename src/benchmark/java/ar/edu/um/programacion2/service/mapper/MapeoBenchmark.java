@@ -0,0 +1,114 @@
+package ar.edu.um.programacion2.service.mapper;
+
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.DispositivoDTO;
+import ar.edu.um.programacion2.service.dto.VentaDTO;
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mide las conversiones de {@link VentaMapper} y {@link DispositivoMapper} sobre una página de ventas, cada una con su
+ * dispositivo, {@value #PERSONALIZACIONES} personalizaciones con su opción y {@value #ADICIONALES} adicionales.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoBenchmark {
+
+    private static final int PERSONALIZACIONES = 3;
+
+    private static final int ADICIONALES = 4;
+
+    @Param({ "20", "1000" })
+    public int ventas;
+
+    private final VentaMapper ventaMapper = new VentaMapperImpl();
+
+    private final DispositivoMapper dispositivoMapper = new DispositivoMapperImpl();
+
+    private List<Venta> entidades;
+
+    private List<VentaDTO> dtos;
+
+    private List<Dispositivo> dispositivos;
+
+    private List<DispositivoDTO> dispositivoDtos;
+
+    @Setup(Level.Trial)
+    public void generarVentas() {
+        entidades = new ArrayList<>(ventas);
+        dispositivos = new ArrayList<>(ventas);
+        ZonedDateTime fecha = ZonedDateTime.of(2001, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int v = 0; v < ventas; v++) {
+            Dispositivo dispositivo = new Dispositivo()
+                .id((long) v + 1)
+                .idExterno((long) v + 1)
+                .codigo("BENCH-" + v)
+                .nombre("Dispositivo " + v)
+                .descripcion("Dispositivo sintético " + v)
+                .precioBase(BigDecimal.valueOf(1000 + v, 2))
+                .moneda(Moneda.USD);
+            Venta venta = new Venta()
+                .id((long) v + 1)
+                .fechaVenta(fecha.plusMinutes(v))
+                .precioFinal(BigDecimal.valueOf(150000 + v, 2))
+                .dispositivo(dispositivo);
+            for (int p = 0; p < PERSONALIZACIONES; p++) {
+                long id = (long) v * PERSONALIZACIONES + p + 1;
+                venta.addPersonalizaciones(new Personalizacion().id(id).nombre("Personalización " + p));
+                venta.addOpciones(new Opcion().id(id).codigo("OPC-" + p).precioAdicional(BigDecimal.TEN));
+            }
+            for (int a = 0; a < ADICIONALES; a++) {
+                venta.addAdicionales(new Adicional().id((long) v * ADICIONALES + a + 1).nombre("Adicional " + a).precio(BigDecimal.ONE));
+            }
+            entidades.add(venta);
+            dispositivos.add(dispositivo);
+        }
+        dtos = ventaMapper.toDto(entidades);
+        dispositivoDtos = dispositivoMapper.toDto(dispositivos);
+    }
+
+    @Benchmark
+    public List<VentaDTO> ventaADto() {
+        return ventaMapper.toDto(entidades);
+    }
+
+    @Benchmark
+    public List<Venta> ventaAEntidad() {
+        return ventaMapper.toEntity(dtos);
+    }
+
+    @Benchmark
+    public List<DispositivoDTO> dispositivoADto() {
+        return dispositivoMapper.toDto(dispositivos);
+    }
+
+    @Benchmark
+    public List<Dispositivo> dispositivoAEntidad() {
+        return dispositivoMapper.toEntity(dispositivoDtos);
+    }
+}
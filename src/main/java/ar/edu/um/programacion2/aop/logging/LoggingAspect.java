@@ -1,30 +1,54 @@
 package ar.edu.um.programacion2.aop.logging;
 
+import ar.edu.um.programacion2.management.TrazasMetersService;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import org.springframework.util.ClassUtils;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
+ * Aspect for logging and timing execution of service, repository and REST resource Spring components.
  *
- * By default, it only runs with the "dev" profile.
+ * Each call of a traced method (see {@link ReglasTrazas}) is timed with a probability equal to the sampling rate, and
+ * the arguments and result are only turned into strings when the method's logger is at debug level. What each method
+ * needs (its logger, its timer, whether it is traced) is resolved on its first call and again only after the rules
+ * change, so an untraced or unsampled call costs a map lookup and a random number.
+ * <p>
+ * Exceptions, including the arguments of a call rejected with an {@link IllegalArgumentException}, are only logged in
+ * the development profile, as before the aspect ran in every profile, and only for traced methods: outside development
+ * an exception is logged once, where it is handled, and not again by each layer it goes through.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    private final boolean desarrollo;
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private final ReglasTrazas reglasTrazas;
+
+    private final TrazasMetersService trazasMetersService;
+
+    private final Map<Class<?>, Map<Method, Traza>> trazas = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, ReglasTrazas reglasTrazas, TrazasMetersService trazasMetersService) {
+        this.desarrollo = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.reglasTrazas = reglasTrazas;
+        this.trazasMetersService = trazasMetersService;
     }
 
     /**
@@ -62,32 +86,27 @@ public class LoggingAspect {
     }
 
     /**
-     * Advice that logs methods throwing exceptions.
+     * Advice that logs traced methods throwing exceptions, in the development profile only.
      *
      * @param joinPoint join point for advice.
      * @param e exception.
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            logger(joinPoint).error(
-                "Exception in {}() with cause = '{}' and exception = '{}'",
-                joinPoint.getSignature().getName(),
-                e.getCause() != null ? e.getCause() : "NULL",
-                e.getMessage(),
-                e
-            );
-        } else {
-            logger(joinPoint).error(
-                "Exception in {}() with cause = {}",
-                joinPoint.getSignature().getName(),
-                e.getCause() != null ? String.valueOf(e.getCause()) : "NULL"
-            );
+        if (!desarrollo || !traza(joinPoint).isTrazada()) {
+            return;
         }
+        logger(joinPoint).error(
+            "Exception in {}() with cause = '{}' and exception = '{}'",
+            joinPoint.getSignature().getName(),
+            e.getCause() != null ? e.getCause() : "NULL",
+            e.getMessage(),
+            e
+        );
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that times a sample of the calls to a method and logs when it is entered and exited.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -95,19 +114,92 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger log = logger(joinPoint);
+        Traza traza = traza(joinPoint);
+        if (!traza.isTrazada()) {
+            return joinPoint.proceed();
+        }
+        Logger log = traza.log;
         if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            log.debug("Enter: {}() with argument[s] = {}", traza.metodo, Arrays.toString(joinPoint.getArgs()));
         }
+        double tasaMuestreo = reglasTrazas.getTasaMuestreo();
+        boolean medida = tasaMuestreo > 0 && (tasaMuestreo >= 1 || ThreadLocalRandom.current().nextDouble() < tasaMuestreo);
+        long inicio = medida ? System.nanoTime() : 0;
         try {
             Object result = joinPoint.proceed();
             if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+                log.debug("Exit: {}() with result = {}", traza.metodo, result);
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            if (desarrollo && log.isErrorEnabled()) {
+                log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), traza.metodo);
+            }
             throw e;
+        } finally {
+            if (medida) {
+                traza.timer().record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Traza traza(JoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        Class<?> tipo = target != null ? target.getClass() : joinPoint.getSignature().getDeclaringType();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, Traza> delTipo = trazas.get(tipo);
+        if (delTipo == null) {
+            delTipo = trazas.computeIfAbsent(tipo, t -> new ConcurrentHashMap<>());
+        }
+        Traza traza = delTipo.get(method);
+        if (traza == null) {
+            traza = delTipo.computeIfAbsent(method, m -> new Traza(ClassUtils.getUserClass(tipo), m.getName()));
+        }
+        return traza;
+    }
+
+    /**
+     * What the advice needs for one method of one bean.
+     */
+    private final class Traza {
+
+        private final Class<?> clase;
+
+        private final String metodo;
+
+        private final Logger log;
+
+        private volatile Timer timer;
+
+        /**
+         * The version of the rules whether the method is traced was last computed with, shifted left by one, plus one
+         * if it is traced; -1 before the first call.
+         */
+        private volatile long estado = -1;
+
+        Traza(Class<?> clase, String metodo) {
+            this.clase = clase;
+            this.metodo = metodo;
+            this.log = LoggerFactory.getLogger(clase);
+        }
+
+        boolean isTrazada() {
+            long actual = estado;
+            int version = reglasTrazas.getVersion();
+            if (actual < 0 || (actual >>> 1) != version) {
+                actual = ((long) version << 1) | (reglasTrazas.isTrazada(clase.getName()) ? 1 : 0);
+                estado = actual;
+            }
+            return (actual & 1) == 1;
+        }
+
+        Timer timer() {
+            Timer actual = timer;
+            if (actual == null) {
+                actual = trazasMetersService.timerForMetodo(clase.getSimpleName(), metodo);
+                timer = actual;
+            }
+            return actual;
         }
     }
 }
@@ -0,0 +1,92 @@
+package ar.edu.um.programacion2.aop.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Qué paquetes o clases traza el {@link LoggingAspect} y qué fracción de sus llamadas mide. Las reglas se pueden
+ * cambiar en caliente; cada cambio sube la {@link #getVersion() versión}, para que el aspecto vuelva a evaluar las
+ * reglas de un método solo después de un cambio.
+ */
+public class ReglasTrazas {
+
+    private volatile double tasaMuestreo;
+
+    private volatile Map<String, Boolean> paquetes;
+
+    private volatile int version;
+
+    /**
+     * @param tasaMuestreo la fracción de las llamadas cuya duración se mide, entre 0 y 1.
+     * @param paquetes las reglas iniciales, por paquete o clase.
+     */
+    public ReglasTrazas(double tasaMuestreo, Map<String, Boolean> paquetes) {
+        setTasaMuestreo(tasaMuestreo);
+        this.paquetes = Collections.unmodifiableMap(new TreeMap<>(paquetes));
+    }
+
+    public double getTasaMuestreo() {
+        return tasaMuestreo;
+    }
+
+    public void setTasaMuestreo(double tasaMuestreo) {
+        if (!(tasaMuestreo >= 0 && tasaMuestreo <= 1)) {
+            throw new IllegalArgumentException("La tasa de muestreo debe estar entre 0 y 1: " + tasaMuestreo);
+        }
+        this.tasaMuestreo = tasaMuestreo;
+    }
+
+    /**
+     * @return las reglas vigentes, ordenadas por paquete.
+     */
+    public Map<String, Boolean> getPaquetes() {
+        return paquetes;
+    }
+
+    /**
+     * @param paquete el paquete o la clase, con su nombre completo.
+     * @param trazado si sus métodos se trazan.
+     */
+    public synchronized void configurar(String paquete, boolean trazado) {
+        Map<String, Boolean> nuevos = new TreeMap<>(paquetes);
+        nuevos.put(paquete, trazado);
+        paquetes = Collections.unmodifiableMap(nuevos);
+        version++;
+    }
+
+    /**
+     * @param paquete el paquete o la clase cuya regla se quita, para que pase a valer la del paquete que lo contiene.
+     */
+    public synchronized void quitar(String paquete) {
+        if (paquetes.containsKey(paquete)) {
+            Map<String, Boolean> nuevos = new TreeMap<>(paquetes);
+            nuevos.remove(paquete);
+            paquetes = Collections.unmodifiableMap(nuevos);
+            version++;
+        }
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * @param clase el nombre completo de la clase.
+     * @return si se traza, según la regla más específica que la abarca; sin reglas se traza.
+     */
+    boolean isTrazada(String clase) {
+        String nombre = clase;
+        while (true) {
+            Boolean trazado = paquetes.get(nombre);
+            if (trazado != null) {
+                return trazado;
+            }
+            int punto = nombre.lastIndexOf('.');
+            if (punto < 0) {
+                return true;
+            }
+            nombre = nombre.substring(0, punto);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ar.edu.um.programacion2.aop.sql;
+
+import ar.edu.um.programacion2.management.ConsultasSqlMetersService;
+import ar.edu.um.programacion2.management.EstadisticasSql;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Aspect for recording the SQL statements executed by each call to a service method.
+ *
+ * Calls that execute no statement are not recorded, so methods that never touch the database don't publish meters.
+ */
+@Aspect
+public class ConsultasSqlAspect {
+
+    private final ConsultasSqlMetersService consultasSqlMetersService;
+
+    public ConsultasSqlAspect(ConsultasSqlMetersService consultasSqlMetersService) {
+        this.consultasSqlMetersService = consultasSqlMetersService;
+    }
+
+    /**
+     * Pointcut that matches all services in the application's service package.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Service *) && within(ar.edu.um.programacion2.service..*)")
+    public void servicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that records the SQL statements executed by a service method, including those of the services it calls.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable if the service method throws.
+     */
+    @Around("servicePointcut()")
+    public Object recordStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        EstadisticasSql estadisticas = EstadisticasSql.delHilo();
+        EstadisticasSql.Medicion antes = estadisticas.medicion();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            EstadisticasSql.Medicion medicion = estadisticas.medicion().desde(antes);
+            if (medicion.sentencias() > 0) {
+                consultasSqlMetersService.trackServicio(
+                    joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+                    medicion
+                );
+            }
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package ar.edu.um.programacion2.config;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Servidor Api.
@@ -13,12 +19,60 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Sincronizacion sincronizacion = new Sincronizacion();
+
+    private final EnvioVentas envioVentas = new EnvioVentas();
+
+    private final CargaVentas cargaVentas = new CargaVentas();
+
+    private final Analitica analitica = new Analitica();
+
+    private final ConsultasSql consultasSql = new ConsultasSql();
+
+    private final Trazas trazas = new Trazas();
+
+    private final Cache cache = new Cache();
+
+    private final ServicioExterno servicioExterno = new ServicioExterno();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Sincronizacion getSincronizacion() {
+        return sincronizacion;
+    }
+
+    public EnvioVentas getEnvioVentas() {
+        return envioVentas;
+    }
+
+    public CargaVentas getCargaVentas() {
+        return cargaVentas;
+    }
+
+    public Analitica getAnalitica() {
+        return analitica;
+    }
+
+    public ConsultasSql getConsultasSql() {
+        return consultasSql;
+    }
+
+    public Trazas getTrazas() {
+        return trazas;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ServicioExterno getServicioExterno() {
+        return servicioExterno;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +87,630 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Sincronizacion {
+
+        /**
+         * Modo de sincronización del catálogo externo.
+         */
+        public enum Modo {
+            /** Lee el catálogo en streaming y escribe por lotes sólo las filas modificadas con batches JDBC. */
+            BATCH,
+            /** Busca y guarda cada entidad por separado a través de los repositorios. */
+            INDIVIDUAL,
+        }
+
+        private Modo modo = Modo.BATCH;
+
+        /**
+         * Cantidad de dispositivos externos que se comparan y escriben juntos en el modo {@link Modo#BATCH}.
+         */
+        private int tamanioLote = 500;
+
+        /**
+         * Si es false la sincronización periódica no se programa; sigue disponible la ejecución manual.
+         */
+        private boolean habilitada = true;
+
+        /**
+         * Demora antes de la primera sincronización después del arranque.
+         */
+        private Duration retrasoInicial = Duration.ZERO;
+
+        /**
+         * Demora entre el fin de una sincronización exitosa y el inicio de la siguiente.
+         */
+        private Duration intervalo = Duration.ofMinutes(2);
+
+        /**
+         * Demora tras la primera falla consecutiva; se duplica con cada falla hasta {@link #backoffMaximo}.
+         */
+        private Duration backoffInicial = Duration.ofSeconds(30);
+
+        private Duration backoffMaximo = Duration.ofMinutes(30);
+
+        public Modo getModo() {
+            return modo;
+        }
+
+        public void setModo(Modo modo) {
+            this.modo = modo;
+        }
+
+        public int getTamanioLote() {
+            return tamanioLote;
+        }
+
+        public void setTamanioLote(int tamanioLote) {
+            this.tamanioLote = tamanioLote;
+        }
+
+        public boolean isHabilitada() {
+            return habilitada;
+        }
+
+        public void setHabilitada(boolean habilitada) {
+            this.habilitada = habilitada;
+        }
+
+        public Duration getRetrasoInicial() {
+            return retrasoInicial;
+        }
+
+        public void setRetrasoInicial(Duration retrasoInicial) {
+            this.retrasoInicial = retrasoInicial;
+        }
+
+        public Duration getIntervalo() {
+            return intervalo;
+        }
+
+        public void setIntervalo(Duration intervalo) {
+            this.intervalo = intervalo;
+        }
+
+        public Duration getBackoffInicial() {
+            return backoffInicial;
+        }
+
+        public void setBackoffInicial(Duration backoffInicial) {
+            this.backoffInicial = backoffInicial;
+        }
+
+        public Duration getBackoffMaximo() {
+            return backoffMaximo;
+        }
+
+        public void setBackoffMaximo(Duration backoffMaximo) {
+            this.backoffMaximo = backoffMaximo;
+        }
+    }
+
+    public static class EnvioVentas {
+
+        /**
+         * Si es false las ventas se siguen encolando pero no se envían al servicio externo.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Demora entre el fin de un despacho y el inicio del siguiente.
+         */
+        private Duration intervalo = Duration.ofSeconds(1);
+
+        /**
+         * Cantidad máxima de ventas pendientes que se leen y envían en cada despacho.
+         */
+        private int tamanioLote = 50;
+
+        /**
+         * Cantidad máxima de envíos en curso al mismo tiempo dentro de un lote.
+         */
+        private int concurrencia = 4;
+
+        /**
+         * Tiempo máximo de espera de la respuesta del servicio externo para cada venta.
+         */
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Demora tras el primer intento fallido de una venta; se duplica con cada intento hasta {@link #backoffMaximo}.
+         */
+        private Duration backoffInicial = Duration.ofSeconds(5);
+
+        private Duration backoffMaximo = Duration.ofMinutes(10);
+
+        /**
+         * Intentos tras los cuales una venta se deja de reintentar y queda registrada como descartada.
+         */
+        private int intentosMaximos = 20;
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public Duration getIntervalo() {
+            return intervalo;
+        }
+
+        public void setIntervalo(Duration intervalo) {
+            this.intervalo = intervalo;
+        }
+
+        public int getTamanioLote() {
+            return tamanioLote;
+        }
+
+        public void setTamanioLote(int tamanioLote) {
+            this.tamanioLote = tamanioLote;
+        }
+
+        public int getConcurrencia() {
+            return concurrencia;
+        }
+
+        public void setConcurrencia(int concurrencia) {
+            this.concurrencia = concurrencia;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getBackoffInicial() {
+            return backoffInicial;
+        }
+
+        public void setBackoffInicial(Duration backoffInicial) {
+            this.backoffInicial = backoffInicial;
+        }
+
+        public Duration getBackoffMaximo() {
+            return backoffMaximo;
+        }
+
+        public void setBackoffMaximo(Duration backoffMaximo) {
+            this.backoffMaximo = backoffMaximo;
+        }
+
+        public int getIntentosMaximos() {
+            return intentosMaximos;
+        }
+
+        public void setIntentosMaximos(int intentosMaximos) {
+            this.intentosMaximos = intentosMaximos;
+        }
+    }
+
+    public static class CargaVentas {
+
+        /**
+         * Cantidad de ventas que se registran en cada transacción; si una escritura falla se rechaza sólo su tramo.
+         */
+        private int tamanioTramo = 100;
+
+        /**
+         * Cantidad máxima de ventas aceptadas en una carga; el resto del cuerpo no se lee.
+         */
+        private int maximoVentas = 5000;
+
+        public int getTamanioTramo() {
+            return tamanioTramo;
+        }
+
+        public void setTamanioTramo(int tamanioTramo) {
+            this.tamanioTramo = tamanioTramo;
+        }
+
+        public int getMaximoVentas() {
+            return maximoVentas;
+        }
+
+        public void setMaximoVentas(int maximoVentas) {
+            this.maximoVentas = maximoVentas;
+        }
+    }
+
+    public static class Analitica {
+
+        /**
+         * Zona horaria en la que se agrupan las ventas por día. Si se cambia hay que reconstruir los resúmenes.
+         */
+        private ZoneId zonaHoraria = ZoneOffset.UTC;
+
+        /**
+         * Cantidad máxima de días que puede abarcar una consulta de analítica.
+         */
+        private int maximoDias = 366;
+
+        public ZoneId getZonaHoraria() {
+            return zonaHoraria;
+        }
+
+        public void setZonaHoraria(ZoneId zonaHoraria) {
+            this.zonaHoraria = zonaHoraria;
+        }
+
+        public int getMaximoDias() {
+            return maximoDias;
+        }
+
+        public void setMaximoDias(int maximoDias) {
+            this.maximoDias = maximoDias;
+        }
+    }
+
+    public static class ConsultasSql {
+
+        /**
+         * Si se miden las sentencias SQL de cada petición. Se lee al arrancar.
+         */
+        private boolean habilitadas = true;
+
+        /**
+         * Si además se miden las sentencias de cada llamada a un método de un servicio. Se lee al arrancar.
+         */
+        private boolean porServicio = true;
+
+        /**
+         * Tiempo a partir del cual una sentencia se registra como lenta; cero para no registrarlas.
+         */
+        private Duration umbralLenta = Duration.ofMillis(500);
+
+        public boolean isHabilitadas() {
+            return habilitadas;
+        }
+
+        public void setHabilitadas(boolean habilitadas) {
+            this.habilitadas = habilitadas;
+        }
+
+        public boolean isPorServicio() {
+            return porServicio;
+        }
+
+        public void setPorServicio(boolean porServicio) {
+            this.porServicio = porServicio;
+        }
+
+        public Duration getUmbralLenta() {
+            return umbralLenta;
+        }
+
+        public void setUmbralLenta(Duration umbralLenta) {
+            this.umbralLenta = umbralLenta;
+        }
+    }
+
+    public static class Trazas {
+
+        /**
+         * Si el aspecto de trazas envuelve los repositorios, servicios y recursos REST. Se lee al arrancar.
+         */
+        private boolean habilitadas = true;
+
+        /**
+         * Fracción de las llamadas cuya duración se mide, entre 0 y 1. Se puede cambiar en caliente.
+         */
+        private double tasaMuestreo = 0.1;
+
+        /**
+         * Paquetes o clases trazados ({@code true}) o no ({@code false}); gana la regla más específica y lo que no
+         * tiene regla se traza. Son las reglas iniciales, que se pueden cambiar en caliente.
+         */
+        private Map<String, Boolean> paquetes = new LinkedHashMap<>();
+
+        public boolean isHabilitadas() {
+            return habilitadas;
+        }
+
+        public void setHabilitadas(boolean habilitadas) {
+            this.habilitadas = habilitadas;
+        }
+
+        public double getTasaMuestreo() {
+            return tasaMuestreo;
+        }
+
+        public void setTasaMuestreo(double tasaMuestreo) {
+            this.tasaMuestreo = tasaMuestreo;
+        }
+
+        public Map<String, Boolean> getPaquetes() {
+            return paquetes;
+        }
+
+        public void setPaquetes(Map<String, Boolean> paquetes) {
+            this.paquetes = paquetes;
+        }
+    }
+
+    /**
+     * Políticas de las regiones de la caché de segundo nivel. Las regiones que no son del catálogo ni de las ventas usan
+     * la configuración de {@code jhipster.cache.ehcache}.
+     */
+    public static class Cache {
+
+        /**
+         * Dispositivo, Caracteristica, Personalizacion, Opcion y Adicional: se leen en cada venta y solo cambian al
+         * sincronizar, que desaloja exactamente lo que actualiza.
+         */
+        private final Politica catalogo = new Politica(10_000, Duration.ofHours(24));
+
+        /**
+         * Venta y sus colecciones: rara vez se vuelven a leer por id, así que se mantienen chicas.
+         */
+        private final Politica ventas = new Politica(200, Duration.ofMinutes(10));
+
+        /**
+         * Políticas por nombre de región, que reemplazan la de su grupo.
+         */
+        private Map<String, Politica> regiones = new LinkedHashMap<>();
+
+        public Politica getCatalogo() {
+            return catalogo;
+        }
+
+        public Politica getVentas() {
+            return ventas;
+        }
+
+        public Map<String, Politica> getRegiones() {
+            return regiones;
+        }
+
+        public void setRegiones(Map<String, Politica> regiones) {
+            this.regiones = regiones;
+        }
+
+        public static class Politica {
+
+            /**
+             * Entradas que la región guarda en el heap.
+             */
+            private long entradas;
+
+            /**
+             * Tiempo que una entrada permanece en la región desde que se guarda.
+             */
+            private Duration ttl;
+
+            /**
+             * Tamaño del nivel fuera del heap que recibe las entradas desalojadas del heap; cero para no usarlo. Necesita
+             * memoria directa suficiente ({@code -XX:MaxDirectMemorySize}).
+             */
+            private DataSize fueraDeHeap = DataSize.ofBytes(0);
+
+            public Politica() {
+                this(1000, Duration.ofHours(1));
+            }
+
+            public Politica(long entradas, Duration ttl) {
+                this.entradas = entradas;
+                this.ttl = ttl;
+            }
+
+            public long getEntradas() {
+                return entradas;
+            }
+
+            public void setEntradas(long entradas) {
+                this.entradas = entradas;
+            }
+
+            public Duration getTtl() {
+                return ttl;
+            }
+
+            public void setTtl(Duration ttl) {
+                this.ttl = ttl;
+            }
+
+            public DataSize getFueraDeHeap() {
+                return fueraDeHeap;
+            }
+
+            public void setFueraDeHeap(DataSize fueraDeHeap) {
+                this.fueraDeHeap = fueraDeHeap;
+            }
+        }
+    }
+
+    /**
+     * Cliente HTTP compartido con el que se leen los dispositivos y se envían las ventas al servicio externo.
+     */
+    public static class ServicioExterno {
+
+        /**
+         * Conexiones abiertas como máximo con el servicio externo; los pedidos que no consiguen una esperan en cola.
+         */
+        private int conexionesMaximas = 16;
+
+        /**
+         * Pedidos que pueden esperar una conexión libre; los siguientes fallan de inmediato.
+         */
+        private int pedidosEnEsperaMaximos = 256;
+
+        /**
+         * Tiempo máximo de espera de una conexión libre.
+         */
+        private Duration esperaConexion = Duration.ofSeconds(5);
+
+        /**
+         * Tiempo máximo para establecer una conexión nueva.
+         */
+        private Duration timeoutConexion = Duration.ofSeconds(5);
+
+        /**
+         * Tiempo máximo entre el envío del pedido y la llegada de los encabezados de la respuesta.
+         */
+        private Duration timeoutRespuesta = Duration.ofSeconds(30);
+
+        /**
+         * Tiempo máximo sin recibir datos mientras se lee el cuerpo de la respuesta, que puede ser un catálogo largo.
+         */
+        private Duration timeoutLectura = Duration.ofSeconds(30);
+
+        /**
+         * Tiempo máximo sin poder escribir el cuerpo del pedido.
+         */
+        private Duration timeoutEscritura = Duration.ofSeconds(10);
+
+        /**
+         * Tiempo tras el cual se cierra una conexión sin usar.
+         */
+        private Duration inactividadMaxima = Duration.ofSeconds(30);
+
+        /**
+         * Tiempo tras el cual se cierra una conexión aunque se siga usando, para repartir la carga si el servicio externo
+         * tiene varias instancias.
+         */
+        private Duration vidaMaxima = Duration.ofMinutes(5);
+
+        /**
+         * Si es true se pide la respuesta comprimida con gzip.
+         */
+        private boolean compresion = true;
+
+        private final Circuito circuito = new Circuito();
+
+        public int getConexionesMaximas() {
+            return conexionesMaximas;
+        }
+
+        public void setConexionesMaximas(int conexionesMaximas) {
+            this.conexionesMaximas = conexionesMaximas;
+        }
+
+        public int getPedidosEnEsperaMaximos() {
+            return pedidosEnEsperaMaximos;
+        }
+
+        public void setPedidosEnEsperaMaximos(int pedidosEnEsperaMaximos) {
+            this.pedidosEnEsperaMaximos = pedidosEnEsperaMaximos;
+        }
+
+        public Duration getEsperaConexion() {
+            return esperaConexion;
+        }
+
+        public void setEsperaConexion(Duration esperaConexion) {
+            this.esperaConexion = esperaConexion;
+        }
+
+        public Duration getTimeoutConexion() {
+            return timeoutConexion;
+        }
+
+        public void setTimeoutConexion(Duration timeoutConexion) {
+            this.timeoutConexion = timeoutConexion;
+        }
+
+        public Duration getTimeoutRespuesta() {
+            return timeoutRespuesta;
+        }
+
+        public void setTimeoutRespuesta(Duration timeoutRespuesta) {
+            this.timeoutRespuesta = timeoutRespuesta;
+        }
+
+        public Duration getTimeoutLectura() {
+            return timeoutLectura;
+        }
+
+        public void setTimeoutLectura(Duration timeoutLectura) {
+            this.timeoutLectura = timeoutLectura;
+        }
+
+        public Duration getTimeoutEscritura() {
+            return timeoutEscritura;
+        }
+
+        public void setTimeoutEscritura(Duration timeoutEscritura) {
+            this.timeoutEscritura = timeoutEscritura;
+        }
+
+        public Duration getInactividadMaxima() {
+            return inactividadMaxima;
+        }
+
+        public void setInactividadMaxima(Duration inactividadMaxima) {
+            this.inactividadMaxima = inactividadMaxima;
+        }
+
+        public Duration getVidaMaxima() {
+            return vidaMaxima;
+        }
+
+        public void setVidaMaxima(Duration vidaMaxima) {
+            this.vidaMaxima = vidaMaxima;
+        }
+
+        public boolean isCompresion() {
+            return compresion;
+        }
+
+        public void setCompresion(boolean compresion) {
+            this.compresion = compresion;
+        }
+
+        public Circuito getCircuito() {
+            return circuito;
+        }
+
+        /**
+         * Corta los pedidos al servicio externo mientras está caído, en lugar de esperar cada vez a que venzan los
+         * timeouts.
+         */
+        public static class Circuito {
+
+            /**
+             * Si es false los pedidos nunca se cortan.
+             */
+            private boolean habilitado = true;
+
+            /**
+             * Fallas seguidas (errores de conexión, timeouts o respuestas 5xx) tras las cuales el circuito se abre.
+             */
+            private int fallasParaAbrir = 5;
+
+            /**
+             * Tiempo que el circuito queda abierto rechazando los pedidos antes de dejar pasar uno de prueba.
+             */
+            private Duration duracionAbierto = Duration.ofSeconds(30);
+
+            public boolean isHabilitado() {
+                return habilitado;
+            }
+
+            public void setHabilitado(boolean habilitado) {
+                this.habilitado = habilitado;
+            }
+
+            public int getFallasParaAbrir() {
+                return fallasParaAbrir;
+            }
+
+            public void setFallasParaAbrir(int fallasParaAbrir) {
+                this.fallasParaAbrir = fallasParaAbrir;
+            }
+
+            public Duration getDuracionAbierto() {
+                return duracionAbierto;
+            }
+
+            public void setDuracionAbierto(Duration duracionAbierto) {
+                this.duracionAbierto = duracionAbierto;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -6,9 +6,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,13 +28,27 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment environment;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment environment) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.environment = environment;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Con spring.threads.virtual.enabled cada tarea corre en un hilo virtual nuevo, sin pool ni cola
+            LOG.debug("Creating Async Task Executor on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            Integer concurrencyLimit = taskExecutionProperties.getSimple().getConcurrencyLimit();
+            if (concurrencyLimit != null) {
+                executor.setConcurrencyLimit(concurrencyLimit);
+            }
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
         LOG.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -2,6 +2,7 @@ package ar.edu.um.programacion2.config;
 
 import java.time.Duration;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,21 +23,41 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final ApplicationProperties.Cache politicas;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+        jcacheConfiguration = jcacheConfiguration(
+            ResourcePoolsBuilder.heap(ehcache.getMaxEntries()),
+            Duration.ofSeconds(ehcache.getTimeToLiveSeconds())
+        );
+        politicas = applicationProperties.getCache();
+    }
+
+    private static javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(
+        ResourcePoolsBuilder resourcePools,
+        Duration ttl
+    ) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
                 .build()
         );
     }
 
+    private static javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(
+        ApplicationProperties.Cache.Politica politica
+    ) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(politica.getEntradas());
+        long fueraDeHeapMb = politica.getFueraDeHeap().toMegabytes();
+        if (fueraDeHeapMb > 0) {
+            // Las entradas se serializan al pasar fuera del heap; las de Hibernate son Serializable
+            resourcePools = resourcePools.offheap(fueraDeHeapMb, MemoryUnit.MB);
+        }
+        return jcacheConfiguration(resourcePools, politica.getTtl());
+    }
+
     @Bean
     public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
@@ -47,30 +68,48 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, ar.edu.um.programacion2.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, ar.edu.um.programacion2.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, ar.edu.um.programacion2.service.IdempotenciaVentasService.VENTAS_POR_CLAVE_CACHE);
             createCache(cm, ar.edu.um.programacion2.domain.User.class.getName());
             createCache(cm, ar.edu.um.programacion2.domain.Authority.class.getName());
             createCache(cm, ar.edu.um.programacion2.domain.User.class.getName() + ".authorities");
-            createCache(cm, ar.edu.um.programacion2.domain.Dispositivo.class.getName());
-            createCache(cm, ar.edu.um.programacion2.domain.Caracteristica.class.getName());
-            createCache(cm, ar.edu.um.programacion2.domain.Personalizacion.class.getName());
-            createCache(cm, ar.edu.um.programacion2.domain.Personalizacion.class.getName() + ".ventas");
-            createCache(cm, ar.edu.um.programacion2.domain.Opcion.class.getName());
-            createCache(cm, ar.edu.um.programacion2.domain.Adicional.class.getName());
-            createCache(cm, ar.edu.um.programacion2.domain.Adicional.class.getName() + ".ventas");
-            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName());
-            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName() + ".personalizaciones");
-            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName() + ".adicionales");
+            createCache(cm, ar.edu.um.programacion2.domain.Dispositivo.class.getName(), politicas.getCatalogo());
+            createCache(cm, ar.edu.um.programacion2.domain.Caracteristica.class.getName(), politicas.getCatalogo());
+            createCache(cm, ar.edu.um.programacion2.domain.Personalizacion.class.getName(), politicas.getCatalogo());
+            createCache(cm, ar.edu.um.programacion2.domain.Opcion.class.getName(), politicas.getCatalogo());
+            createCache(cm, ar.edu.um.programacion2.domain.Adicional.class.getName(), politicas.getCatalogo());
+            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName(), politicas.getVentas());
+            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName() + ".personalizaciones", politicas.getVentas());
+            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName() + ".adicionales", politicas.getVentas());
+            createCache(cm, ar.edu.um.programacion2.domain.Venta.class.getName() + ".opciones", politicas.getVentas());
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, ApplicationProperties.Cache.Politica politica) {
+        ApplicationProperties.Cache.Politica propia = politicas.getRegiones().get(cacheName);
+        createCache(cm, cacheName, jcacheConfiguration(propia != null ? propia : politica));
+    }
+
+    /**
+     * Crea la región con las estadísticas de JCache habilitadas, que Spring Boot publica como métricas {@code cache.*}
+     * con la región en el tag {@code cache}.
+     */
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
@@ -0,0 +1,59 @@
+package ar.edu.um.programacion2.config;
+
+import ar.edu.um.programacion2.aop.sql.ConsultasSqlAspect;
+import ar.edu.um.programacion2.management.ConsultasSqlMetersService;
+import ar.edu.um.programacion2.management.DataSourceMedido;
+import ar.edu.um.programacion2.web.filter.ConsultasSqlFilter;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Measures the SQL statements executed through the application's {@link DataSource}, per HTTP request and per service
+ * method call. See {@link ApplicationProperties.ConsultasSql}.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.consultas-sql", name = "habilitadas", havingValue = "true", matchIfMissing = true)
+public class ConsultasSqlConfiguration {
+
+    /**
+     * Wraps every {@link DataSource} bean, so Hibernate, {@code JdbcTemplate} and Liquibase all go through the
+     * measurement. Static, so this post processor doesn't initialize the configuration class early.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceMedidoPostProcessor(
+        ObjectProvider<ApplicationProperties> applicationProperties,
+        ObjectProvider<ConsultasSqlMetersService> consultasSqlMetersService
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceMedido)) {
+                    return new DataSourceMedido(
+                        dataSource,
+                        applicationProperties.getObject().getConsultasSql().getUmbralLenta(),
+                        consultasSqlMetersService
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConsultasSqlFilter> consultasSqlFilter(ConsultasSqlMetersService consultasSqlMetersService) {
+        return new FilterRegistrationBean<>(new ConsultasSqlFilter(consultasSqlMetersService));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.consultas-sql", name = "por-servicio", havingValue = "true", matchIfMissing = true)
+    public ConsultasSqlAspect consultasSqlAspect(ConsultasSqlMetersService consultasSqlMetersService) {
+        return new ConsultasSqlAspect(consultasSqlMetersService);
+    }
+}
@@ -0,0 +1,157 @@
+package ar.edu.um.programacion2.config;
+
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Caracteristica;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.service.SincronizacionCatalogoService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.util.Objects;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Descarta la huella del contenido externo ({@code hash_contenido}) del dispositivo afectado por cualquier cambio local
+ * en el catálogo, en la misma transacción, para que {@link SincronizacionCatalogoService} no saltee ese subárbol: la
+ * próxima sincronización lo reescribe aunque el payload externo no haya cambiado, y así corrige lo que se modificó
+ * localmente. La sincronización escribe con JDBC, así que no pasa por este listener.
+ */
+@Configuration
+public class DescarteHuellaCatalogoConfiguration {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DescarteHuellaCatalogoConfiguration(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void registrarDescarteHuella() {
+        DescartarHuellaListener listener = new DescartarHuellaListener();
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PRE_UPDATE, listener);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    static class DescartarHuellaListener
+        implements PreUpdateEventListener, PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        private static final String PROPIEDAD_HUELLA = "hashContenido";
+
+        private static final String UPDATE_HUELLA_DISPOSITIVO = "update dispositivo set hash_contenido = null where id = ?";
+        private static final String UPDATE_HUELLA_PERSONALIZACION =
+            "update dispositivo set hash_contenido = null where id = (select dispositivo_id from personalizacion where id = ?)";
+
+        @Override
+        public boolean onPreUpdate(PreUpdateEvent event) {
+            // Una edición local del propio dispositivo se escribe ya sin huella, en el mismo UPDATE
+            if (event.getEntity() instanceof Dispositivo dispositivo && dispositivo.getHashContenido() != null) {
+                dispositivo.setHashContenido(null);
+                event.getState()[event.getPersister().getEntityMetamodel().getPropertyIndex(PROPIEDAD_HUELLA)] = null;
+            }
+            return false;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            descartarHuella(event.getSession(), padre(event.getEntity()));
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            Object padre = padre(event.getEntity());
+            descartarHuella(event.getSession(), padre);
+            // Un hijo que pasó a otro padre también cambia el subárbol del que salió
+            String propiedadPadre = propiedadPadre(event.getEntity());
+            if (propiedadPadre != null && event.getOldState() != null) {
+                Object padreAnterior = event.getOldState()[event.getPersister().getEntityMetamodel().getPropertyIndex(propiedadPadre)];
+                if (!Objects.equals(id(padreAnterior), id(padre))) {
+                    descartarHuella(event.getSession(), padreAnterior);
+                }
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            descartarHuella(event.getSession(), padre(event.getEntity()));
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        /**
+         * @return el dispositivo o la personalización de una entidad hija del catálogo, o {@code null} si no es una.
+         */
+        private static Object padre(Object entidad) {
+            if (entidad instanceof Caracteristica caracteristica) {
+                return caracteristica.getDispositivo();
+            } else if (entidad instanceof Personalizacion personalizacion) {
+                return personalizacion.getDispositivo();
+            } else if (entidad instanceof Adicional adicional) {
+                return adicional.getDispositivo();
+            } else if (entidad instanceof Opcion opcion) {
+                return opcion.getPersonalizacion();
+            }
+            return null;
+        }
+
+        private static String propiedadPadre(Object entidad) {
+            if (entidad instanceof Caracteristica || entidad instanceof Personalizacion || entidad instanceof Adicional) {
+                return "dispositivo";
+            } else if (entidad instanceof Opcion) {
+                return "personalizacion";
+            }
+            return null;
+        }
+
+        private static Long id(Object padre) {
+            if (padre instanceof Dispositivo dispositivo) {
+                return dispositivo.getId();
+            } else if (padre instanceof Personalizacion personalizacion) {
+                return personalizacion.getId();
+            }
+            return null;
+        }
+
+        /**
+         * Descarta la huella del dispositivo al que pertenece un padre, con la conexión de la sesión para que quede en la
+         * misma transacción que el cambio.
+         */
+        private static void descartarHuella(EventSource session, Object padre) {
+            Long id = id(padre);
+            if (id == null) {
+                return;
+            }
+            // La personalización puede no estar cargada: se resuelve su dispositivo en la base
+            String update = padre instanceof Dispositivo ? UPDATE_HUELLA_DISPOSITIVO : UPDATE_HUELLA_PERSONALIZACION;
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(update)) {
+                    statement.setLong(1, id);
+                    statement.executeUpdate();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ar.edu.um.programacion2.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Modo de ejecución en hilos virtuales, que se activa con {@code spring.threads.virtual.enabled=true} sobre Java 21 o
+ * superior.
+ * <p>
+ * Spring Boot ya pasa a hilos virtuales las tareas {@code @Scheduled} y los {@code SchedulingConfigurer}, y
+ * {@link AsyncConfiguration} hace lo mismo con las {@code @Async}, pero Spring Boot sólo sabe hacerlo con Tomcat y Jetty:
+ * esta configuración despacha además cada pedido de Undertow a un hilo virtual propio en lugar del pool de workers. La
+ * concurrencia deja de estar acotada por la cantidad de hilos, así que el límite pasa a ser el pool de conexiones de
+ * Hikari, que debe dimensionarse para la base de datos y no para la cantidad de pedidos simultáneos.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HilosVirtualesConfiguration.class);
+
+    private static final String PREFIJO_HILOS_HTTP = "servidor-api-http-";
+
+    @Bean
+    public UndertowDeploymentInfoCustomizer hilosVirtualesUndertowCustomizer() {
+        return deploymentInfo -> {
+            LOG.info("Los pedidos HTTP, las tareas @Async y las programadas corren en hilos virtuales");
+            VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor(PREFIJO_HILOS_HTTP);
+            deploymentInfo.setExecutor(executor);
+            deploymentInfo.setAsyncExecutor(executor);
+        };
+    }
+}
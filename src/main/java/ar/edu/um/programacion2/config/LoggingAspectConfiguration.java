@@ -1,17 +1,31 @@
 package ar.edu.um.programacion2.config;
 
 import ar.edu.um.programacion2.aop.logging.LoggingAspect;
+import ar.edu.um.programacion2.aop.logging.ReglasTrazas;
+import ar.edu.um.programacion2.management.TrazasEndpoint;
+import ar.edu.um.programacion2.management.TrazasMetersService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
-import tech.jhipster.config.JHipsterConstants;
 
 @Configuration
 @EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.trazas", name = "habilitadas", havingValue = "true", matchIfMissing = true)
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    public ReglasTrazas reglasTrazas(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Trazas trazas = applicationProperties.getTrazas();
+        return new ReglasTrazas(trazas.getTasaMuestreo(), trazas.getPaquetes());
+    }
+
+    @Bean
+    public LoggingAspect loggingAspect(Environment env, ReglasTrazas reglasTrazas, TrazasMetersService trazasMetersService) {
+        return new LoggingAspect(env, reglasTrazas, trazasMetersService);
+    }
+
+    @Bean
+    public TrazasEndpoint trazasEndpoint(ReglasTrazas reglasTrazas) {
+        return new TrazasEndpoint(reglasTrazas);
     }
 }
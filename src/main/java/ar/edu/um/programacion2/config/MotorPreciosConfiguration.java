@@ -0,0 +1,133 @@
+package ar.edu.um.programacion2.config;
+
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Caracteristica;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.service.InstantaneaCatalogoService;
+import ar.edu.um.programacion2.service.MotorPreciosService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Set;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Invalida la tabla de {@link MotorPreciosService} cuando se confirma un cambio en una entidad del catálogo que afecta
+ * precios, y la instantánea de {@link InstantaneaCatalogoService} cuando se confirma cualquier cambio en el catálogo,
+ * sin importar si se hizo desde un servicio, un recurso REST o directamente con un repositorio.
+ */
+@Configuration
+public class MotorPreciosConfiguration {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final MotorPreciosService motorPreciosService;
+
+    private final InstantaneaCatalogoService instantaneaCatalogoService;
+
+    public MotorPreciosConfiguration(
+        EntityManagerFactory entityManagerFactory,
+        MotorPreciosService motorPreciosService,
+        InstantaneaCatalogoService instantaneaCatalogoService
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.motorPreciosService = motorPreciosService;
+        this.instantaneaCatalogoService = instantaneaCatalogoService;
+    }
+
+    @PostConstruct
+    public void registrarInvalidacion() {
+        InvalidarCatalogoListener listener = new InvalidarCatalogoListener(motorPreciosService, instantaneaCatalogoService);
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    static class InvalidarCatalogoListener
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        private static final Set<Class<?>> ENTIDADES_CON_PRECIO = Set.of(
+            Dispositivo.class,
+            Personalizacion.class,
+            Opcion.class,
+            Adicional.class
+        );
+
+        private static final Set<Class<?>> ENTIDADES_DEL_CATALOGO = Set.of(
+            Dispositivo.class,
+            Caracteristica.class,
+            Personalizacion.class,
+            Opcion.class,
+            Adicional.class
+        );
+
+        private final MotorPreciosService motorPreciosService;
+
+        private final InstantaneaCatalogoService instantaneaCatalogoService;
+
+        InvalidarCatalogoListener(MotorPreciosService motorPreciosService, InstantaneaCatalogoService instantaneaCatalogoService) {
+            this.motorPreciosService = motorPreciosService;
+            this.instantaneaCatalogoService = instantaneaCatalogoService;
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return ENTIDADES_DEL_CATALOGO.contains(persister.getMappedClass());
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            invalidar(event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            invalidar(event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            invalidar(event.getPersister());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            // Sin commit no hay cambios que reflejar
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            // Sin commit no hay cambios que reflejar
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            // Sin commit no hay cambios que reflejar
+        }
+
+        private void invalidar(EntityPersister persister) {
+            Class<?> entidad = persister.getMappedClass();
+            if (ENTIDADES_CON_PRECIO.contains(entidad)) {
+                motorPreciosService.invalidar();
+            }
+            if (ENTIDADES_DEL_CATALOGO.contains(entidad)) {
+                instantaneaCatalogoService.invalidar();
+            }
+        }
+    }
+}
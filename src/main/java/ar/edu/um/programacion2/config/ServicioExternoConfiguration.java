@@ -0,0 +1,80 @@
+package ar.edu.um.programacion2.config;
+
+import ar.edu.um.programacion2.service.CircuitoServicioExterno;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * El {@link WebClient} compartido por los servicios que hablan con el servicio externo de {@code SERVICE_BASE_URL}.
+ * <p>
+ * Usa un pool de conexiones propio, con timeouts explícitos en cada etapa del pedido para que un servicio externo colgado
+ * no bloquee indefinidamente a quien espera la respuesta, y pasa por {@link CircuitoServicioExterno el circuito} que corta
+ * los pedidos mientras está caído. Se arma a partir del {@link WebClient.Builder} de Spring Boot, así que cada pedido se
+ * mide en {@code http.client.requests} con la uri como dimensión.
+ */
+@Configuration
+public class ServicioExternoConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ServicioExternoConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    public ServicioExternoConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider servicioExternoConnectionProvider() {
+        ApplicationProperties.ServicioExterno servicioExterno = applicationProperties.getServicioExterno();
+        return ConnectionProvider.builder("servicio-externo")
+            .maxConnections(servicioExterno.getConexionesMaximas())
+            .pendingAcquireMaxCount(servicioExterno.getPedidosEnEsperaMaximos())
+            .pendingAcquireTimeout(servicioExterno.getEsperaConexion())
+            .maxIdleTime(servicioExterno.getInactividadMaxima())
+            .maxLifeTime(servicioExterno.getVidaMaxima())
+            // Cierra en segundo plano las conexiones vencidas, en lugar de descubrirlas al querer usarlas
+            .evictInBackground(servicioExterno.getInactividadMaxima())
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public WebClient servicioExternoWebClient(
+        WebClient.Builder webClientBuilder,
+        ConnectionProvider servicioExternoConnectionProvider,
+        CircuitoServicioExterno circuitoServicioExterno,
+        @Value("${SERVICE_BASE_URL}") String baseUrl,
+        @Value("${SERVICE_API_TOKEN}") String apiToken
+    ) {
+        ApplicationProperties.ServicioExterno servicioExterno = applicationProperties.getServicioExterno();
+        LOG.info("Inicializando WebClient con Base URL: {}", baseUrl);
+        HttpClient httpClient = HttpClient.create(servicioExternoConnectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) servicioExterno.getTimeoutConexion().toMillis())
+            .responseTimeout(servicioExterno.getTimeoutRespuesta())
+            .compress(servicioExterno.isCompresion())
+            // Por pedido y no al conectar: los handlers agregados se quitan cuando la conexión vuelve al pool
+            .doOnRequest((pedido, conexion) ->
+                conexion
+                    .addHandlerLast(new ReadTimeoutHandler(servicioExterno.getTimeoutLectura().toMillis(), TimeUnit.MILLISECONDS))
+                    .addHandlerLast(new WriteTimeoutHandler(servicioExterno.getTimeoutEscritura().toMillis(), TimeUnit.MILLISECONDS))
+            );
+        return webClientBuilder
+            .baseUrl(baseUrl)
+            .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiToken)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .filter(circuitoServicioExterno)
+            .build();
+    }
+}
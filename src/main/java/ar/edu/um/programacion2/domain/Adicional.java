@@ -53,8 +53,7 @@ public class Adicional implements Serializable {
     private Dispositivo dispositivo;
 
     @ManyToMany(fetch = FetchType.LAZY, mappedBy = "adicionales")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-    @JsonIgnoreProperties(value = { "dispositivo", "personalizaciones", "adicionales" }, allowSetters = true)
+    @JsonIgnoreProperties(value = { "dispositivo", "personalizaciones", "adicionales", "opciones" }, allowSetters = true)
     private Set<Venta> ventas = new HashSet<>();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
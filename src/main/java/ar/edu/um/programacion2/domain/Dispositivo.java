@@ -1,6 +1,7 @@
 package ar.edu.um.programacion2.domain;
 
 import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -50,6 +51,13 @@ public class Dispositivo implements Serializable {
     @Column(name = "moneda", nullable = false)
     private Moneda moneda;
 
+    /**
+     * Huella SHA-256 del último payload externo sincronizado para este dispositivo y sus entidades relacionadas.
+     */
+    @JsonIgnore
+    @Column(name = "hash_contenido", length = 64)
+    private String hashContenido;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -143,6 +151,19 @@ public class Dispositivo implements Serializable {
         this.moneda = moneda;
     }
 
+    public String getHashContenido() {
+        return this.hashContenido;
+    }
+
+    public Dispositivo hashContenido(String hashContenido) {
+        this.setHashContenido(hashContenido);
+        return this;
+    }
+
+    public void setHashContenido(String hashContenido) {
+        this.hashContenido = hashContenido;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
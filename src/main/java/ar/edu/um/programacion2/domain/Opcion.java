@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -50,6 +52,10 @@ public class Opcion implements Serializable {
     @JsonIgnoreProperties(value = { "dispositivo", "ventas" }, allowSetters = true)
     private Personalizacion personalizacion;
 
+    @ManyToMany(fetch = FetchType.LAZY, mappedBy = "opciones")
+    @JsonIgnoreProperties(value = { "dispositivo", "personalizaciones", "adicionales", "opciones" }, allowSetters = true)
+    private Set<Venta> ventas = new HashSet<>();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -143,6 +149,37 @@ public class Opcion implements Serializable {
         return this;
     }
 
+    public Set<Venta> getVentas() {
+        return this.ventas;
+    }
+
+    public void setVentas(Set<Venta> ventas) {
+        if (this.ventas != null) {
+            this.ventas.forEach(i -> i.removeOpciones(this));
+        }
+        if (ventas != null) {
+            ventas.forEach(i -> i.addOpciones(this));
+        }
+        this.ventas = ventas;
+    }
+
+    public Opcion ventas(Set<Venta> ventas) {
+        this.setVentas(ventas);
+        return this;
+    }
+
+    public Opcion addVenta(Venta venta) {
+        this.ventas.add(venta);
+        venta.getOpciones().add(this);
+        return this;
+    }
+
+    public Opcion removeVenta(Venta venta) {
+        this.ventas.remove(venta);
+        venta.getOpciones().remove(this);
+        return this;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -42,8 +42,7 @@ public class Personalizacion implements Serializable {
     private Dispositivo dispositivo;
 
     @ManyToMany(fetch = FetchType.LAZY, mappedBy = "personalizaciones")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-    @JsonIgnoreProperties(value = { "dispositivo", "personalizaciones", "adicionales" }, allowSetters = true)
+    @JsonIgnoreProperties(value = { "dispositivo", "personalizaciones", "adicionales", "opciones" }, allowSetters = true)
     private Set<Venta> ventas = new HashSet<>();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
@@ -60,6 +60,16 @@ public class Venta implements Serializable {
     @JsonIgnoreProperties(value = { "dispositivo", "ventas" }, allowSetters = true)
     private Set<Adicional> adicionales = new HashSet<>();
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "rel_venta__opciones",
+        joinColumns = @JoinColumn(name = "venta_id"),
+        inverseJoinColumns = @JoinColumn(name = "opciones_id")
+    )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @JsonIgnoreProperties(value = { "personalizacion", "ventas" }, allowSetters = true)
+    private Set<Opcion> opciones = new HashSet<>();
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -160,6 +170,29 @@ public class Venta implements Serializable {
         return this;
     }
 
+    public Set<Opcion> getOpciones() {
+        return this.opciones;
+    }
+
+    public void setOpciones(Set<Opcion> opcions) {
+        this.opciones = opcions;
+    }
+
+    public Venta opciones(Set<Opcion> opcions) {
+        this.setOpciones(opcions);
+        return this;
+    }
+
+    public Venta addOpciones(Opcion opcion) {
+        this.opciones.add(opcion);
+        return this;
+    }
+
+    public Venta removeOpciones(Opcion opcion) {
+        this.opciones.remove(opcion);
+        return this;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -0,0 +1,100 @@
+package ar.edu.um.programacion2.management;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CatalogoMetersService {
+
+    public static final String SUBARBOLES_METER_NAME = "catalogo.sincronizacion.subarboles";
+    public static final String SUBARBOLES_METER_DESCRIPTION =
+        "Indicates how many dispositivo subtrees were skipped or rewritten by the catalog synchronization.";
+    public static final String SUBARBOLES_METER_BASE_UNIT = "subtrees";
+    public static final String SUBARBOLES_METER_RESULTADO_DIMENSION = "resultado";
+
+    public static final String DURACION_METER_NAME = "catalogo.sincronizacion.duracion";
+    public static final String DURACION_METER_DESCRIPTION = "Duration of each catalog synchronization run.";
+    public static final String DURACION_METER_RESULTADO_DIMENSION = "resultado";
+
+    public static final String SUPERPUESTAS_METER_NAME = "catalogo.sincronizacion.superpuestas";
+    public static final String SUPERPUESTAS_METER_DESCRIPTION =
+        "Indicates how many catalog synchronization runs were skipped because another run was still in progress.";
+    public static final String SUPERPUESTAS_METER_BASE_UNIT = "runs";
+
+    public static final String RETRASO_METER_NAME = "catalogo.sincronizacion.retraso";
+    public static final String RETRASO_METER_DESCRIPTION = "Seconds elapsed since the last successful catalog synchronization.";
+    public static final String RETRASO_METER_BASE_UNIT = "seconds";
+
+    private final Counter subarbolesOmitidosCounter;
+    private final Counter subarbolesReescritosCounter;
+    private final Timer sincronizacionExitosaTimer;
+    private final Timer sincronizacionFallidaTimer;
+    private final Counter sincronizacionesSuperpuestasCounter;
+
+    private final Clock clock;
+    private final AtomicLong ultimaSincronizacionExitosa = new AtomicLong(-1);
+
+    public CatalogoMetersService(MeterRegistry registry) {
+        this.clock = registry.config().clock();
+        this.subarbolesOmitidosCounter = subarbolesCounterForResultadoBuilder("omitido").register(registry);
+        this.subarbolesReescritosCounter = subarbolesCounterForResultadoBuilder("reescrito").register(registry);
+        this.sincronizacionExitosaTimer = duracionTimerForResultadoBuilder("exito").register(registry);
+        this.sincronizacionFallidaTimer = duracionTimerForResultadoBuilder("error").register(registry);
+        this.sincronizacionesSuperpuestasCounter = Counter.builder(SUPERPUESTAS_METER_NAME)
+            .baseUnit(SUPERPUESTAS_METER_BASE_UNIT)
+            .description(SUPERPUESTAS_METER_DESCRIPTION)
+            .register(registry);
+        Gauge.builder(RETRASO_METER_NAME, this, CatalogoMetersService::segundosDesdeUltimaSincronizacionExitosa)
+            .baseUnit(RETRASO_METER_BASE_UNIT)
+            .description(RETRASO_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private Counter.Builder subarbolesCounterForResultadoBuilder(String resultado) {
+        return Counter.builder(SUBARBOLES_METER_NAME)
+            .baseUnit(SUBARBOLES_METER_BASE_UNIT)
+            .description(SUBARBOLES_METER_DESCRIPTION)
+            .tag(SUBARBOLES_METER_RESULTADO_DIMENSION, resultado);
+    }
+
+    private Timer.Builder duracionTimerForResultadoBuilder(String resultado) {
+        return Timer.builder(DURACION_METER_NAME)
+            .description(DURACION_METER_DESCRIPTION)
+            .tag(DURACION_METER_RESULTADO_DIMENSION, resultado);
+    }
+
+    public void trackSubarbolesOmitidos(int cantidad) {
+        this.subarbolesOmitidosCounter.increment(cantidad);
+    }
+
+    public void trackSubarbolesReescritos(int cantidad) {
+        this.subarbolesReescritosCounter.increment(cantidad);
+    }
+
+    public void trackSincronizacionExitosa(long duracionNanos) {
+        this.sincronizacionExitosaTimer.record(duracionNanos, TimeUnit.NANOSECONDS);
+        this.ultimaSincronizacionExitosa.set(clock.wallTime());
+    }
+
+    public void trackSincronizacionFallida(long duracionNanos) {
+        this.sincronizacionFallidaTimer.record(duracionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackSincronizacionSuperpuesta() {
+        this.sincronizacionesSuperpuestasCounter.increment();
+    }
+
+    /**
+     * @return los segundos desde la última sincronización exitosa, o {@code NaN} si todavía no hubo ninguna.
+     */
+    public double segundosDesdeUltimaSincronizacionExitosa() {
+        long ultima = ultimaSincronizacionExitosa.get();
+        return ultima < 0 ? Double.NaN : (clock.wallTime() - ultima) / 1000.0;
+    }
+}
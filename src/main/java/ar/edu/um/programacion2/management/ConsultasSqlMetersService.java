@@ -0,0 +1,127 @@
+package ar.edu.um.programacion2.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ConsultasSqlMetersService {
+
+    public static final String PETICION_SENTENCIAS_METER_NAME = "sql.peticion.sentencias";
+    public static final String PETICION_SENTENCIAS_METER_DESCRIPTION = "Number of SQL statements executed by each HTTP request.";
+
+    public static final String PETICION_FILAS_METER_NAME = "sql.peticion.filas";
+    public static final String PETICION_FILAS_METER_DESCRIPTION =
+        "Number of rows read or modified by the SQL statements of each HTTP request.";
+
+    public static final String PETICION_TIEMPO_METER_NAME = "sql.peticion.tiempo";
+    public static final String PETICION_TIEMPO_METER_DESCRIPTION = "Time spent executing the SQL statements of each HTTP request.";
+
+    public static final String PETICION_ENDPOINT_DIMENSION = "endpoint";
+
+    public static final String SERVICIO_SENTENCIAS_METER_NAME = "sql.servicio.sentencias";
+    public static final String SERVICIO_SENTENCIAS_METER_DESCRIPTION =
+        "Number of SQL statements executed by each call to a service method, including the services it calls.";
+
+    public static final String SERVICIO_FILAS_METER_NAME = "sql.servicio.filas";
+    public static final String SERVICIO_FILAS_METER_DESCRIPTION =
+        "Number of rows read or modified by the SQL statements of each call to a service method.";
+
+    public static final String SERVICIO_TIEMPO_METER_NAME = "sql.servicio.tiempo";
+    public static final String SERVICIO_TIEMPO_METER_DESCRIPTION =
+        "Time spent executing the SQL statements of each call to a service method.";
+
+    public static final String SERVICIO_METODO_DIMENSION = "metodo";
+
+    public static final String SENTENCIAS_BASE_UNIT = "statements";
+    public static final String FILAS_BASE_UNIT = "rows";
+
+    public static final String LENTAS_METER_NAME = "sql.lentas";
+    public static final String LENTAS_METER_DESCRIPTION =
+        "Indicates how many SQL statements took longer than the slow statement threshold.";
+    public static final String LENTAS_METER_BASE_UNIT = "statements";
+
+    private final MeterRegistry registry;
+
+    private final Counter lentasCounter;
+
+    private final Map<String, Medidores> peticiones = new ConcurrentHashMap<>();
+
+    private final Map<String, Medidores> servicios = new ConcurrentHashMap<>();
+
+    public ConsultasSqlMetersService(MeterRegistry registry) {
+        this.registry = registry;
+        this.lentasCounter = Counter.builder(LENTAS_METER_NAME)
+            .baseUnit(LENTAS_METER_BASE_UNIT)
+            .description(LENTAS_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    /**
+     * @param endpoint el método HTTP y el patrón de la ruta que atendió la petición.
+     * @param medicion lo que ejecutó la petición.
+     */
+    public void trackPeticion(String endpoint, EstadisticasSql.Medicion medicion) {
+        peticiones.computeIfAbsent(endpoint, this::medidoresForEndpoint).registrar(medicion);
+    }
+
+    /**
+     * @param metodo la clase y el nombre del método del servicio.
+     * @param medicion lo que ejecutó la llamada.
+     */
+    public void trackServicio(String metodo, EstadisticasSql.Medicion medicion) {
+        servicios.computeIfAbsent(metodo, this::medidoresForMetodo).registrar(medicion);
+    }
+
+    public void trackSentenciaLenta() {
+        this.lentasCounter.increment();
+    }
+
+    private Medidores medidoresForEndpoint(String endpoint) {
+        return new Medidores(
+            summary(PETICION_SENTENCIAS_METER_NAME, PETICION_SENTENCIAS_METER_DESCRIPTION, SENTENCIAS_BASE_UNIT)
+                .tag(PETICION_ENDPOINT_DIMENSION, endpoint)
+                .register(registry),
+            summary(PETICION_FILAS_METER_NAME, PETICION_FILAS_METER_DESCRIPTION, FILAS_BASE_UNIT)
+                .tag(PETICION_ENDPOINT_DIMENSION, endpoint)
+                .register(registry),
+            timer(PETICION_TIEMPO_METER_NAME, PETICION_TIEMPO_METER_DESCRIPTION)
+                .tag(PETICION_ENDPOINT_DIMENSION, endpoint)
+                .register(registry)
+        );
+    }
+
+    private Medidores medidoresForMetodo(String metodo) {
+        return new Medidores(
+            summary(SERVICIO_SENTENCIAS_METER_NAME, SERVICIO_SENTENCIAS_METER_DESCRIPTION, SENTENCIAS_BASE_UNIT)
+                .tag(SERVICIO_METODO_DIMENSION, metodo)
+                .register(registry),
+            summary(SERVICIO_FILAS_METER_NAME, SERVICIO_FILAS_METER_DESCRIPTION, FILAS_BASE_UNIT)
+                .tag(SERVICIO_METODO_DIMENSION, metodo)
+                .register(registry),
+            timer(SERVICIO_TIEMPO_METER_NAME, SERVICIO_TIEMPO_METER_DESCRIPTION)
+                .tag(SERVICIO_METODO_DIMENSION, metodo)
+                .register(registry)
+        );
+    }
+
+    private static DistributionSummary.Builder summary(String name, String description, String baseUnit) {
+        return DistributionSummary.builder(name).baseUnit(baseUnit).description(description).publishPercentileHistogram();
+    }
+
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name).description(description).publishPercentileHistogram();
+    }
+
+    private record Medidores(DistributionSummary sentencias, DistributionSummary filas, Timer tiempo) {
+        void registrar(EstadisticasSql.Medicion medicion) {
+            sentencias.record(medicion.sentencias());
+            filas.record(medicion.filas());
+            tiempo.record(medicion.tiempo());
+        }
+    }
+}
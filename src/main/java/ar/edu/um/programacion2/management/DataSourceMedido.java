@@ -0,0 +1,179 @@
+package ar.edu.um.programacion2.management;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} que mide cada sentencia SQL ejecutada por sus conexiones, tanto las de Hibernate como las de
+ * {@code JdbcTemplate}: la suma a las {@link EstadisticasSql} del hilo y, si tarda al menos el umbral configurado, la
+ * registra como lenta.
+ * <p>
+ * El tiempo medido es el de la llamada a {@code execute*}; en una consulta no incluye la lectura de las filas
+ * posteriores a las que trae el driver en esa llamada. Las filas de una consulta se cuentan a medida que se leen y las
+ * de una modificación son las que informa el driver.
+ */
+public class DataSourceMedido extends DelegatingDataSource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataSourceMedido.class);
+
+    private final long umbralLentaNanos;
+
+    private final ObjectProvider<ConsultasSqlMetersService> metersService;
+
+    /**
+     * @param dataSource el data source a medir.
+     * @param umbralLenta el tiempo a partir del cual una sentencia es lenta, o cero para no registrar las lentas.
+     * @param metersService las métricas de las sentencias lentas, que se buscan recién al encontrar la primera.
+     */
+    public DataSourceMedido(DataSource dataSource, Duration umbralLenta, ObjectProvider<ConsultasSqlMetersService> metersService) {
+        super(dataSource);
+        this.umbralLentaNanos = umbralLenta.isZero() ? Long.MAX_VALUE : umbralLenta.toNanos();
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(Connection.class, obtainTargetDataSource().getConnection(), new ConexionMedida());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(Connection.class, obtainTargetDataSource().getConnection(username, password), new ConexionMedida());
+    }
+
+    private static <T> T medir(Class<T> tipo, T objetivo, Delegado<T> delegado) {
+        delegado.objetivo = objetivo;
+        return tipo.cast(Proxy.newProxyInstance(DataSourceMedido.class.getClassLoader(), new Class<?>[] { tipo }, delegado));
+    }
+
+    private void registrar(String sql, long nanos, long filas) {
+        EstadisticasSql estadisticas = EstadisticasSql.delHilo();
+        estadisticas.registrarSentencia(nanos);
+        estadisticas.registrarFilas(filas);
+        if (nanos >= umbralLentaNanos) {
+            LOG.warn("Sentencia SQL lenta ({} ms): {}", Duration.ofNanos(nanos).toMillis(), sql);
+            ConsultasSqlMetersService meters = metersService.getIfAvailable();
+            if (meters != null) {
+                meters.trackSentenciaLenta();
+            }
+        }
+    }
+
+    /**
+     * Reenvía cada llamada al objeto medido. La igualdad es la del proxy, para que los proxies sirvan de clave.
+     */
+    private abstract static class Delegado<T> implements InvocationHandler {
+
+        T objetivo;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return invocar(method, args);
+            }
+        }
+
+        abstract Object invocar(Method method, Object[] args) throws Throwable;
+
+        final Object delegar(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(objetivo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class ConexionMedida extends Delegado<Connection> {
+
+        @Override
+        Object invocar(Method method, Object[] args) throws Throwable {
+            Object resultado = delegar(method, args);
+            return switch (method.getName()) {
+                case "prepareStatement", "prepareCall" -> medirSentencia(method, resultado, (String) args[0]);
+                case "createStatement" -> medirSentencia(method, resultado, null);
+                default -> resultado;
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private <S extends Statement> S medirSentencia(Method method, Object sentencia, String sql) {
+            return medir((Class<S>) method.getReturnType(), (S) sentencia, new SentenciaMedida<>(sql));
+        }
+    }
+
+    private final class SentenciaMedida<S extends Statement> extends Delegado<S> {
+
+        private final String sql;
+
+        SentenciaMedida(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        Object invocar(Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+            if (!nombre.startsWith("execute")) {
+                return delegar(method, args);
+            }
+            long inicio = System.nanoTime();
+            Object resultado = delegar(method, args);
+            long nanos = System.nanoTime() - inicio;
+            String ejecutada = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sql;
+            registrar(ejecutada, nanos, filasModificadas(resultado));
+            if (resultado instanceof ResultSet filas) {
+                return medir(ResultSet.class, filas, new FilasMedidas());
+            }
+            return resultado;
+        }
+
+        private static long filasModificadas(Object resultado) {
+            if (resultado instanceof Integer filas) {
+                return Math.max(filas, 0);
+            }
+            if (resultado instanceof Long filas) {
+                return Math.max(filas, 0);
+            }
+            long total = 0;
+            if (resultado instanceof int[] lote) {
+                for (int filas : lote) {
+                    total += Math.max(filas, 0);
+                }
+            } else if (resultado instanceof long[] lote) {
+                for (long filas : lote) {
+                    total += Math.max(filas, 0);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static final class FilasMedidas extends Delegado<ResultSet> {
+
+        @Override
+        Object invocar(Method method, Object[] args) throws Throwable {
+            Object resultado = delegar(method, args);
+            if (Boolean.TRUE.equals(resultado) && "next".equals(method.getName())) {
+                EstadisticasSql.delHilo().registrarFilas(1);
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ar.edu.um.programacion2.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EnvioVentasMetersService {
+
+    public static final String PENDIENTES_METER_NAME = "ventas.envio.pendientes";
+    public static final String PENDIENTES_METER_DESCRIPTION =
+        "Number of sales waiting in the outbox to be posted to the external service, including those waiting for a retry.";
+    public static final String PENDIENTES_METER_BASE_UNIT = "sales";
+
+    public static final String LATENCIA_METER_NAME = "ventas.envio.latencia";
+    public static final String LATENCIA_METER_DESCRIPTION =
+        "Time from a sale being written to the outbox until the external service acknowledged it.";
+
+    public static final String INTENTOS_METER_NAME = "ventas.envio.intentos";
+    public static final String INTENTOS_METER_DESCRIPTION =
+        "Indicates how many posts of a sale to the external service succeeded or failed.";
+    public static final String INTENTOS_METER_BASE_UNIT = "attempts";
+    public static final String INTENTOS_METER_RESULTADO_DIMENSION = "resultado";
+
+    public static final String DESCARTADAS_METER_NAME = "ventas.envio.descartadas";
+    public static final String DESCARTADAS_METER_DESCRIPTION =
+        "Indicates how many sales stopped being retried after exhausting their attempts.";
+    public static final String DESCARTADAS_METER_BASE_UNIT = "sales";
+
+    private final Timer latenciaTimer;
+    private final Counter intentosExitososCounter;
+    private final Counter intentosFallidosCounter;
+    private final Counter descartadasCounter;
+
+    private final AtomicLong pendientes = new AtomicLong();
+
+    public EnvioVentasMetersService(MeterRegistry registry) {
+        Gauge.builder(PENDIENTES_METER_NAME, pendientes, AtomicLong::get)
+            .baseUnit(PENDIENTES_METER_BASE_UNIT)
+            .description(PENDIENTES_METER_DESCRIPTION)
+            .register(registry);
+        this.latenciaTimer = Timer.builder(LATENCIA_METER_NAME)
+            .description(LATENCIA_METER_DESCRIPTION)
+            .publishPercentileHistogram()
+            .register(registry);
+        this.intentosExitososCounter = intentosCounterForResultadoBuilder("exito").register(registry);
+        this.intentosFallidosCounter = intentosCounterForResultadoBuilder("error").register(registry);
+        this.descartadasCounter = Counter.builder(DESCARTADAS_METER_NAME)
+            .baseUnit(DESCARTADAS_METER_BASE_UNIT)
+            .description(DESCARTADAS_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private Counter.Builder intentosCounterForResultadoBuilder(String resultado) {
+        return Counter.builder(INTENTOS_METER_NAME)
+            .baseUnit(INTENTOS_METER_BASE_UNIT)
+            .description(INTENTOS_METER_DESCRIPTION)
+            .tag(INTENTOS_METER_RESULTADO_DIMENSION, resultado);
+    }
+
+    public void trackPendientes(long cantidad) {
+        this.pendientes.set(cantidad);
+    }
+
+    public void trackEntrega(Duration latencia) {
+        this.intentosExitososCounter.increment();
+        this.latenciaTimer.record(latencia);
+    }
+
+    public void trackIntentoFallido() {
+        this.intentosFallidosCounter.increment();
+    }
+
+    public void trackDescarte() {
+        this.descartadasCounter.increment();
+    }
+}
@@ -0,0 +1,64 @@
+package ar.edu.um.programacion2.management;
+
+import java.time.Duration;
+
+/**
+ * Sentencias SQL que ejecutó cada hilo a través de {@link DataSourceMedido}, acumuladas desde que arrancó el hilo.
+ * <p>
+ * Para medir un tramo se toma una {@link #medicion()} al empezar y otra al terminar, y se restan con
+ * {@link Medicion#desde}; así los tramos anidados (un servicio que llama a otro dentro de una petición) se miden sin
+ * coordinarse entre sí. Sólo cuentan las sentencias del propio hilo: el trabajo asíncrono se mide en el hilo que lo
+ * ejecuta.
+ */
+public final class EstadisticasSql {
+
+    private static final ThreadLocal<EstadisticasSql> DEL_HILO = ThreadLocal.withInitial(EstadisticasSql::new);
+
+    private long sentencias;
+
+    private long filas;
+
+    private long nanos;
+
+    private EstadisticasSql() {}
+
+    /**
+     * @return las estadísticas del hilo actual.
+     */
+    public static EstadisticasSql delHilo() {
+        return DEL_HILO.get();
+    }
+
+    void registrarSentencia(long nanos) {
+        this.sentencias++;
+        this.nanos += nanos;
+    }
+
+    void registrarFilas(long filas) {
+        this.filas += filas;
+    }
+
+    /**
+     * @return los totales acumulados hasta ahora.
+     */
+    public Medicion medicion() {
+        return new Medicion(sentencias, filas, nanos);
+    }
+
+    /**
+     * Totales de sentencias ejecutadas, filas leídas o modificadas y tiempo de ejecución de las sentencias.
+     */
+    public record Medicion(long sentencias, long filas, long nanos) {
+        /**
+         * @param anterior una medición anterior del mismo hilo.
+         * @return lo ejecutado desde {@code anterior}.
+         */
+        public Medicion desde(Medicion anterior) {
+            return new Medicion(sentencias - anterior.sentencias, filas - anterior.filas, nanos - anterior.nanos);
+        }
+
+        public Duration tiempo() {
+            return Duration.ofNanos(nanos);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ar.edu.um.programacion2.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ServicioExternoMetersService {
+
+    public static final String CIRCUITO_ESTADO_METER_NAME = "servicio.externo.circuito.estado";
+    public static final String CIRCUITO_ESTADO_METER_DESCRIPTION =
+        "State of the circuit breaker in front of the external service: 0 closed, 1 half open (a trial request is in flight), 2 open.";
+
+    public static final String CIRCUITO_APERTURAS_METER_NAME = "servicio.externo.circuito.aperturas";
+    public static final String CIRCUITO_APERTURAS_METER_DESCRIPTION =
+        "Indicates how many times the circuit breaker opened after consecutive failures of the external service.";
+    public static final String CIRCUITO_APERTURAS_METER_BASE_UNIT = "openings";
+
+    public static final String CIRCUITO_RECHAZOS_METER_NAME = "servicio.externo.circuito.rechazos";
+    public static final String CIRCUITO_RECHAZOS_METER_DESCRIPTION =
+        "Indicates how many requests to the external service failed fast because the circuit breaker was open.";
+    public static final String CIRCUITO_RECHAZOS_METER_BASE_UNIT = "requests";
+
+    private final Counter aperturasCounter;
+    private final Counter rechazosCounter;
+
+    private final AtomicInteger estado = new AtomicInteger();
+
+    public ServicioExternoMetersService(MeterRegistry registry) {
+        Gauge.builder(CIRCUITO_ESTADO_METER_NAME, estado, AtomicInteger::get)
+            .description(CIRCUITO_ESTADO_METER_DESCRIPTION)
+            .register(registry);
+        this.aperturasCounter = Counter.builder(CIRCUITO_APERTURAS_METER_NAME)
+            .baseUnit(CIRCUITO_APERTURAS_METER_BASE_UNIT)
+            .description(CIRCUITO_APERTURAS_METER_DESCRIPTION)
+            .register(registry);
+        this.rechazosCounter = Counter.builder(CIRCUITO_RECHAZOS_METER_NAME)
+            .baseUnit(CIRCUITO_RECHAZOS_METER_BASE_UNIT)
+            .description(CIRCUITO_RECHAZOS_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    public void trackCircuitoCerrado() {
+        this.estado.set(0);
+    }
+
+    public void trackCircuitoSemiabierto() {
+        this.estado.set(1);
+    }
+
+    public void trackCircuitoAbierto() {
+        this.estado.set(2);
+        this.aperturasCounter.increment();
+    }
+
+    public void trackRechazo() {
+        this.rechazosCounter.increment();
+    }
+}
@@ -0,0 +1,60 @@
+package ar.edu.um.programacion2.management;
+
+import ar.edu.um.programacion2.aop.logging.ReglasTrazas;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint {@code /management/trazas}, to inspect and change at runtime which packages the logging aspect
+ * traces and which fraction of their calls it times.
+ * <ul>
+ *     <li>{@code GET /management/trazas}: the sampling rate and the rules by package.</li>
+ *     <li>{@code POST /management/trazas} with {@code {"tasaMuestreo": 0.5}}: changes the sampling rate.</li>
+ *     <li>{@code POST /management/trazas/{paquete}} with {@code {"trazado": false}}: sets the rule of a package or
+ *     class.</li>
+ *     <li>{@code DELETE /management/trazas/{paquete}}: removes the rule, so the one of the enclosing package applies.</li>
+ * </ul>
+ */
+@Endpoint(id = "trazas")
+public class TrazasEndpoint {
+
+    private final ReglasTrazas reglasTrazas;
+
+    public TrazasEndpoint(ReglasTrazas reglasTrazas) {
+        this.reglasTrazas = reglasTrazas;
+    }
+
+    @ReadOperation
+    public Estado estado() {
+        return new Estado(reglasTrazas.getTasaMuestreo(), reglasTrazas.getPaquetes());
+    }
+
+    @WriteOperation
+    public Estado muestrear(double tasaMuestreo) {
+        try {
+            reglasTrazas.setTasaMuestreo(tasaMuestreo);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), "tasaMuestreo");
+        }
+        return estado();
+    }
+
+    @WriteOperation
+    public Estado configurar(@Selector String paquete, boolean trazado) {
+        reglasTrazas.configurar(paquete, trazado);
+        return estado();
+    }
+
+    @DeleteOperation
+    public Estado quitar(@Selector String paquete) {
+        reglasTrazas.quitar(paquete);
+        return estado();
+    }
+
+    public record Estado(double tasaMuestreo, Map<String, Boolean> paquetes) {}
+}
@@ -0,0 +1,41 @@
+package ar.edu.um.programacion2.management;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TrazasMetersService {
+
+    public static final String METODO_TIEMPO_METER_NAME = "metodo.tiempo";
+    public static final String METODO_TIEMPO_METER_DESCRIPTION =
+        "Duration of the sampled calls to repository, service and REST resource methods.";
+
+    public static final String METODO_CLASE_DIMENSION = "clase";
+    public static final String METODO_METODO_DIMENSION = "metodo";
+
+    private final MeterRegistry registry;
+
+    public TrazasMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * El histograma se limita a entre 1 ms y 10 s, para que un timer por método no multiplique las series publicadas.
+     *
+     * @param clase el nombre simple de la clase.
+     * @param metodo el nombre del método.
+     * @return el timer de las llamadas a ese método.
+     */
+    public Timer timerForMetodo(String clase, String metodo) {
+        return Timer.builder(METODO_TIEMPO_METER_NAME)
+            .description(METODO_TIEMPO_METER_DESCRIPTION)
+            .tag(METODO_CLASE_DIMENSION, clase)
+            .tag(METODO_METODO_DIMENSION, metodo)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(registry);
+    }
+}
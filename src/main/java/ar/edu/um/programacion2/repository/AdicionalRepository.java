@@ -11,6 +11,6 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AdicionalRepository extends JpaRepository<Adicional, Long> {
+public interface AdicionalRepository extends JpaRepository<Adicional, Long>, ProjectionRepository {
     Optional<Adicional> findByNombreAndDispositivo(String nombre, Dispositivo dispositivo);
 }
@@ -11,6 +11,6 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CaracteristicaRepository extends JpaRepository<Caracteristica, Long> {
+public interface CaracteristicaRepository extends JpaRepository<Caracteristica, Long>, ProjectionRepository {
     Optional<Caracteristica> findByNombreAndDispositivo(String nombre, Dispositivo dispositivo);
 }
@@ -12,7 +12,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OpcionRepository extends JpaRepository<Opcion, Long> {
+public interface OpcionRepository extends JpaRepository<Opcion, Long>, ProjectionRepository {
     Optional<Opcion> findByCodigoAndPersonalizacion(String codigo, Personalizacion personalizacion);
     List<Opcion> findByPersonalizacionId(Long personalizacionId);
 }
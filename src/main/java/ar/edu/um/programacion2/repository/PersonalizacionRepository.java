@@ -11,6 +11,6 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PersonalizacionRepository extends JpaRepository<Personalizacion, Long> {
+public interface PersonalizacionRepository extends JpaRepository<Personalizacion, Long>, ProjectionRepository {
     Optional<Personalizacion> findByNombreAndDispositivo(String nombre, Dispositivo dispositivo);
 }
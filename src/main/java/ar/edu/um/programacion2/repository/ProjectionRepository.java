@@ -0,0 +1,52 @@
+package ar.edu.um.programacion2.repository;
+
+import jakarta.persistence.QueryHint;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Read-only listings straight into a projection type, such as a DTO with a constructor annotated with
+ * {@link org.springframework.data.annotation.PersistenceCreator}, whose parameters name the properties to select
+ * ({@code dispositivoId} selects {@code dispositivo.id}). No entity is loaded into the persistence context.
+ */
+@NoRepositoryBean
+public interface ProjectionRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    <T> Page<T> findAllBy(Pageable pageable, Class<T> type);
+
+    /**
+     * Prefer {@link #scrollAllBy}: the positions of the returned window only work for entities.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    <T> Window<T> findAllBy(ScrollPosition position, Sort sort, Limit limit, Class<T> type);
+
+    /**
+     * Reads a keyset window into a projection type, which must expose the sort properties.
+     */
+    default <T> Window<T> scrollAllBy(ScrollPosition position, Sort sort, Limit limit, Class<T> type) {
+        Window<T> window = findAllBy(position, sort, limit, type);
+        List<T> content = window.getContent();
+        return Window.from(
+            content,
+            index -> {
+                BeanWrapper fila = new BeanWrapperImpl(content.get(index));
+                Map<String, Object> keys = new LinkedHashMap<>();
+                sort.forEach(order -> keys.put(order.getProperty(), fila.getPropertyValue(order.getProperty())));
+                return ScrollPosition.forward(keys);
+            },
+            window.hasNext()
+        );
+    }
+}
@@ -15,7 +15,7 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface VentaRepository extends VentaRepositoryWithBagRelationships, JpaRepository<Venta, Long> {
+public interface VentaRepository extends VentaRepositoryWithBagRelationships, JpaRepository<Venta, Long>, ProjectionRepository {
     default Optional<Venta> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
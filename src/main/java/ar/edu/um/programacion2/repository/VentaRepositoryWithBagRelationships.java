@@ -1,6 +1,7 @@
 package ar.edu.um.programacion2.repository;
 
 import ar.edu.um.programacion2.domain.Venta;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -11,4 +12,24 @@ public interface VentaRepositoryWithBagRelationships {
     List<Venta> fetchBagRelationships(List<Venta> ventas);
 
     Page<Venta> fetchBagRelationships(Page<Venta> ventas);
+
+    /**
+     * Reads the rows of the three relationship tables of the given ventas in a single query, as flat
+     * (venta, related entity) tuples.
+     *
+     * @param ventaIds the ids of the ventas.
+     * @return the relationship rows, in no particular order.
+     */
+    List<RelacionVenta> findRelaciones(Collection<Long> ventaIds);
+
+    /**
+     * A row of a venta relationship table.
+     */
+    record RelacionVenta(long ventaId, Tipo tipo, long relacionadoId) {
+        public enum Tipo {
+            PERSONALIZACION,
+            ADICIONAL,
+            OPCION,
+        }
+    }
 }
@@ -3,6 +3,7 @@ package ar.edu.um.programacion2.repository;
 import ar.edu.um.programacion2.domain.Venta;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -13,18 +14,29 @@ import org.springframework.data.domain.PageImpl;
 
 /**
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
+ *
+ * {@link #findRelaciones} reads the same relationships as flat tuples instead, for the list endpoints that build their
+ * DTOs without hydrating entities.
  */
 public class VentaRepositoryWithBagRelationshipsImpl implements VentaRepositoryWithBagRelationships {
 
     private static final String ID_PARAMETER = "id";
     private static final String VENTAS_PARAMETER = "ventas";
 
+    // El tipo de relación es el ordinal de RelacionVenta.Tipo
+    private static final String SELECT_RELACIONES =
+        "select 0, venta_id, personalizaciones_id from rel_venta__personalizaciones where venta_id in (:ventas)" +
+        " union all select 1, venta_id, adicionales_id from rel_venta__adicionales where venta_id in (:ventas)" +
+        " union all select 2, venta_id, opciones_id from rel_venta__opciones where venta_id in (:ventas)";
+
+    private static final RelacionVenta.Tipo[] TIPOS_RELACION = RelacionVenta.Tipo.values();
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Optional<Venta> fetchBagRelationships(Optional<Venta> venta) {
-        return venta.map(this::fetchPersonalizaciones).map(this::fetchAdicionales);
+        return venta.map(this::fetchPersonalizaciones).map(this::fetchAdicionales).map(this::fetchOpciones);
     }
 
     @Override
@@ -34,7 +46,11 @@ public class VentaRepositoryWithBagRelationshipsImpl implements VentaRepositoryW
 
     @Override
     public List<Venta> fetchBagRelationships(List<Venta> ventas) {
-        return Optional.of(ventas).map(this::fetchPersonalizaciones).map(this::fetchAdicionales).orElse(Collections.emptyList());
+        return Optional.of(ventas)
+            .map(this::fetchPersonalizaciones)
+            .map(this::fetchAdicionales)
+            .map(this::fetchOpciones)
+            .orElse(Collections.emptyList());
     }
 
     Venta fetchPersonalizaciones(Venta result) {
@@ -72,4 +88,41 @@ public class VentaRepositoryWithBagRelationshipsImpl implements VentaRepositoryW
         Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
         return result;
     }
+
+    Venta fetchOpciones(Venta result) {
+        return entityManager
+            .createQuery("select venta from Venta venta left join fetch venta.opciones where venta.id = :id", Venta.class)
+            .setParameter(ID_PARAMETER, result.getId())
+            .getSingleResult();
+    }
+
+    List<Venta> fetchOpciones(List<Venta> ventas) {
+        HashMap<Object, Integer> order = new HashMap<>();
+        IntStream.range(0, ventas.size()).forEach(index -> order.put(ventas.get(index).getId(), index));
+        List<Venta> result = entityManager
+            .createQuery("select venta from Venta venta left join fetch venta.opciones where venta in :ventas", Venta.class)
+            .setParameter(VENTAS_PARAMETER, ventas)
+            .getResultList();
+        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
+        return result;
+    }
+
+    @Override
+    public List<RelacionVenta> findRelaciones(Collection<Long> ventaIds) {
+        if (ventaIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> filas = entityManager.createNativeQuery(SELECT_RELACIONES).setParameter(VENTAS_PARAMETER, ventaIds).getResultList();
+        return filas
+            .stream()
+            .map(fila ->
+                new RelacionVenta(
+                    ((Number) fila[1]).longValue(),
+                    TIPOS_RELACION[((Number) fila[0]).intValue()],
+                    ((Number) fila[2]).longValue()
+                )
+            )
+            .toList();
+    }
 }
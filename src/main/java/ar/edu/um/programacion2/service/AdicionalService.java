@@ -7,8 +7,12 @@ import ar.edu.um.programacion2.service.mapper.AdicionalMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -77,7 +81,7 @@ public class AdicionalService {
     }
 
     /**
-     * Get all the adicionals.
+     * Get all the adicionals, read straight into DTOs without loading the entities.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -85,7 +89,21 @@ public class AdicionalService {
     @Transactional(readOnly = true)
     public Page<AdicionalDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Adicionals");
-        return adicionalRepository.findAll(pageable).map(adicionalMapper::toDto);
+        return adicionalRepository.findAllBy(pageable, AdicionalDTO.class);
+    }
+
+    /**
+     * Get a window of the adicionals after a keyset position, without counting them.
+     *
+     * @param position the position after which to read.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<AdicionalDTO> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Adicionals");
+        return adicionalRepository.scrollAllBy(position, sort, Limit.of(size), AdicionalDTO.class);
     }
 
     /**
@@ -0,0 +1,433 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.repository.VentaRepository;
+import ar.edu.um.programacion2.repository.VentaRepositoryWithBagRelationships;
+import ar.edu.um.programacion2.service.dto.ItemVendidoDTO;
+import ar.edu.um.programacion2.service.dto.ResumenVentasDTO;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Analítica de ventas sobre resúmenes preagregados.
+ * <p>
+ * Cada venta suma, en su misma transacción, a la fila de su día, dispositivo y moneda en {@code resumen_venta_dia}
+ * (cantidad y suma de precios finales) y a las filas de cada personalización, opción y adicional vendidos en
+ * {@code resumen_venta_dia_item}. Las filas se escriben con {@code insert ... on duplicate key update}, en el orden de
+ * su clave, para que dos ventas concurrentes del mismo día no se bloqueen mutuamente. Las consultas leen sólo los
+ * resúmenes, así que su costo depende de los días consultados y no de la cantidad de ventas.
+ * <p>
+ * Los días se cuentan en la zona horaria configurada. Los resúmenes de un día se pueden rehacer desde las ventas con
+ * {@link #reconstruirDia(LocalDate)}.
+ */
+@Service
+@Transactional
+public class AnaliticaVentasService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnaliticaVentasService.class);
+
+    private static final String UPSERT_DIA =
+        "insert into resumen_venta_dia (dia, dispositivo_id, moneda, cantidad, total)" +
+        " values (:dia, :dispositivoId, :moneda, :cantidad, :total)" +
+        " on duplicate key update cantidad = cantidad + :cantidad, total = total + :total";
+    private static final String UPSERT_ITEM =
+        "insert into resumen_venta_dia_item (dia, dispositivo_id, tipo, item_id, cantidad)" +
+        " values (:dia, :dispositivoId, :tipo, :itemId, :cantidad)" +
+        " on duplicate key update cantidad = cantidad + :cantidad";
+
+    private static final String SELECT_VENTA =
+        "select v.fecha_venta, v.precio_final, v.dispositivo_id, d.moneda from venta v join dispositivo d on d.id = v.dispositivo_id" +
+        " where v.id = :id";
+    private static final String SELECT_RANGO_VENTAS = "select min(fecha_venta) as primera, max(fecha_venta) as ultima from venta";
+
+    private static final String FILTRO_DIAS = " where dia >= :desde and dia <= :hasta";
+    private static final String FILTRO_DISPOSITIVO = " and dispositivo_id = :dispositivoId";
+    private static final String FILTRO_MONEDA = " and moneda = :moneda";
+
+    private static final String DELETE_DIA = "delete from resumen_venta_dia where dia = :dia";
+    private static final String DELETE_ITEMS_DIA = "delete from resumen_venta_dia_item where dia = :dia";
+    private static final String FILTRO_VENTAS_DIA = " where v.fecha_venta >= :inicio and v.fecha_venta < :fin";
+    private static final String RECONSTRUIR_DIA =
+        "insert into resumen_venta_dia (dia, dispositivo_id, moneda, cantidad, total)" +
+        " select :dia, v.dispositivo_id, d.moneda, count(*), sum(v.precio_final)" +
+        " from venta v join dispositivo d on d.id = v.dispositivo_id" +
+        FILTRO_VENTAS_DIA +
+        " group by v.dispositivo_id, d.moneda";
+
+    private static final Comparator<ClaveDia> ORDEN_DIAS = Comparator.comparing(ClaveDia::dia)
+        .thenComparingLong(ClaveDia::dispositivoId)
+        .thenComparing(ClaveDia::moneda);
+    private static final Comparator<ClaveItem> ORDEN_ITEMS = Comparator.comparing(ClaveItem::dia)
+        .thenComparingLong(ClaveItem::dispositivoId)
+        .thenComparing(ClaveItem::tipo)
+        .thenComparingLong(ClaveItem::itemId);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final VentaRepository ventaRepository;
+    private final ApplicationProperties applicationProperties;
+
+    public AnaliticaVentasService(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        VentaRepository ventaRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ventaRepository = ventaRepository;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Suma a los resúmenes ventas recién guardadas, a partir del grafo ya cargado de cada una y sin consultar la base
+     * de datos.
+     *
+     * @param ventas las ventas guardadas, con su dispositivo, personalizaciones, opciones y adicionales.
+     */
+    public void registrar(Collection<Venta> ventas) {
+        Deltas deltas = new Deltas();
+        for (Venta venta : ventas) {
+            Dispositivo dispositivo = venta.getDispositivo();
+            LocalDate dia = dia(venta.getFechaVenta());
+            deltas.sumarVenta(dia, dispositivo.getId(), dispositivo.getMoneda(), venta.getPrecioFinal(), 1);
+            for (Personalizacion personalizacion : venta.getPersonalizaciones()) {
+                deltas.sumarItem(dia, dispositivo.getId(), ItemVendidoDTO.Tipo.PERSONALIZACION, personalizacion.getId(), 1);
+            }
+            for (Opcion opcion : venta.getOpciones()) {
+                deltas.sumarItem(dia, dispositivo.getId(), ItemVendidoDTO.Tipo.OPCION, opcion.getId(), 1);
+            }
+            for (Adicional adicional : venta.getAdicionales()) {
+                deltas.sumarItem(dia, dispositivo.getId(), ItemVendidoDTO.Tipo.ADICIONAL, adicional.getId(), 1);
+            }
+        }
+        guardar(deltas);
+    }
+
+    /**
+     * Suma a los resúmenes una venta tal como está guardada en la base de datos, por ejemplo tras crearla o
+     * modificarla desde la administración.
+     *
+     * @param ventaId el id de la venta.
+     */
+    public void agregar(Long ventaId) {
+        ajustar(ventaId, 1);
+    }
+
+    /**
+     * Resta de los resúmenes una venta tal como está guardada en la base de datos, antes de modificarla o borrarla.
+     *
+     * @param ventaId el id de la venta.
+     */
+    public void quitar(Long ventaId) {
+        ajustar(ventaId, -1);
+    }
+
+    private void ajustar(Long ventaId, int signo) {
+        List<FilaVenta> filas = jdbcTemplate.query(SELECT_VENTA, Map.of("id", ventaId), (rs, rowNum) ->
+            new FilaVenta(
+                fechaUtc(rs, "fecha_venta"),
+                rs.getBigDecimal("precio_final"),
+                rs.getLong("dispositivo_id"),
+                Moneda.valueOf(rs.getString("moneda"))
+            )
+        );
+        if (filas.isEmpty()) {
+            return;
+        }
+        FilaVenta venta = filas.get(0);
+        LocalDate dia = dia(venta.fechaVenta());
+        Deltas deltas = new Deltas();
+        deltas.sumarVenta(dia, venta.dispositivoId(), venta.moneda(), venta.precioFinal(), signo);
+        for (VentaRepositoryWithBagRelationships.RelacionVenta relacion : ventaRepository.findRelaciones(List.of(ventaId))) {
+            ItemVendidoDTO.Tipo tipo = ItemVendidoDTO.Tipo.valueOf(relacion.tipo().name());
+            deltas.sumarItem(dia, venta.dispositivoId(), tipo, relacion.relacionadoId(), signo);
+        }
+        guardar(deltas);
+    }
+
+    private void guardar(Deltas deltas) {
+        if (!deltas.dias.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                UPSERT_DIA,
+                deltas.dias
+                    .entrySet()
+                    .stream()
+                    .map(delta ->
+                        new MapSqlParameterSource()
+                            .addValue("dia", delta.getKey().dia())
+                            .addValue("dispositivoId", delta.getKey().dispositivoId())
+                            .addValue("moneda", delta.getKey().moneda().name())
+                            .addValue("cantidad", delta.getValue().cantidad())
+                            .addValue("total", delta.getValue().total())
+                    )
+                    .toArray(SqlParameterSource[]::new)
+            );
+        }
+        if (!deltas.items.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                UPSERT_ITEM,
+                deltas.items
+                    .entrySet()
+                    .stream()
+                    .map(delta ->
+                        new MapSqlParameterSource()
+                            .addValue("dia", delta.getKey().dia())
+                            .addValue("dispositivoId", delta.getKey().dispositivoId())
+                            .addValue("tipo", delta.getKey().tipo().name())
+                            .addValue("itemId", delta.getKey().itemId())
+                            .addValue("cantidad", delta.getValue())
+                    )
+                    .toArray(SqlParameterSource[]::new)
+            );
+        }
+    }
+
+    /**
+     * Totales por día, dispositivo y moneda.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @param dispositivoId el dispositivo, o null para todos.
+     * @param moneda la moneda, o null para todas.
+     * @return una fila por día, dispositivo y moneda con ventas, ordenadas por día.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumenVentasDTO> resumenDiario(LocalDate desde, LocalDate hasta, Long dispositivoId, Moneda moneda) {
+        LOG.debug("Request to get daily Venta totals from {} to {}", desde, hasta);
+        MapSqlParameterSource parametros = parametros(desde, hasta, dispositivoId, moneda);
+        return jdbcTemplate.query(
+            "select dia, dispositivo_id, moneda, cantidad, total from resumen_venta_dia" +
+            filtro(dispositivoId, moneda) +
+            " and cantidad <> 0 order by dia, dispositivo_id, moneda",
+            parametros,
+            (rs, rowNum) ->
+                new ResumenVentasDTO(
+                    rs.getObject("dia", LocalDate.class),
+                    rs.getLong("dispositivo_id"),
+                    Moneda.valueOf(rs.getString("moneda")),
+                    rs.getLong("cantidad"),
+                    rs.getBigDecimal("total")
+                )
+        );
+    }
+
+    /**
+     * Totales de todo el rango por dispositivo y moneda.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @param moneda la moneda, o null para todas.
+     * @return una fila por dispositivo y moneda con ventas.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumenVentasDTO> totalesPorDispositivo(LocalDate desde, LocalDate hasta, Moneda moneda) {
+        LOG.debug("Request to get Venta totals by Dispositivo from {} to {}", desde, hasta);
+        return jdbcTemplate.query(
+            "select dispositivo_id, moneda, sum(cantidad) as cantidad, sum(total) as total from resumen_venta_dia" +
+            filtro(null, moneda) +
+            " group by dispositivo_id, moneda having sum(cantidad) <> 0 order by dispositivo_id, moneda",
+            parametros(desde, hasta, null, moneda),
+            (rs, rowNum) ->
+                new ResumenVentasDTO(
+                    null,
+                    rs.getLong("dispositivo_id"),
+                    Moneda.valueOf(rs.getString("moneda")),
+                    rs.getLong("cantidad"),
+                    rs.getBigDecimal("total")
+                )
+        );
+    }
+
+    /**
+     * Totales de todo el rango por moneda.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @return una fila por moneda con ventas.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumenVentasDTO> totalesPorMoneda(LocalDate desde, LocalDate hasta) {
+        LOG.debug("Request to get Venta totals by Moneda from {} to {}", desde, hasta);
+        return jdbcTemplate.query(
+            "select moneda, sum(cantidad) as cantidad, sum(total) as total from resumen_venta_dia" +
+            FILTRO_DIAS +
+            " group by moneda having sum(cantidad) <> 0 order by moneda",
+            parametros(desde, hasta, null, null),
+            (rs, rowNum) ->
+                new ResumenVentasDTO(null, null, Moneda.valueOf(rs.getString("moneda")), rs.getLong("cantidad"), rs.getBigDecimal("total"))
+        );
+    }
+
+    /**
+     * Las personalizaciones, opciones o adicionales incluidos en más ventas.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @param dispositivoId el dispositivo, o null para todos.
+     * @param tipo qué se vendió.
+     * @param limite la cantidad máxima de items a devolver.
+     * @return los items de más a menos vendido.
+     */
+    @Transactional(readOnly = true)
+    public List<ItemVendidoDTO> masVendidos(LocalDate desde, LocalDate hasta, Long dispositivoId, ItemVendidoDTO.Tipo tipo, int limite) {
+        LOG.debug("Request to get the top {} {} from {} to {}", limite, tipo, desde, hasta);
+        String catalogo =
+            switch (tipo) {
+                case PERSONALIZACION -> "personalizacion";
+                case OPCION -> "opcion";
+                case ADICIONAL -> "adicional";
+            };
+        return jdbcTemplate.query(
+            "select r.item_id, max(c.nombre) as nombre, sum(r.cantidad) as cantidad from resumen_venta_dia_item r" +
+            " left join " +
+            catalogo +
+            " c on c.id = r.item_id where r.tipo = :tipo and r.dia >= :desde and r.dia <= :hasta" +
+            (dispositivoId != null ? " and r.dispositivo_id = :dispositivoId" : "") +
+            " group by r.item_id having sum(r.cantidad) > 0 order by cantidad desc, r.item_id limit :limite",
+            parametros(desde, hasta, dispositivoId, null).addValue("tipo", tipo.name()).addValue("limite", limite),
+            (rs, rowNum) -> new ItemVendidoDTO(tipo, rs.getLong("item_id"), rs.getString("nombre"), rs.getLong("cantidad"))
+        );
+    }
+
+    /**
+     * Rehace los resúmenes de un día a partir de las ventas registradas, reemplazando los que hubiera.
+     *
+     * @param dia el día a reconstruir.
+     * @return la cantidad de ventas del día.
+     */
+    public long reconstruirDia(LocalDate dia) {
+        ZoneId zona = zona();
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+            .addValue("dia", dia)
+            // Igual que Hibernate con hibernate.jdbc.time_zone=UTC
+            .addValue("inicio", dia.atStartOfDay(zona).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+            .addValue("fin", dia.plusDays(1).atStartOfDay(zona).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        jdbcTemplate.update(DELETE_DIA, parametros);
+        jdbcTemplate.update(DELETE_ITEMS_DIA, parametros);
+        int grupos = jdbcTemplate.update(RECONSTRUIR_DIA, parametros);
+        if (grupos == 0) {
+            return 0;
+        }
+        reconstruirItems(ItemVendidoDTO.Tipo.PERSONALIZACION, "rel_venta__personalizaciones", "personalizaciones_id", parametros);
+        reconstruirItems(ItemVendidoDTO.Tipo.OPCION, "rel_venta__opciones", "opciones_id", parametros);
+        reconstruirItems(ItemVendidoDTO.Tipo.ADICIONAL, "rel_venta__adicionales", "adicionales_id", parametros);
+        Long ventas = jdbcTemplate.queryForObject("select sum(cantidad) from resumen_venta_dia where dia = :dia", parametros, Long.class);
+        return ventas != null ? ventas : 0;
+    }
+
+    private void reconstruirItems(ItemVendidoDTO.Tipo tipo, String tabla, String columna, MapSqlParameterSource parametros) {
+        jdbcTemplate.update(
+            "insert into resumen_venta_dia_item (dia, dispositivo_id, tipo, item_id, cantidad)" +
+            " select :dia, v.dispositivo_id, '" +
+            tipo.name() +
+            "', r." +
+            columna +
+            ", count(*) from venta v join " +
+            tabla +
+            " r on r.venta_id = v.id" +
+            FILTRO_VENTAS_DIA +
+            " group by v.dispositivo_id, r." +
+            columna,
+            parametros
+        );
+    }
+
+    /**
+     * El primer y el último día con ventas registradas.
+     *
+     * @return los días, o vacío si no hay ventas.
+     */
+    @Transactional(readOnly = true)
+    public Optional<RangoDias> rangoVentas() {
+        return Optional.ofNullable(
+            jdbcTemplate.queryForObject(SELECT_RANGO_VENTAS, Map.of(), (rs, rowNum) -> {
+                ZonedDateTime primera = fechaUtc(rs, "primera");
+                return primera == null ? null : new RangoDias(dia(primera), dia(fechaUtc(rs, "ultima")));
+            })
+        );
+    }
+
+    private LocalDate dia(ZonedDateTime fecha) {
+        return fecha.withZoneSameInstant(zona()).toLocalDate();
+    }
+
+    private ZoneId zona() {
+        return applicationProperties.getAnalitica().getZonaHoraria();
+    }
+
+    private static ZonedDateTime fechaUtc(ResultSet rs, String columna) throws SQLException {
+        LocalDateTime fecha = rs.getObject(columna, LocalDateTime.class);
+        return fecha == null ? null : fecha.atZone(ZoneOffset.UTC);
+    }
+
+    private static String filtro(Long dispositivoId, Moneda moneda) {
+        return FILTRO_DIAS + (dispositivoId != null ? FILTRO_DISPOSITIVO : "") + (moneda != null ? FILTRO_MONEDA : "");
+    }
+
+    private static MapSqlParameterSource parametros(LocalDate desde, LocalDate hasta, Long dispositivoId, Moneda moneda) {
+        return new MapSqlParameterSource()
+            .addValue("desde", desde)
+            .addValue("hasta", hasta)
+            .addValue("dispositivoId", dispositivoId)
+            .addValue("moneda", moneda != null ? moneda.name() : null);
+    }
+
+    /**
+     * Un rango de días, ambos inclusive.
+     */
+    record RangoDias(LocalDate desde, LocalDate hasta) {}
+
+    private record FilaVenta(ZonedDateTime fechaVenta, BigDecimal precioFinal, long dispositivoId, Moneda moneda) {}
+
+    private record ClaveDia(LocalDate dia, long dispositivoId, Moneda moneda) {}
+
+    private record ClaveItem(LocalDate dia, long dispositivoId, ItemVendidoDTO.Tipo tipo, long itemId) {}
+
+    private record TotalDia(long cantidad, BigDecimal total) {
+        TotalDia sumar(TotalDia otro) {
+            return new TotalDia(cantidad + otro.cantidad, total.add(otro.total));
+        }
+    }
+
+    /**
+     * Lo que un grupo de ventas suma (o resta) a cada fila de los resúmenes, ordenado por clave.
+     */
+    private static final class Deltas {
+
+        final SortedMap<ClaveDia, TotalDia> dias = new TreeMap<>(ORDEN_DIAS);
+        final SortedMap<ClaveItem, Long> items = new TreeMap<>(ORDEN_ITEMS);
+
+        void sumarVenta(LocalDate dia, long dispositivoId, Moneda moneda, BigDecimal precioFinal, int signo) {
+            TotalDia delta = new TotalDia(signo, signo < 0 ? precioFinal.negate() : precioFinal);
+            dias.merge(new ClaveDia(dia, dispositivoId, moneda), delta, TotalDia::sumar);
+        }
+
+        void sumarItem(LocalDate dia, long dispositivoId, ItemVendidoDTO.Tipo tipo, long itemId, int signo) {
+            items.merge(new ClaveItem(dia, dispositivoId, tipo, itemId), (long) signo, Long::sum);
+        }
+    }
+}
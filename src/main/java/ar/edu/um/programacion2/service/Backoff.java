@@ -0,0 +1,25 @@
+package ar.edu.um.programacion2.service;
+
+import java.time.Duration;
+
+/**
+ * Backoff exponencial compartido por los reintentos del envío de ventas y de la sincronización del catálogo.
+ */
+final class Backoff {
+
+    private Backoff() {}
+
+    /**
+     * @param intentos la cantidad de intentos fallidos consecutivos, al menos 1.
+     * @param inicial la demora tras el primer intento fallido.
+     * @param maximo el tope de la demora.
+     * @return {@code inicial} duplicada por cada intento fallido después del primero, sin superar {@code maximo}.
+     */
+    static Duration exponencial(int intentos, Duration inicial, Duration maximo) {
+        Duration backoff = inicial;
+        for (int i = 1; i < intentos && backoff.compareTo(maximo) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(maximo) < 0 ? backoff : maximo;
+    }
+}
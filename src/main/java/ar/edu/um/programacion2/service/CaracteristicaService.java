@@ -7,8 +7,12 @@ import ar.edu.um.programacion2.service.mapper.CaracteristicaMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -77,7 +81,7 @@ public class CaracteristicaService {
     }
 
     /**
-     * Get all the caracteristicas.
+     * Get all the caracteristicas, read straight into DTOs without loading the entities.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -85,7 +89,21 @@ public class CaracteristicaService {
     @Transactional(readOnly = true)
     public Page<CaracteristicaDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Caracteristicas");
-        return caracteristicaRepository.findAll(pageable).map(caracteristicaMapper::toDto);
+        return caracteristicaRepository.findAllBy(pageable, CaracteristicaDTO.class);
+    }
+
+    /**
+     * Get a window of the caracteristicas after a keyset position, without counting them.
+     *
+     * @param position the position after which to read.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<CaracteristicaDTO> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Caracteristicas");
+        return caracteristicaRepository.scrollAllBy(position, sort, Limit.of(size), CaracteristicaDTO.class);
     }
 
     /**
@@ -0,0 +1,179 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.service.dto.ResultadoLoteVentasDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Carga masiva de ventas, para las terminales que acumulan ventas sin conexión y las suben juntas.
+ * <p>
+ * Toda la carga se cotiza contra la misma instantánea de la tabla de precios. Las ventas se registran en tramos de
+ * {@code application.carga-ventas.tamanio-tramo}, cada uno en su propia transacción (ver
+ * {@link VentaService#registrarLote}): una venta inválida se rechaza sola y un error al escribir rechaza sólo su tramo,
+ * así que el resultado indica para cada venta si se registró y, si no, por qué.
+ */
+@Service
+public class CargaVentasService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CargaVentasService.class);
+
+    private static final String ERROR_TRAMO = "No se pudo guardar el tramo de ventas; la venta se puede reenviar";
+
+    private final VentaService ventaService;
+    private final MotorPreciosService motorPreciosService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties applicationProperties;
+
+    public CargaVentasService(
+        VentaService ventaService,
+        MotorPreciosService motorPreciosService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.ventaService = ventaService;
+        this.motorPreciosService = motorPreciosService;
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Registra las ventas de un arreglo JSON.
+     *
+     * @param ventas las ventas a registrar.
+     * @return el resultado de cada venta, en el mismo orden.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoLoteVentasDTO registrar(List<VentaRequest> ventas) {
+        return registrar(ventas.stream().map(venta -> new Pedido(venta, null)).iterator());
+    }
+
+    /**
+     * Registra las ventas de un cuerpo NDJSON (una venta por línea) a medida que se lee. Una línea que no es una venta
+     * válida se rechaza sin afectar al resto.
+     *
+     * @param lector el cuerpo de la carga.
+     * @return el resultado de cada venta, en el orden de las líneas no vacías.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoLoteVentasDTO registrarNdjson(BufferedReader lector) {
+        return registrar(new LineasNdjson(lector));
+    }
+
+    private ResultadoLoteVentasDTO registrar(Iterator<Pedido> pedidos) {
+        ApplicationProperties.CargaVentas cargaVentas = applicationProperties.getCargaVentas();
+        MotorPreciosService.Cotizador cotizador = motorPreciosService.instantanea();
+        ResultadoLoteVentasDTO resultado = new ResultadoLoteVentasDTO();
+        List<Pedido> tramo = new ArrayList<>(cargaVentas.getTamanioTramo());
+        int leidos = 0;
+        while (pedidos.hasNext()) {
+            if (leidos == cargaVentas.getMaximoVentas()) {
+                resultado.setTruncado(true);
+                break;
+            }
+            tramo.add(pedidos.next());
+            leidos++;
+            if (tramo.size() == cargaVentas.getTamanioTramo()) {
+                registrarTramo(tramo, cotizador, resultado);
+                tramo.clear();
+            }
+        }
+        if (!tramo.isEmpty()) {
+            registrarTramo(tramo, cotizador, resultado);
+        }
+        LOG.info("Carga de ventas: {}", resultado);
+        return resultado;
+    }
+
+    private void registrarTramo(List<Pedido> tramo, MotorPreciosService.Cotizador cotizador, ResultadoLoteVentasDTO resultado) {
+        List<VentaRequest> validas = tramo.stream().filter(pedido -> pedido.error() == null).map(Pedido::request).toList();
+        List<ResultadoLoteVentasDTO.ResultadoVenta> registradas;
+        if (validas.isEmpty()) {
+            registradas = List.of();
+        } else {
+            try {
+                registradas = ventaService.registrarLote(validas, cotizador);
+            } catch (RuntimeException e) {
+                LOG.error("No se pudo guardar un tramo de {} ventas", validas.size(), e);
+                registradas = validas.stream().map(venta -> ResultadoLoteVentasDTO.ResultadoVenta.rechazada(ERROR_TRAMO)).toList();
+            }
+        }
+        Iterator<ResultadoLoteVentasDTO.ResultadoVenta> registrada = registradas.iterator();
+        for (Pedido pedido : tramo) {
+            ResultadoLoteVentasDTO.ResultadoVenta resultadoVenta = pedido.error() != null
+                ? ResultadoLoteVentasDTO.ResultadoVenta.rechazada(pedido.error())
+                : registrada.next();
+            resultadoVenta.setIndice(resultado.getResultados().size());
+            resultado.agregar(resultadoVenta);
+        }
+    }
+
+    /**
+     * Una venta de la carga, o el motivo por el que no se pudo leer.
+     */
+    private record Pedido(VentaRequest request, String error) {
+        Pedido {
+            if (request == null && error == null) {
+                error = "La venta está vacía";
+            }
+        }
+    }
+
+    /**
+     * Lee una venta por línea no vacía, sin cargar todo el cuerpo en memoria.
+     */
+    private final class LineasNdjson implements Iterator<Pedido> {
+
+        private final BufferedReader lector;
+        private String siguiente;
+
+        LineasNdjson(BufferedReader lector) {
+            this.lector = lector;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (siguiente == null) {
+                    String linea = lector.readLine();
+                    if (linea == null) {
+                        return false;
+                    }
+                    if (!linea.isBlank()) {
+                        siguiente = linea;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Pedido next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String linea = siguiente;
+            siguiente = null;
+            try {
+                return new Pedido(objectMapper.readValue(linea, VentaRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Pedido(null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
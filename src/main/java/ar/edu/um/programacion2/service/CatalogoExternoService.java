@@ -0,0 +1,55 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Lectura en streaming del catálogo publicado por el servicio externo.
+ * <p>
+ * El arreglo JSON de {@code /dispositivos} se decodifica elemento por elemento a medida que llegan los bytes, en lugar
+ * de materializar la respuesta completa. Los dispositivos se entregan en lotes de tamaño fijo y la lectura de la red
+ * sólo avanza cuando el lote anterior fue procesado, así que la memoria usada no depende del tamaño del catálogo.
+ */
+@Service
+public class CatalogoExternoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogoExternoService.class);
+
+    private final WebClient webClient;
+
+    public CatalogoExternoService(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    /**
+     * Recorre los dispositivos del servicio externo entregándolos en lotes.
+     *
+     * @param tamanioLote la cantidad máxima de dispositivos por lote.
+     * @param procesarLote se invoca con cada lote, en el orden en que llegan los dispositivos.
+     * @return la cantidad total de dispositivos leídos.
+     */
+    public int leerDispositivos(int tamanioLote, Consumer<List<DispositivoExternoDTO>> procesarLote) {
+        LOG.info("Realizando solicitud GET en streaming al servicio externo para obtener dispositivos.");
+        Iterable<List<DispositivoExternoDTO>> lotes = webClient
+            .get()
+            .uri("/dispositivos")
+            .retrieve()
+            .bodyToFlux(DispositivoExternoDTO.class)
+            .buffer(tamanioLote)
+            // Se pide un lote por vez: mientras se procesa uno, el siguiente no se sigue leyendo de la red
+            .toIterable(1);
+
+        int total = 0;
+        for (List<DispositivoExternoDTO> lote : lotes) {
+            procesarLote.accept(lote);
+            total += lote.size();
+        }
+        LOG.debug("Se leyeron {} dispositivos del servicio externo", total);
+        return total;
+    }
+}
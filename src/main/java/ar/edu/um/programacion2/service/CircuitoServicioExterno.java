@@ -0,0 +1,144 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.management.ServicioExternoMetersService;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker de los pedidos al servicio externo, como filtro del {@code WebClient} compartido.
+ * <p>
+ * Cerrado, deja pasar todos los pedidos y cuenta las fallas seguidas: errores de conexión, timeouts, pedidos cancelados
+ * antes de recibir la respuesta (como hace {@code Mono#timeout}) y respuestas 5xx. Al llegar a
+ * {@code fallas-para-abrir} se abre y rechaza los pedidos con {@link ServicioExternoNoDisponibleException} sin
+ * enviarlos. Pasado {@code duracion-abierto} deja pasar un único pedido de prueba: si responde, el circuito se cierra;
+ * si falla, vuelve a abrirse. Sólo cuenta hasta la llegada de los encabezados, así que un catálogo que se corta a mitad de
+ * la lectura no abre el circuito.
+ */
+@Component
+public class CircuitoServicioExterno implements ExchangeFilterFunction {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitoServicioExterno.class);
+
+    enum Estado {
+        CERRADO,
+        ABIERTO,
+        SEMIABIERTO,
+    }
+
+    private enum Permiso {
+        RECHAZADO,
+        NORMAL,
+        PRUEBA,
+    }
+
+    private final ApplicationProperties applicationProperties;
+    private final ServicioExternoMetersService servicioExternoMetersService;
+
+    private Estado estado = Estado.CERRADO;
+    private int fallasSeguidas;
+    private long abiertoHasta;
+
+    public CircuitoServicioExterno(ApplicationProperties applicationProperties, ServicioExternoMetersService servicioExternoMetersService) {
+        this.applicationProperties = applicationProperties;
+        this.servicioExternoMetersService = servicioExternoMetersService;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!applicationProperties.getServicioExterno().getCircuito().isHabilitado()) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            Permiso permiso = permitir();
+            if (permiso == Permiso.RECHAZADO) {
+                servicioExternoMetersService.trackRechazo();
+                return Mono.error(rechazo());
+            }
+            boolean prueba = permiso == Permiso.PRUEBA;
+            AtomicBoolean registrado = new AtomicBoolean();
+            return next
+                .exchange(request)
+                .doOnNext(respuesta -> {
+                    if (registrado.compareAndSet(false, true)) {
+                        registrar(prueba, !respuesta.statusCode().is5xxServerError());
+                    }
+                })
+                .doOnError(error -> {
+                    if (registrado.compareAndSet(false, true)) {
+                        registrar(prueba, false);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (registrado.compareAndSet(false, true)) {
+                        registrar(prueba, false);
+                    }
+                });
+        });
+    }
+
+    synchronized Estado getEstado() {
+        return estado;
+    }
+
+    private synchronized Permiso permitir() {
+        return switch (estado) {
+            case CERRADO -> Permiso.NORMAL;
+            case ABIERTO -> {
+                if (System.nanoTime() - abiertoHasta < 0) {
+                    yield Permiso.RECHAZADO;
+                }
+                cambiar(Estado.SEMIABIERTO);
+                yield Permiso.PRUEBA;
+            }
+            // Ya hay un pedido de prueba en curso
+            case SEMIABIERTO -> Permiso.RECHAZADO;
+        };
+    }
+
+    private synchronized void registrar(boolean prueba, boolean exitoso) {
+        if (estado == Estado.SEMIABIERTO && !prueba) {
+            // Un pedido enviado antes de abrir el circuito no decide la prueba
+            return;
+        }
+        if (exitoso) {
+            fallasSeguidas = 0;
+            if (estado != Estado.CERRADO) {
+                LOG.info("El servicio externo volvió a responder; se cierra el circuito");
+                cambiar(Estado.CERRADO);
+            }
+            return;
+        }
+        ApplicationProperties.ServicioExterno.Circuito circuito = applicationProperties.getServicioExterno().getCircuito();
+        if (estado == Estado.SEMIABIERTO || (estado == Estado.CERRADO && ++fallasSeguidas >= circuito.getFallasParaAbrir())) {
+            LOG.warn(
+                "El servicio externo falló {} veces seguidas; se rechazan sus pedidos durante {}",
+                fallasSeguidas,
+                circuito.getDuracionAbierto()
+            );
+            abiertoHasta = System.nanoTime() + circuito.getDuracionAbierto().toNanos();
+            cambiar(Estado.ABIERTO);
+        }
+    }
+
+    private void cambiar(Estado nuevo) {
+        estado = nuevo;
+        switch (nuevo) {
+            case CERRADO -> servicioExternoMetersService.trackCircuitoCerrado();
+            case SEMIABIERTO -> servicioExternoMetersService.trackCircuitoSemiabierto();
+            case ABIERTO -> servicioExternoMetersService.trackCircuitoAbierto();
+        }
+    }
+
+    private synchronized ServicioExternoNoDisponibleException rechazo() {
+        return new ServicioExternoNoDisponibleException(fallasSeguidas, Duration.ofNanos(Math.max(abiertoHasta - System.nanoTime(), 0)));
+    }
+}
@@ -0,0 +1,13 @@
+package ar.edu.um.programacion2.service;
+
+/**
+ * Se recibió una clave {@code Idempotency-Key} ya usada para registrar una venta distinta.
+ */
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ClaveIdempotenciaReutilizadaException(String clave) {
+        super("La clave de idempotencia " + clave + " ya se usó con otro pedido");
+    }
+}
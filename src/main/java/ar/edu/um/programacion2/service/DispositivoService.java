@@ -1,5 +1,6 @@
 package ar.edu.um.programacion2.service;
 
+import ar.edu.um.programacion2.config.ApplicationProperties;
 import ar.edu.um.programacion2.domain.Adicional;
 import ar.edu.um.programacion2.domain.Caracteristica;
 import ar.edu.um.programacion2.domain.Dispositivo;
@@ -13,19 +14,22 @@ import ar.edu.um.programacion2.repository.OpcionRepository;
 import ar.edu.um.programacion2.repository.PersonalizacionRepository;
 import ar.edu.um.programacion2.service.dto.DispositivoDTO;
 import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
 import ar.edu.um.programacion2.service.mapper.DispositivoMapper;
-import jakarta.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -45,14 +49,10 @@ public class DispositivoService {
     private final PersonalizacionRepository personalizacionRepository;
     private final OpcionRepository opcionRepository;
     private final AdicionalRepository adicionalRepository;
-    private final WebClient.Builder webClientBuilder;
-    private WebClient webClient;
-
-    @Value("${SERVICE_BASE_URL}")
-    private String baseUrl;
-
-    @Value("${SERVICE_API_TOKEN}")
-    private String apiToken;
+    private final WebClient webClient;
+    private final SincronizacionCatalogoService sincronizacionCatalogoService;
+    private final CatalogoExternoService catalogoExternoService;
+    private final ApplicationProperties applicationProperties;
 
     public DispositivoService(
         DispositivoRepository dispositivoRepository,
@@ -61,7 +61,10 @@ public class DispositivoService {
         PersonalizacionRepository personalizacionRepository,
         OpcionRepository opcionRepository,
         AdicionalRepository adicionalRepository,
-        WebClient.Builder webClientBuilder
+        WebClient webClient,
+        SincronizacionCatalogoService sincronizacionCatalogoService,
+        CatalogoExternoService catalogoExternoService,
+        ApplicationProperties applicationProperties
     ) {
         this.dispositivoRepository = dispositivoRepository;
         this.dispositivoMapper = dispositivoMapper;
@@ -69,13 +72,10 @@ public class DispositivoService {
         this.personalizacionRepository = personalizacionRepository;
         this.opcionRepository = opcionRepository;
         this.adicionalRepository = adicionalRepository;
-        this.webClientBuilder = webClientBuilder;
-    }
-
-    @PostConstruct
-    public void initWebClient() {
-        LOG.info("Inicializando WebClient con Base URL: {}", baseUrl);
-        this.webClient = webClientBuilder.baseUrl(baseUrl).defaultHeader("Authorization", "Bearer " + apiToken).build();
+        this.webClient = webClient;
+        this.sincronizacionCatalogoService = sincronizacionCatalogoService;
+        this.catalogoExternoService = catalogoExternoService;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -125,7 +125,7 @@ public class DispositivoService {
     }
 
     /**
-     * Get all the dispositivos.
+     * Get all the dispositivos, read straight into DTOs without loading the entities.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -133,7 +133,21 @@ public class DispositivoService {
     @Transactional(readOnly = true)
     public Page<DispositivoDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Dispositivos");
-        return dispositivoRepository.findAll(pageable).map(dispositivoMapper::toDto);
+        return dispositivoRepository.findAllBy(pageable, DispositivoDTO.class);
+    }
+
+    /**
+     * Get a window of the dispositivos after a keyset position, without counting them.
+     *
+     * @param position the position after which to read.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<DispositivoDTO> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Dispositivos");
+        return dispositivoRepository.scrollAllBy(position, sort, Limit.of(size), DispositivoDTO.class);
     }
 
     /**
@@ -158,25 +172,29 @@ public class DispositivoService {
         dispositivoRepository.deleteById(id);
     }
 
-    //sincronizacion periodica
-
-    @Scheduled(fixedRate = 120000)
-    public void sincronizarDispositivos() {
-        LOG.info("Iniciando sincronización periódica de dispositivos...");
-        traerDispositivos(); // Llama al método para obtener y guardar dispositivos
-        LOG.info("Sincronización de dispositivos completada.");
+    /**
+     * Sincroniza el catálogo externo por lotes a medida que se lee la respuesta, escribiendo sólo las filas que cambiaron.
+     * Cada lote se confirma en su propia transacción, así que una sincronización larga no retiene locks hasta el final.
+     * La programación periódica está en {@link SincronizacionProgramadaService}.
+     *
+     * @return la cantidad de filas insertadas, actualizadas y sin cambios por entidad.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoSincronizacionDTO sincronizarCatalogo() {
+        ResultadoSincronizacionDTO resultado = new ResultadoSincronizacionDTO();
+        int leidos = catalogoExternoService.leerDispositivos(applicationProperties.getSincronizacion().getTamanioLote(), lote ->
+            resultado.sumar(sincronizacionCatalogoService.sincronizar(lote))
+        );
+        if (leidos == 0) {
+            LOG.error("No se recibieron dispositivos de la API");
+            return resultado;
+        }
+        LOG.info("Resultado de la sincronización del catálogo: {}", resultado);
+        return resultado;
     }
 
     public List<DispositivoDTO> traerDispositivos() {
-        LOG.info("Realizando solicitud GET al servicio externo para obtener dispositivos.");
-
-        Mono<DispositivoExternoDTO[]> response = webClient
-            .get()
-            .uri("/dispositivos") // Endpoint relativo combinado con baseUrl
-            .retrieve()
-            .bodyToMono(DispositivoExternoDTO[].class);
-
-        DispositivoExternoDTO[] dispositivosExternoArray = response.block();
+        DispositivoExternoDTO[] dispositivosExternoArray = obtenerDispositivosExternos();
         if (dispositivosExternoArray == null || dispositivosExternoArray.length == 0) {
             LOG.error("No se recibieron dispositivos de la API");
             return Collections.emptyList();
@@ -267,4 +285,16 @@ public class DispositivoService {
         System.out.println("Dispositivos y entidades relacionadas sincronizadas en la base de datos");
         return dispositivoMapper.toDto(dispositivosGuardados);
     }
+
+    private DispositivoExternoDTO[] obtenerDispositivosExternos() {
+        LOG.info("Realizando solicitud GET al servicio externo para obtener dispositivos.");
+
+        Mono<DispositivoExternoDTO[]> response = webClient
+            .get()
+            .uri("/dispositivos") // Endpoint relativo combinado con baseUrl
+            .retrieve()
+            .bodyToMono(DispositivoExternoDTO[].class);
+
+        return response.block();
+    }
 }
@@ -0,0 +1,269 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.management.EnvioVentasMetersService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Envío de las ventas al servicio externo a través de una bandeja de salida (la tabla {@code envio_venta}).
+ * <p>
+ * La venta se encola en la misma transacción en la que se guarda, así que sólo se envía si se confirmó y no se pierde si
+ * el servicio externo está caído. Un despachador periódico lee las ventas pendientes en lotes, las envía con una
+ * concurrencia acotada y registra el resultado de cada una: las entregadas se marcan con la fecha de entrega y las
+ * fallidas se reprograman con backoff exponencial hasta agotar los intentos. Las que rechaza el circuito abierto del
+ * servicio externo no llegaron a enviarse: se reprograman para cuando el circuito vuelva a dejar pasar pedidos, sin gastar
+ * un intento. El servicio externo puede recibir una venta más de una vez si la respuesta se pierde después de procesarla.
+ * Se asume una sola instancia despachando.
+ */
+@Service
+public class EnvioVentasService implements SchedulingConfigurer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvioVentasService.class);
+
+    private static final int LARGO_MAXIMO_ERROR = 512;
+
+    private static final String INSERT_ENVIO =
+        "insert into envio_venta (venta_id, payload, creado, intentos, proximo_intento) values (:ventaId, :payload, :creado, 0, :creado)";
+    private static final String SELECT_PENDIENTES =
+        "select id, venta_id, payload, creado, intentos from envio_venta where proximo_intento <= :ahora " +
+        "order by proximo_intento, id limit :limite";
+    private static final String UPDATE_ENTREGADO =
+        "update envio_venta set intentos = :intentos, proximo_intento = null, entregado = :ahora, ultimo_error = null where id = :id";
+    private static final String UPDATE_FALLIDO =
+        "update envio_venta set intentos = :intentos, proximo_intento = :proximoIntento, ultimo_error = :error where id = :id";
+    private static final String UPDATE_RECHAZADO = "update envio_venta set proximo_intento = :proximoIntento where id = :id";
+    private static final String COUNT_PENDIENTES = "select count(*) from envio_venta where proximo_intento is not null";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties applicationProperties;
+    private final EnvioVentasMetersService envioVentasMetersService;
+    private final WebClient webClient;
+
+    public EnvioVentasService(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        EnvioVentasMetersService envioVentasMetersService,
+        WebClient webClient
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.applicationProperties = applicationProperties;
+        this.envioVentasMetersService = envioVentasMetersService;
+        this.webClient = webClient;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        ApplicationProperties.EnvioVentas envioVentas = applicationProperties.getEnvioVentas();
+        if (envioVentas.isHabilitado()) {
+            taskRegistrar.addFixedDelayTask(this::despacharProgramado, envioVentas.getIntervalo());
+        } else {
+            LOG.info("El envío de ventas al servicio externo está deshabilitado; las ventas quedan encoladas");
+        }
+    }
+
+    /**
+     * Encola una venta para enviarla al servicio externo. Debe llamarse dentro de la transacción que guarda la venta.
+     *
+     * @param ventaId el id de la venta guardada.
+     * @param payload el cuerpo a enviar a {@code /vender}; se serializa a JSON en este momento.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void encolar(Long ventaId, Object payload) {
+        String json = serializar(ventaId, payload);
+        jdbcTemplate.update(INSERT_ENVIO, parametrosEnvio(ventaId, json, Timestamp.from(Instant.now())));
+        LOG.debug("Venta {} encolada para el servicio externo: {}", ventaId, json);
+    }
+
+    /**
+     * Encola varias ventas en un único batch. Debe llamarse dentro de la transacción que guarda las ventas.
+     *
+     * @param payloads el cuerpo a enviar a {@code /vender} de cada venta, por id de venta.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void encolarTodas(Map<Long, ?> payloads) {
+        if (payloads.isEmpty()) {
+            return;
+        }
+        Timestamp creado = Timestamp.from(Instant.now());
+        SqlParameterSource[] envios = payloads
+            .entrySet()
+            .stream()
+            .map(payload -> parametrosEnvio(payload.getKey(), serializar(payload.getKey(), payload.getValue()), creado))
+            .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_ENVIO, envios);
+        LOG.debug("{} ventas encoladas para el servicio externo", envios.length);
+    }
+
+    private String serializar(Long ventaId, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la venta " + ventaId + " para el servicio externo", e);
+        }
+    }
+
+    private static MapSqlParameterSource parametrosEnvio(Long ventaId, String json, Timestamp creado) {
+        return new MapSqlParameterSource().addValue("ventaId", ventaId).addValue("payload", json).addValue("creado", creado);
+    }
+
+    void despacharProgramado() {
+        try {
+            int tamanioLote = applicationProperties.getEnvioVentas().getTamanioLote();
+            // Un lote completo indica que puede haber más pendientes: se sigue sin esperar al próximo intervalo. Si el circuito
+            // rechazó parte del lote, el lote no cuenta como completo y se espera al próximo intervalo
+            while (despachar() == tamanioLote) {
+                LOG.debug("Lote de envíos completo, se despacha el siguiente");
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Falló el despacho de ventas al servicio externo", e);
+        }
+    }
+
+    /**
+     * Envía un lote de ventas pendientes cuyo próximo intento ya llegó y registra el resultado de cada una.
+     *
+     * @return la cantidad de ventas que se intentaron enviar, sin contar las que rechazó el circuito abierto.
+     */
+    public int despachar() {
+        ApplicationProperties.EnvioVentas envioVentas = applicationProperties.getEnvioVentas();
+        List<Pendiente> lote = jdbcTemplate.query(
+            SELECT_PENDIENTES,
+            Map.of("ahora", Timestamp.from(Instant.now()), "limite", envioVentas.getTamanioLote()),
+            (rs, rowNum) ->
+                new Pendiente(
+                    rs.getLong("id"),
+                    rs.getLong("venta_id"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("creado").toInstant(),
+                    rs.getInt("intentos")
+                )
+        );
+        int enviadas = 0;
+        if (!lote.isEmpty()) {
+            List<Resultado> resultados = Flux.fromIterable(lote)
+                .flatMap(pendiente -> enviar(pendiente, envioVentas.getTimeout()), envioVentas.getConcurrencia())
+                .collectList()
+                .block();
+            enviadas = registrarResultados(resultados, envioVentas);
+        }
+        Long pendientes = jdbcTemplate.getJdbcTemplate().queryForObject(COUNT_PENDIENTES, Long.class);
+        envioVentasMetersService.trackPendientes(pendientes != null ? pendientes : 0);
+        return enviadas;
+    }
+
+    private Mono<Resultado> enviar(Pendiente pendiente, Duration timeout) {
+        return webClient
+            .post()
+            .uri("/vender")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(pendiente.payload())
+            .retrieve()
+            .bodyToMono(String.class)
+            .timeout(timeout)
+            .map(respuesta -> {
+                LOG.info("Venta {} registrada exitosamente en el servicio externo: {}", pendiente.ventaId(), respuesta);
+                return new Resultado(pendiente, null, null);
+            })
+            .defaultIfEmpty(new Resultado(pendiente, null, null))
+            .onErrorResume(error ->
+                Mono.just(
+                    error instanceof ServicioExternoNoDisponibleException rechazo
+                        ? new Resultado(pendiente, null, rechazo.getReintento())
+                        : new Resultado(pendiente, descripcion(error), null)
+                )
+            );
+    }
+
+    /**
+     * @return la cantidad de ventas que se enviaron, entregadas o fallidas.
+     */
+    private int registrarResultados(List<Resultado> resultados, ApplicationProperties.EnvioVentas envioVentas) {
+        Instant ahora = Instant.now();
+        List<SqlParameterSource> entregados = new ArrayList<>();
+        List<SqlParameterSource> fallidos = new ArrayList<>();
+        List<SqlParameterSource> rechazados = new ArrayList<>();
+        for (Resultado resultado : resultados) {
+            Pendiente pendiente = resultado.pendiente();
+            if (resultado.reintento() != null) {
+                Timestamp proximoIntento = Timestamp.from(ahora.plus(resultado.reintento()));
+                rechazados.add(new MapSqlParameterSource().addValue("id", pendiente.id()).addValue("proximoIntento", proximoIntento));
+                continue;
+            }
+            int intentos = pendiente.intentos() + 1;
+            MapSqlParameterSource parametros = new MapSqlParameterSource().addValue("id", pendiente.id()).addValue("intentos", intentos);
+            if (resultado.error() == null) {
+                entregados.add(parametros.addValue("ahora", Timestamp.from(ahora)));
+                envioVentasMetersService.trackEntrega(Duration.between(pendiente.creado(), ahora));
+                continue;
+            }
+            envioVentasMetersService.trackIntentoFallido();
+            Timestamp proximoIntento = null;
+            if (intentos < envioVentas.getIntentosMaximos()) {
+                Duration backoff = Backoff.exponencial(intentos, envioVentas.getBackoffInicial(), envioVentas.getBackoffMaximo());
+                proximoIntento = Timestamp.from(ahora.plus(backoff));
+                LOG.warn(
+                    "No se pudo enviar la venta {} (intento {}), se reintenta en {}: {}",
+                    pendiente.ventaId(),
+                    intentos,
+                    backoff,
+                    resultado.error()
+                );
+            } else {
+                envioVentasMetersService.trackDescarte();
+                LOG.error("Se descarta el envío de la venta {} tras {} intentos: {}", pendiente.ventaId(), intentos, resultado.error());
+            }
+            fallidos.add(parametros.addValue("proximoIntento", proximoIntento).addValue("error", resultado.error()));
+        }
+        if (!entregados.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ENTREGADO, entregados.toArray(SqlParameterSource[]::new));
+        }
+        if (!fallidos.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_FALLIDO, fallidos.toArray(SqlParameterSource[]::new));
+        }
+        if (!rechazados.isEmpty()) {
+            LOG.warn("El circuito del servicio externo está abierto: se reprograman {} ventas sin contar el intento", rechazados.size());
+            jdbcTemplate.batchUpdate(UPDATE_RECHAZADO, rechazados.toArray(SqlParameterSource[]::new));
+        }
+        return entregados.size() + fallidos.size();
+    }
+
+    private static String descripcion(Throwable error) {
+        String descripcion = error instanceof WebClientResponseException respuesta
+            ? respuesta.getStatusCode() + " " + respuesta.getResponseBodyAsString()
+            : error.getClass().getSimpleName() + ": " + error.getMessage();
+        return descripcion.length() > LARGO_MAXIMO_ERROR ? descripcion.substring(0, LARGO_MAXIMO_ERROR) : descripcion;
+    }
+
+    private record Pendiente(long id, long ventaId, String payload, Instant creado, int intentos) {}
+
+    /**
+     * El resultado de enviar una venta; {@code error} es nulo si el servicio externo la aceptó, y {@code reintento} no es
+     * nulo si el circuito abierto la rechazó sin enviarla.
+     */
+    private record Resultado(Pendiente pendiente, String error, Duration reintento) {}
+}
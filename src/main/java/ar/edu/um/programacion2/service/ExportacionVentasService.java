@@ -0,0 +1,238 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.VentaExportadaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Exportación del historial de ventas en CSV o NDJSON, escrita a medida que se lee.
+ * <p>
+ * Las ventas y sus personalizaciones y adicionales se leen con una sola consulta, ordenada por venta, sobre un cursor
+ * de sólo avance: cada venta se escribe apenas llega la fila de la siguiente, así que la memoria usada no depende de la
+ * cantidad de ventas exportadas. En MySQL el driver transmite las filas de a una en lugar de cargar todo el resultado
+ * (fetch size {@link Integer#MIN_VALUE}), lo que ocupa la conexión durante toda la exportación.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportacionVentasService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportacionVentasService.class);
+
+    /**
+     * Formato de la exportación.
+     */
+    public enum Formato {
+        /** Una línea de encabezado y una línea por venta; personalizaciones y adicionales separados por {@code ;}. */
+        CSV,
+        /** Un objeto JSON por línea. */
+        NDJSON,
+    }
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final int FETCH_SIZE_MYSQL_STREAMING = Integer.MIN_VALUE;
+
+    private static final String SELECT_VENTAS =
+        "select v.id as venta_id, 0 as tipo, v.fecha_venta, v.precio_final, d.id as dispositivo_id, d.codigo, d.moneda," +
+        " null as nombre, null as detalle" +
+        " from venta v join dispositivo d on d.id = v.dispositivo_id";
+    private static final String SELECT_PERSONALIZACIONES =
+        "select v.id, 1, null, null, null, null, null, p.nombre, o.nombre" +
+        " from venta v join rel_venta__personalizaciones rp on rp.venta_id = v.id" +
+        " join personalizacion p on p.id = rp.personalizaciones_id" +
+        " left join opcion o on o.personalizacion_id = p.id" +
+        " and o.id in (select ro.opciones_id from rel_venta__opciones ro where ro.venta_id = v.id)";
+    private static final String SELECT_ADICIONALES =
+        "select v.id, 2, null, null, null, null, null, a.nombre, null" +
+        " from venta v join rel_venta__adicionales ra on ra.venta_id = v.id" +
+        " join adicional a on a.id = ra.adicionales_id";
+    private static final String ORDEN = " order by venta_id, tipo, nombre";
+
+    private static final String ENCABEZADO_CSV =
+        "id,fechaVenta,dispositivoId,dispositivoCodigo,moneda,precioFinal,personalizaciones,adicionales";
+
+    private final NamedParameterJdbcTemplate cursor;
+    private final ObjectMapper objectMapper;
+
+    public ExportacionVentasService(DataSource dataSource, ObjectMapper objectMapper) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(esMysql(dataSource) ? FETCH_SIZE_MYSQL_STREAMING : FETCH_SIZE);
+        this.cursor = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.objectMapper = objectMapper;
+    }
+
+    private static boolean esMysql(DataSource dataSource) {
+        try {
+            return "MySQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            LOG.warn("No se pudo determinar la base de datos; la exportación de ventas usa fetch size {}", FETCH_SIZE, e);
+            return false;
+        }
+    }
+
+    /**
+     * Escribe las ventas de un rango de fechas, ordenadas por id.
+     *
+     * @param desde la fecha desde la que exportar, inclusive, o null para exportar desde la primera venta.
+     * @param hasta la fecha hasta la que exportar, exclusive, o null para exportar hasta la última venta.
+     * @param dispositivoId el dispositivo, o null para todos.
+     * @param formato el formato de la exportación.
+     * @param salida donde escribir, en UTF-8; no se cierra.
+     * @return la cantidad de ventas exportadas.
+     */
+    public long exportar(ZonedDateTime desde, ZonedDateTime hasta, Long dispositivoId, Formato formato, OutputStream salida) {
+        LOG.debug("Request to export Ventas from {} to {} as {}", desde, hasta, formato);
+        MapSqlParameterSource parametros = new MapSqlParameterSource();
+        List<String> condiciones = new ArrayList<>();
+        // Igual que Hibernate con hibernate.jdbc.time_zone=UTC
+        if (desde != null) {
+            condiciones.add("v.fecha_venta >= :desde");
+            parametros.addValue("desde", desde.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        }
+        if (hasta != null) {
+            condiciones.add("v.fecha_venta < :hasta");
+            parametros.addValue("hasta", hasta.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime());
+        }
+        if (dispositivoId != null) {
+            condiciones.add("v.dispositivo_id = :dispositivoId");
+            parametros.addValue("dispositivoId", dispositivoId);
+        }
+        String filtro = condiciones.isEmpty() ? "" : " where " + String.join(" and ", condiciones);
+        String sql =
+            String.join(" union all ", SELECT_VENTAS + filtro, SELECT_PERSONALIZACIONES + filtro, SELECT_ADICIONALES + filtro) + ORDEN;
+
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        Exportador exportador = new Exportador(formato, escritor);
+        try {
+            if (formato == Formato.CSV) {
+                escritor.write(ENCABEZADO_CSV);
+                escritor.write('\n');
+            }
+            cursor.query(sql, parametros, exportador);
+            exportador.terminar();
+            escritor.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        LOG.debug("Exported {} Ventas", exportador.exportadas);
+        return exportador.exportadas;
+    }
+
+    /**
+     * Arma cada venta con las filas consecutivas de su id y la escribe cuando llega la siguiente.
+     */
+    private final class Exportador implements RowCallbackHandler {
+
+        private final Formato formato;
+        private final Writer escritor;
+        private VentaExportadaDTO actual;
+        private long exportadas;
+
+        Exportador(Formato formato, Writer escritor) {
+            this.formato = formato;
+            this.escritor = escritor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long ventaId = rs.getLong("venta_id");
+            switch (rs.getInt("tipo")) {
+                case 0 -> {
+                    terminar();
+                    actual = new VentaExportadaDTO();
+                    actual.setId(ventaId);
+                    actual.setFechaVenta(rs.getObject("fecha_venta", LocalDateTime.class).atZone(ZoneOffset.UTC));
+                    actual.setPrecioFinal(rs.getBigDecimal("precio_final"));
+                    actual.setDispositivoId(rs.getLong("dispositivo_id"));
+                    actual.setDispositivoCodigo(rs.getString("codigo"));
+                    actual.setMoneda(Moneda.valueOf(rs.getString("moneda")));
+                }
+                case 1 -> actual.getPersonalizaciones()
+                    .add(new VentaExportadaDTO.PersonalizacionExportada(rs.getString("nombre"), rs.getString("detalle")));
+                default -> actual.getAdicionales().add(rs.getString("nombre"));
+            }
+        }
+
+        void terminar() {
+            if (actual == null) {
+                return;
+            }
+            try {
+                if (formato == Formato.CSV) {
+                    escribirCsv(actual);
+                } else {
+                    escritor.write(objectMapper.writeValueAsString(actual));
+                    escritor.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            exportadas++;
+            actual = null;
+        }
+
+        private void escribirCsv(VentaExportadaDTO venta) throws IOException {
+            String personalizaciones = venta
+                .getPersonalizaciones()
+                .stream()
+                .map(p -> p.getOpcion() != null ? p.getPersonalizacion() + "=" + p.getOpcion() : p.getPersonalizacion())
+                .collect(Collectors.joining(";"));
+            escritor.write(
+                String.join(
+                    ",",
+                    venta.getId().toString(),
+                    venta.getFechaVenta().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME),
+                    venta.getDispositivoId().toString(),
+                    campoCsv(venta.getDispositivoCodigo()),
+                    venta.getMoneda().name(),
+                    venta.getPrecioFinal().toPlainString(),
+                    campoCsv(personalizaciones),
+                    campoCsv(String.join(";", venta.getAdicionales()))
+                )
+            );
+            escritor.write('\n');
+        }
+    }
+
+    /**
+     * Encierra el campo entre comillas, duplicando las propias, si contiene una coma, comillas o un salto de línea
+     * (RFC 4180).
+     */
+    static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,35 @@
+package ar.edu.um.programacion2.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Huella SHA-256 de un objeto, calculada serializándolo a JSON directamente sobre el digest.
+ */
+final class HuellaJson {
+
+    private HuellaJson() {}
+
+    /**
+     * @param objectMapper el mapper con el que se serializa el objeto.
+     * @param valor el objeto a serializar.
+     * @return la huella SHA-256 del JSON, en hexadecimal.
+     */
+    static String sha256(ObjectMapper objectMapper, Object valor) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            objectMapper.writeValue(new DigestOutputStream(OutputStream.nullOutputStream(), digest), valor);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
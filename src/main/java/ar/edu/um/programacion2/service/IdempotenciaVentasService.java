@@ -0,0 +1,143 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Serializable;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Registro idempotente de ventas con la cabecera {@code Idempotency-Key}, para que los reintentos de las terminales
+ * tras un timeout no dupliquen la venta.
+ * <p>
+ * Cada clave se guarda en la tabla {@code clave_idempotencia_venta} en la misma transacción que su venta, junto con la
+ * huella del pedido y la respuesta original (la venta en JSON), y queda en una caché acotada en memoria. Un pedido
+ * repetido devuelve esa misma respuesta desde la caché, sin consultar la base de datos ni volver a cotizar la venta ni
+ * a encolarla para el servicio externo; sólo si la clave ya no está en la caché se lee su fila. La respuesta es la del
+ * registro aunque después la venta se modifique o se elimine. Si dos pedidos con la misma clave llegan a la vez, el
+ * índice único de la tabla deja registrar sólo uno y el otro devuelve su respuesta.
+ */
+@Service
+public class IdempotenciaVentasService {
+
+    public static final String VENTAS_POR_CLAVE_CACHE = "ventasPorClaveIdempotencia";
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotenciaVentasService.class);
+
+    private static final String SELECT_CLAVE = "select hash_pedido, respuesta from clave_idempotencia_venta where clave = :clave";
+    private static final String INSERT_CLAVE =
+        "insert into clave_idempotencia_venta (clave, hash_pedido, venta_id, respuesta, creado) " +
+        "values (:clave, :hashPedido, :ventaId, :respuesta, :creado)";
+
+    private final VentaService ventaService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    public IdempotenciaVentasService(
+        VentaService ventaService,
+        NamedParameterJdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        CacheManager cacheManager
+    ) {
+        this.ventaService = ventaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Registra la venta, o devuelve la respuesta del registro hecho antes con la misma clave.
+     *
+     * @param request la venta a registrar.
+     * @param clave la clave {@code Idempotency-Key} del pedido.
+     * @return la venta registrada con esta clave, en JSON, tal como se respondió la primera vez.
+     * @throws ClaveIdempotenciaReutilizadaException si la clave ya se usó con otro pedido.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String registrarVenta(VentaRequest request, String clave) {
+        String hashPedido = HuellaJson.sha256(objectMapper, request);
+        Optional<String> original = buscar(clave, hashPedido);
+        if (original.isPresent()) {
+            LOG.debug("Venta repetida con la clave de idempotencia {}", clave);
+            return original.orElseThrow();
+        }
+        try {
+            AtomicReference<String> respuesta = new AtomicReference<>();
+            ventaService.registrarVenta(request, guardada -> {
+                respuesta.set(serializar(guardada));
+                jdbcTemplate.update(
+                    INSERT_CLAVE,
+                    new MapSqlParameterSource()
+                        .addValue("clave", clave)
+                        .addValue("hashPedido", hashPedido)
+                        .addValue("ventaId", guardada.getId())
+                        .addValue("respuesta", respuesta.get())
+                        .addValue("creado", Timestamp.from(Instant.now()))
+                );
+            });
+            // Ya confirmada: no se cachea una venta que podría revertirse
+            cache().put(clave, new RespuestaIdempotente(hashPedido, respuesta.get()));
+            return respuesta.get();
+        } catch (DuplicateKeyException e) {
+            LOG.debug("Otro pedido registró la venta con la clave de idempotencia {} al mismo tiempo", clave);
+            return buscar(clave, hashPedido).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<String> buscar(String clave, String hashPedido) {
+        RespuestaIdempotente registrada = cache().get(clave, RespuestaIdempotente.class);
+        if (registrada == null) {
+            List<RespuestaIdempotente> filas = jdbcTemplate.query(SELECT_CLAVE, Map.of("clave", clave), (rs, fila) ->
+                new RespuestaIdempotente(rs.getString("hash_pedido"), rs.getString("respuesta"))
+            );
+            if (filas.isEmpty()) {
+                return Optional.empty();
+            }
+            registrada = filas.get(0);
+            cache().put(clave, registrada);
+        }
+        if (!registrada.hashPedido().equals(hashPedido)) {
+            throw new ClaveIdempotenciaReutilizadaException(clave);
+        }
+        return Optional.of(registrada.respuesta());
+    }
+
+    /**
+     * Serializa la venta con el mismo {@link ObjectMapper} que las respuestas REST. Las colecciones que no se cargaron
+     * se escriben igual que al responder fuera de la transacción.
+     */
+    private String serializar(Venta venta) {
+        try {
+            return objectMapper.writeValueAsString(venta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la venta " + venta.getId(), e);
+        }
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(VENTAS_POR_CLAVE_CACHE));
+    }
+
+    /**
+     * La respuesta original de una clave, junto con la huella del pedido que la registró.
+     */
+    private record RespuestaIdempotente(String hashPedido, String respuesta) implements Serializable {}
+}
@@ -0,0 +1,209 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.CatalogoDispositivoDTO;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Instantánea inmutable del catálogo completo para la tienda, ya serializada a JSON y comprimida con gzip, con su ETag.
+ * <p>
+ * Igual que la tabla de {@link MotorPreciosService}, se reconstruye completa tras cada sincronización del catálogo y se
+ * invalida cuando una entidad del catálogo se modifica a través de Hibernate; el siguiente pedido la vuelve a cargar.
+ * Cada carga reemplaza la instantánea de una vez, así que un pedido nunca ve un catálogo a medio armar.
+ */
+@Service
+public class InstantaneaCatalogoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstantaneaCatalogoService.class);
+
+    private static final String SELECT_DISPOSITIVOS =
+        "select id, codigo, nombre, descripcion, precio_base, moneda from dispositivo order by id";
+    private static final String SELECT_CARACTERISTICAS = "select id, nombre, descripcion, dispositivo_id from caracteristica order by id";
+    private static final String SELECT_PERSONALIZACIONES =
+        "select id, nombre, descripcion, dispositivo_id from personalizacion order by id";
+    private static final String SELECT_OPCIONES =
+        "select id, codigo, nombre, descripcion, precio_adicional, personalizacion_id from opcion order by id";
+    private static final String SELECT_ADICIONALES =
+        "select id, nombre, descripcion, precio, precio_gratis, dispositivo_id from adicional order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate lectura;
+
+    private volatile Instantanea instantanea;
+
+    private volatile boolean vigente;
+
+    // Igual que en MotorPreciosService, un lock que no fija el hilo de plataforma mientras la carga espera a la base
+    private final ReentrantLock carga = new ReentrantLock();
+
+    public InstantaneaCatalogoService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        // Las cinco consultas leen la misma foto de la base: un lote de la sincronización confirmado entre una y otra
+        // traería hijos de un dispositivo que no estaba en la primera
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.lectura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * @return la instantánea vigente, que se carga si no la hay.
+     */
+    public Instantanea instantanea() {
+        Instantanea actual = instantanea;
+        if (vigente && actual != null) {
+            return actual;
+        }
+        carga.lock();
+        try {
+            return vigente && instantanea != null ? instantanea : recargarInstantanea();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    /**
+     * Reconstruye la instantánea desde la base de datos.
+     */
+    public void recargar() {
+        recargarInstantanea();
+    }
+
+    /**
+     * Descarta la instantánea actual; el próximo pedido la vuelve a cargar.
+     */
+    public void invalidar() {
+        vigente = false;
+    }
+
+    private Instantanea recargarInstantanea() {
+        carga.lock();
+        try {
+            // Se marca vigente antes de leer: una invalidación concurrente con la carga fuerza otra recarga
+            vigente = true;
+            try {
+                instantanea = lectura.execute(estado -> cargar());
+                return instantanea;
+            } catch (RuntimeException e) {
+                vigente = false;
+                throw e;
+            }
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private Instantanea cargar() {
+        long inicio = System.nanoTime();
+        List<CatalogoDispositivoDTO> dispositivos = new ArrayList<>();
+        LongObjectHashMap<CatalogoDispositivoDTO> porId = new LongObjectHashMap<>();
+        jdbcTemplate.query(SELECT_DISPOSITIVOS, rs -> {
+            CatalogoDispositivoDTO dispositivo = new CatalogoDispositivoDTO();
+            dispositivo.setId(rs.getLong("id"));
+            dispositivo.setCodigo(rs.getString("codigo"));
+            dispositivo.setNombre(rs.getString("nombre"));
+            dispositivo.setDescripcion(rs.getString("descripcion"));
+            dispositivo.setPrecioBase(rs.getBigDecimal("precio_base"));
+            dispositivo.setMoneda(Moneda.valueOf(rs.getString("moneda")));
+            dispositivos.add(dispositivo);
+            porId.put(dispositivo.getId(), dispositivo);
+        });
+        jdbcTemplate.query(SELECT_CARACTERISTICAS, rs -> {
+            CatalogoDispositivoDTO.CaracteristicaCatalogo caracteristica = new CatalogoDispositivoDTO.CaracteristicaCatalogo();
+            caracteristica.setId(rs.getLong("id"));
+            caracteristica.setNombre(rs.getString("nombre"));
+            caracteristica.setDescripcion(rs.getString("descripcion"));
+            porId.get(rs.getLong("dispositivo_id")).getCaracteristicas().add(caracteristica);
+        });
+        LongObjectHashMap<CatalogoDispositivoDTO.PersonalizacionCatalogo> personalizaciones = new LongObjectHashMap<>();
+        jdbcTemplate.query(SELECT_PERSONALIZACIONES, rs -> {
+            CatalogoDispositivoDTO.PersonalizacionCatalogo personalizacion = new CatalogoDispositivoDTO.PersonalizacionCatalogo();
+            personalizacion.setId(rs.getLong("id"));
+            personalizacion.setNombre(rs.getString("nombre"));
+            personalizacion.setDescripcion(rs.getString("descripcion"));
+            porId.get(rs.getLong("dispositivo_id")).getPersonalizaciones().add(personalizacion);
+            personalizaciones.put(personalizacion.getId(), personalizacion);
+        });
+        jdbcTemplate.query(SELECT_OPCIONES, rs -> {
+            CatalogoDispositivoDTO.OpcionCatalogo opcion = new CatalogoDispositivoDTO.OpcionCatalogo();
+            opcion.setId(rs.getLong("id"));
+            opcion.setCodigo(rs.getString("codigo"));
+            opcion.setNombre(rs.getString("nombre"));
+            opcion.setDescripcion(rs.getString("descripcion"));
+            opcion.setPrecioAdicional(rs.getBigDecimal("precio_adicional"));
+            personalizaciones.get(rs.getLong("personalizacion_id")).getOpciones().add(opcion);
+        });
+        jdbcTemplate.query(SELECT_ADICIONALES, rs -> {
+            CatalogoDispositivoDTO.AdicionalCatalogo adicional = new CatalogoDispositivoDTO.AdicionalCatalogo();
+            adicional.setId(rs.getLong("id"));
+            adicional.setNombre(rs.getString("nombre"));
+            adicional.setDescripcion(rs.getString("descripcion"));
+            adicional.setPrecio(rs.getBigDecimal("precio"));
+            adicional.setPrecioGratis(rs.getBigDecimal("precio_gratis"));
+            porId.get(rs.getLong("dispositivo_id")).getAdicionales().add(adicional);
+        });
+
+        Instantanea nueva = Instantanea.de(serializar(dispositivos), dispositivos.size());
+        LOG.info(
+            "Instantánea del catálogo cargada: {} dispositivos, {} bytes ({} con gzip) en {} ms",
+            nueva.dispositivos(),
+            nueva.json().length,
+            nueva.gzip().length,
+            Duration.ofNanos(System.nanoTime() - inicio).toMillis()
+        );
+        return nueva;
+    }
+
+    private byte[] serializar(List<CatalogoDispositivoDTO> dispositivos) {
+        try {
+            return objectMapper.writeValueAsBytes(dispositivos);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * El catálogo serializado, sin y con gzip, y su ETag. Los arreglos no se modifican después de crearse.
+     *
+     * @param json el catálogo en JSON, en UTF-8.
+     * @param gzip el mismo JSON comprimido con gzip.
+     * @param etag la huella del JSON entre comillas, que el recurso envía como ETag débil.
+     * @param dispositivos la cantidad de dispositivos.
+     */
+    public record Instantanea(byte[] json, byte[] gzip, String etag, int dispositivos) {
+        static Instantanea de(byte[] json, int dispositivos) {
+            return new Instantanea(json, comprimir(json), "\"" + DigestUtils.md5DigestAsHex(json) + "\"", dispositivos);
+        }
+
+        private static byte[] comprimir(byte[] json) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
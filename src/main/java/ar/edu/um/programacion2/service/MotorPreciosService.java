@@ -0,0 +1,334 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.CotizacionDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import com.carrotsearch.hppc.LongLongHashMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Motor de precios en memoria para cotizar y validar ventas sin consultar la base de datos.
+ * <p>
+ * Mantiene una tabla inmutable con el precio base y la moneda de cada dispositivo, el recargo de cada opción, el precio
+ * y el umbral de promoción ({@code precioGratis}) de cada adicional, y a qué dispositivo o personalización pertenece
+ * cada uno. Los precios se guardan en centavos y las relaciones en mapas indexados por ids primitivos. La tabla se
+ * reconstruye completa tras cada sincronización del catálogo y se invalida cuando una entidad del catálogo se modifica
+ * a través de Hibernate; la siguiente cotización la vuelve a cargar.
+ */
+@Service
+public class MotorPreciosService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MotorPreciosService.class);
+
+    /**
+     * Valor de {@code precioGratis} de los adicionales que nunca son gratis.
+     */
+    private static final long SIN_PROMOCION = -1;
+
+    /**
+     * Tiempo mínimo entre recargas provocadas por ids desconocidos, para que ids inválidos no fuercen una recarga en
+     * cada pedido.
+     */
+    private static final Duration RECARGA_POR_FALTANTE_MINIMA = Duration.ofSeconds(5);
+
+    private static final String SELECT_DISPOSITIVOS = "select id, precio_base, moneda from dispositivo";
+    private static final String SELECT_PERSONALIZACIONES = "select id, dispositivo_id from personalizacion";
+    private static final String SELECT_OPCIONES = "select id, precio_adicional, personalizacion_id from opcion";
+    private static final String SELECT_ADICIONALES = "select id, precio, precio_gratis, dispositivo_id from adicional";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile TablaPrecios tabla;
+
+    private volatile boolean vigente;
+
+    // Un ReentrantLock y no synchronized: la carga consulta la base y, con hilos virtuales, un monitor tomado durante
+    // el JDBC fija el hilo de plataforma que lo ejecuta
+    private final ReentrantLock carga = new ReentrantLock();
+
+    public MotorPreciosService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Calcula el precio de una venta y valida que todo lo pedido exista y pertenezca al dispositivo.
+     *
+     * @param request la venta a cotizar.
+     * @return el precio final y su detalle.
+     * @throws IllegalArgumentException si algún elemento no existe o no pertenece al dispositivo.
+     */
+    public CotizacionDTO cotizar(VentaRequest request) {
+        TablaPrecios tablaActual = tablaVigente();
+        try {
+            return tablaActual.cotizar(request);
+        } catch (FaltanteEnCatalogoException e) {
+            // Puede haberse agregado al catálogo por fuera de Hibernate después de cargar la tabla
+            if (Duration.between(tablaActual.cargada, Instant.now()).compareTo(RECARGA_POR_FALTANTE_MINIMA) < 0) {
+                throw e;
+            }
+            LOG.debug("{}, se recarga la tabla de precios", e.getMessage());
+            return recargarTabla().cotizar(request);
+        }
+    }
+
+    /**
+     * Calcula el precio de una venta con las entidades que ya se cargaron y validaron para registrarla, en lugar de la
+     * tabla: el precio sale de las mismas filas que la validación, sin buscar de nuevo cada id.
+     *
+     * @param request la venta a cotizar.
+     * @param referencias el dispositivo, las personalizaciones, opciones y adicionales de la venta.
+     * @return el precio final y su detalle.
+     * @throws IllegalArgumentException si algún elemento no está en {@code referencias} o no pertenece al dispositivo.
+     */
+    CotizacionDTO cotizar(VentaRequest request, VentaService.ReferenciasVenta referencias) {
+        return tablaDe(referencias).cotizar(request);
+    }
+
+    /**
+     * Devuelve la tabla de precios vigente para cotizar varias ventas contra el mismo catálogo, aunque se recargue o
+     * invalide mientras tanto. A diferencia de {@link #cotizar(VentaRequest)}, nunca recarga por ids desconocidos.
+     *
+     * @return un cotizador sobre una instantánea inmutable del catálogo.
+     */
+    public Cotizador instantanea() {
+        return tablaVigente();
+    }
+
+    /**
+     * Reconstruye la tabla de precios desde la base de datos.
+     */
+    public void recargar() {
+        recargarTabla();
+    }
+
+    /**
+     * Descarta la tabla actual; la próxima cotización la vuelve a cargar.
+     */
+    public void invalidar() {
+        vigente = false;
+    }
+
+    private TablaPrecios recargarTabla() {
+        carga.lock();
+        try {
+            // Se marca vigente antes de leer: una invalidación concurrente con la carga fuerza otra recarga
+            vigente = true;
+            try {
+                tabla = cargar();
+                return tabla;
+            } catch (RuntimeException e) {
+                vigente = false;
+                throw e;
+            }
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private TablaPrecios tablaVigente() {
+        TablaPrecios tablaActual = tabla;
+        if (vigente && tablaActual != null) {
+            return tablaActual;
+        }
+        carga.lock();
+        try {
+            return vigente && tabla != null ? tabla : recargarTabla();
+        } finally {
+            carga.unlock();
+        }
+    }
+
+    private TablaPrecios cargar() {
+        long inicio = System.nanoTime();
+        TablaPrecios nueva = new TablaPrecios();
+        jdbcTemplate.query(SELECT_DISPOSITIVOS, rs -> {
+            long id = rs.getLong("id");
+            nueva.precioBase.put(id, centavos(rs.getBigDecimal("precio_base")));
+            nueva.moneda.put(id, Moneda.valueOf(rs.getString("moneda")));
+        });
+        jdbcTemplate.query(SELECT_PERSONALIZACIONES, rs -> {
+            nueva.dispositivoDePersonalizacion.put(rs.getLong("id"), rs.getLong("dispositivo_id"));
+        });
+        jdbcTemplate.query(SELECT_OPCIONES, rs -> {
+            long id = rs.getLong("id");
+            nueva.personalizacionDeOpcion.put(id, rs.getLong("personalizacion_id"));
+            nueva.precioOpcion.put(id, centavos(rs.getBigDecimal("precio_adicional")));
+        });
+        jdbcTemplate.query(SELECT_ADICIONALES, rs -> {
+            long id = rs.getLong("id");
+            BigDecimal precioGratis = rs.getBigDecimal("precio_gratis");
+            nueva.dispositivoDeAdicional.put(id, rs.getLong("dispositivo_id"));
+            nueva.precioAdicional.put(id, centavos(rs.getBigDecimal("precio")));
+            nueva.precioGratisAdicional.put(id, precioGratis(precioGratis));
+        });
+        LOG.info(
+            "Tabla de precios cargada: {} dispositivos, {} opciones, {} adicionales en {} ms",
+            nueva.precioBase.size(),
+            nueva.precioOpcion.size(),
+            nueva.precioAdicional.size(),
+            Duration.ofNanos(System.nanoTime() - inicio).toMillis()
+        );
+        return nueva;
+    }
+
+    /**
+     * Arma una tabla sólo con las entidades de una venta ya cargadas.
+     */
+    private static TablaPrecios tablaDe(VentaService.ReferenciasVenta referencias) {
+        TablaPrecios tabla = new TablaPrecios();
+        referencias.dispositivos.values().forEach(dispositivo -> {
+            tabla.precioBase.put(dispositivo.getId(), centavos(dispositivo.getPrecioBase()));
+            tabla.moneda.put(dispositivo.getId(), dispositivo.getMoneda());
+        });
+        referencias.personalizaciones.values().forEach(personalizacion ->
+            tabla.dispositivoDePersonalizacion.put(personalizacion.getId(), personalizacion.getDispositivo().getId())
+        );
+        referencias.opciones.values().forEach(opcion -> {
+            tabla.personalizacionDeOpcion.put(opcion.getId(), opcion.getPersonalizacion().getId());
+            tabla.precioOpcion.put(opcion.getId(), centavos(opcion.getPrecioAdicional()));
+        });
+        referencias.adicionales.values().forEach(adicional -> {
+            tabla.dispositivoDeAdicional.put(adicional.getId(), adicional.getDispositivo().getId());
+            tabla.precioAdicional.put(adicional.getId(), centavos(adicional.getPrecio()));
+            tabla.precioGratisAdicional.put(adicional.getId(), precioGratis(adicional.getPrecioGratis()));
+        });
+        return tabla;
+    }
+
+    private static long precioGratis(BigDecimal precioGratis) {
+        return precioGratis == null || precioGratis.signum() < 0 ? SIN_PROMOCION : centavos(precioGratis);
+    }
+
+    private static long centavos(BigDecimal precio) {
+        return precio == null ? 0 : precio.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal precio(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Instantánea inmutable de los precios del catálogo. Los ids de las entidades son siempre positivos, así que
+     * {@code 0} indica un id ausente en los mapas de pertenencia.
+     */
+    private static final class TablaPrecios implements Cotizador {
+
+        private final LongLongHashMap precioBase = new LongLongHashMap();
+        private final LongObjectHashMap<Moneda> moneda = new LongObjectHashMap<>();
+        private final LongLongHashMap dispositivoDePersonalizacion = new LongLongHashMap();
+        private final LongLongHashMap personalizacionDeOpcion = new LongLongHashMap();
+        private final LongLongHashMap precioOpcion = new LongLongHashMap();
+        private final LongLongHashMap dispositivoDeAdicional = new LongLongHashMap();
+        private final LongLongHashMap precioAdicional = new LongLongHashMap();
+        private final LongLongHashMap precioGratisAdicional = new LongLongHashMap();
+        private final Instant cargada = Instant.now();
+
+        @Override
+        public CotizacionDTO cotizar(VentaRequest request) {
+            Long idDispositivo = request.getIdDispositivo();
+            if (idDispositivo == null || !precioBase.containsKey(idDispositivo)) {
+                throw new FaltanteEnCatalogoException("Dispositivo no encontrado con ID: " + idDispositivo);
+            }
+            CotizacionDTO cotizacion = new CotizacionDTO();
+            cotizacion.setIdDispositivo(idDispositivo);
+            cotizacion.setMoneda(moneda.get(idDispositivo));
+            long precio = precioBase.get(idDispositivo);
+            cotizacion.setPrecioBase(precio(precio));
+
+            if (request.getPersonalizaciones() != null) {
+                for (VentaRequest.PersonalizacionRequest personalizacionRequest : request.getPersonalizaciones()) {
+                    long idPersonalizacion = id(personalizacionRequest.getId());
+                    long dispositivoDePersonalizacion = this.dispositivoDePersonalizacion.getOrDefault(idPersonalizacion, 0);
+                    if (dispositivoDePersonalizacion == 0) {
+                        throw new FaltanteEnCatalogoException("Personalización no encontrada con ID: " + personalizacionRequest.getId());
+                    }
+                    if (dispositivoDePersonalizacion != idDispositivo) {
+                        throw new IllegalArgumentException(
+                            "La personalización con ID " + idPersonalizacion + " no pertenece al dispositivo con ID: " + idDispositivo
+                        );
+                    }
+                    if (personalizacionRequest.getOpcion() == null) {
+                        throw new IllegalArgumentException("Falta la opción de la personalización con ID: " + idPersonalizacion);
+                    }
+                    long idOpcion = id(personalizacionRequest.getOpcion().getId());
+                    long personalizacionDeOpcion = this.personalizacionDeOpcion.getOrDefault(idOpcion, 0);
+                    if (personalizacionDeOpcion == 0) {
+                        throw new FaltanteEnCatalogoException("Opción no encontrada con ID: " + idOpcion);
+                    }
+                    if (personalizacionDeOpcion != idPersonalizacion) {
+                        throw new IllegalArgumentException(
+                            "La opción con ID " + idOpcion + " no pertenece a la personalización con ID: " + idPersonalizacion
+                        );
+                    }
+                    long recargo = precioOpcion.get(idOpcion);
+                    precio += recargo;
+                    cotizacion
+                        .getPersonalizaciones()
+                        .add(new CotizacionDTO.PersonalizacionCotizada(idPersonalizacion, idOpcion, precio(recargo)));
+                }
+            }
+
+            if (request.getAdicionales() != null) {
+                for (VentaRequest.AdicionalRequest adicionalRequest : request.getAdicionales()) {
+                    long idAdicional = id(adicionalRequest.getId());
+                    long dispositivoDeAdicional = this.dispositivoDeAdicional.getOrDefault(idAdicional, 0);
+                    if (dispositivoDeAdicional == 0) {
+                        throw new FaltanteEnCatalogoException("Adicional no encontrado con ID: " + adicionalRequest.getId());
+                    }
+                    if (dispositivoDeAdicional != idDispositivo) {
+                        throw new IllegalArgumentException(
+                            "El adicional con ID " + idAdicional + " no pertenece al dispositivo con ID: " + idDispositivo
+                        );
+                    }
+                    // El adicional es gratis si tiene promoción y lo acumulado hasta acá alcanza el umbral
+                    long precioGratis = precioGratisAdicional.get(idAdicional);
+                    boolean gratis = precioGratis != SIN_PROMOCION && precio >= precioGratis;
+                    long cobrado = gratis ? 0 : precioAdicional.get(idAdicional);
+                    precio += cobrado;
+                    cotizacion.getAdicionales().add(new CotizacionDTO.AdicionalCotizado(idAdicional, precio(cobrado), gratis));
+                }
+            }
+
+            cotizacion.setPrecioFinal(precio(precio));
+            return cotizacion;
+        }
+
+        private static long id(Long id) {
+            return id == null ? 0 : id;
+        }
+    }
+
+    /**
+     * Cotiza ventas contra una instantánea fija del catálogo.
+     */
+    public interface Cotizador {
+
+        /**
+         * @param request la venta a cotizar.
+         * @return el precio final y su detalle.
+         * @throws IllegalArgumentException si algún elemento no existe o no pertenece al dispositivo.
+         */
+        CotizacionDTO cotizar(VentaRequest request);
+    }
+
+    /**
+     * Un id pedido no está en la tabla; puede justificar una recarga.
+     */
+    private static final class FaltanteEnCatalogoException extends IllegalArgumentException {
+
+        private static final long serialVersionUID = 1L;
+
+        FaltanteEnCatalogoException(String message) {
+            super(message);
+        }
+    }
+}
@@ -7,8 +7,12 @@ import ar.edu.um.programacion2.service.mapper.OpcionMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -77,7 +81,7 @@ public class OpcionService {
     }
 
     /**
-     * Get all the opcions.
+     * Get all the opcions, read straight into DTOs without loading the entities.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -85,7 +89,21 @@ public class OpcionService {
     @Transactional(readOnly = true)
     public Page<OpcionDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Opcions");
-        return opcionRepository.findAll(pageable).map(opcionMapper::toDto);
+        return opcionRepository.findAllBy(pageable, OpcionDTO.class);
+    }
+
+    /**
+     * Get a window of the opcions after a keyset position, without counting them.
+     *
+     * @param position the position after which to read.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<OpcionDTO> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Opcions");
+        return opcionRepository.scrollAllBy(position, sort, Limit.of(size), OpcionDTO.class);
     }
 
     /**
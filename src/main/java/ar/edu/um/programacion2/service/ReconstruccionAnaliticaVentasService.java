@@ -0,0 +1,64 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.service.dto.ResultadoReconstruccionDTO;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reconstruye los resúmenes de {@link AnaliticaVentasService} a partir de las ventas registradas, para cargar las
+ * ventas anteriores a los resúmenes o corregirlos, por ejemplo tras cambiar la zona horaria de la analítica.
+ * <p>
+ * Este servicio no es transaccional: cada día se reconstruye en su propia transacción, así que los días ya
+ * reconstruidos quedan confirmados aunque uno falle, y las ventas que se registran mientras tanto sólo esperan a que
+ * termine su día. Nunca corren dos reconstrucciones a la vez.
+ */
+@Service
+public class ReconstruccionAnaliticaVentasService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReconstruccionAnaliticaVentasService.class);
+
+    private final AnaliticaVentasService analiticaVentasService;
+
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    public ReconstruccionAnaliticaVentasService(AnaliticaVentasService analiticaVentasService) {
+        this.analiticaVentasService = analiticaVentasService;
+    }
+
+    /**
+     * Reconstruye los resúmenes de un rango de días si no hay otra reconstrucción en curso.
+     *
+     * @param desde el primer día, inclusive, o null para empezar en el día de la primera venta.
+     * @param hasta el último día, inclusive, o null para terminar en el día de la última venta.
+     * @return el resultado de la reconstrucción, o vacío si se descartó porque ya había una en curso.
+     */
+    public Optional<ResultadoReconstruccionDTO> reconstruir(LocalDate desde, LocalDate hasta) {
+        if (!enCurso.compareAndSet(false, true)) {
+            LOG.warn("Se descarta la reconstrucción de los resúmenes de ventas: la anterior todavía está en curso");
+            return Optional.empty();
+        }
+        long inicio = System.nanoTime();
+        try {
+            ResultadoReconstruccionDTO resultado = new ResultadoReconstruccionDTO();
+            Optional<AnaliticaVentasService.RangoDias> rango = analiticaVentasService.rangoVentas();
+            resultado.setDesde(desde != null ? desde : rango.map(AnaliticaVentasService.RangoDias::desde).orElse(null));
+            resultado.setHasta(hasta != null ? hasta : rango.map(AnaliticaVentasService.RangoDias::hasta).orElse(null));
+            if (resultado.getDesde() != null && resultado.getHasta() != null) {
+                LOG.info("Reconstruyendo los resúmenes de ventas del {} al {}...", resultado.getDesde(), resultado.getHasta());
+                for (LocalDate dia = resultado.getDesde(); !dia.isAfter(resultado.getHasta()); dia = dia.plusDays(1)) {
+                    resultado.sumarDia(analiticaVentasService.reconstruirDia(dia));
+                }
+            }
+            long milisegundos = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+            LOG.info("Reconstrucción de los resúmenes de ventas completada en {} ms: {}", milisegundos, resultado);
+            return Optional.of(resultado);
+        } finally {
+            enCurso.set(false);
+        }
+    }
+}
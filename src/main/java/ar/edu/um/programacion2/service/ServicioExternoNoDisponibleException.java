@@ -0,0 +1,25 @@
+package ar.edu.um.programacion2.service;
+
+import java.time.Duration;
+
+/**
+ * El circuito del servicio externo está abierto: el pedido se rechazó sin enviarlo.
+ */
+public class ServicioExternoNoDisponibleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration reintento;
+
+    public ServicioExternoNoDisponibleException(int fallas, Duration reintento) {
+        super("El servicio externo falló " + fallas + " veces seguidas; se vuelve a intentar en " + reintento);
+        this.reintento = reintento;
+    }
+
+    /**
+     * @return el tiempo que falta para que el circuito deje pasar un pedido de prueba.
+     */
+    public Duration getReintento() {
+        return reintento;
+    }
+}
@@ -0,0 +1,622 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Caracteristica;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.management.CatalogoMetersService;
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO.Contador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sincronización por lotes e incremental del catálogo externo.
+ * <p>
+ * Cada dispositivo guarda la huella SHA-256 del payload externo con el que se sincronizó su subárbol (características,
+ * personalizaciones, opciones y adicionales). Los dispositivos cuya huella no cambió se omiten por completo; para el
+ * resto se precargan las filas existentes con una consulta por tabla, se comparan en memoria y se escriben únicamente
+ * las filas nuevas o modificadas mediante batches JDBC. Como las escrituras no pasan por Hibernate, al confirmar la
+ * transacción se desalojan de la caché de segundo nivel sólo las entidades actualizadas.
+ */
+@Service
+@Transactional
+public class SincronizacionCatalogoService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SincronizacionCatalogoService.class);
+
+    private static final String[] ID_COLUMN = { "id" };
+
+    private static final String IDS_PARAMETER = "ids";
+
+    private static final int MAX_IN_LIST = 1000;
+
+    private static final String SELECT_DISPOSITIVOS =
+        "select id, id_externo, codigo, nombre, descripcion, precio_base, moneda, hash_contenido from dispositivo where codigo in (:ids)";
+    private static final String INSERT_DISPOSITIVO =
+        "insert into dispositivo (id_externo, codigo, nombre, descripcion, precio_base, moneda, hash_contenido) " +
+        "values (:idExterno, :codigo, :nombre, :descripcion, :precioBase, :moneda, :hashContenido)";
+    private static final String UPDATE_DISPOSITIVO =
+        "update dispositivo set id_externo = :idExterno, nombre = :nombre, descripcion = :descripcion, " +
+        "precio_base = :precioBase, moneda = :moneda, hash_contenido = :hashContenido where id = :id";
+
+    private static final String SELECT_CARACTERISTICAS =
+        "select id, id_externo, nombre, descripcion, dispositivo_id from caracteristica where dispositivo_id in (:ids)";
+    private static final String INSERT_CARACTERISTICA =
+        "insert into caracteristica (id_externo, nombre, descripcion, dispositivo_id) " +
+        "values (:idExterno, :nombre, :descripcion, :dispositivoId)";
+    private static final String UPDATE_CARACTERISTICA =
+        "update caracteristica set id_externo = :idExterno, descripcion = :descripcion where id = :id";
+
+    private static final String SELECT_PERSONALIZACIONES =
+        "select id, id_externo, nombre, descripcion, dispositivo_id from personalizacion where dispositivo_id in (:ids)";
+    private static final String INSERT_PERSONALIZACION =
+        "insert into personalizacion (id_externo, nombre, descripcion, dispositivo_id) " +
+        "values (:idExterno, :nombre, :descripcion, :dispositivoId)";
+    private static final String UPDATE_PERSONALIZACION =
+        "update personalizacion set id_externo = :idExterno, descripcion = :descripcion where id = :id";
+
+    private static final String SELECT_OPCIONES =
+        "select o.id, o.id_externo, o.codigo, o.nombre, o.descripcion, o.precio_adicional, o.personalizacion_id from opcion o " +
+        "join personalizacion p on p.id = o.personalizacion_id where p.dispositivo_id in (:ids)";
+    private static final String INSERT_OPCION =
+        "insert into opcion (id_externo, codigo, nombre, descripcion, precio_adicional, personalizacion_id) " +
+        "values (:idExterno, :codigo, :nombre, :descripcion, :precioAdicional, :personalizacionId)";
+    private static final String UPDATE_OPCION =
+        "update opcion set id_externo = :idExterno, nombre = :nombre, descripcion = :descripcion, " +
+        "precio_adicional = :precioAdicional where id = :id";
+
+    private static final String SELECT_ADICIONALES =
+        "select id, id_externo, nombre, descripcion, precio, precio_gratis, dispositivo_id from adicional where dispositivo_id in (:ids)";
+    private static final String INSERT_ADICIONAL =
+        "insert into adicional (id_externo, nombre, descripcion, precio, precio_gratis, dispositivo_id) " +
+        "values (:idExterno, :nombre, :descripcion, :precio, :precioGratis, :dispositivoId)";
+    private static final String UPDATE_ADICIONAL =
+        "update adicional set id_externo = :idExterno, descripcion = :descripcion, precio = :precio, " +
+        "precio_gratis = :precioGratis where id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final CatalogoMetersService catalogoMetersService;
+
+    public SincronizacionCatalogoService(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        EntityManagerFactory entityManagerFactory,
+        ObjectMapper objectMapper,
+        CatalogoMetersService catalogoMetersService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.objectMapper = objectMapper;
+        this.catalogoMetersService = catalogoMetersService;
+    }
+
+    /**
+     * Sincroniza el catálogo local con los dispositivos recibidos del servicio externo.
+     *
+     * @param dispositivosExternos los dispositivos del servicio externo.
+     * @return los subárboles omitidos y reescritos, y la cantidad de filas insertadas, actualizadas y sin cambios por entidad.
+     */
+    public ResultadoSincronizacionDTO sincronizar(List<DispositivoExternoDTO> dispositivosExternos) {
+        LOG.debug("Request to sincronizar {} dispositivos externos", dispositivosExternos.size());
+        ResultadoSincronizacionDTO resultado = new ResultadoSincronizacionDTO();
+        Map<Class<?>, List<Long>> actualizados = new LinkedHashMap<>();
+
+        // Si el payload repite un código se conserva la última aparición, igual que en la sincronización individual
+        Map<String, DispositivoExternoDTO> externosPorCodigo = new LinkedHashMap<>();
+        for (DispositivoExternoDTO dispositivoExterno : dispositivosExternos) {
+            externosPorCodigo.put(dispositivoExterno.getCodigo(), dispositivoExterno);
+        }
+
+        Map<String, Dispositivo> dispositivos = consultarDispositivos(externosPorCodigo.keySet());
+        List<DispositivoExternoDTO> modificados = new ArrayList<>();
+        Map<String, String> hashes = new HashMap<>();
+        for (DispositivoExternoDTO externo : externosPorCodigo.values()) {
+            String hash = HuellaJson.sha256(objectMapper, externo);
+            Dispositivo existente = dispositivos.get(externo.getCodigo());
+            if (existente != null && hash.equals(existente.getHashContenido())) {
+                resultado.getDispositivos().sumarSinCambios();
+            } else {
+                hashes.put(externo.getCodigo(), hash);
+                modificados.add(externo);
+            }
+        }
+        resultado.setSubarbolesOmitidos(externosPorCodigo.size() - modificados.size());
+        resultado.setSubarbolesReescritos(modificados.size());
+
+        if (!modificados.isEmpty()) {
+            // Sólo los dispositivos que ya existían pueden tener filas hijas que comparar
+            Set<Long> existentes = modificados
+                .stream()
+                .map(externo -> dispositivos.get(externo.getCodigo()))
+                .filter(Objects::nonNull)
+                .map(Dispositivo::getId)
+                .collect(Collectors.toSet());
+
+            sincronizarDispositivos(modificados, dispositivos, hashes, resultado.getDispositivos(), actualizados);
+            sincronizarCaracteristicas(modificados, dispositivos, existentes, resultado.getCaracteristicas(), actualizados);
+            Map<Long, Map<String, Personalizacion>> personalizaciones = sincronizarPersonalizaciones(
+                modificados,
+                dispositivos,
+                existentes,
+                resultado.getPersonalizaciones(),
+                actualizados
+            );
+            sincronizarOpciones(modificados, dispositivos, existentes, personalizaciones, resultado.getOpciones(), actualizados);
+            sincronizarAdicionales(modificados, dispositivos, existentes, resultado.getAdicionales(), actualizados);
+        }
+
+        catalogoMetersService.trackSubarbolesOmitidos(resultado.getSubarbolesOmitidos());
+        catalogoMetersService.trackSubarbolesReescritos(resultado.getSubarbolesReescritos());
+        desalojarCacheAlConfirmar(actualizados);
+        return resultado;
+    }
+
+    private Map<String, Dispositivo> consultarDispositivos(Collection<String> codigos) {
+        Map<String, Dispositivo> existentes = new HashMap<>();
+        consultarEnPartes(SELECT_DISPOSITIVOS, codigos, rs -> {
+            Dispositivo dispositivo = new Dispositivo()
+                .id(rs.getLong("id"))
+                .idExterno(rs.getObject("id_externo", Long.class))
+                .codigo(rs.getString("codigo"))
+                .nombre(rs.getString("nombre"))
+                .descripcion(rs.getString("descripcion"))
+                .precioBase(rs.getBigDecimal("precio_base"))
+                .moneda(Moneda.valueOf(rs.getString("moneda")))
+                .hashContenido(rs.getString("hash_contenido"));
+            existentes.put(dispositivo.getCodigo(), dispositivo);
+        });
+        return existentes;
+    }
+
+    private void sincronizarDispositivos(
+        List<DispositivoExternoDTO> externos,
+        Map<String, Dispositivo> existentes,
+        Map<String, String> hashes,
+        Contador contador,
+        Map<Class<?>, List<Long>> actualizados
+    ) {
+        List<Dispositivo> nuevos = new ArrayList<>();
+        List<Dispositivo> modificados = new ArrayList<>();
+        for (DispositivoExternoDTO externo : externos) {
+            Dispositivo dispositivo = existentes.get(externo.getCodigo());
+            if (dispositivo == null) {
+                dispositivo = new Dispositivo().codigo(externo.getCodigo());
+                copiar(externo, dispositivo);
+                existentes.put(dispositivo.getCodigo(), dispositivo);
+                nuevos.add(dispositivo);
+            } else {
+                // La huella cambió, así que la fila se reescribe aunque sus propias columnas sean iguales
+                copiar(externo, dispositivo);
+                modificados.add(dispositivo);
+            }
+            dispositivo.setHashContenido(hashes.get(externo.getCodigo()));
+        }
+
+        contador.setInsertados(insertar(INSERT_DISPOSITIVO, nuevos, this::parametros, Dispositivo::setId));
+        contador.setActualizados(actualizar(UPDATE_DISPOSITIVO, modificados, this::parametros));
+        registrarActualizados(actualizados, Dispositivo.class, modificados, Dispositivo::getId);
+    }
+
+    private void sincronizarCaracteristicas(
+        List<DispositivoExternoDTO> externos,
+        Map<String, Dispositivo> dispositivos,
+        Set<Long> dispositivosExistentes,
+        Contador contador,
+        Map<Class<?>, List<Long>> actualizados
+    ) {
+        Map<Long, Map<String, Caracteristica>> existentes = new HashMap<>();
+        consultarEnPartes(SELECT_CARACTERISTICAS, dispositivosExistentes, rs -> {
+            Caracteristica caracteristica = new Caracteristica()
+                .id(rs.getLong("id"))
+                .idExterno(rs.getObject("id_externo", Long.class))
+                .nombre(rs.getString("nombre"))
+                .descripcion(rs.getString("descripcion"));
+            existentes
+                .computeIfAbsent(rs.getLong("dispositivo_id"), k -> new HashMap<>())
+                .put(caracteristica.getNombre(), caracteristica);
+        });
+
+        List<Caracteristica> nuevas = new ArrayList<>();
+        List<Caracteristica> modificadas = new ArrayList<>();
+        for (DispositivoExternoDTO externo : externos) {
+            Dispositivo dispositivo = dispositivos.get(externo.getCodigo());
+            Map<String, Caracteristica> delDispositivo = existentes.computeIfAbsent(dispositivo.getId(), k -> new HashMap<>());
+            for (DispositivoExternoDTO.CaracteristicaDTO caracteristicaExterna : nullSafe(externo.getCaracteristicas())) {
+                Caracteristica caracteristica = delDispositivo.get(caracteristicaExterna.getNombre());
+                if (caracteristica == null) {
+                    caracteristica = new Caracteristica().nombre(caracteristicaExterna.getNombre()).dispositivo(dispositivo);
+                    copiar(caracteristicaExterna, caracteristica);
+                    delDispositivo.put(caracteristica.getNombre(), caracteristica);
+                    nuevas.add(caracteristica);
+                } else if (copiar(caracteristicaExterna, caracteristica)) {
+                    modificadas.add(caracteristica);
+                } else {
+                    contador.sumarSinCambios();
+                }
+            }
+        }
+
+        contador.setInsertados(insertar(INSERT_CARACTERISTICA, nuevas, this::parametros, Caracteristica::setId));
+        contador.setActualizados(actualizar(UPDATE_CARACTERISTICA, modificadas, this::parametros));
+        registrarActualizados(actualizados, Caracteristica.class, modificadas, Caracteristica::getId);
+    }
+
+    private Map<Long, Map<String, Personalizacion>> sincronizarPersonalizaciones(
+        List<DispositivoExternoDTO> externos,
+        Map<String, Dispositivo> dispositivos,
+        Set<Long> dispositivosExistentes,
+        Contador contador,
+        Map<Class<?>, List<Long>> actualizados
+    ) {
+        Map<Long, Map<String, Personalizacion>> existentes = new HashMap<>();
+        consultarEnPartes(SELECT_PERSONALIZACIONES, dispositivosExistentes, rs -> {
+            Personalizacion personalizacion = new Personalizacion()
+                .id(rs.getLong("id"))
+                .idExterno(rs.getObject("id_externo", Long.class))
+                .nombre(rs.getString("nombre"))
+                .descripcion(rs.getString("descripcion"));
+            existentes
+                .computeIfAbsent(rs.getLong("dispositivo_id"), k -> new HashMap<>())
+                .put(personalizacion.getNombre(), personalizacion);
+        });
+
+        List<Personalizacion> nuevas = new ArrayList<>();
+        List<Personalizacion> modificadas = new ArrayList<>();
+        for (DispositivoExternoDTO externo : externos) {
+            Dispositivo dispositivo = dispositivos.get(externo.getCodigo());
+            Map<String, Personalizacion> delDispositivo = existentes.computeIfAbsent(dispositivo.getId(), k -> new HashMap<>());
+            for (DispositivoExternoDTO.PersonalizacionDTO personalizacionExterna : nullSafe(externo.getPersonalizaciones())) {
+                Personalizacion personalizacion = delDispositivo.get(personalizacionExterna.getNombre());
+                if (personalizacion == null) {
+                    personalizacion = new Personalizacion().nombre(personalizacionExterna.getNombre()).dispositivo(dispositivo);
+                    copiar(personalizacionExterna, personalizacion);
+                    delDispositivo.put(personalizacion.getNombre(), personalizacion);
+                    nuevas.add(personalizacion);
+                } else if (copiar(personalizacionExterna, personalizacion)) {
+                    modificadas.add(personalizacion);
+                } else {
+                    contador.sumarSinCambios();
+                }
+            }
+        }
+
+        contador.setInsertados(insertar(INSERT_PERSONALIZACION, nuevas, this::parametros, Personalizacion::setId));
+        contador.setActualizados(actualizar(UPDATE_PERSONALIZACION, modificadas, this::parametros));
+        registrarActualizados(actualizados, Personalizacion.class, modificadas, Personalizacion::getId);
+        return existentes;
+    }
+
+    private void sincronizarOpciones(
+        List<DispositivoExternoDTO> externos,
+        Map<String, Dispositivo> dispositivos,
+        Set<Long> dispositivosExistentes,
+        Map<Long, Map<String, Personalizacion>> personalizaciones,
+        Contador contador,
+        Map<Class<?>, List<Long>> actualizados
+    ) {
+        Map<Long, Map<String, Opcion>> existentes = new HashMap<>();
+        consultarEnPartes(SELECT_OPCIONES, dispositivosExistentes, rs -> {
+            Opcion opcion = new Opcion()
+                .id(rs.getLong("id"))
+                .idExterno(rs.getObject("id_externo", Long.class))
+                .codigo(rs.getString("codigo"))
+                .nombre(rs.getString("nombre"))
+                .descripcion(rs.getString("descripcion"))
+                .precioAdicional(rs.getBigDecimal("precio_adicional"));
+            existentes.computeIfAbsent(rs.getLong("personalizacion_id"), k -> new HashMap<>()).put(opcion.getCodigo(), opcion);
+        });
+
+        List<Opcion> nuevas = new ArrayList<>();
+        List<Opcion> modificadas = new ArrayList<>();
+        for (DispositivoExternoDTO externo : externos) {
+            Map<String, Personalizacion> delDispositivo = personalizaciones.get(dispositivos.get(externo.getCodigo()).getId());
+            for (DispositivoExternoDTO.PersonalizacionDTO personalizacionExterna : nullSafe(externo.getPersonalizaciones())) {
+                Personalizacion personalizacion = delDispositivo.get(personalizacionExterna.getNombre());
+                Map<String, Opcion> deLaPersonalizacion = existentes.computeIfAbsent(personalizacion.getId(), k -> new HashMap<>());
+                for (DispositivoExternoDTO.OpcionDTO opcionExterna : nullSafe(personalizacionExterna.getOpciones())) {
+                    Opcion opcion = deLaPersonalizacion.get(opcionExterna.getCodigo());
+                    if (opcion == null) {
+                        opcion = new Opcion().codigo(opcionExterna.getCodigo()).personalizacion(personalizacion);
+                        copiar(opcionExterna, opcion);
+                        deLaPersonalizacion.put(opcion.getCodigo(), opcion);
+                        nuevas.add(opcion);
+                    } else if (copiar(opcionExterna, opcion)) {
+                        modificadas.add(opcion);
+                    } else {
+                        contador.sumarSinCambios();
+                    }
+                }
+            }
+        }
+
+        contador.setInsertados(insertar(INSERT_OPCION, nuevas, this::parametros, Opcion::setId));
+        contador.setActualizados(actualizar(UPDATE_OPCION, modificadas, this::parametros));
+        registrarActualizados(actualizados, Opcion.class, modificadas, Opcion::getId);
+    }
+
+    private void sincronizarAdicionales(
+        List<DispositivoExternoDTO> externos,
+        Map<String, Dispositivo> dispositivos,
+        Set<Long> dispositivosExistentes,
+        Contador contador,
+        Map<Class<?>, List<Long>> actualizados
+    ) {
+        Map<Long, Map<String, Adicional>> existentes = new HashMap<>();
+        consultarEnPartes(SELECT_ADICIONALES, dispositivosExistentes, rs -> {
+            Adicional adicional = new Adicional()
+                .id(rs.getLong("id"))
+                .idExterno(rs.getObject("id_externo", Long.class))
+                .nombre(rs.getString("nombre"))
+                .descripcion(rs.getString("descripcion"))
+                .precio(rs.getBigDecimal("precio"))
+                .precioGratis(rs.getBigDecimal("precio_gratis"));
+            existentes.computeIfAbsent(rs.getLong("dispositivo_id"), k -> new HashMap<>()).put(adicional.getNombre(), adicional);
+        });
+
+        List<Adicional> nuevos = new ArrayList<>();
+        List<Adicional> modificados = new ArrayList<>();
+        for (DispositivoExternoDTO externo : externos) {
+            Dispositivo dispositivo = dispositivos.get(externo.getCodigo());
+            Map<String, Adicional> delDispositivo = existentes.computeIfAbsent(dispositivo.getId(), k -> new HashMap<>());
+            for (DispositivoExternoDTO.AdicionalDTO adicionalExterno : nullSafe(externo.getAdicionales())) {
+                Adicional adicional = delDispositivo.get(adicionalExterno.getNombre());
+                if (adicional == null) {
+                    adicional = new Adicional().nombre(adicionalExterno.getNombre()).dispositivo(dispositivo);
+                    copiar(adicionalExterno, adicional);
+                    delDispositivo.put(adicional.getNombre(), adicional);
+                    nuevos.add(adicional);
+                } else if (copiar(adicionalExterno, adicional)) {
+                    modificados.add(adicional);
+                } else {
+                    contador.sumarSinCambios();
+                }
+            }
+        }
+
+        contador.setInsertados(insertar(INSERT_ADICIONAL, nuevos, this::parametros, Adicional::setId));
+        contador.setActualizados(actualizar(UPDATE_ADICIONAL, modificados, this::parametros));
+        registrarActualizados(actualizados, Adicional.class, modificados, Adicional::getId);
+    }
+
+    /**
+     * Inserta las filas en un único batch y asigna a cada una el id generado por la base de datos.
+     */
+    private <T> int insertar(
+        String sql,
+        List<T> filas,
+        Function<T, SqlParameterSource> parametros,
+        BiConsumer<T, Long> asignarId
+    ) {
+        if (filas.isEmpty()) {
+            return 0;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(sql, filas.stream().map(parametros).toArray(SqlParameterSource[]::new), keyHolder, ID_COLUMN);
+        List<Map<String, Object>> claves = keyHolder.getKeyList();
+        for (int i = 0; i < filas.size(); i++) {
+            asignarId.accept(filas.get(i), ((Number) claves.get(i).values().iterator().next()).longValue());
+        }
+        return filas.size();
+    }
+
+    private <T> int actualizar(String sql, List<T> filas, Function<T, SqlParameterSource> parametros) {
+        if (filas.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(sql, filas.stream().map(parametros).toArray(SqlParameterSource[]::new));
+        return filas.size();
+    }
+
+    /**
+     * Ejecuta una consulta filtrada por {@code :ids}, partiendo los valores para no generar cláusulas IN enormes.
+     */
+    private void consultarEnPartes(String sql, Collection<?> valores, RowCallbackHandler handler) {
+        List<?> ids = new ArrayList<>(valores);
+        for (int desde = 0; desde < ids.size(); desde += MAX_IN_LIST) {
+            jdbcTemplate.query(sql, Map.of(IDS_PARAMETER, ids.subList(desde, Math.min(desde + MAX_IN_LIST, ids.size()))), handler);
+        }
+    }
+
+    private static <T> void registrarActualizados(
+        Map<Class<?>, List<Long>> actualizados,
+        Class<T> entidad,
+        List<T> filas,
+        Function<T, Long> id
+    ) {
+        if (!filas.isEmpty()) {
+            actualizados.computeIfAbsent(entidad, k -> new ArrayList<>()).addAll(filas.stream().map(id).toList());
+        }
+    }
+
+    /**
+     * Las escrituras JDBC no actualizan la caché de segundo nivel de Hibernate, así que una vez confirmada la transacción
+     * se desalojan las entidades actualizadas. Las insertadas no pueden estar en caché.
+     */
+    private void desalojarCacheAlConfirmar(Map<Class<?>, List<Long>> actualizados) {
+        if (actualizados.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        desalojarCache(actualizados);
+                    }
+                }
+            );
+        } else {
+            desalojarCache(actualizados);
+        }
+    }
+
+    private void desalojarCache(Map<Class<?>, List<Long>> actualizados) {
+        Cache cache = entityManagerFactory.getCache();
+        actualizados.forEach((entidad, ids) -> ids.forEach(id -> cache.evict(entidad, id)));
+    }
+
+    private SqlParameterSource parametros(Dispositivo dispositivo) {
+        return new MapSqlParameterSource()
+            .addValue("id", dispositivo.getId())
+            .addValue("idExterno", dispositivo.getIdExterno())
+            .addValue("codigo", dispositivo.getCodigo())
+            .addValue("nombre", dispositivo.getNombre())
+            .addValue("descripcion", dispositivo.getDescripcion())
+            .addValue("precioBase", dispositivo.getPrecioBase())
+            .addValue("moneda", dispositivo.getMoneda().name())
+            .addValue("hashContenido", dispositivo.getHashContenido());
+    }
+
+    private SqlParameterSource parametros(Caracteristica caracteristica) {
+        return new MapSqlParameterSource()
+            .addValue("id", caracteristica.getId())
+            .addValue("idExterno", caracteristica.getIdExterno())
+            .addValue("nombre", caracteristica.getNombre())
+            .addValue("descripcion", caracteristica.getDescripcion())
+            .addValue("dispositivoId", caracteristica.getDispositivo() != null ? caracteristica.getDispositivo().getId() : null);
+    }
+
+    private SqlParameterSource parametros(Personalizacion personalizacion) {
+        return new MapSqlParameterSource()
+            .addValue("id", personalizacion.getId())
+            .addValue("idExterno", personalizacion.getIdExterno())
+            .addValue("nombre", personalizacion.getNombre())
+            .addValue("descripcion", personalizacion.getDescripcion())
+            .addValue("dispositivoId", personalizacion.getDispositivo() != null ? personalizacion.getDispositivo().getId() : null);
+    }
+
+    private SqlParameterSource parametros(Opcion opcion) {
+        return new MapSqlParameterSource()
+            .addValue("id", opcion.getId())
+            .addValue("idExterno", opcion.getIdExterno())
+            .addValue("codigo", opcion.getCodigo())
+            .addValue("nombre", opcion.getNombre())
+            .addValue("descripcion", opcion.getDescripcion())
+            .addValue("precioAdicional", opcion.getPrecioAdicional())
+            .addValue("personalizacionId", opcion.getPersonalizacion() != null ? opcion.getPersonalizacion().getId() : null);
+    }
+
+    private SqlParameterSource parametros(Adicional adicional) {
+        return new MapSqlParameterSource()
+            .addValue("id", adicional.getId())
+            .addValue("idExterno", adicional.getIdExterno())
+            .addValue("nombre", adicional.getNombre())
+            .addValue("descripcion", adicional.getDescripcion())
+            .addValue("precio", adicional.getPrecio())
+            .addValue("precioGratis", adicional.getPrecioGratis())
+            .addValue("dispositivoId", adicional.getDispositivo() != null ? adicional.getDispositivo().getId() : null);
+    }
+
+    /**
+     * Copia los datos externos sobre el dispositivo.
+     *
+     * @return true si algún valor cambió.
+     */
+    private boolean copiar(DispositivoExternoDTO externo, Dispositivo dispositivo) {
+        Moneda moneda = Moneda.valueOf(externo.getMoneda());
+        boolean cambio =
+            !Objects.equals(dispositivo.getIdExterno(), externo.getId()) ||
+            !Objects.equals(dispositivo.getNombre(), externo.getNombre()) ||
+            !Objects.equals(dispositivo.getDescripcion(), externo.getDescripcion()) ||
+            !mismoPrecio(dispositivo.getPrecioBase(), externo.getPrecioBase()) ||
+            dispositivo.getMoneda() != moneda;
+        dispositivo.setIdExterno(externo.getId());
+        dispositivo.setNombre(externo.getNombre());
+        dispositivo.setDescripcion(externo.getDescripcion());
+        dispositivo.setPrecioBase(externo.getPrecioBase());
+        dispositivo.setMoneda(moneda);
+        return cambio;
+    }
+
+    private boolean copiar(DispositivoExternoDTO.CaracteristicaDTO externa, Caracteristica caracteristica) {
+        boolean cambio =
+            !Objects.equals(caracteristica.getIdExterno(), externa.getId()) ||
+            !Objects.equals(caracteristica.getDescripcion(), externa.getDescripcion());
+        caracteristica.setIdExterno(externa.getId());
+        caracteristica.setDescripcion(externa.getDescripcion());
+        return cambio;
+    }
+
+    private boolean copiar(DispositivoExternoDTO.PersonalizacionDTO externa, Personalizacion personalizacion) {
+        boolean cambio =
+            !Objects.equals(personalizacion.getIdExterno(), externa.getId()) ||
+            !Objects.equals(personalizacion.getDescripcion(), externa.getDescripcion());
+        personalizacion.setIdExterno(externa.getId());
+        personalizacion.setDescripcion(externa.getDescripcion());
+        return cambio;
+    }
+
+    private boolean copiar(DispositivoExternoDTO.OpcionDTO externa, Opcion opcion) {
+        boolean cambio =
+            !Objects.equals(opcion.getIdExterno(), externa.getId()) ||
+            !Objects.equals(opcion.getNombre(), externa.getNombre()) ||
+            !Objects.equals(opcion.getDescripcion(), externa.getDescripcion()) ||
+            !mismoPrecio(opcion.getPrecioAdicional(), externa.getPrecioAdicional());
+        opcion.setIdExterno(externa.getId());
+        opcion.setNombre(externa.getNombre());
+        opcion.setDescripcion(externa.getDescripcion());
+        opcion.setPrecioAdicional(externa.getPrecioAdicional());
+        return cambio;
+    }
+
+    private boolean copiar(DispositivoExternoDTO.AdicionalDTO externo, Adicional adicional) {
+        boolean cambio =
+            !Objects.equals(adicional.getIdExterno(), externo.getId()) ||
+            !Objects.equals(adicional.getDescripcion(), externo.getDescripcion()) ||
+            !mismoPrecio(adicional.getPrecio(), externo.getPrecio()) ||
+            !mismoPrecio(adicional.getPrecioGratis(), externo.getPrecioGratis());
+        adicional.setIdExterno(externo.getId());
+        adicional.setDescripcion(externo.getDescripcion());
+        adicional.setPrecio(externo.getPrecio());
+        adicional.setPrecioGratis(externo.getPrecioGratis());
+        return cambio;
+    }
+
+    /**
+     * Compara precios ignorando la escala, ya que la base de datos los devuelve con dos decimales.
+     */
+    private static boolean mismoPrecio(BigDecimal actual, BigDecimal nuevo) {
+        if (actual == null || nuevo == null) {
+            return actual == nuevo;
+        }
+        return actual.compareTo(nuevo) == 0;
+    }
+
+    private static <T> List<T> nullSafe(List<T> lista) {
+        return lista != null ? lista : Collections.emptyList();
+    }
+}
@@ -0,0 +1,145 @@
+package ar.edu.um.programacion2.service;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.management.CatalogoMetersService;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ejecuta la sincronización del catálogo externo, tanto la periódica como la manual.
+ * <p>
+ * Nunca corren dos sincronizaciones a la vez: la siguiente ejecución periódica se programa recién cuando termina la
+ * anterior, y una ejecución manual que llega mientras otra está en curso se descarta. Tras una falla la próxima
+ * ejecución se demora con backoff exponencial. Este servicio no es transaccional: en el modo batch cada lote de
+ * dispositivos se confirma en su propia transacción.
+ */
+@Service
+public class SincronizacionProgramadaService implements SchedulingConfigurer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SincronizacionProgramadaService.class);
+
+    private final DispositivoService dispositivoService;
+    private final ApplicationProperties applicationProperties;
+    private final CatalogoMetersService catalogoMetersService;
+    private final MotorPreciosService motorPreciosService;
+    private final InstantaneaCatalogoService instantaneaCatalogoService;
+
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+    private volatile int fallasConsecutivas;
+
+    public SincronizacionProgramadaService(
+        DispositivoService dispositivoService,
+        ApplicationProperties applicationProperties,
+        CatalogoMetersService catalogoMetersService,
+        MotorPreciosService motorPreciosService,
+        InstantaneaCatalogoService instantaneaCatalogoService
+    ) {
+        this.dispositivoService = dispositivoService;
+        this.applicationProperties = applicationProperties;
+        this.catalogoMetersService = catalogoMetersService;
+        this.motorPreciosService = motorPreciosService;
+        this.instantaneaCatalogoService = instantaneaCatalogoService;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (applicationProperties.getSincronizacion().isHabilitada()) {
+            taskRegistrar.addTriggerTask(this::sincronizarProgramada, this::proximaEjecucion);
+        } else {
+            LOG.info("La sincronización periódica del catálogo está deshabilitada");
+        }
+    }
+
+    /**
+     * Sincroniza el catálogo externo si no hay otra sincronización en curso.
+     *
+     * @return el resultado de la sincronización, o vacío si se descartó porque ya había una en curso.
+     */
+    public Optional<ResultadoSincronizacionDTO> sincronizar() {
+        if (!enCurso.compareAndSet(false, true)) {
+            LOG.warn("Se descarta la sincronización del catálogo: la anterior todavía está en curso");
+            catalogoMetersService.trackSincronizacionSuperpuesta();
+            return Optional.empty();
+        }
+        long inicio = System.nanoTime();
+        try {
+            LOG.info("Iniciando sincronización de dispositivos...");
+            ResultadoSincronizacionDTO resultado = ejecutar();
+            catalogoMetersService.trackSincronizacionExitosa(System.nanoTime() - inicio);
+            LOG.info("Sincronización de dispositivos completada en {} ms.", Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+            return Optional.of(resultado);
+        } catch (RuntimeException e) {
+            catalogoMetersService.trackSincronizacionFallida(System.nanoTime() - inicio);
+            throw e;
+        } finally {
+            enCurso.set(false);
+        }
+    }
+
+    private ResultadoSincronizacionDTO ejecutar() {
+        if (applicationProperties.getSincronizacion().getModo() == ApplicationProperties.Sincronizacion.Modo.BATCH) {
+            ResultadoSincronizacionDTO resultado;
+            try {
+                resultado = dispositivoService.sincronizarCatalogo();
+            } catch (RuntimeException e) {
+                // Los lotes confirmados antes de la falla pueden haber cambiado el catálogo
+                motorPreciosService.invalidar();
+                instantaneaCatalogoService.invalidar();
+                throw e;
+            }
+            // Las escrituras JDBC no pasan por Hibernate, así que la tabla de precios y la instantánea se reconstruyen acá
+            if (resultado.hayCambios()) {
+                motorPreciosService.recargar();
+                instantaneaCatalogoService.recargar();
+            }
+            return resultado;
+        }
+        // En el modo individual los cambios pasan por Hibernate e invalidan la tabla de precios y la instantánea al confirmarse
+        dispositivoService.traerDispositivos();
+        return new ResultadoSincronizacionDTO();
+    }
+
+    void sincronizarProgramada() {
+        try {
+            sincronizar();
+            fallasConsecutivas = 0;
+        } catch (RuntimeException e) {
+            fallasConsecutivas++;
+            LOG.error(
+                "Falló la sincronización periódica del catálogo ({} fallas consecutivas), se reintenta en {}",
+                fallasConsecutivas,
+                demoraHastaLaProxima(),
+                e
+            );
+        }
+    }
+
+    Instant proximaEjecucion(TriggerContext triggerContext) {
+        Instant ultimaFinalizacion = triggerContext.lastCompletion();
+        if (ultimaFinalizacion == null) {
+            return triggerContext.getClock().instant().plus(applicationProperties.getSincronizacion().getRetrasoInicial());
+        }
+        return ultimaFinalizacion.plus(demoraHastaLaProxima());
+    }
+
+    /**
+     * @return el intervalo configurado, o el backoff correspondiente a las fallas consecutivas acumuladas.
+     */
+    Duration demoraHastaLaProxima() {
+        ApplicationProperties.Sincronizacion sincronizacion = applicationProperties.getSincronizacion();
+        int fallas = fallasConsecutivas;
+        if (fallas == 0) {
+            return sincronizacion.getIntervalo();
+        }
+        return Backoff.exponencial(fallas, sincronizacion.getBackoffInicial(), sincronizacion.getBackoffMaximo());
+    }
+}
@@ -10,26 +10,49 @@ import ar.edu.um.programacion2.repository.DispositivoRepository;
 import ar.edu.um.programacion2.repository.OpcionRepository;
 import ar.edu.um.programacion2.repository.PersonalizacionRepository;
 import ar.edu.um.programacion2.repository.VentaRepository;
+import ar.edu.um.programacion2.repository.VentaRepositoryWithBagRelationships;
+import ar.edu.um.programacion2.service.dto.AdicionalDTO;
+import ar.edu.um.programacion2.service.dto.CotizacionDTO;
+import ar.edu.um.programacion2.service.dto.OpcionDTO;
+import ar.edu.um.programacion2.service.dto.PersonalizacionDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoLoteVentasDTO;
 import ar.edu.um.programacion2.service.dto.VentaDTO;
+import ar.edu.um.programacion2.service.dto.VentaExternaDTO;
 import ar.edu.um.programacion2.service.dto.VentaRequest;
 import ar.edu.um.programacion2.service.mapper.VentaMapper;
-import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 /**
  * Service Implementation for managing {@link ar.edu.um.programacion2.domain.Venta}.
@@ -40,43 +63,49 @@ public class VentaService {
 
     private static final Logger LOG = LoggerFactory.getLogger(VentaService.class);
 
+    private static final String[] ID_COLUMN = { "id" };
+
+    private static final String INSERT_VENTA =
+        "insert into venta (fecha_venta, precio_final, dispositivo_id) values (:fechaVenta, :precioFinal, :dispositivoId)";
+    private static final String INSERT_VENTA_PERSONALIZACION =
+        "insert into rel_venta__personalizaciones (venta_id, personalizaciones_id) values (:ventaId, :id)";
+    private static final String INSERT_VENTA_OPCION = "insert into rel_venta__opciones (venta_id, opciones_id) values (:ventaId, :id)";
+    private static final String INSERT_VENTA_ADICIONAL =
+        "insert into rel_venta__adicionales (venta_id, adicionales_id) values (:ventaId, :id)";
+
     private final VentaRepository ventaRepository;
     private final VentaMapper ventaMapper;
-    private final WebClient.Builder webClientBuilder;
-    private WebClient webClient;
     private final DispositivoRepository dispositivoRepository;
     private final PersonalizacionRepository personalizacionRepository;
     private final OpcionRepository opcionRepository;
     private final AdicionalRepository adicionalRepository;
-
-    @Value("${SERVICE_BASE_URL}")
-    private String baseUrl;
-
-    @Value("${SERVICE_API_TOKEN}")
-    private String apiToken;
+    private final MotorPreciosService motorPreciosService;
+    private final EnvioVentasService envioVentasService;
+    private final AnaliticaVentasService analiticaVentasService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
 
     public VentaService(
         VentaRepository ventaRepository,
         VentaMapper ventaMapper,
-        WebClient.Builder webClientBuilder,
         DispositivoRepository dispositivoRepository,
         PersonalizacionRepository personalizacionRepository,
         OpcionRepository opcionRepository,
-        AdicionalRepository adicionalRepository
+        AdicionalRepository adicionalRepository,
+        MotorPreciosService motorPreciosService,
+        EnvioVentasService envioVentasService,
+        AnaliticaVentasService analiticaVentasService,
+        NamedParameterJdbcTemplate jdbcTemplate
     ) {
         this.ventaRepository = ventaRepository;
         this.ventaMapper = ventaMapper;
-        this.webClientBuilder = webClientBuilder;
         this.dispositivoRepository = dispositivoRepository;
         this.personalizacionRepository = personalizacionRepository;
         this.opcionRepository = opcionRepository;
         this.adicionalRepository = adicionalRepository;
-    }
-
-    @PostConstruct
-    public void initWebClient() {
-        LOG.info("Inicializando WebClient con Base URL: {}", baseUrl);
-        this.webClient = webClientBuilder.baseUrl(baseUrl).defaultHeader("Authorization", "Bearer " + apiToken).build();
+        this.motorPreciosService = motorPreciosService;
+        this.envioVentasService = envioVentasService;
+        this.analiticaVentasService = analiticaVentasService;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
@@ -88,7 +117,8 @@ public class VentaService {
     public VentaDTO save(VentaDTO ventaDTO) {
         LOG.debug("Request to save Venta : {}", ventaDTO);
         Venta venta = ventaMapper.toEntity(ventaDTO);
-        venta = ventaRepository.save(venta);
+        venta = ventaRepository.saveAndFlush(venta);
+        analiticaVentasService.agregar(venta.getId());
         return ventaMapper.toDto(venta);
     }
 
@@ -100,8 +130,10 @@ public class VentaService {
      */
     public VentaDTO update(VentaDTO ventaDTO) {
         LOG.debug("Request to update Venta : {}", ventaDTO);
+        analiticaVentasService.quitar(ventaDTO.getId());
         Venta venta = ventaMapper.toEntity(ventaDTO);
-        venta = ventaRepository.save(venta);
+        venta = ventaRepository.saveAndFlush(venta);
+        analiticaVentasService.agregar(venta.getId());
         return ventaMapper.toDto(venta);
     }
 
@@ -117,16 +149,21 @@ public class VentaService {
         return ventaRepository
             .findById(ventaDTO.getId())
             .map(existingVenta -> {
+                analiticaVentasService.quitar(existingVenta.getId());
                 ventaMapper.partialUpdate(existingVenta, ventaDTO);
 
                 return existingVenta;
             })
-            .map(ventaRepository::save)
+            .map(ventaRepository::saveAndFlush)
+            .map(venta -> {
+                analiticaVentasService.agregar(venta.getId());
+                return venta;
+            })
             .map(ventaMapper::toDto);
     }
 
     /**
-     * Get all the ventas.
+     * Get all the ventas, read straight into DTOs without loading the entities.
      *
      * @param pageable the pagination information.
      * @return the list of entities.
@@ -134,16 +171,76 @@ public class VentaService {
     @Transactional(readOnly = true)
     public Page<VentaDTO> findAll(Pageable pageable) {
         LOG.debug("Request to get all Ventas");
-        return ventaRepository.findAll(pageable).map(ventaMapper::toDto);
+        return ventaRepository.findAllBy(pageable, VentaDTO.class);
+    }
+
+    /**
+     * Get a window of the ventas after a keyset position, without counting them.
+     *
+     * @param position the position after which to read.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<VentaDTO> findAll(ScrollPosition position, Sort sort, int size) {
+        LOG.debug("Request to get a window of Ventas");
+        return ventaRepository.scrollAllBy(position, sort, Limit.of(size), VentaDTO.class);
+    }
+
+    /**
+     * Get a window of the ventas after a keyset position with eager load of many-to-many relationships, without
+     * counting them.
+     *
+     * @param position the position after which to read.
+     * @param sort the keyset sort.
+     * @param size the maximum number of entities to return.
+     * @return the window of entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<VentaDTO> findAllWithEagerRelationships(ScrollPosition position, Sort sort, int size) {
+        Window<VentaDTO> ventas = ventaRepository.scrollAllBy(position, sort, Limit.of(size), VentaDTO.class);
+        agregarRelaciones(ventas.getContent());
+        return ventas;
     }
 
     /**
      * Get all the ventas with eager load of many-to-many relationships.
+     * <p>
+     * The ventas are read as flat rows and their relationships as (venta, related id) tuples in a single extra query,
+     * and the DTOs are assembled from them directly, without hydrating any entity.
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<VentaDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return ventaRepository.findAllWithEagerRelationships(pageable).map(ventaMapper::toDto);
+        Page<VentaDTO> ventas = ventaRepository.findAllBy(pageable, VentaDTO.class);
+        agregarRelaciones(ventas.getContent());
+        return ventas;
+    }
+
+    private void agregarRelaciones(List<VentaDTO> ventas) {
+        Map<Long, VentaDTO> porId = ventas.stream().collect(Collectors.toMap(VentaDTO::getId, Function.identity()));
+        for (VentaRepositoryWithBagRelationships.RelacionVenta relacion : ventaRepository.findRelaciones(porId.keySet())) {
+            VentaDTO venta = porId.get(relacion.ventaId());
+            switch (relacion.tipo()) {
+                case PERSONALIZACION -> {
+                    PersonalizacionDTO personalizacion = new PersonalizacionDTO();
+                    personalizacion.setId(relacion.relacionadoId());
+                    venta.getPersonalizaciones().add(personalizacion);
+                }
+                case ADICIONAL -> {
+                    AdicionalDTO adicional = new AdicionalDTO();
+                    adicional.setId(relacion.relacionadoId());
+                    venta.getAdicionales().add(adicional);
+                }
+                case OPCION -> {
+                    OpcionDTO opcion = new OpcionDTO();
+                    opcion.setId(relacion.relacionadoId());
+                    venta.getOpciones().add(opcion);
+                }
+            }
+        }
     }
 
     /**
@@ -165,154 +262,344 @@ public class VentaService {
      */
     public void delete(Long id) {
         LOG.debug("Request to delete Venta : {}", id);
+        analiticaVentasService.quitar(id);
         ventaRepository.deleteById(id);
     }
 
     @Transactional
     public Venta registrarVenta(VentaRequest request) {
-        // 1. Buscar el dispositivo
-        Dispositivo dispositivo = dispositivoRepository
-            .findById(request.getIdDispositivo())
-            .orElseThrow(() -> new IllegalArgumentException("Dispositivo no encontrado con ID: " + request.getIdDispositivo()));
+        return registrarVenta(request, venta -> {});
+    }
 
-        // 2. Crear la venta
-        Venta venta = new Venta();
-        venta.setDispositivo(dispositivo);
+    /**
+     * Registra una venta y, en la misma transacción, ejecuta {@code alGuardar} con la venta ya guardada.
+     *
+     * @param request la venta a registrar.
+     * @param alGuardar lo que debe confirmarse (o revertirse) junto con la venta.
+     * @return la venta registrada.
+     */
+    @Transactional
+    public Venta registrarVenta(VentaRequest request, Consumer<Venta> alGuardar) {
+        // 1. Cargar todo lo referenciado por la venta y validar que pertenezca al dispositivo
+        ReferenciasVenta referencias = cargarReferencias(request);
 
-        // Usar la fecha proporcionada o la actual
-        venta.setFechaVenta(request.getFechaVenta() != null ? request.getFechaVenta() : ZonedDateTime.now());
+        // 2. Cotizar con los precios de las mismas entidades que se validaron
+        CotizacionDTO cotizacion = motorPreciosService.cotizar(request, referencias);
 
-        BigDecimal precioCalculado = dispositivo.getPrecioBase();
+        // 3. Crear la venta con las personalizaciones, la opción elegida de cada una y los adicionales ya cargados
+        Venta venta = nuevaVenta(request, referencias.dispositivos.get(request.getIdDispositivo()), referencias, cotizacion);
 
-        // 3. Procesar personalizaciones
-        if (request.getPersonalizaciones() != null) {
-            for (VentaRequest.PersonalizacionRequest personalizacionRequest : request.getPersonalizaciones()) {
-                // Buscar la personalización
-                Personalizacion personalizacion = personalizacionRepository
-                    .findById(personalizacionRequest.getId())
-                    .orElseThrow(() ->
-                        new IllegalArgumentException("Personalización no encontrada con ID: " + personalizacionRequest.getId())
-                    );
-
-                // Buscar la opción seleccionada
-                Opcion opcion = opcionRepository
-                    .findById(personalizacionRequest.getOpcion().getId())
-                    .orElseThrow(() ->
-                        new IllegalArgumentException("Opción no encontrada con ID: " + personalizacionRequest.getOpcion().getId())
-                    );
-
-                // Sumar el precio adicional de la opción seleccionada
-                precioCalculado = precioCalculado.add(opcion.getPrecioAdicional());
-
-                // Asociar la personalización a la venta
-                venta.addPersonalizaciones(personalizacion);
+        // 4. Guardar la venta en la base de datos
+        Venta ventaGuardada = ventaRepository.save(venta);
+
+        // 5. Encolar la venta para el servicio externo; se envía recién cuando se confirma la transacción
+        registrarVentaEnServicioExterno(ventaGuardada);
+        analiticaVentasService.registrar(List.of(ventaGuardada));
+        alGuardar.accept(ventaGuardada);
+
+        // 6. Retornar la venta registrada
+        return ventaGuardada;
+    }
+
+    /**
+     * Registra un tramo de una carga masiva en una sola transacción. Las ventas inválidas se rechazan sin afectar al
+     * resto; las válidas se insertan con batches JDBC (la venta, sus relaciones, su envío al servicio externo y su suma a
+     * los resúmenes de analítica).
+     *
+     * @param requests las ventas del tramo.
+     * @param cotizador la instantánea del catálogo contra la que se cotiza toda la carga.
+     * @return el resultado de cada venta, en el mismo orden que {@code requests}.
+     */
+    public List<ResultadoLoteVentasDTO.ResultadoVenta> registrarLote(List<VentaRequest> requests, MotorPreciosService.Cotizador cotizador) {
+        ReferenciasVenta referencias = cargarReferencias(requests);
+        List<ResultadoLoteVentasDTO.ResultadoVenta> resultados = new ArrayList<>(requests.size());
+        List<Venta> ventas = new ArrayList<>();
+        for (VentaRequest request : requests) {
+            try {
+                Dispositivo dispositivo = validar(request, referencias);
+                Venta venta = nuevaVenta(request, dispositivo, referencias, cotizador.cotizar(request));
+                ventas.add(venta);
+                resultados.add(null);
+            } catch (IllegalArgumentException e) {
+                resultados.add(ResultadoLoteVentasDTO.ResultadoVenta.rechazada(e.getMessage()));
+            }
+        }
+        insertarVentas(ventas);
+
+        Map<Long, VentaExternaDTO> envios = new LinkedHashMap<>();
+        ventas.forEach(venta -> envios.put(venta.getId(), ventaExterna(venta)));
+        envioVentasService.encolarTodas(envios);
+        analiticaVentasService.registrar(ventas);
+
+        Iterator<Venta> registradas = ventas.iterator();
+        for (int i = 0; i < resultados.size(); i++) {
+            if (resultados.get(i) == null) {
+                Venta venta = registradas.next();
+                resultados.set(i, ResultadoLoteVentasDTO.ResultadoVenta.registrada(venta.getId(), venta.getPrecioFinal()));
             }
         }
+        return resultados;
+    }
 
-        // 4. Procesar adicionales
+    private static Venta nuevaVenta(VentaRequest request, Dispositivo dispositivo, ReferenciasVenta referencias, CotizacionDTO cotizacion) {
+        Venta venta = new Venta();
+        venta.setDispositivo(dispositivo);
+        // Usar la fecha proporcionada o la actual
+        venta.setFechaVenta(request.getFechaVenta() != null ? request.getFechaVenta() : ZonedDateTime.now());
+        if (request.getPersonalizaciones() != null) {
+            request
+                .getPersonalizaciones()
+                .forEach(p -> {
+                    venta.addPersonalizaciones(referencias.personalizaciones.get(p.getId()));
+                    venta.addOpciones(referencias.opciones.get(p.getOpcion().getId()));
+                });
+        }
         if (request.getAdicionales() != null) {
-            for (VentaRequest.AdicionalRequest adicionalRequest : request.getAdicionales()) {
-                // Buscar el adicional
-                Adicional adicional = adicionalRepository
-                    .findById(adicionalRequest.getId())
-                    .orElseThrow(() -> new IllegalArgumentException("Adicional no encontrado con ID: " + adicionalRequest.getId()));
-
-                // Verificar si el adicional está en promoción
-                boolean enPromocion =
-                    adicional.getPrecioGratis().compareTo(BigDecimal.ZERO) >= 0 &&
-                    precioCalculado.compareTo(adicional.getPrecioGratis()) >= 0;
-
-                if (!enPromocion) {
-                    // Sumar el precio del adicional si no está en promoción
-                    precioCalculado = precioCalculado.add(adicional.getPrecio());
-                }
+            request.getAdicionales().forEach(a -> venta.addAdicionales(referencias.adicionales.get(a.getId())));
+        }
+        venta.setPrecioFinal(cotizacion.getPrecioFinal());
+        return venta;
+    }
 
-                // Asociar el adicional a la venta
-                venta.addAdicionales(adicional);
-            }
+    /**
+     * Inserta las ventas y sus relaciones con un batch por tabla y asigna a cada venta el id generado.
+     */
+    private void insertarVentas(List<Venta> ventas) {
+        if (ventas.isEmpty()) {
+            return;
         }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+            INSERT_VENTA,
+            ventas
+                .stream()
+                .map(venta ->
+                    new MapSqlParameterSource()
+                        // Igual que Hibernate con hibernate.jdbc.time_zone=UTC
+                        .addValue("fechaVenta", venta.getFechaVenta().withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+                        .addValue("precioFinal", venta.getPrecioFinal())
+                        .addValue("dispositivoId", venta.getDispositivo().getId())
+                )
+                .toArray(SqlParameterSource[]::new),
+            keyHolder,
+            ID_COLUMN
+        );
+        List<Map<String, Object>> claves = keyHolder.getKeyList();
+        for (int i = 0; i < ventas.size(); i++) {
+            ventas.get(i).setId(((Number) claves.get(i).values().iterator().next()).longValue());
+        }
+        insertarRelacion(INSERT_VENTA_PERSONALIZACION, ventas, venta -> venta.getPersonalizaciones().stream().map(Personalizacion::getId));
+        insertarRelacion(INSERT_VENTA_OPCION, ventas, venta -> venta.getOpciones().stream().map(Opcion::getId));
+        insertarRelacion(INSERT_VENTA_ADICIONAL, ventas, venta -> venta.getAdicionales().stream().map(Adicional::getId));
+    }
 
-        // 5. Establecer el precio final
-        venta.setPrecioFinal(precioCalculado);
+    private void insertarRelacion(String sql, List<Venta> ventas, Function<Venta, Stream<Long>> relacionados) {
+        SqlParameterSource[] filas = ventas
+            .stream()
+            .flatMap(venta ->
+                relacionados.apply(venta).map(id -> new MapSqlParameterSource().addValue("ventaId", venta.getId()).addValue("id", id))
+            )
+            .toArray(SqlParameterSource[]::new);
+        if (filas.length > 0) {
+            jdbcTemplate.batchUpdate(sql, filas);
+        }
+    }
 
-        // 6. Guardar la venta en la base de datos
-        Venta ventaGuardada = ventaRepository.save(venta);
+    /**
+     * Carga el dispositivo y todas las personalizaciones, opciones y adicionales de la venta con a lo sumo una consulta
+     * por tipo de entidad, y valida que cada uno exista y pertenezca al dispositivo (o a su personalización).
+     *
+     * @param request la venta a registrar.
+     * @return las entidades referenciadas, indexadas por id.
+     * @throws IllegalArgumentException si algo no existe o no pertenece al dispositivo.
+     */
+    ReferenciasVenta cargarReferencias(VentaRequest request) {
+        Long idDispositivo = request.getIdDispositivo();
+        Map<Long, Dispositivo> dispositivos = (idDispositivo == null
+                ? Optional.<Dispositivo>empty()
+                : dispositivoRepository.findById(idDispositivo))
+            .map(dispositivo -> Map.of(dispositivo.getId(), dispositivo))
+            .orElse(Collections.emptyMap());
+        ReferenciasVenta referencias = cargarCatalogo(dispositivos, List.of(request));
+        validar(request, referencias);
+        return referencias;
+    }
 
-        // 7. Registrar la venta en el servicio externo
-        registrarVentaEnServicioExterno(ventaGuardada);
+    /**
+     * Carga todo lo referenciado por varias ventas con a lo sumo una consulta por tipo de entidad, sin validar nada.
+     *
+     * @param requests las ventas a registrar.
+     * @return las entidades encontradas, indexadas por id; los ids inexistentes no figuran.
+     */
+    ReferenciasVenta cargarReferencias(List<VentaRequest> requests) {
+        Map<Long, Dispositivo> dispositivos = porId(
+            dispositivoRepository,
+            requests.stream().map(VentaRequest::getIdDispositivo),
+            Dispositivo::getId
+        );
+        return cargarCatalogo(dispositivos, requests);
+    }
 
-        // 8. Retornar la venta registrada
-        return ventaGuardada;
+    private ReferenciasVenta cargarCatalogo(Map<Long, Dispositivo> dispositivos, List<VentaRequest> requests) {
+        // Los padres (dispositivo y personalización) ya están en el contexto de persistencia cuando se cargan los hijos
+        Map<Long, Personalizacion> personalizaciones = porId(
+            personalizacionRepository,
+            personalizacionesPedidas(requests).map(VentaRequest.PersonalizacionRequest::getId),
+            Personalizacion::getId
+        );
+        Map<Long, Opcion> opciones = porId(
+            opcionRepository,
+            personalizacionesPedidas(requests).map(p -> p.getOpcion() != null ? p.getOpcion().getId() : null),
+            Opcion::getId
+        );
+        Map<Long, Adicional> adicionales = porId(
+            adicionalRepository,
+            requests
+                .stream()
+                .filter(r -> r.getAdicionales() != null)
+                .flatMap(r -> r.getAdicionales().stream())
+                .map(VentaRequest.AdicionalRequest::getId),
+            Adicional::getId
+        );
+        return new ReferenciasVenta(dispositivos, personalizaciones, opciones, adicionales);
     }
 
-    public void registrarVentaEnServicioExterno(Venta venta) {
-        Map<String, Object> requestBody = new HashMap<>();
+    private static Stream<VentaRequest.PersonalizacionRequest> personalizacionesPedidas(List<VentaRequest> requests) {
+        return requests.stream().filter(r -> r.getPersonalizaciones() != null).flatMap(r -> r.getPersonalizaciones().stream());
+    }
+
+    /**
+     * Valida que todo lo pedido por la venta exista y pertenezca al dispositivo (o a su personalización).
+     *
+     * @param request la venta a registrar.
+     * @param referencias las entidades ya cargadas.
+     * @return el dispositivo de la venta.
+     * @throws IllegalArgumentException si algo no existe o no pertenece al dispositivo.
+     */
+    private static Dispositivo validar(VentaRequest request, ReferenciasVenta referencias) {
+        Long idDispositivo = request.getIdDispositivo();
+        Dispositivo dispositivo = idDispositivo == null ? null : referencias.dispositivos.get(idDispositivo);
+        if (dispositivo == null) {
+            throw new IllegalArgumentException("Dispositivo no encontrado con ID: " + idDispositivo);
+        }
+        List<VentaRequest.PersonalizacionRequest> personalizacionesPedidas = request.getPersonalizaciones() != null
+            ? request.getPersonalizaciones()
+            : List.of();
+        List<VentaRequest.AdicionalRequest> adicionalesPedidos = request.getAdicionales() != null ? request.getAdicionales() : List.of();
+
+        for (VentaRequest.PersonalizacionRequest personalizacionRequest : personalizacionesPedidas) {
+            Personalizacion personalizacion = referencias.personalizaciones.get(personalizacionRequest.getId());
+            if (personalizacion == null) {
+                throw new IllegalArgumentException("Personalización no encontrada con ID: " + personalizacionRequest.getId());
+            }
+            if (!dispositivo.getId().equals(personalizacion.getDispositivo().getId())) {
+                throw new IllegalArgumentException(
+                    "La personalización con ID " + personalizacion.getId() + " no pertenece al dispositivo con ID: " + idDispositivo
+                );
+            }
+            if (personalizacionRequest.getOpcion() == null) {
+                throw new IllegalArgumentException("Falta la opción de la personalización con ID: " + personalizacion.getId());
+            }
+            Opcion opcion = referencias.opciones.get(personalizacionRequest.getOpcion().getId());
+            if (opcion == null) {
+                throw new IllegalArgumentException("Opción no encontrada con ID: " + personalizacionRequest.getOpcion().getId());
+            }
+            if (!personalizacion.getId().equals(opcion.getPersonalizacion().getId())) {
+                throw new IllegalArgumentException(
+                    "La opción con ID " + opcion.getId() + " no pertenece a la personalización con ID: " + personalizacion.getId()
+                );
+            }
+        }
+        for (VentaRequest.AdicionalRequest adicionalRequest : adicionalesPedidos) {
+            Adicional adicional = referencias.adicionales.get(adicionalRequest.getId());
+            if (adicional == null) {
+                throw new IllegalArgumentException("Adicional no encontrado con ID: " + adicionalRequest.getId());
+            }
+            if (!dispositivo.getId().equals(adicional.getDispositivo().getId())) {
+                throw new IllegalArgumentException(
+                    "El adicional con ID " + adicional.getId() + " no pertenece al dispositivo con ID: " + idDispositivo
+                );
+            }
+        }
+        return dispositivo;
+    }
 
-        // Agregar idExterno del dispositivo
-        requestBody.put("idDispositivo", venta.getDispositivo().getIdExterno());
+    /**
+     * Busca todas las entidades con los ids dados en una sola consulta; no consulta si no hay ids.
+     */
+    private static <T> Map<Long, T> porId(JpaRepository<T, Long> repository, Stream<Long> ids, Function<T, Long> id) {
+        Set<Long> distintos = ids.filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distintos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return repository.findAllById(distintos).stream().collect(Collectors.toMap(id, Function.identity()));
+    }
 
-        // Transformar personalizaciones
-        List<Map<String, Object>> personalizaciones = venta
-            .getPersonalizaciones()
-            .stream()
-            .map(personalizacion -> {
-                Map<String, Object> personalizacionMap = new HashMap<>();
-                personalizacionMap.put("id", personalizacion.getIdExterno());
-                personalizacionMap.put("precio", BigDecimal.ZERO);
-                Map<String, Object> opcionMap = new HashMap<>();
-
-                // Buscar las opciones asociadas a la personalización
-                List<Opcion> opciones = opcionRepository.findByPersonalizacionId(personalizacion.getId());
-                if (opciones.isEmpty()) {
-                    throw new IllegalArgumentException(
-                        "No se encontraron opciones para la personalización con ID: " + personalizacion.getId()
-                    );
-                }
-                if (opciones.size() > 1) {
-                    System.out.println(
-                        "Advertencia: Se encontraron múltiples opciones para la personalización con ID: " + personalizacion.getId()
-                    );
-                }
+    /**
+     * Entidades referenciadas por una o varias ventas, indexadas por id.
+     */
+    static final class ReferenciasVenta {
+
+        final Map<Long, Dispositivo> dispositivos;
+        final Map<Long, Personalizacion> personalizaciones;
+        final Map<Long, Opcion> opciones;
+        final Map<Long, Adicional> adicionales;
+
+        ReferenciasVenta(
+            Map<Long, Dispositivo> dispositivos,
+            Map<Long, Personalizacion> personalizaciones,
+            Map<Long, Opcion> opciones,
+            Map<Long, Adicional> adicionales
+        ) {
+            this.dispositivos = dispositivos;
+            this.personalizaciones = personalizaciones;
+            this.opciones = opciones;
+            this.adicionales = adicionales;
+        }
+    }
 
-                // Tomar la primera opción (o aplicar una lógica de selección específica)
-                Opcion opcionSeleccionada = opciones.get(0);
-                opcionMap.put("id", opcionSeleccionada.getIdExterno());
-                personalizacionMap.put("opcion", opcionMap);
-                return personalizacionMap;
-            })
-            .toList();
-        requestBody.put("personalizaciones", personalizaciones);
+    /**
+     * Encola la venta para registrarla en el servicio externo, en la transacción actual.
+     * <p>
+     * El cuerpo se arma sólo con el grafo ya cargado de la venta (dispositivo, personalizaciones, opciones elegidas y
+     * adicionales), sin consultar la base de datos.
+     *
+     * @param venta la venta ya guardada.
+     * @throws IllegalArgumentException si alguna personalización de la venta no tiene una opción elegida.
+     */
+    public void registrarVentaEnServicioExterno(Venta venta) {
+        envioVentasService.encolar(venta.getId(), ventaExterna(venta));
+    }
 
-        // Transformar adicionales
-        List<Map<String, Object>> adicionales = venta
-            .getAdicionales()
+    private static VentaExternaDTO ventaExterna(Venta venta) {
+        VentaExternaDTO ventaExterna = new VentaExternaDTO();
+        ventaExterna.setIdDispositivo(venta.getDispositivo().getIdExterno());
+
+        Map<Long, Opcion> opcionPorPersonalizacion = venta
+            .getOpciones()
             .stream()
-            .map(adicional -> {
-                Map<String, Object> adicionalMap = new HashMap<>();
-                adicionalMap.put("id", adicional.getIdExterno());
-                adicionalMap.put("precio", adicional.getPrecio());
-                return adicionalMap;
-            })
-            .toList();
-        requestBody.put("adicionales", adicionales);
-
-        // Agregar precio final y fecha de venta
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME; //tuve q formatearla pq sino no andaba
-        requestBody.put("precioFinal", venta.getPrecioFinal());
-        requestBody.put("fechaVenta", venta.getFechaVenta().format(formatter));
-        LOG.info("Cuerpo de la solicitud enviada al servicio externo: {}", requestBody);
-
-        // Enviar la solicitud al servicio externo
-        webClient
-            .post()
-            .uri("/vender")
-            .bodyValue(requestBody)
-            .retrieve()
-            .bodyToMono(String.class)
-            .doOnSuccess(response -> LOG.info("Venta registrada exitosamente en el servicio externo: {}", response))
-            .doOnError(WebClientResponseException.class, error ->
-                LOG.error("Error al registrar la venta en el servicio externo: {}", error.getResponseBodyAsString())
-            )
-            .subscribe();
+            .collect(Collectors.toMap(opcion -> opcion.getPersonalizacion().getId(), Function.identity(), (primera, otra) -> primera));
+        for (Personalizacion personalizacion : venta.getPersonalizaciones()) {
+            Opcion opcion = opcionPorPersonalizacion.get(personalizacion.getId());
+            if (opcion == null) {
+                throw new IllegalArgumentException("Falta la opción de la personalización con ID: " + personalizacion.getId());
+            }
+            ventaExterna
+                .getPersonalizaciones()
+                .add(
+                    new VentaExternaDTO.PersonalizacionVendida(
+                        personalizacion.getIdExterno(),
+                        BigDecimal.ZERO,
+                        new VentaExternaDTO.OpcionVendida(opcion.getIdExterno())
+                    )
+                );
+        }
+        for (Adicional adicional : venta.getAdicionales()) {
+            ventaExterna.getAdicionales().add(new VentaExternaDTO.AdicionalVendido(adicional.getIdExterno(), adicional.getPrecio()));
+        }
+
+        ventaExterna.setPrecioFinal(venta.getPrecioFinal());
+        ventaExterna.setFechaVenta(venta.getFechaVenta().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        return ventaExterna;
     }
 }
@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import org.springframework.data.annotation.PersistenceCreator;
 
 /**
  * A DTO for the {@link ar.edu.um.programacion2.domain.Adicional} entity.
@@ -37,6 +38,31 @@ public class AdicionalDTO implements Serializable {
 
     private Set<VentaDTO> ventas = new HashSet<>();
 
+    public AdicionalDTO() {}
+
+    /**
+     * Builds the DTO straight from a projection query, without loading the entity, with only the id of the dispositivo.
+     */
+    @PersistenceCreator
+    public AdicionalDTO(
+        Long id,
+        Long idExterno,
+        String nombre,
+        String descripcion,
+        BigDecimal precio,
+        BigDecimal precioGratis,
+        Long dispositivoId
+    ) {
+        this.id = id;
+        this.idExterno = idExterno;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.precio = precio;
+        this.precioGratis = precioGratis;
+        this.dispositivo = new DispositivoDTO();
+        this.dispositivo.setId(dispositivoId);
+    }
+
     public Long getId() {
         return id;
     }
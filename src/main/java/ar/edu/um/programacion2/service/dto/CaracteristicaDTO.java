@@ -3,6 +3,7 @@ package ar.edu.um.programacion2.service.dto;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.Objects;
+import org.springframework.data.annotation.PersistenceCreator;
 
 /**
  * A DTO for the {@link ar.edu.um.programacion2.domain.Caracteristica} entity.
@@ -24,6 +25,21 @@ public class CaracteristicaDTO implements Serializable {
     @NotNull
     private DispositivoDTO dispositivo;
 
+    public CaracteristicaDTO() {}
+
+    /**
+     * Builds the DTO straight from a projection query, without loading the entity, with only the id of the dispositivo.
+     */
+    @PersistenceCreator
+    public CaracteristicaDTO(Long id, Long idExterno, String nombre, String descripcion, Long dispositivoId) {
+        this.id = id;
+        this.idExterno = idExterno;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.dispositivo = new DispositivoDTO();
+        this.dispositivo.setId(dispositivoId);
+    }
+
     public Long getId() {
         return id;
     }
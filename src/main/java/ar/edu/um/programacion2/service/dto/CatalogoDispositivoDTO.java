@@ -0,0 +1,332 @@
+package ar.edu.um.programacion2.service.dto;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Un dispositivo del catálogo con todo su árbol: características, personalizaciones con sus opciones y adicionales. Los
+ * ids son los locales, los que se usan al vender.
+ */
+public class CatalogoDispositivoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+    private String codigo;
+    private String nombre;
+    private String descripcion;
+    private BigDecimal precioBase;
+    private Moneda moneda;
+    private List<CaracteristicaCatalogo> caracteristicas = new ArrayList<>();
+    private List<PersonalizacionCatalogo> personalizaciones = new ArrayList<>();
+    private List<AdicionalCatalogo> adicionales = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCodigo() {
+        return codigo;
+    }
+
+    public void setCodigo(String codigo) {
+        this.codigo = codigo;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public BigDecimal getPrecioBase() {
+        return precioBase;
+    }
+
+    public void setPrecioBase(BigDecimal precioBase) {
+        this.precioBase = precioBase;
+    }
+
+    public Moneda getMoneda() {
+        return moneda;
+    }
+
+    public void setMoneda(Moneda moneda) {
+        this.moneda = moneda;
+    }
+
+    public List<CaracteristicaCatalogo> getCaracteristicas() {
+        return caracteristicas;
+    }
+
+    public void setCaracteristicas(List<CaracteristicaCatalogo> caracteristicas) {
+        this.caracteristicas = caracteristicas;
+    }
+
+    public List<PersonalizacionCatalogo> getPersonalizaciones() {
+        return personalizaciones;
+    }
+
+    public void setPersonalizaciones(List<PersonalizacionCatalogo> personalizaciones) {
+        this.personalizaciones = personalizaciones;
+    }
+
+    public List<AdicionalCatalogo> getAdicionales() {
+        return adicionales;
+    }
+
+    public void setAdicionales(List<AdicionalCatalogo> adicionales) {
+        this.adicionales = adicionales;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogoDispositivoDTO{" +
+            "id=" + getId() +
+            ", codigo='" + getCodigo() + "'" +
+            ", nombre='" + getNombre() + "'" +
+            ", descripcion='" + getDescripcion() + "'" +
+            ", precioBase=" + getPrecioBase() +
+            ", moneda=" + getMoneda() +
+            "}";
+    }
+
+    public static class CaracteristicaCatalogo implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private String nombre;
+        private String descripcion;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+
+        public void setDescripcion(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{" +
+                "id=" + getId() +
+                ", nombre='" + getNombre() + "'" +
+                ", descripcion='" + getDescripcion() + "'" +
+                "}";
+        }
+    }
+
+    public static class PersonalizacionCatalogo implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private String nombre;
+        private String descripcion;
+        private List<OpcionCatalogo> opciones = new ArrayList<>();
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+
+        public void setDescripcion(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public List<OpcionCatalogo> getOpciones() {
+            return opciones;
+        }
+
+        public void setOpciones(List<OpcionCatalogo> opciones) {
+            this.opciones = opciones;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{" +
+                "id=" + getId() +
+                ", nombre='" + getNombre() + "'" +
+                ", descripcion='" + getDescripcion() + "'" +
+                "}";
+        }
+    }
+
+    public static class OpcionCatalogo implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private String codigo;
+        private String nombre;
+        private String descripcion;
+        private BigDecimal precioAdicional;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getCodigo() {
+            return codigo;
+        }
+
+        public void setCodigo(String codigo) {
+            this.codigo = codigo;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+
+        public void setDescripcion(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public BigDecimal getPrecioAdicional() {
+            return precioAdicional;
+        }
+
+        public void setPrecioAdicional(BigDecimal precioAdicional) {
+            this.precioAdicional = precioAdicional;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{" +
+                "id=" + getId() +
+                ", codigo='" + getCodigo() + "'" +
+                ", nombre='" + getNombre() + "'" +
+                ", descripcion='" + getDescripcion() + "'" +
+                ", precioAdicional=" + getPrecioAdicional() +
+                "}";
+        }
+    }
+
+    public static class AdicionalCatalogo implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private String nombre;
+        private String descripcion;
+        private BigDecimal precio;
+        private BigDecimal precioGratis;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public void setNombre(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getDescripcion() {
+            return descripcion;
+        }
+
+        public void setDescripcion(String descripcion) {
+            this.descripcion = descripcion;
+        }
+
+        public BigDecimal getPrecio() {
+            return precio;
+        }
+
+        public void setPrecio(BigDecimal precio) {
+            this.precio = precio;
+        }
+
+        public BigDecimal getPrecioGratis() {
+            return precioGratis;
+        }
+
+        public void setPrecioGratis(BigDecimal precioGratis) {
+            this.precioGratis = precioGratis;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{" +
+                "id=" + getId() +
+                ", nombre='" + getNombre() + "'" +
+                ", descripcion='" + getDescripcion() + "'" +
+                ", precio=" + getPrecio() +
+                ", precioGratis=" + getPrecioGratis() +
+                "}";
+        }
+    }
+}
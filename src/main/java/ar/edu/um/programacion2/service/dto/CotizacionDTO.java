@@ -0,0 +1,186 @@
+package ar.edu.um.programacion2.service.dto;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precio de una venta calculado a partir del catálogo, con el detalle de cada personalización y adicional.
+ */
+public class CotizacionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long idDispositivo;
+    private Moneda moneda;
+    private BigDecimal precioBase;
+    private List<PersonalizacionCotizada> personalizaciones = new ArrayList<>();
+    private List<AdicionalCotizado> adicionales = new ArrayList<>();
+    private BigDecimal precioFinal;
+
+    public Long getIdDispositivo() {
+        return idDispositivo;
+    }
+
+    public void setIdDispositivo(Long idDispositivo) {
+        this.idDispositivo = idDispositivo;
+    }
+
+    public Moneda getMoneda() {
+        return moneda;
+    }
+
+    public void setMoneda(Moneda moneda) {
+        this.moneda = moneda;
+    }
+
+    public BigDecimal getPrecioBase() {
+        return precioBase;
+    }
+
+    public void setPrecioBase(BigDecimal precioBase) {
+        this.precioBase = precioBase;
+    }
+
+    public List<PersonalizacionCotizada> getPersonalizaciones() {
+        return personalizaciones;
+    }
+
+    public void setPersonalizaciones(List<PersonalizacionCotizada> personalizaciones) {
+        this.personalizaciones = personalizaciones;
+    }
+
+    public List<AdicionalCotizado> getAdicionales() {
+        return adicionales;
+    }
+
+    public void setAdicionales(List<AdicionalCotizado> adicionales) {
+        this.adicionales = adicionales;
+    }
+
+    public BigDecimal getPrecioFinal() {
+        return precioFinal;
+    }
+
+    public void setPrecioFinal(BigDecimal precioFinal) {
+        this.precioFinal = precioFinal;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CotizacionDTO{" +
+            "idDispositivo=" + getIdDispositivo() +
+            ", moneda='" + getMoneda() + "'" +
+            ", precioBase=" + getPrecioBase() +
+            ", personalizaciones=" + getPersonalizaciones() +
+            ", adicionales=" + getAdicionales() +
+            ", precioFinal=" + getPrecioFinal() +
+            "}";
+    }
+
+    public static class PersonalizacionCotizada implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long idPersonalizacion;
+        private Long idOpcion;
+        private BigDecimal precio;
+
+        public PersonalizacionCotizada() {}
+
+        public PersonalizacionCotizada(Long idPersonalizacion, Long idOpcion, BigDecimal precio) {
+            this.idPersonalizacion = idPersonalizacion;
+            this.idOpcion = idOpcion;
+            this.precio = precio;
+        }
+
+        public Long getIdPersonalizacion() {
+            return idPersonalizacion;
+        }
+
+        public void setIdPersonalizacion(Long idPersonalizacion) {
+            this.idPersonalizacion = idPersonalizacion;
+        }
+
+        public Long getIdOpcion() {
+            return idOpcion;
+        }
+
+        public void setIdOpcion(Long idOpcion) {
+            this.idOpcion = idOpcion;
+        }
+
+        public BigDecimal getPrecio() {
+            return precio;
+        }
+
+        public void setPrecio(BigDecimal precio) {
+            this.precio = precio;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{idPersonalizacion=" + getIdPersonalizacion() +
+                ", idOpcion=" + getIdOpcion() +
+                ", precio=" + getPrecio() +
+                "}";
+        }
+    }
+
+    public static class AdicionalCotizado implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long idAdicional;
+        private BigDecimal precio;
+        private boolean gratis;
+
+        public AdicionalCotizado() {}
+
+        public AdicionalCotizado(Long idAdicional, BigDecimal precio, boolean gratis) {
+            this.idAdicional = idAdicional;
+            this.precio = precio;
+            this.gratis = gratis;
+        }
+
+        public Long getIdAdicional() {
+            return idAdicional;
+        }
+
+        public void setIdAdicional(Long idAdicional) {
+            this.idAdicional = idAdicional;
+        }
+
+        /**
+         * @return el precio cobrado por el adicional; cero si quedó gratis por promoción.
+         */
+        public BigDecimal getPrecio() {
+            return precio;
+        }
+
+        public void setPrecio(BigDecimal precio) {
+            this.precio = precio;
+        }
+
+        public boolean isGratis() {
+            return gratis;
+        }
+
+        public void setGratis(boolean gratis) {
+            this.gratis = gratis;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{idAdicional=" + getIdAdicional() +
+                ", precio=" + getPrecio() +
+                ", gratis=" + isGratis() +
+                "}";
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Objects;
+import org.springframework.data.annotation.PersistenceCreator;
 
 /**
  * A DTO for the {@link ar.edu.um.programacion2.domain.Dispositivo} entity.
@@ -33,6 +34,22 @@ public class DispositivoDTO implements Serializable {
     @NotNull
     private Moneda moneda;
 
+    public DispositivoDTO() {}
+
+    /**
+     * Builds the DTO straight from a projection query, without loading the entity.
+     */
+    @PersistenceCreator
+    public DispositivoDTO(Long id, Long idExterno, String codigo, String nombre, String descripcion, BigDecimal precioBase, Moneda moneda) {
+        this.id = id;
+        this.idExterno = idExterno;
+        this.codigo = codigo;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.precioBase = precioBase;
+        this.moneda = moneda;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,82 @@
+package ar.edu.um.programacion2.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * Cantidad de ventas que incluyeron una personalización, una opción o un adicional en un rango de días.
+ */
+public class ItemVendidoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Qué se vendió con el dispositivo.
+     */
+    public enum Tipo {
+        PERSONALIZACION,
+        OPCION,
+        ADICIONAL,
+    }
+
+    private Tipo tipo;
+    private Long id;
+
+    /**
+     * El nombre actual en el catálogo, o null si ya no existe.
+     */
+    private String nombre;
+
+    private long cantidad;
+
+    public ItemVendidoDTO() {}
+
+    public ItemVendidoDTO(Tipo tipo, Long id, String nombre, long cantidad) {
+        this.tipo = tipo;
+        this.id = id;
+        this.nombre = nombre;
+        this.cantidad = cantidad;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(long cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ItemVendidoDTO{" +
+            "tipo='" + getTipo() + "'" +
+            ", id=" + getId() +
+            ", nombre='" + getNombre() + "'" +
+            ", cantidad=" + getCantidad() +
+            "}";
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Objects;
+import org.springframework.data.annotation.PersistenceCreator;
 
 /**
  * A DTO for the {@link ar.edu.um.programacion2.domain.Opcion} entity.
@@ -32,6 +33,32 @@ public class OpcionDTO implements Serializable {
     @NotNull
     private PersonalizacionDTO personalizacion;
 
+    public OpcionDTO() {}
+
+    /**
+     * Builds the DTO straight from a projection query, without loading the entity, with only the id of the
+     * personalizacion.
+     */
+    @PersistenceCreator
+    public OpcionDTO(
+        Long id,
+        Long idExterno,
+        String codigo,
+        String nombre,
+        String descripcion,
+        BigDecimal precioAdicional,
+        Long personalizacionId
+    ) {
+        this.id = id;
+        this.idExterno = idExterno;
+        this.codigo = codigo;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.precioAdicional = precioAdicional;
+        this.personalizacion = new PersonalizacionDTO();
+        this.personalizacion.setId(personalizacionId);
+    }
+
     public Long getId() {
         return id;
     }
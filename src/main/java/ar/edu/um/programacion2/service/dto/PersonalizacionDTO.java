@@ -5,6 +5,7 @@ import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import org.springframework.data.annotation.PersistenceCreator;
 
 /**
  * A DTO for the {@link ar.edu.um.programacion2.domain.Personalizacion} entity.
@@ -28,6 +29,21 @@ public class PersonalizacionDTO implements Serializable {
 
     private Set<VentaDTO> ventas = new HashSet<>();
 
+    public PersonalizacionDTO() {}
+
+    /**
+     * Builds the DTO straight from a projection query, without loading the entity, with only the id of the dispositivo.
+     */
+    @PersistenceCreator
+    public PersonalizacionDTO(Long id, Long idExterno, String nombre, String descripcion, Long dispositivoId) {
+        this.id = id;
+        this.idExterno = idExterno;
+        this.nombre = nombre;
+        this.descripcion = descripcion;
+        this.dispositivo = new DispositivoDTO();
+        this.dispositivo.setId(dispositivoId);
+    }
+
     public Long getId() {
         return id;
     }
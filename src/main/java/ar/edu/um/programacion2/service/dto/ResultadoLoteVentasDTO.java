@@ -0,0 +1,123 @@
+package ar.edu.um.programacion2.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una carga masiva de ventas: una entrada por venta recibida, en el mismo orden, con el id de la venta
+ * registrada o el motivo por el que se rechazó.
+ */
+public class ResultadoLoteVentasDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int registradas;
+    private int rechazadas;
+
+    /**
+     * Indica que se alcanzó el máximo de ventas por carga y el resto del cuerpo no se leyó.
+     */
+    private boolean truncado;
+
+    private final List<ResultadoVenta> resultados = new ArrayList<>();
+
+    public int getRegistradas() {
+        return registradas;
+    }
+
+    public int getRechazadas() {
+        return rechazadas;
+    }
+
+    public boolean isTruncado() {
+        return truncado;
+    }
+
+    public void setTruncado(boolean truncado) {
+        this.truncado = truncado;
+    }
+
+    public List<ResultadoVenta> getResultados() {
+        return resultados;
+    }
+
+    public ResultadoLoteVentasDTO agregar(ResultadoVenta resultado) {
+        resultados.add(resultado);
+        if (resultado.getError() == null) {
+            registradas++;
+        } else {
+            rechazadas++;
+        }
+        return this;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResultadoLoteVentasDTO{" +
+            "registradas=" + getRegistradas() +
+            ", rechazadas=" + getRechazadas() +
+            ", truncado=" + isTruncado() +
+            "}";
+    }
+
+    public static class ResultadoVenta implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Posición de la venta en la carga, desde 0.
+         */
+        private int indice;
+
+        private Long idVenta;
+        private BigDecimal precioFinal;
+        private String error;
+
+        public static ResultadoVenta registrada(Long idVenta, BigDecimal precioFinal) {
+            ResultadoVenta resultado = new ResultadoVenta();
+            resultado.idVenta = idVenta;
+            resultado.precioFinal = precioFinal;
+            return resultado;
+        }
+
+        public static ResultadoVenta rechazada(String error) {
+            ResultadoVenta resultado = new ResultadoVenta();
+            resultado.error = error;
+            return resultado;
+        }
+
+        public int getIndice() {
+            return indice;
+        }
+
+        public void setIndice(int indice) {
+            this.indice = indice;
+        }
+
+        public Long getIdVenta() {
+            return idVenta;
+        }
+
+        public BigDecimal getPrecioFinal() {
+            return precioFinal;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ResultadoVenta{" +
+                "indice=" + getIndice() +
+                ", idVenta=" + getIdVenta() +
+                ", precioFinal=" + getPrecioFinal() +
+                ", error='" + getError() + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ar.edu.um.programacion2.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Resultado de reconstruir los resúmenes de ventas de un rango de días a partir de las ventas registradas.
+ */
+public class ResultadoReconstruccionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate desde;
+    private LocalDate hasta;
+    private int dias;
+    private long ventas;
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public void setDesde(LocalDate desde) {
+        this.desde = desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public void setHasta(LocalDate hasta) {
+        this.hasta = hasta;
+    }
+
+    public int getDias() {
+        return dias;
+    }
+
+    public long getVentas() {
+        return ventas;
+    }
+
+    public ResultadoReconstruccionDTO sumarDia(long ventasDelDia) {
+        dias++;
+        ventas += ventasDelDia;
+        return this;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResultadoReconstruccionDTO{" +
+            "desde=" + getDesde() +
+            ", hasta=" + getHasta() +
+            ", dias=" + getDias() +
+            ", ventas=" + getVentas() +
+            "}";
+    }
+}
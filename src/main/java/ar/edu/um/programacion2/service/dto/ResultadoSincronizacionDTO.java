@@ -0,0 +1,157 @@
+package ar.edu.um.programacion2.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * Resumen de una sincronización del catálogo externo: subárboles de dispositivo omitidos o reescritos según su huella de
+ * contenido, y filas insertadas, actualizadas y sin cambios por entidad dentro de los subárboles reescritos.
+ */
+public class ResultadoSincronizacionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int subarbolesOmitidos;
+    private int subarbolesReescritos;
+
+    private final Contador dispositivos = new Contador();
+    private final Contador caracteristicas = new Contador();
+    private final Contador personalizaciones = new Contador();
+    private final Contador opciones = new Contador();
+    private final Contador adicionales = new Contador();
+
+    public int getSubarbolesOmitidos() {
+        return subarbolesOmitidos;
+    }
+
+    public void setSubarbolesOmitidos(int subarbolesOmitidos) {
+        this.subarbolesOmitidos = subarbolesOmitidos;
+    }
+
+    public int getSubarbolesReescritos() {
+        return subarbolesReescritos;
+    }
+
+    public void setSubarbolesReescritos(int subarbolesReescritos) {
+        this.subarbolesReescritos = subarbolesReescritos;
+    }
+
+    public Contador getDispositivos() {
+        return dispositivos;
+    }
+
+    public Contador getCaracteristicas() {
+        return caracteristicas;
+    }
+
+    public Contador getPersonalizaciones() {
+        return personalizaciones;
+    }
+
+    public Contador getOpciones() {
+        return opciones;
+    }
+
+    public Contador getAdicionales() {
+        return adicionales;
+    }
+
+    /**
+     * Acumula en este resultado los contadores de otro, por ejemplo el de un lote de la misma sincronización.
+     *
+     * @param otro el resultado a sumar.
+     * @return este resultado.
+     */
+    public ResultadoSincronizacionDTO sumar(ResultadoSincronizacionDTO otro) {
+        subarbolesOmitidos += otro.subarbolesOmitidos;
+        subarbolesReescritos += otro.subarbolesReescritos;
+        dispositivos.sumar(otro.dispositivos);
+        caracteristicas.sumar(otro.caracteristicas);
+        personalizaciones.sumar(otro.personalizaciones);
+        opciones.sumar(otro.opciones);
+        adicionales.sumar(otro.adicionales);
+        return this;
+    }
+
+    /**
+     * @return true si alguna fila del catálogo fue insertada o actualizada.
+     */
+    public boolean hayCambios() {
+        return (
+            dispositivos.hayCambios() ||
+            caracteristicas.hayCambios() ||
+            personalizaciones.hayCambios() ||
+            opciones.hayCambios() ||
+            adicionales.hayCambios()
+        );
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResultadoSincronizacionDTO{" +
+            "subarbolesOmitidos=" + getSubarbolesOmitidos() +
+            ", subarbolesReescritos=" + getSubarbolesReescritos() +
+            ", dispositivos=" + getDispositivos() +
+            ", caracteristicas=" + getCaracteristicas() +
+            ", personalizaciones=" + getPersonalizaciones() +
+            ", opciones=" + getOpciones() +
+            ", adicionales=" + getAdicionales() +
+            "}";
+    }
+
+    public static class Contador implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int insertados;
+        private int actualizados;
+        private int sinCambios;
+
+        public int getInsertados() {
+            return insertados;
+        }
+
+        public void setInsertados(int insertados) {
+            this.insertados = insertados;
+        }
+
+        public int getActualizados() {
+            return actualizados;
+        }
+
+        public void setActualizados(int actualizados) {
+            this.actualizados = actualizados;
+        }
+
+        public int getSinCambios() {
+            return sinCambios;
+        }
+
+        public void setSinCambios(int sinCambios) {
+            this.sinCambios = sinCambios;
+        }
+
+        public void sumarSinCambios() {
+            this.sinCambios++;
+        }
+
+        public void sumar(Contador otro) {
+            this.insertados += otro.insertados;
+            this.actualizados += otro.actualizados;
+            this.sinCambios += otro.sinCambios;
+        }
+
+        public boolean hayCambios() {
+            return insertados > 0 || actualizados > 0;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{insertados=" + getInsertados() +
+                ", actualizados=" + getActualizados() +
+                ", sinCambios=" + getSinCambios() +
+                "}";
+        }
+    }
+}
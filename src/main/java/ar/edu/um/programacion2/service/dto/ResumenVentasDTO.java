@@ -0,0 +1,83 @@
+package ar.edu.um.programacion2.service.dto;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Cantidad de ventas y suma de sus precios finales de un grupo de ventas. Según la consulta el grupo es un día, un
+ * dispositivo y una moneda, o todo un rango de días; los campos que no agrupan quedan en null.
+ */
+public class ResumenVentasDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate dia;
+    private Long dispositivoId;
+    private Moneda moneda;
+    private long cantidad;
+    private BigDecimal total;
+
+    public ResumenVentasDTO() {}
+
+    public ResumenVentasDTO(LocalDate dia, Long dispositivoId, Moneda moneda, long cantidad, BigDecimal total) {
+        this.dia = dia;
+        this.dispositivoId = dispositivoId;
+        this.moneda = moneda;
+        this.cantidad = cantidad;
+        this.total = total;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    public Long getDispositivoId() {
+        return dispositivoId;
+    }
+
+    public void setDispositivoId(Long dispositivoId) {
+        this.dispositivoId = dispositivoId;
+    }
+
+    public Moneda getMoneda() {
+        return moneda;
+    }
+
+    public void setMoneda(Moneda moneda) {
+        this.moneda = moneda;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(long cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ResumenVentasDTO{" +
+            "dia=" + getDia() +
+            ", dispositivoId=" + getDispositivoId() +
+            ", moneda='" + getMoneda() + "'" +
+            ", cantidad=" + getCantidad() +
+            ", total=" + getTotal() +
+            "}";
+    }
+}
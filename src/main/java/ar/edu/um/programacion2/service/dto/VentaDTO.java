@@ -7,6 +7,7 @@ import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import org.springframework.data.annotation.PersistenceCreator;
 
 /**
  * A DTO for the {@link ar.edu.um.programacion2.domain.Venta} entity.
@@ -30,6 +31,22 @@ public class VentaDTO implements Serializable {
 
     private Set<AdicionalDTO> adicionales = new HashSet<>();
 
+    private Set<OpcionDTO> opciones = new HashSet<>();
+
+    public VentaDTO() {}
+
+    /**
+     * Builds the DTO straight from a projection query, without loading the entity, with only the id of the dispositivo.
+     */
+    @PersistenceCreator
+    public VentaDTO(Long id, ZonedDateTime fechaVenta, BigDecimal precioFinal, Long dispositivoId) {
+        this.id = id;
+        this.fechaVenta = fechaVenta;
+        this.precioFinal = precioFinal;
+        this.dispositivo = new DispositivoDTO();
+        this.dispositivo.setId(dispositivoId);
+    }
+
     public Long getId() {
         return id;
     }
@@ -78,6 +95,14 @@ public class VentaDTO implements Serializable {
         this.adicionales = adicionales;
     }
 
+    public Set<OpcionDTO> getOpciones() {
+        return opciones;
+    }
+
+    public void setOpciones(Set<OpcionDTO> opciones) {
+        this.opciones = opciones;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -109,6 +134,7 @@ public class VentaDTO implements Serializable {
             ", dispositivo=" + getDispositivo() +
             ", personalizaciones=" + getPersonalizaciones() +
             ", adicionales=" + getAdicionales() +
+            ", opciones=" + getOpciones() +
             "}";
     }
 }
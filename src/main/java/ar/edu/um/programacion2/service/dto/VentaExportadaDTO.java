@@ -0,0 +1,153 @@
+package ar.edu.um.programacion2.service.dto;
+
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Una venta del historial exportado, con las personalizaciones (y la opción elegida de cada una) y los adicionales por
+ * nombre, sin anidar las entidades del catálogo.
+ */
+public class VentaExportadaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    /**
+     * Fecha de la venta en UTC.
+     */
+    private ZonedDateTime fechaVenta;
+
+    private Long dispositivoId;
+    private String dispositivoCodigo;
+    private Moneda moneda;
+    private BigDecimal precioFinal;
+    private List<PersonalizacionExportada> personalizaciones = new ArrayList<>();
+    private List<String> adicionales = new ArrayList<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ZonedDateTime getFechaVenta() {
+        return fechaVenta;
+    }
+
+    public void setFechaVenta(ZonedDateTime fechaVenta) {
+        this.fechaVenta = fechaVenta;
+    }
+
+    public Long getDispositivoId() {
+        return dispositivoId;
+    }
+
+    public void setDispositivoId(Long dispositivoId) {
+        this.dispositivoId = dispositivoId;
+    }
+
+    public String getDispositivoCodigo() {
+        return dispositivoCodigo;
+    }
+
+    public void setDispositivoCodigo(String dispositivoCodigo) {
+        this.dispositivoCodigo = dispositivoCodigo;
+    }
+
+    public Moneda getMoneda() {
+        return moneda;
+    }
+
+    public void setMoneda(Moneda moneda) {
+        this.moneda = moneda;
+    }
+
+    public BigDecimal getPrecioFinal() {
+        return precioFinal;
+    }
+
+    public void setPrecioFinal(BigDecimal precioFinal) {
+        this.precioFinal = precioFinal;
+    }
+
+    public List<PersonalizacionExportada> getPersonalizaciones() {
+        return personalizaciones;
+    }
+
+    public void setPersonalizaciones(List<PersonalizacionExportada> personalizaciones) {
+        this.personalizaciones = personalizaciones;
+    }
+
+    public List<String> getAdicionales() {
+        return adicionales;
+    }
+
+    public void setAdicionales(List<String> adicionales) {
+        this.adicionales = adicionales;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VentaExportadaDTO{" +
+            "id=" + getId() +
+            ", fechaVenta='" + getFechaVenta() + "'" +
+            ", dispositivoId=" + getDispositivoId() +
+            ", dispositivoCodigo='" + getDispositivoCodigo() + "'" +
+            ", moneda='" + getMoneda() + "'" +
+            ", precioFinal=" + getPrecioFinal() +
+            ", personalizaciones=" + getPersonalizaciones() +
+            ", adicionales=" + getAdicionales() +
+            "}";
+    }
+
+    public static class PersonalizacionExportada implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String personalizacion;
+
+        /**
+         * La opción elegida, o null si la venta no tiene una para esta personalización.
+         */
+        private String opcion;
+
+        public PersonalizacionExportada() {}
+
+        public PersonalizacionExportada(String personalizacion, String opcion) {
+            this.personalizacion = personalizacion;
+            this.opcion = opcion;
+        }
+
+        public String getPersonalizacion() {
+            return personalizacion;
+        }
+
+        public void setPersonalizacion(String personalizacion) {
+            this.personalizacion = personalizacion;
+        }
+
+        public String getOpcion() {
+            return opcion;
+        }
+
+        public void setOpcion(String opcion) {
+            this.opcion = opcion;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{personalizacion='" + getPersonalizacion() + "'" +
+                ", opcion='" + getOpcion() + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package ar.edu.um.programacion2.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Venta tal como la recibe el endpoint {@code /vender} del servicio externo; todos los ids son los del servicio externo.
+ */
+public class VentaExternaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long idDispositivo;
+    private List<PersonalizacionVendida> personalizaciones = new ArrayList<>();
+    private List<AdicionalVendido> adicionales = new ArrayList<>();
+    private BigDecimal precioFinal;
+
+    /**
+     * Fecha de la venta en formato ISO con offset, como la espera el servicio externo.
+     */
+    private String fechaVenta;
+
+    public Long getIdDispositivo() {
+        return idDispositivo;
+    }
+
+    public void setIdDispositivo(Long idDispositivo) {
+        this.idDispositivo = idDispositivo;
+    }
+
+    public List<PersonalizacionVendida> getPersonalizaciones() {
+        return personalizaciones;
+    }
+
+    public void setPersonalizaciones(List<PersonalizacionVendida> personalizaciones) {
+        this.personalizaciones = personalizaciones;
+    }
+
+    public List<AdicionalVendido> getAdicionales() {
+        return adicionales;
+    }
+
+    public void setAdicionales(List<AdicionalVendido> adicionales) {
+        this.adicionales = adicionales;
+    }
+
+    public BigDecimal getPrecioFinal() {
+        return precioFinal;
+    }
+
+    public void setPrecioFinal(BigDecimal precioFinal) {
+        this.precioFinal = precioFinal;
+    }
+
+    public String getFechaVenta() {
+        return fechaVenta;
+    }
+
+    public void setFechaVenta(String fechaVenta) {
+        this.fechaVenta = fechaVenta;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "VentaExternaDTO{" +
+            "idDispositivo=" + getIdDispositivo() +
+            ", personalizaciones=" + getPersonalizaciones() +
+            ", adicionales=" + getAdicionales() +
+            ", precioFinal=" + getPrecioFinal() +
+            ", fechaVenta='" + getFechaVenta() + "'" +
+            "}";
+    }
+
+    public static class PersonalizacionVendida implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private BigDecimal precio;
+        private OpcionVendida opcion;
+
+        public PersonalizacionVendida() {}
+
+        public PersonalizacionVendida(Long id, BigDecimal precio, OpcionVendida opcion) {
+            this.id = id;
+            this.precio = precio;
+            this.opcion = opcion;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public BigDecimal getPrecio() {
+            return precio;
+        }
+
+        public void setPrecio(BigDecimal precio) {
+            this.precio = precio;
+        }
+
+        public OpcionVendida getOpcion() {
+            return opcion;
+        }
+
+        public void setOpcion(OpcionVendida opcion) {
+            this.opcion = opcion;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{id=" + getId() +
+                ", precio=" + getPrecio() +
+                ", opcion=" + getOpcion() +
+                "}";
+        }
+    }
+
+    public static class OpcionVendida implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        public OpcionVendida() {}
+
+        public OpcionVendida(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        @Override
+        public String toString() {
+            return "{id=" + getId() + "}";
+        }
+    }
+
+    public static class AdicionalVendido implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private BigDecimal precio;
+
+        public AdicionalVendido() {}
+
+        public AdicionalVendido(Long id, BigDecimal precio) {
+            this.id = id;
+            this.precio = precio;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public BigDecimal getPrecio() {
+            return precio;
+        }
+
+        public void setPrecio(BigDecimal precio) {
+            this.precio = precio;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "{id=" + getId() +
+                ", precio=" + getPrecio() +
+                "}";
+        }
+    }
+}
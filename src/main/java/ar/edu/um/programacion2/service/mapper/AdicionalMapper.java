@@ -14,7 +14,7 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Adicional} and its DTO {@link AdicionalDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface AdicionalMapper extends EntityMapper<AdicionalDTO, Adicional> {
+public interface AdicionalMapper extends EntityMapper<AdicionalDTO, Adicional>, DispositivoAnidadoMapper, VentaAnidadaMapper, OpcionAnidadaMapper {
     @Mapping(target = "dispositivo", source = "dispositivo", qualifiedByName = "dispositivoId")
     @Mapping(target = "ventas", source = "ventas", qualifiedByName = "ventaIdSet")
     AdicionalDTO toDto(Adicional s);
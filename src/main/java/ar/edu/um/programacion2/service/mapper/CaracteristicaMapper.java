@@ -10,7 +10,7 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Caracteristica} and its DTO {@link CaracteristicaDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface CaracteristicaMapper extends EntityMapper<CaracteristicaDTO, Caracteristica> {
+public interface CaracteristicaMapper extends EntityMapper<CaracteristicaDTO, Caracteristica>, DispositivoAnidadoMapper {
     @Mapping(target = "dispositivo", source = "dispositivo", qualifiedByName = "dispositivoId")
     CaracteristicaDTO toDto(Caracteristica s);
 
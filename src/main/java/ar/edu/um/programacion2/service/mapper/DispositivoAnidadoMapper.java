@@ -0,0 +1,18 @@
+package ar.edu.um.programacion2.service.mapper;
+
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.service.dto.DispositivoDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapping of the {@link Dispositivo} nested in the DTOs of its children and of the ventas. The content hash is kept by
+ * the catalog sync and never comes from a DTO.
+ */
+public interface DispositivoAnidadoMapper {
+    @Mapping(target = "hashContenido", ignore = true)
+    Dispositivo toEntityDispositivo(DispositivoDTO dispositivoDTO);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "hashContenido", ignore = true)
+    void partialUpdateDispositivo(@MappingTarget Dispositivo dispositivo, DispositivoDTO dispositivoDTO);
+}
@@ -8,4 +8,13 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Dispositivo} and its DTO {@link DispositivoDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface DispositivoMapper extends EntityMapper<DispositivoDTO, Dispositivo> {}
+public interface DispositivoMapper extends EntityMapper<DispositivoDTO, Dispositivo> {
+    @Mapping(target = "hashContenido", ignore = true)
+    Dispositivo toEntity(DispositivoDTO dispositivoDTO);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "hashContenido", ignore = true)
+    void partialUpdate(@MappingTarget Dispositivo entity, DispositivoDTO dto);
+}
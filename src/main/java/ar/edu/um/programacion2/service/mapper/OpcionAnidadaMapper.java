@@ -0,0 +1,16 @@
+package ar.edu.um.programacion2.service.mapper;
+
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.service.dto.OpcionDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapping of the {@link Opcion} elements nested in the ventas. The inverse {@code Opcion.ventas} side is never written
+ * from a DTO.
+ */
+public interface OpcionAnidadaMapper {
+    @Mapping(target = "ventas", ignore = true)
+    @Mapping(target = "removeVenta", ignore = true)
+    @Mapping(target = "personalizacion.removeVenta", ignore = true)
+    Opcion toEntityOpcion(OpcionDTO opcionDTO);
+}
@@ -10,10 +10,21 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Opcion} and its DTO {@link OpcionDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface OpcionMapper extends EntityMapper<OpcionDTO, Opcion> {
+public interface OpcionMapper extends EntityMapper<OpcionDTO, Opcion>, DispositivoAnidadoMapper, VentaAnidadaMapper {
     @Mapping(target = "personalizacion", source = "personalizacion", qualifiedByName = "personalizacionId")
     OpcionDTO toDto(Opcion s);
 
+    @Mapping(target = "ventas", ignore = true)
+    @Mapping(target = "removeVenta", ignore = true)
+    Opcion toEntity(OpcionDTO opcionDTO);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "ventas", ignore = true)
+    @Mapping(target = "removeVenta", ignore = true)
+    void partialUpdate(@MappingTarget Opcion entity, OpcionDTO dto);
+
     @Named("personalizacionId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
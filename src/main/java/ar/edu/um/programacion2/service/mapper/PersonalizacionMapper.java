@@ -14,7 +14,7 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Personalizacion} and its DTO {@link PersonalizacionDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface PersonalizacionMapper extends EntityMapper<PersonalizacionDTO, Personalizacion> {
+public interface PersonalizacionMapper extends EntityMapper<PersonalizacionDTO, Personalizacion>, DispositivoAnidadoMapper, VentaAnidadaMapper, OpcionAnidadaMapper {
     @Mapping(target = "dispositivo", source = "dispositivo", qualifiedByName = "dispositivoId")
     @Mapping(target = "ventas", source = "ventas", qualifiedByName = "ventaIdSet")
     PersonalizacionDTO toDto(Personalizacion s);
@@ -0,0 +1,15 @@
+package ar.edu.um.programacion2.service.mapper;
+
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.service.dto.VentaDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapping of the {@link Venta} elements nested in the DTOs of the personalizaciones, adicionales and opciones.
+ */
+public interface VentaAnidadaMapper {
+    @Mapping(target = "removePersonalizaciones", ignore = true)
+    @Mapping(target = "removeAdicionales", ignore = true)
+    @Mapping(target = "removeOpciones", ignore = true)
+    Venta toEntityVenta(VentaDTO ventaDTO);
+}
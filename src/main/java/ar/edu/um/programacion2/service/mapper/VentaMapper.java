@@ -2,10 +2,12 @@ package ar.edu.um.programacion2.service.mapper;
 
 import ar.edu.um.programacion2.domain.Adicional;
 import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
 import ar.edu.um.programacion2.domain.Personalizacion;
 import ar.edu.um.programacion2.domain.Venta;
 import ar.edu.um.programacion2.service.dto.AdicionalDTO;
 import ar.edu.um.programacion2.service.dto.DispositivoDTO;
+import ar.edu.um.programacion2.service.dto.OpcionDTO;
 import ar.edu.um.programacion2.service.dto.PersonalizacionDTO;
 import ar.edu.um.programacion2.service.dto.VentaDTO;
 import java.util.Set;
@@ -16,16 +18,26 @@ import org.mapstruct.*;
  * Mapper for the entity {@link Venta} and its DTO {@link VentaDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface VentaMapper extends EntityMapper<VentaDTO, Venta> {
+public interface VentaMapper extends EntityMapper<VentaDTO, Venta>, DispositivoAnidadoMapper, OpcionAnidadaMapper {
     @Mapping(target = "dispositivo", source = "dispositivo", qualifiedByName = "dispositivoId")
     @Mapping(target = "personalizaciones", source = "personalizaciones", qualifiedByName = "personalizacionIdSet")
     @Mapping(target = "adicionales", source = "adicionales", qualifiedByName = "adicionalIdSet")
+    @Mapping(target = "opciones", source = "opciones", qualifiedByName = "opcionIdSet")
     VentaDTO toDto(Venta s);
 
     @Mapping(target = "removePersonalizaciones", ignore = true)
     @Mapping(target = "removeAdicionales", ignore = true)
+    @Mapping(target = "removeOpciones", ignore = true)
     Venta toEntity(VentaDTO ventaDTO);
 
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "removePersonalizaciones", ignore = true)
+    @Mapping(target = "removeAdicionales", ignore = true)
+    @Mapping(target = "removeOpciones", ignore = true)
+    void partialUpdate(@MappingTarget Venta entity, VentaDTO dto);
+
     @Named("dispositivoId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -50,4 +62,14 @@ public interface VentaMapper extends EntityMapper<VentaDTO, Venta> {
     default Set<AdicionalDTO> toDtoAdicionalIdSet(Set<Adicional> adicional) {
         return adicional.stream().map(this::toDtoAdicionalId).collect(Collectors.toSet());
     }
+
+    @Named("opcionId")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    OpcionDTO toDtoOpcionId(Opcion opcion);
+
+    @Named("opcionIdSet")
+    default Set<OpcionDTO> toDtoOpcionIdSet(Set<Opcion> opcion) {
+        return opcion.stream().map(this::toDtoOpcionId).collect(Collectors.toSet());
+    }
 }
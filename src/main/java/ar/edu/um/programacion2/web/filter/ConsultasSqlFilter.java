@@ -0,0 +1,45 @@
+package ar.edu.um.programacion2.web.filter;
+
+import ar.edu.um.programacion2.management.ConsultasSqlMetersService;
+import ar.edu.um.programacion2.management.EstadisticasSql;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the SQL statements, rows and SQL time of each {@code /api} request, tagged by the route pattern that handled
+ * it. Work handed off to another thread, such as a streamed response body, is not counted.
+ */
+public class ConsultasSqlFilter extends OncePerRequestFilter {
+
+    private static final String SIN_RUTA = "UNMAPPED";
+
+    private final ConsultasSqlMetersService consultasSqlMetersService;
+
+    public ConsultasSqlFilter(ConsultasSqlMetersService consultasSqlMetersService) {
+        this.consultasSqlMetersService = consultasSqlMetersService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        EstadisticasSql estadisticas = EstadisticasSql.delHilo();
+        EstadisticasSql.Medicion antes = estadisticas.medicion();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object ruta = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (ruta != null ? ruta : SIN_RUTA);
+            consultasSqlMetersService.trackPeticion(endpoint, estadisticas.medicion().desde(antes));
+        }
+    }
+}
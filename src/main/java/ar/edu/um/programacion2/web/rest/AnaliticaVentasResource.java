@@ -0,0 +1,172 @@
+package ar.edu.um.programacion2.web.rest;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.security.AuthoritiesConstants;
+import ar.edu.um.programacion2.service.AnaliticaVentasService;
+import ar.edu.um.programacion2.service.ReconstruccionAnaliticaVentasService;
+import ar.edu.um.programacion2.service.dto.ItemVendidoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoReconstruccionDTO;
+import ar.edu.um.programacion2.service.dto.ResumenVentasDTO;
+import ar.edu.um.programacion2.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the analítica de ventas, answered from the resúmenes por día kept by
+ * {@link AnaliticaVentasService}.
+ */
+@RestController
+@RequestMapping("/api/analitica/ventas")
+public class AnaliticaVentasResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AnaliticaVentasResource.class);
+
+    private static final String ENTITY_NAME = "venta";
+
+    private static final int LIMITE_MAXIMO = 100;
+
+    private final AnaliticaVentasService analiticaVentasService;
+
+    private final ReconstruccionAnaliticaVentasService reconstruccionAnaliticaVentasService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public AnaliticaVentasResource(
+        AnaliticaVentasService analiticaVentasService,
+        ReconstruccionAnaliticaVentasService reconstruccionAnaliticaVentasService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.analiticaVentasService = analiticaVentasService;
+        this.reconstruccionAnaliticaVentasService = reconstruccionAnaliticaVentasService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * {@code GET  /analitica/ventas/diario} : cantidad y total de las ventas por día, dispositivo y moneda.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @param dispositivoId el dispositivo, o todos si no se indica.
+     * @param moneda la moneda, o todas si no se indica.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the resúmenes in body, or with status
+     * {@code 400 (Bad Request)} if the range is not valid.
+     */
+    @GetMapping("/diario")
+    public ResponseEntity<List<ResumenVentasDTO>> getResumenDiario(
+        @RequestParam LocalDate desde,
+        @RequestParam LocalDate hasta,
+        @RequestParam(required = false) Long dispositivoId,
+        @RequestParam(required = false) Moneda moneda
+    ) {
+        LOG.debug("REST request to get daily Venta totals from {} to {}", desde, hasta);
+        validarRango(desde, hasta);
+        return ResponseEntity.ok(analiticaVentasService.resumenDiario(desde, hasta, dispositivoId, moneda));
+    }
+
+    /**
+     * {@code GET  /analitica/ventas/por-dispositivo} : cantidad y total de las ventas del rango por dispositivo y
+     * moneda.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @param moneda la moneda, o todas si no se indica.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the resúmenes in body, or with status
+     * {@code 400 (Bad Request)} if the range is not valid.
+     */
+    @GetMapping("/por-dispositivo")
+    public ResponseEntity<List<ResumenVentasDTO>> getTotalesPorDispositivo(
+        @RequestParam LocalDate desde,
+        @RequestParam LocalDate hasta,
+        @RequestParam(required = false) Moneda moneda
+    ) {
+        LOG.debug("REST request to get Venta totals by Dispositivo from {} to {}", desde, hasta);
+        validarRango(desde, hasta);
+        return ResponseEntity.ok(analiticaVentasService.totalesPorDispositivo(desde, hasta, moneda));
+    }
+
+    /**
+     * {@code GET  /analitica/ventas/por-moneda} : cantidad y total de las ventas del rango por moneda.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the resúmenes in body, or with status
+     * {@code 400 (Bad Request)} if the range is not valid.
+     */
+    @GetMapping("/por-moneda")
+    public ResponseEntity<List<ResumenVentasDTO>> getTotalesPorMoneda(@RequestParam LocalDate desde, @RequestParam LocalDate hasta) {
+        LOG.debug("REST request to get Venta totals by Moneda from {} to {}", desde, hasta);
+        validarRango(desde, hasta);
+        return ResponseEntity.ok(analiticaVentasService.totalesPorMoneda(desde, hasta));
+    }
+
+    /**
+     * {@code GET  /analitica/ventas/mas-vendidos} : las personalizaciones, opciones o adicionales incluidos en más
+     * ventas.
+     *
+     * @param desde el primer día, inclusive.
+     * @param hasta el último día, inclusive.
+     * @param tipo qué se vendió.
+     * @param dispositivoId el dispositivo, o todos si no se indica.
+     * @param limite la cantidad máxima de items a devolver.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the items in body, or with status
+     * {@code 400 (Bad Request)} if the range or the limit are not valid.
+     */
+    @GetMapping("/mas-vendidos")
+    public ResponseEntity<List<ItemVendidoDTO>> getMasVendidos(
+        @RequestParam LocalDate desde,
+        @RequestParam LocalDate hasta,
+        @RequestParam ItemVendidoDTO.Tipo tipo,
+        @RequestParam(required = false) Long dispositivoId,
+        @RequestParam(defaultValue = "10") int limite
+    ) {
+        LOG.debug("REST request to get the top {} {} from {} to {}", limite, tipo, desde, hasta);
+        validarRango(desde, hasta);
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new BadRequestAlertException("El límite debe estar entre 1 y " + LIMITE_MAXIMO, ENTITY_NAME, "limiteinvalid");
+        }
+        return ResponseEntity.ok(analiticaVentasService.masVendidos(desde, hasta, dispositivoId, tipo, limite));
+    }
+
+    /**
+     * {@code POST  /analitica/ventas/reconstruir} : rehace los resúmenes a partir de las ventas registradas.
+     *
+     * @param desde el primer día, inclusive, o el de la primera venta si no se indica.
+     * @param hasta el último día, inclusive, o el de la última venta si no se indica.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body el resultado de la reconstrucción,
+     * or with status {@code 409 (Conflict)} if another reconstrucción is already running.
+     */
+    @PostMapping("/reconstruir")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<ResultadoReconstruccionDTO> reconstruir(
+        @RequestParam(required = false) LocalDate desde,
+        @RequestParam(required = false) LocalDate hasta
+    ) {
+        LOG.debug("REST request to rebuild the Venta totals from {} to {}", desde, hasta);
+        if (desde != null && hasta != null && hasta.isBefore(desde)) {
+            throw new BadRequestAlertException("El rango de días es inválido", ENTITY_NAME, "rangoinvalid");
+        }
+        return reconstruccionAnaliticaVentasService
+            .reconstruir(desde, hasta)
+            .map(resultado -> ResponseEntity.ok().body(resultado))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    private void validarRango(LocalDate desde, LocalDate hasta) {
+        int maximoDias = applicationProperties.getAnalitica().getMaximoDias();
+        if (hasta.isBefore(desde) || ChronoUnit.DAYS.between(desde, hasta) >= maximoDias) {
+            throw new BadRequestAlertException(
+                "El rango de días es inválido o abarca más de " + maximoDias + " días",
+                ENTITY_NAME,
+                "rangoinvalid"
+            );
+        }
+    }
+}
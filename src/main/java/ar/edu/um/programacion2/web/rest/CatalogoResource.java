@@ -0,0 +1,100 @@
+package ar.edu.um.programacion2.web.rest;
+
+import ar.edu.um.programacion2.service.InstantaneaCatalogoService;
+import ar.edu.um.programacion2.service.InstantaneaCatalogoService.Instantanea;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the store's full catalog, served from the snapshot kept by {@link InstantaneaCatalogoService}.
+ */
+@RestController
+@RequestMapping("/api")
+public class CatalogoResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogoResource.class);
+
+    private static final String GZIP = "gzip";
+
+    private static final String ETAG_DEBIL = "W/";
+
+    private final InstantaneaCatalogoService instantaneaCatalogoService;
+
+    public CatalogoResource(InstantaneaCatalogoService instantaneaCatalogoService) {
+        this.instantaneaCatalogoService = instantaneaCatalogoService;
+    }
+
+    /**
+     * {@code GET  /catalogo} : get every dispositivo with its características, personalizaciones, opciones and
+     * adicionales.
+     * <p>
+     * The body is written as is from the instantánea, already compressed when the client accepts gzip; the server
+     * doesn't compress again a response that has a {@code Content-Encoding}. The ETag is weak because the same one
+     * validates both the gzip and the identity representation.
+     *
+     * @param ifNoneMatch the ETag the client already has, if any.
+     * @param acceptEncoding the encodings the client accepts.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the catálogo in body, or with status
+     * {@code 304 (Not Modified)} if it didn't change since the ETag in {@code If-None-Match}.
+     */
+    @GetMapping("/catalogo")
+    public ResponseEntity<byte[]> getCatalogo(
+        @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        LOG.debug("REST request to get the Catalogo");
+        Instantanea instantanea = instantaneaCatalogoService.instantanea();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG_DEBIL + instantanea.etag());
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (coincide(ifNoneMatch, instantanea.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (aceptaGzip(acceptEncoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            return ResponseEntity.ok().headers(headers).body(instantanea.gzip());
+        }
+        return ResponseEntity.ok().headers(headers).body(instantanea.json());
+    }
+
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith(ETAG_DEBIL)) {
+                valor = valor.substring(2);
+            }
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacion : acceptEncoding.split(",")) {
+            String[] partes = codificacion.split(";");
+            if (partes[0].trim().equalsIgnoreCase(GZIP)) {
+                return partes.length == 1 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
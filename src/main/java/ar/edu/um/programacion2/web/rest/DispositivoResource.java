@@ -2,13 +2,17 @@ package ar.edu.um.programacion2.web.rest;
 
 import ar.edu.um.programacion2.repository.DispositivoRepository;
 import ar.edu.um.programacion2.service.DispositivoService;
+import ar.edu.um.programacion2.service.SincronizacionProgramadaService;
 import ar.edu.um.programacion2.service.dto.DispositivoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
 import ar.edu.um.programacion2.web.rest.errors.BadRequestAlertException;
+import ar.edu.um.programacion2.web.rest.util.KeysetPagination;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -16,7 +20,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -35,6 +43,8 @@ public class DispositivoResource {
 
     private static final String ENTITY_NAME = "dispositivo";
 
+    private static final KeysetPagination KEYSET_PAGINATION = new KeysetPagination(ENTITY_NAME, Map.of());
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -42,9 +52,16 @@ public class DispositivoResource {
 
     private final DispositivoRepository dispositivoRepository;
 
-    public DispositivoResource(DispositivoService dispositivoService, DispositivoRepository dispositivoRepository) {
+    private final SincronizacionProgramadaService sincronizacionProgramadaService;
+
+    public DispositivoResource(
+        DispositivoService dispositivoService,
+        DispositivoRepository dispositivoRepository,
+        SincronizacionProgramadaService sincronizacionProgramadaService
+    ) {
         this.dispositivoService = dispositivoService;
         this.dispositivoRepository = dispositivoRepository;
+        this.sincronizacionProgramadaService = sincronizacionProgramadaService;
     }
 
     /**
@@ -139,10 +156,20 @@ public class DispositivoResource {
      * {@code GET  /dispositivos} : get all the dispositivos.
      *
      * @param pageable the pagination information.
+     * @param cursor the keyset cursor, empty for the first window; if present, a window after it is returned instead of a page.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dispositivos in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<DispositivoDTO>> getAllDispositivos(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<DispositivoDTO>> getAllDispositivos(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPagination.CURSOR_PARAMETER, required = false) String cursor
+    ) {
+        if (cursor != null) {
+            LOG.debug("REST request to get a window of Dispositivos");
+            Sort sort = KEYSET_PAGINATION.orden(pageable);
+            ScrollPosition position = KEYSET_PAGINATION.posicion(cursor, sort);
+            return keysetResponse(dispositivoService.findAll(position, sort, pageable.getPageSize()));
+        }
         LOG.debug("REST request to get a page of Dispositivos");
         Page<DispositivoDTO> page = dispositivoService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -177,16 +204,38 @@ public class DispositivoResource {
             .build();
     }
 
+    /**
+     * {@code GET  /dispositivos/traerDispositivos} : sincroniza el catálogo externo, igual que
+     * {@code POST /dispositivos/sincronizar}.
+     * <p>
+     * Se mantiene para los clientes que todavía la usan, y pasa por la misma guarda que la sincronización periódica.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resultado de la sincronización,
+     * or with status {@code 409 (Conflict)} if another sincronización is already running.
+     */
     @GetMapping("traerDispositivos")
-    public ResponseEntity<List<DispositivoDTO>> traerDispositivos() {
-        LOG.debug("REST request to get a page of Dispositivos");
-        List<DispositivoDTO> dispositivosDTOs = dispositivoService.traerDispositivos();
+    public ResponseEntity<ResultadoSincronizacionDTO> traerDispositivos() {
+        LOG.debug("REST request to traer los Dispositivos del catálogo externo");
+        return sincronizarCatalogo();
+    }
 
-        // Verificar si la lista de DTOs no está vacía
-        if (dispositivosDTOs.isEmpty()) {
-            LOG.warn("No se encontraron dispositivos DTO");
-        }
+    /**
+     * {@code POST  /dispositivos/sincronizar} : sincroniza el catálogo externo.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the resultado de la sincronización,
+     * or with status {@code 409 (Conflict)} if another sincronización is already running.
+     */
+    @PostMapping("sincronizar")
+    public ResponseEntity<ResultadoSincronizacionDTO> sincronizarCatalogo() {
+        LOG.debug("REST request to sincronizar el catálogo de Dispositivos");
+        return sincronizacionProgramadaService
+            .sincronizar()
+            .map(resultado -> ResponseEntity.ok().body(resultado))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
 
-        return ResponseEntity.ok().body(dispositivosDTOs);
+    private ResponseEntity<List<DispositivoDTO>> keysetResponse(Window<DispositivoDTO> window) {
+        HttpHeaders headers = KeysetPagination.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
     }
 }
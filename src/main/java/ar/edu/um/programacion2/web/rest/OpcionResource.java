@@ -4,11 +4,13 @@ import ar.edu.um.programacion2.repository.OpcionRepository;
 import ar.edu.um.programacion2.service.OpcionService;
 import ar.edu.um.programacion2.service.dto.OpcionDTO;
 import ar.edu.um.programacion2.web.rest.errors.BadRequestAlertException;
+import ar.edu.um.programacion2.web.rest.util.KeysetPagination;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -16,6 +18,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -35,6 +40,8 @@ public class OpcionResource {
 
     private static final String ENTITY_NAME = "opcion";
 
+    private static final KeysetPagination KEYSET_PAGINATION = new KeysetPagination(ENTITY_NAME, Map.of());
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -139,10 +146,20 @@ public class OpcionResource {
      * {@code GET  /opcions} : get all the opcions.
      *
      * @param pageable the pagination information.
+     * @param cursor the keyset cursor, empty for the first window; if present, a window after it is returned instead of a page.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of opcions in body.
      */
     @GetMapping("")
-    public ResponseEntity<List<OpcionDTO>> getAllOpcions(@org.springdoc.core.annotations.ParameterObject Pageable pageable) {
+    public ResponseEntity<List<OpcionDTO>> getAllOpcions(
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPagination.CURSOR_PARAMETER, required = false) String cursor
+    ) {
+        if (cursor != null) {
+            LOG.debug("REST request to get a window of Opcions");
+            Sort sort = KEYSET_PAGINATION.orden(pageable);
+            ScrollPosition position = KEYSET_PAGINATION.posicion(cursor, sort);
+            return keysetResponse(opcionService.findAll(position, sort, pageable.getPageSize()));
+        }
         LOG.debug("REST request to get a page of Opcions");
         Page<OpcionDTO> page = opcionService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
@@ -176,4 +193,9 @@ public class OpcionResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private ResponseEntity<List<OpcionDTO>> keysetResponse(Window<OpcionDTO> window) {
+        HttpHeaders headers = KeysetPagination.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
 }
@@ -2,15 +2,29 @@ package ar.edu.um.programacion2.web.rest;
 
 import ar.edu.um.programacion2.domain.Venta;
 import ar.edu.um.programacion2.repository.VentaRepository;
+import ar.edu.um.programacion2.service.CargaVentasService;
+import ar.edu.um.programacion2.service.ClaveIdempotenciaReutilizadaException;
+import ar.edu.um.programacion2.service.ExportacionVentasService;
+import ar.edu.um.programacion2.service.IdempotenciaVentasService;
+import ar.edu.um.programacion2.service.MotorPreciosService;
 import ar.edu.um.programacion2.service.VentaService;
+import ar.edu.um.programacion2.service.dto.CotizacionDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoLoteVentasDTO;
 import ar.edu.um.programacion2.service.dto.VentaDTO;
 import ar.edu.um.programacion2.service.dto.VentaRequest;
 import ar.edu.um.programacion2.web.rest.errors.BadRequestAlertException;
+import ar.edu.um.programacion2.web.rest.util.KeysetPagination;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -18,9 +32,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -37,6 +58,16 @@ public class VentaResource {
 
     private static final String ENTITY_NAME = "venta";
 
+    private static final KeysetPagination KEYSET_PAGINATION = new KeysetPagination(ENTITY_NAME, Map.of("fechaVenta", ZonedDateTime::parse));
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final int LARGO_MAXIMO_CLAVE_IDEMPOTENCIA = 255;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final MediaType TEXT_CSV_UTF8 = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -44,9 +75,28 @@ public class VentaResource {
 
     private final VentaRepository ventaRepository;
 
-    public VentaResource(VentaService ventaService, VentaRepository ventaRepository) {
+    private final MotorPreciosService motorPreciosService;
+
+    private final CargaVentasService cargaVentasService;
+
+    private final IdempotenciaVentasService idempotenciaVentasService;
+
+    private final ExportacionVentasService exportacionVentasService;
+
+    public VentaResource(
+        VentaService ventaService,
+        VentaRepository ventaRepository,
+        MotorPreciosService motorPreciosService,
+        CargaVentasService cargaVentasService,
+        IdempotenciaVentasService idempotenciaVentasService,
+        ExportacionVentasService exportacionVentasService
+    ) {
         this.ventaService = ventaService;
         this.ventaRepository = ventaRepository;
+        this.motorPreciosService = motorPreciosService;
+        this.cargaVentasService = cargaVentasService;
+        this.idempotenciaVentasService = idempotenciaVentasService;
+        this.exportacionVentasService = exportacionVentasService;
     }
 
     /**
@@ -141,14 +191,25 @@ public class VentaResource {
      * {@code GET  /ventas} : get all the ventas.
      *
      * @param pageable the pagination information.
+     * @param cursor the keyset cursor, empty for the first window; if present, a window after it is returned instead of a page.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of ventas in body.
      */
     @GetMapping("")
     public ResponseEntity<List<VentaDTO>> getAllVentas(
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPagination.CURSOR_PARAMETER, required = false) String cursor,
         @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
     ) {
+        if (cursor != null) {
+            LOG.debug("REST request to get a window of Ventas");
+            Sort sort = KEYSET_PAGINATION.orden(pageable);
+            ScrollPosition position = KEYSET_PAGINATION.posicion(cursor, sort);
+            Window<VentaDTO> window = eagerload
+                ? ventaService.findAllWithEagerRelationships(position, sort, pageable.getPageSize())
+                : ventaService.findAll(position, sort, pageable.getPageSize());
+            return keysetResponse(window);
+        }
         LOG.debug("REST request to get a page of Ventas");
         Page<VentaDTO> page;
         if (eagerload) {
@@ -188,9 +249,159 @@ public class VentaResource {
             .build();
     }
 
+    /**
+     * {@code POST  /ventas/cotizar} : cotiza una venta sin registrarla.
+     *
+     * @param request la venta a cotizar.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cotización, or with status
+     * {@code 400 (Bad Request)} if something in the request doesn't exist or doesn't belong to the dispositivo.
+     */
+    @PostMapping("/cotizar")
+    public ResponseEntity<CotizacionDTO> cotizarVenta(@RequestBody VentaRequest request) {
+        LOG.debug("REST request to cotizar Venta del Dispositivo : {}", request.getIdDispositivo());
+        try {
+            return ResponseEntity.ok(motorPreciosService.cotizar(request));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cotizacioninvalida");
+        }
+    }
+
+    /**
+     * {@code POST  /ventas/vender} : registra una venta y la encola para el servicio externo.
+     *
+     * @param request la venta a registrar.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body la venta registrada.
+     */
     @PostMapping("/vender")
     public ResponseEntity<Venta> registrarVenta(@RequestBody VentaRequest request) {
-        Venta venta = ventaService.registrarVenta(request);
-        return ResponseEntity.ok(venta);
+        return ResponseEntity.ok(ventaService.registrarVenta(request));
+    }
+
+    /**
+     * {@code POST  /ventas/vender} : registra una venta y la encola para el servicio externo, una sola vez por clave
+     * {@code Idempotency-Key}.
+     * <p>
+     * Repetir el pedido con la misma clave devuelve la respuesta de la primera vez, sin registrar otra venta.
+     *
+     * @param claveIdempotencia la clave que identifica el pedido entre reintentos, de hasta 255 caracteres.
+     * @param request la venta a registrar.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body la venta registrada con la clave, or
+     * with status {@code 400 (Bad Request)} if the clave is invalid or was already used with a different venta.
+     */
+    @PostMapping(value = "/vender", headers = IDEMPOTENCY_KEY_HEADER, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> registrarVentaIdempotente(
+        @RequestHeader(IDEMPOTENCY_KEY_HEADER) String claveIdempotencia,
+        @RequestBody VentaRequest request
+    ) {
+        if (claveIdempotencia.isBlank() || claveIdempotencia.length() > LARGO_MAXIMO_CLAVE_IDEMPOTENCIA) {
+            throw new BadRequestAlertException(
+                "Invalid " + IDEMPOTENCY_KEY_HEADER + " header",
+                ENTITY_NAME,
+                "idempotencykeyinvalid"
+            );
+        }
+        try {
+            return ResponseEntity.ok(idempotenciaVentasService.registrarVenta(request, claveIdempotencia));
+        } catch (ClaveIdempotenciaReutilizadaException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "idempotencykeyreused");
+        }
+    }
+
+    /**
+     * {@code POST  /ventas/vender/batch} : registra las ventas de un arreglo JSON, cotizadas todas contra el mismo
+     * catálogo.
+     *
+     * @param ventas las ventas a registrar.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body el resultado de cada venta: su id si
+     * se registró o el motivo por el que se rechazó.
+     */
+    @PostMapping(value = "/vender/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResultadoLoteVentasDTO> registrarVentas(@RequestBody List<VentaRequest> ventas) {
+        LOG.debug("REST request to register {} Ventas", ventas.size());
+        return ResponseEntity.ok(cargaVentasService.registrar(ventas));
+    }
+
+    /**
+     * {@code POST  /ventas/vender/batch} : registra las ventas de un cuerpo NDJSON (una venta por línea) a medida que
+     * se lee.
+     *
+     * @param cuerpo el cuerpo de la carga, en UTF-8.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body el resultado de cada venta: su id si
+     * se registró o el motivo por el que se rechazó.
+     */
+    @PostMapping(value = "/vender/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResultadoLoteVentasDTO> registrarVentasNdjson(InputStream cuerpo) {
+        LOG.debug("REST request to register Ventas from NDJSON");
+        BufferedReader lector = new BufferedReader(new InputStreamReader(cuerpo, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(cargaVentasService.registrarNdjson(lector));
+    }
+
+    /**
+     * {@code GET  /ventas/export} : exporta el historial de ventas en CSV, escrito a medida que se lee de la base.
+     *
+     * @param desde la fecha desde la que exportar, inclusive; sin ella, desde la primera venta.
+     * @param hasta la fecha hasta la que exportar, exclusive; sin ella, hasta la última venta.
+     * @param dispositivoId el dispositivo de las ventas a exportar; sin él, todos.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body una línea por venta, or with status
+     * {@code 400 (Bad Request)} if {@code hasta} is not after {@code desde}.
+     */
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarVentasCsv(
+        @RequestParam(name = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime desde,
+        @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime hasta,
+        @RequestParam(name = "dispositivoId", required = false) Long dispositivoId
+    ) {
+        LOG.debug("REST request to export Ventas as CSV");
+        return exportResponse(desde, hasta, dispositivoId, ExportacionVentasService.Formato.CSV, TEXT_CSV_UTF8, "ventas.csv");
+    }
+
+    /**
+     * {@code GET  /ventas/export} : exporta el historial de ventas en NDJSON (una venta por línea), escrito a medida que
+     * se lee de la base.
+     *
+     * @param desde la fecha desde la que exportar, inclusive; sin ella, desde la primera venta.
+     * @param hasta la fecha hasta la que exportar, exclusive; sin ella, hasta la última venta.
+     * @param dispositivoId el dispositivo de las ventas a exportar; sin él, todos.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body una línea por venta, or with status
+     * {@code 400 (Bad Request)} if {@code hasta} is not after {@code desde}.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarVentasNdjson(
+        @RequestParam(name = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime desde,
+        @RequestParam(name = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime hasta,
+        @RequestParam(name = "dispositivoId", required = false) Long dispositivoId
+    ) {
+        LOG.debug("REST request to export Ventas as NDJSON");
+        return exportResponse(
+            desde,
+            hasta,
+            dispositivoId,
+            ExportacionVentasService.Formato.NDJSON,
+            MediaType.APPLICATION_NDJSON,
+            "ventas.ndjson"
+        );
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(
+        ZonedDateTime desde,
+        ZonedDateTime hasta,
+        Long dispositivoId,
+        ExportacionVentasService.Formato formato,
+        MediaType tipo,
+        String archivo
+    ) {
+        if (desde != null && hasta != null && !hasta.isAfter(desde)) {
+            throw new BadRequestAlertException("hasta must be after desde", ENTITY_NAME, "rangoinvalid");
+        }
+        StreamingResponseBody cuerpo = salida -> exportacionVentasService.exportar(desde, hasta, dispositivoId, formato, salida);
+        return ResponseEntity.ok()
+            .contentType(tipo)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+            .body(cuerpo);
+    }
+
+    private ResponseEntity<List<VentaDTO>> keysetResponse(Window<VentaDTO> window) {
+        HttpHeaders headers = KeysetPagination.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
     }
 }
@@ -0,0 +1,136 @@
+package ar.edu.um.programacion2.web.rest.util;
+
+import ar.edu.um.programacion2.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Keyset (seek) pagination for the list endpoints, offered alongside the page/size contract of
+ * {@link tech.jhipster.web.util.PaginationUtil}.
+ * <p>
+ * A request with the {@value #CURSOR_PARAMETER} parameter (empty for the first window) is answered with the
+ * {@code size} rows that follow the cursor in the requested {@code sort}, without the {@code count(*)} query and
+ * without an offset, so deep windows cost the same as the first one. The next cursor is returned in the
+ * {@value #NEXT_CURSOR_HEADER} header and in the {@code Link} header, and is absent on the last window.
+ * <p>
+ * Only the properties given at construction can be sorted on; the {@code id} is always appended as a tie-breaker.
+ * The cursor is opaque to clients: the base64url encoding of the sort keys of the last row.
+ */
+public final class KeysetPagination {
+
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String ID = "id";
+
+    private static final String SEPARADOR_CLAVES = "&";
+
+    private static final String SEPARADOR_VALOR = "=";
+
+    private final String entityName;
+
+    private final Map<String, Function<String, Object>> propiedades;
+
+    /**
+     * @param entityName the entity name used in the error alerts.
+     * @param propiedades the properties that can be sorted on, other than {@code id}, with how to read their values
+     *                    back from a cursor.
+     */
+    public KeysetPagination(String entityName, Map<String, Function<String, Object>> propiedades) {
+        this.entityName = entityName;
+        this.propiedades = new LinkedHashMap<>(propiedades);
+        this.propiedades.put(ID, Long::valueOf);
+    }
+
+    /**
+     * The sort of the keyset: the requested one, with the {@code id} appended in the direction of the last order, or
+     * {@code id} ascending if none was requested.
+     *
+     * @param pageable the requested page, of which only the sort is used.
+     * @return the sort to scroll with.
+     * @throws BadRequestAlertException if the sort includes a property that is not allowed.
+     */
+    public Sort orden(Pageable pageable) {
+        Sort.Direction direccion = Sort.Direction.ASC;
+        Sort orden = Sort.unsorted();
+        for (Sort.Order order : pageable.getSort()) {
+            if (!propiedades.containsKey(order.getProperty())) {
+                throw new BadRequestAlertException("Keyset pagination cannot sort by " + order.getProperty(), entityName, "sortinvalid");
+            }
+            if (ID.equals(order.getProperty())) {
+                return orden.and(Sort.by(order));
+            }
+            orden = orden.and(Sort.by(order));
+            direccion = order.getDirection();
+        }
+        return orden.and(Sort.by(direccion, ID));
+    }
+
+    /**
+     * The position after which to scroll.
+     *
+     * @param cursor the cursor returned with the previous window, or an empty string for the first one.
+     * @param orden the sort returned by {@link #orden(Pageable)}.
+     * @return the keyset position.
+     * @throws BadRequestAlertException if the cursor is not valid for this sort.
+     */
+    public ScrollPosition posicion(String cursor, Sort orden) {
+        if (cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String claves = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Map<String, Object> valores = new LinkedHashMap<>();
+            for (String clave : claves.split(SEPARADOR_CLAVES)) {
+                String[] partes = clave.split(SEPARADOR_VALOR, 2);
+                valores.put(partes[0], propiedades.get(partes[0]).apply(partes[1]));
+            }
+            if (!valores.keySet().equals(orden.stream().map(Sort.Order::getProperty).collect(Collectors.toSet()))) {
+                throw new IllegalArgumentException("El cursor no corresponde al orden pedido");
+            }
+            return ScrollPosition.forward(valores);
+        } catch (RuntimeException e) {
+            throw new BadRequestAlertException("Invalid " + CURSOR_PARAMETER, entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Generate the keyset pagination headers of a window: the next cursor and a {@code Link} to the next window.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param window the returned window.
+     * @return the headers, empty on the last window.
+     */
+    public static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<?> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            String cursor = cursor((KeysetScrollPosition) window.positionAt(window.size() - 1));
+            headers.add(NEXT_CURSOR_HEADER, cursor);
+            String siguiente = uriBuilder.replaceQueryParam(CURSOR_PARAMETER, cursor).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    private static String cursor(KeysetScrollPosition posicion) {
+        String claves = posicion
+            .getKeys()
+            .entrySet()
+            .stream()
+            .map(clave -> clave.getKey() + SEPARADOR_VALOR + clave.getValue())
+            .collect(Collectors.joining(SEPARADOR_CLAVES));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(claves.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -74,6 +74,19 @@ export const VentaDetail = () => {
                 ))
               : null}
           </dd>
+          <dt>
+            <Translate contentKey="servidorApiApp.venta.opciones">Opciones</Translate>
+          </dt>
+          <dd>
+            {ventaEntity.opciones
+              ? ventaEntity.opciones.map((val, i) => (
+                  <span key={val.id}>
+                    <a>{val.id}</a>
+                    {ventaEntity.opciones && i === ventaEntity.opciones.length - 1 ? '' : ', '}
+                  </span>
+                ))
+              : null}
+          </dd>
         </dl>
         <Button tag={Link} to="/venta" replace color="info" data-cy="entityDetailsBackButton">
           <FontAwesomeIcon icon="arrow-left" />{' '}
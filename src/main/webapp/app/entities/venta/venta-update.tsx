@@ -11,6 +11,7 @@ import { useAppDispatch, useAppSelector } from 'app/config/store';
 import { getEntities as getDispositivos } from 'app/entities/dispositivo/dispositivo.reducer';
 import { getEntities as getPersonalizacions } from 'app/entities/personalizacion/personalizacion.reducer';
 import { getEntities as getAdicionals } from 'app/entities/adicional/adicional.reducer';
+import { getEntities as getOpcions } from 'app/entities/opcion/opcion.reducer';
 import { createEntity, getEntity, updateEntity } from './venta.reducer';
 
 export const VentaUpdate = () => {
@@ -24,6 +25,7 @@ export const VentaUpdate = () => {
   const dispositivos = useAppSelector(state => state.dispositivo.entities);
   const personalizacions = useAppSelector(state => state.personalizacion.entities);
   const adicionals = useAppSelector(state => state.adicional.entities);
+  const opcions = useAppSelector(state => state.opcion.entities);
   const ventaEntity = useAppSelector(state => state.venta.entity);
   const loading = useAppSelector(state => state.venta.loading);
   const updating = useAppSelector(state => state.venta.updating);
@@ -41,6 +43,7 @@ export const VentaUpdate = () => {
     dispatch(getDispositivos({}));
     dispatch(getPersonalizacions({}));
     dispatch(getAdicionals({}));
+    dispatch(getOpcions({}));
   }, []);
 
   useEffect(() => {
@@ -64,6 +67,7 @@ export const VentaUpdate = () => {
       dispositivo: dispositivos.find(it => it.id.toString() === values.dispositivo?.toString()),
       personalizaciones: mapIdList(values.personalizaciones),
       adicionales: mapIdList(values.adicionales),
+      opciones: mapIdList(values.opciones),
     };
 
     if (isNew) {
@@ -84,6 +88,7 @@ export const VentaUpdate = () => {
           dispositivo: ventaEntity?.dispositivo?.id,
           personalizaciones: ventaEntity?.personalizaciones?.map(e => e.id.toString()),
           adicionales: ventaEntity?.adicionales?.map(e => e.id.toString()),
+          opciones: ventaEntity?.opciones?.map(e => e.id.toString()),
         };
 
   return (
@@ -188,6 +193,23 @@ export const VentaUpdate = () => {
                     ))
                   : null}
               </ValidatedField>
+              <ValidatedField
+                label={translate('servidorApiApp.venta.opciones')}
+                id="venta-opciones"
+                data-cy="opciones"
+                type="select"
+                multiple
+                name="opciones"
+              >
+                <option value="" key="0" />
+                {opcions
+                  ? opcions.map(otherEntity => (
+                      <option value={otherEntity.id} key={otherEntity.id}>
+                        {otherEntity.id}
+                      </option>
+                    ))
+                  : null}
+              </ValidatedField>
               <Button tag={Link} id="cancel-save" data-cy="entityCreateCancelButton" to="/venta" replace color="info">
                 <FontAwesomeIcon icon="arrow-left" />
                 &nbsp;
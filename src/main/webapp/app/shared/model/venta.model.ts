@@ -2,6 +2,7 @@ import dayjs from 'dayjs';
 import { IDispositivo } from 'app/shared/model/dispositivo.model';
 import { IPersonalizacion } from 'app/shared/model/personalizacion.model';
 import { IAdicional } from 'app/shared/model/adicional.model';
+import { IOpcion } from 'app/shared/model/opcion.model';
 
 export interface IVenta {
   id?: number;
@@ -10,6 +11,7 @@ export interface IVenta {
   dispositivo?: IDispositivo;
   personalizaciones?: IPersonalizacion[] | null;
   adicionales?: IAdicional[] | null;
+  opciones?: IOpcion[] | null;
 }
 
 export const defaultValue: Readonly<IVenta> = {};
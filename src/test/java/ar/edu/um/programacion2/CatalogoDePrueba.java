@@ -0,0 +1,89 @@
+package ar.edu.um.programacion2;
+
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Elementos del catálogo y pedidos de venta para los tests de integración.
+ * <p>
+ * Las entidades se devuelven sin guardar, para que cada test las persista como necesite (con el {@code EntityManager}
+ * de su transacción o con los repositorios cuando tiene que confirmarlas). El resto de los campos se cambia con los
+ * métodos encadenables de cada entidad.
+ */
+public final class CatalogoDePrueba {
+
+    private CatalogoDePrueba() {}
+
+    /**
+     * Un dispositivo en dólares con el código como nombre y descripción.
+     */
+    public static Dispositivo dispositivo(String codigo, String precioBase) {
+        return new Dispositivo()
+            .idExterno(1L)
+            .codigo(codigo)
+            .nombre(codigo)
+            .descripcion(codigo)
+            .precioBase(new BigDecimal(precioBase))
+            .moneda(Moneda.USD);
+    }
+
+    public static Personalizacion personalizacion(Dispositivo dispositivo, String nombre) {
+        return new Personalizacion().idExterno(1L).nombre(nombre).descripcion(nombre).dispositivo(dispositivo);
+    }
+
+    public static Opcion opcion(Personalizacion personalizacion, String codigo, String nombre, String precioAdicional) {
+        return new Opcion()
+            .idExterno(1L)
+            .codigo(codigo)
+            .nombre(nombre)
+            .descripcion(nombre)
+            .precioAdicional(new BigDecimal(precioAdicional))
+            .personalizacion(personalizacion);
+    }
+
+    /**
+     * Un adicional del dispositivo; con {@code precioGratis} negativo no tiene promoción.
+     */
+    public static Adicional adicional(Dispositivo dispositivo, String nombre, String precio, String precioGratis) {
+        return new Adicional()
+            .idExterno(1L)
+            .nombre(nombre)
+            .descripcion(nombre)
+            .precio(new BigDecimal(precio))
+            .precioGratis(new BigDecimal(precioGratis))
+            .dispositivo(dispositivo);
+    }
+
+    /**
+     * El pedido de venta del dispositivo con cada opción en su personalización y los adicionales dados.
+     */
+    public static VentaRequest request(Dispositivo dispositivo, List<Opcion> opciones, List<Adicional> adicionales) {
+        VentaRequest request = new VentaRequest();
+        request.setIdDispositivo(dispositivo.getId());
+        List<VentaRequest.PersonalizacionRequest> personalizaciones = new ArrayList<>();
+        for (Opcion opcion : opciones) {
+            VentaRequest.OpcionRequest opcionRequest = new VentaRequest.OpcionRequest();
+            opcionRequest.setId(opcion.getId());
+            VentaRequest.PersonalizacionRequest personalizacionRequest = new VentaRequest.PersonalizacionRequest();
+            personalizacionRequest.setId(opcion.getPersonalizacion().getId());
+            personalizacionRequest.setOpcion(opcionRequest);
+            personalizaciones.add(personalizacionRequest);
+        }
+        request.setPersonalizaciones(personalizaciones);
+        List<VentaRequest.AdicionalRequest> adicionalesRequest = new ArrayList<>();
+        for (Adicional adicional : adicionales) {
+            VentaRequest.AdicionalRequest adicionalRequest = new VentaRequest.AdicionalRequest();
+            adicionalRequest.setId(adicional.getId());
+            adicionalesRequest.add(adicionalRequest);
+        }
+        request.setAdicionales(adicionalesRequest);
+        return request;
+    }
+}
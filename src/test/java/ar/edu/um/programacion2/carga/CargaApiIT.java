@@ -0,0 +1,231 @@
+package ar.edu.um.programacion2.carga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.ServidorApiApp;
+import ar.edu.um.programacion2.config.EmbeddedSQL;
+import ar.edu.um.programacion2.config.JacksonConfiguration;
+import ar.edu.um.programacion2.externo.CatalogoSintetico;
+import ar.edu.um.programacion2.externo.ServicioExternoStub;
+import ar.edu.um.programacion2.service.SincronizacionProgramadaService;
+import ar.edu.um.programacion2.service.dto.CatalogoDispositivoDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Prueba de carga de la API sobre el servidor embebido: {@code carga.usuarios} usuarios virtuales autenticados con
+ * {@code /api/authenticate} reparten sus pedidos entre {@code POST /api/ventas/vender}, {@code GET /api/ventas} y
+ * {@code GET /api/dispositivos} según {@code carga.mezcla}, y se informan los pedidos por segundo y los percentiles 50,
+ * 95 y 99 de la latencia de cada operación. El servicio externo se reemplaza por un {@link ServicioExternoStub} con
+ * {@code carga.dispositivos} dispositivos, que se sincronizan antes de empezar; {@code carga.externo.demora-ms} y
+ * {@code carga.externo.tasa-errores} le agregan demora y errores al envío de las ventas.
+ * <p>
+ * Con {@code -Dspring.threads.virtual.enabled=true} sobre Java 21 la aplicación atiende los pedidos en hilos virtuales;
+ * corriendo la misma carga en los dos modos se compara cuánto rinde cada uno.
+ * <p>
+ * Sólo corre a pedido: {@code ./mvnw verify -Dtest=NONE -Dsurefire.failIfNoSpecifiedTests=false -Dit.test=CargaApiIT
+ * -Dcarga=true}. Con el perfil {@code prod} mide contra MySQL en lugar de H2. Las estadísticas quedan además en
+ * {@code target/carga-api.json}, o {@code target/carga-api-hilos-virtuales.json} en el modo de hilos virtuales, para
+ * comparar corridas.
+ */
+@SpringBootTest(classes = { ServidorApiApp.class, JacksonConfiguration.class }, webEnvironment = WebEnvironment.RANDOM_PORT)
+@EmbeddedSQL
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class CargaApiIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CargaApiIT.class);
+
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 16);
+
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(Integer.getInteger("carga.calentamiento", 10));
+
+    private static final Duration DURACION = Duration.ofSeconds(Integer.getInteger("carga.duracion", 60));
+
+    private static final int DISPOSITIVOS = Integer.getInteger("carga.dispositivos", 200);
+
+    private static final String MEZCLA = System.getProperty("carga.mezcla", "vender=20,ventas=30,dispositivos=50");
+
+    private static final double ERRORES_MAXIMO = Double.parseDouble(System.getProperty("carga.errores-maximo", "0.01"));
+
+    private static final String P99_MAXIMO_MS = System.getProperty("carga.p99-maximo-ms");
+
+    private static final Duration DEMORA_EXTERNO = Duration.ofMillis(Long.getLong("carga.externo.demora-ms", 0));
+
+    private static final double ERRORES_EXTERNO = Double.parseDouble(System.getProperty("carga.externo.tasa-errores", "0"));
+
+    private static ServicioExternoStub servicioExterno;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SincronizacionProgramadaService sincronizacionProgramadaService;
+
+    @Autowired
+    private Environment environment;
+
+    @DynamicPropertySource
+    static void servicioExterno(DynamicPropertyRegistry registry) {
+        if (servicioExterno == null) {
+            servicioExterno = new ServicioExternoStub(DISPOSITIVOS);
+        }
+        registry.add("SERVICE_BASE_URL", servicioExterno::getBaseUrl);
+        registry.add("SERVICE_API_TOKEN", () -> "carga");
+    }
+
+    @AfterAll
+    static void detenerServicioExterno() {
+        if (servicioExterno != null) {
+            servicioExterno.close();
+            servicioExterno = null;
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void medirApi() throws Exception {
+        sincronizacionProgramadaService.sincronizar();
+        // Las fallas del servicio externo sólo afectan al envío de las ventas, que se reintenta fuera del pedido
+        servicioExterno.getVentas().setDemora(DEMORA_EXTERNO);
+        servicioExterno.getVentas().setTasaErrores(ERRORES_EXTERNO);
+        GeneradorCarga generador = new GeneradorCarga(URI.create("http://localhost:" + puerto), objectMapper);
+        List<byte[]> ventas = ventas(generador);
+        assertThat(ventas).as("dispositivos sincronizados del servicio externo").isNotEmpty();
+
+        long ultimoEnvio = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from envio_venta", Long.class);
+        ResultadoCarga resultado;
+        try {
+            resultado = generador.ejecutar(operaciones(generador, ventas), USUARIOS, "admin", "admin", CALENTAMIENTO, DURACION);
+        } finally {
+            // Los envíos pendientes de las ventas registradas quedarían en la base para los tests siguientes
+            new TransactionTemplate(transactionManager).executeWithoutResult(estado ->
+                jdbcTemplate.update("delete from envio_venta where id > ?", ultimoEnvio)
+            );
+        }
+
+        boolean hilosVirtuales = Threading.VIRTUAL.isActive(environment);
+        LOG.info(
+            "Carga de {} usuarios durante {} s ({} s de calentamiento) con hilos {}:{}{}",
+            USUARIOS,
+            DURACION.toSeconds(),
+            CALENTAMIENTO.toSeconds(),
+            hilosVirtuales ? "virtuales" : "de plataforma",
+            System.lineSeparator(),
+            resultado.tabla()
+        );
+        Path archivo = Path.of("target", hilosVirtuales ? "carga-api-hilos-virtuales.json" : "carga-api.json");
+        Files.createDirectories(archivo.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(archivo.toFile(), resultado);
+
+        assertThat(resultado.total().pedidos()).as("pedidos medidos").isPositive();
+        assertThat(resultado.total().tasaErrores()).as("tasa de errores").isLessThanOrEqualTo(ERRORES_MAXIMO);
+        if (P99_MAXIMO_MS != null) {
+            assertThat(resultado.total().p99Ms()).as("p99 en ms").isLessThanOrEqualTo(Double.parseDouble(P99_MAXIMO_MS));
+        }
+    }
+
+    private List<GeneradorCarga.Operacion> operaciones(GeneradorCarga generador, List<byte[]> ventas) {
+        List<GeneradorCarga.Operacion> operaciones = new ArrayList<>();
+        for (String parte : MEZCLA.split(",")) {
+            String[] nombreYPeso = parte.trim().split("=");
+            String nombre = nombreYPeso[0].trim();
+            int peso = Integer.parseInt(nombreYPeso[1].trim());
+            if (peso > 0) {
+                operaciones.add(new GeneradorCarga.Operacion(nombre, peso, pedido(generador, nombre, ventas)));
+            }
+        }
+        return operaciones;
+    }
+
+    private Supplier<HttpRequest.Builder> pedido(GeneradorCarga generador, String operacion, List<byte[]> ventas) {
+        return switch (operacion) {
+            case "vender" -> () ->
+                HttpRequest.newBuilder(generador.uri("/api/ventas/vender"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(ventas.get(ThreadLocalRandom.current().nextInt(ventas.size()))));
+            case "ventas" -> () -> HttpRequest.newBuilder(generador.uri("/api/ventas?page=0&size=20&sort=id,desc")).GET();
+            case "dispositivos" -> () -> {
+                int paginas = Math.max(1, DISPOSITIVOS / 20);
+                return HttpRequest.newBuilder(
+                    generador.uri("/api/dispositivos?page=" + ThreadLocalRandom.current().nextInt(paginas) + "&size=20")
+                ).GET();
+            };
+            default -> throw new IllegalArgumentException("Operación desconocida en carga.mezcla: " + operacion);
+        };
+    }
+
+    /**
+     * Una venta por dispositivo sintético del catálogo, ya serializada: una opción de cada personalización y todos los
+     * adicionales.
+     */
+    private List<byte[]> ventas(GeneradorCarga generador) throws IOException, InterruptedException {
+        String token = generador.autenticar("admin", "admin");
+        CatalogoDispositivoDTO[] catalogo = objectMapper.readValue(generador.leer("/api/catalogo", token), CatalogoDispositivoDTO[].class);
+        List<byte[]> ventas = new ArrayList<>();
+        for (CatalogoDispositivoDTO dispositivo : Arrays.asList(catalogo)) {
+            if (dispositivo.getCodigo() == null || !dispositivo.getCodigo().startsWith(CatalogoSintetico.PREFIJO_CODIGO)) {
+                continue;
+            }
+            VentaRequest venta = new VentaRequest();
+            venta.setIdDispositivo(dispositivo.getId());
+            venta.setPersonalizaciones(new ArrayList<>());
+            venta.setAdicionales(new ArrayList<>());
+            for (CatalogoDispositivoDTO.PersonalizacionCatalogo personalizacion : dispositivo.getPersonalizaciones()) {
+                if (personalizacion.getOpciones().isEmpty()) {
+                    continue;
+                }
+                VentaRequest.OpcionRequest opcion = new VentaRequest.OpcionRequest();
+                opcion.setId(personalizacion.getOpciones().get(0).getId());
+                VentaRequest.PersonalizacionRequest elegida = new VentaRequest.PersonalizacionRequest();
+                elegida.setId(personalizacion.getId());
+                elegida.setOpcion(opcion);
+                venta.getPersonalizaciones().add(elegida);
+            }
+            for (CatalogoDispositivoDTO.AdicionalCatalogo adicional : dispositivo.getAdicionales()) {
+                VentaRequest.AdicionalRequest elegido = new VentaRequest.AdicionalRequest();
+                elegido.setId(adicional.getId());
+                venta.getAdicionales().add(elegido);
+            }
+            ventas.add(objectMapper.writeValueAsBytes(venta));
+        }
+        return ventas;
+    }
+}
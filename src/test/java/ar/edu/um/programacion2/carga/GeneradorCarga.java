@@ -0,0 +1,211 @@
+package ar.edu.um.programacion2.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Carga de lazo cerrado contra la API: cada usuario virtual se autentica con {@code /api/authenticate} y después repite,
+ * sin pausas, una operación elegida al azar según su peso. Los pedidos que terminan durante el calentamiento no se
+ * cuentan.
+ * <p>
+ * Como cada usuario espera la respuesta antes de enviar el siguiente pedido, un servidor lento recibe menos pedidos: las
+ * latencias medidas subestiman las que vería un tráfico que no espera, y la comparación entre corridas sólo vale con la
+ * misma cantidad de usuarios.
+ */
+final class GeneradorCarga {
+
+    static final String AUTENTICAR = "autenticar";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+
+    private final ObjectMapper objectMapper;
+
+    private final HttpClient cliente;
+
+    /**
+     * Una operación de la mezcla.
+     *
+     * @param nombre el nombre con el que se informa.
+     * @param peso la proporción de los pedidos que son de esta operación, relativa a las otras.
+     * @param pedido arma un pedido nuevo, sin la cabecera de autenticación, relativo a la URL base.
+     */
+    record Operacion(String nombre, int peso, Supplier<HttpRequest.Builder> pedido) {}
+
+    GeneradorCarga(URI base, ObjectMapper objectMapper) {
+        this.base = base;
+        this.objectMapper = objectMapper;
+        this.cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(TIMEOUT).build();
+    }
+
+    URI uri(String ruta) {
+        return base.resolve(ruta);
+    }
+
+    /**
+     * @return el token JWT del usuario.
+     */
+    String autenticar(String usuario, String clave) throws IOException, InterruptedException {
+        String credenciales = objectMapper.writeValueAsString(Map.of("username", usuario, "password", clave));
+        HttpResponse<String> respuesta = cliente.send(
+            HttpRequest.newBuilder(uri("/api/authenticate"))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credenciales))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo autenticar a " + usuario + ": " + respuesta.statusCode());
+        }
+        return objectMapper.readTree(respuesta.body()).get("id_token").asText();
+    }
+
+    /**
+     * @return el cuerpo de un {@code GET} autenticado.
+     */
+    byte[] leer(String ruta, String token) throws IOException, InterruptedException {
+        HttpResponse<byte[]> respuesta = cliente.send(
+            HttpRequest.newBuilder(uri(ruta)).timeout(TIMEOUT).header("Authorization", "Bearer " + token).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray()
+        );
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("GET " + ruta + " respondió " + respuesta.statusCode());
+        }
+        return respuesta.body();
+    }
+
+    /**
+     * Ejecuta la mezcla con {@code usuarios} usuarios virtuales durante el calentamiento más la duración.
+     *
+     * @return las estadísticas de los pedidos que terminaron después del calentamiento, y de la autenticación.
+     */
+    ResultadoCarga ejecutar(
+        List<Operacion> operaciones,
+        int usuarios,
+        String usuario,
+        String clave,
+        Duration calentamiento,
+        Duration duracion
+    ) throws InterruptedException {
+        int pesoTotal = operaciones.stream().mapToInt(Operacion::peso).sum();
+        long inicio = System.nanoTime();
+        long inicioMedicion = inicio + calentamiento.toNanos();
+        long fin = inicioMedicion + duracion.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+        List<Future<Map<String, Muestras>>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < usuarios; i++) {
+                resultados.add(
+                    executor.submit(() -> {
+                        Map<String, Muestras> muestras = new LinkedHashMap<>();
+                        long antes = System.nanoTime();
+                        String token = autenticar(usuario, clave);
+                        muestras.computeIfAbsent(AUTENTICAR, k -> new Muestras()).registrar(System.nanoTime() - antes, true);
+
+                        while (System.nanoTime() < fin) {
+                            Operacion operacion = elegir(operaciones, pesoTotal);
+                            HttpRequest pedido = operacion
+                                .pedido()
+                                .get()
+                                .timeout(TIMEOUT)
+                                .header("Authorization", "Bearer " + token)
+                                .build();
+                            long enviado = System.nanoTime();
+                            boolean exitoso;
+                            try {
+                                int estado = cliente.send(pedido, HttpResponse.BodyHandlers.discarding()).statusCode();
+                                exitoso = estado >= 200 && estado < 300;
+                            } catch (IOException e) {
+                                exitoso = false;
+                            }
+                            long recibido = System.nanoTime();
+                            if (recibido >= inicioMedicion && recibido < fin) {
+                                muestras.computeIfAbsent(operacion.nombre(), k -> new Muestras()).registrar(recibido - enviado, exitoso);
+                            }
+                        }
+                        return muestras;
+                    })
+                );
+            }
+
+            Map<String, Muestras> total = new LinkedHashMap<>();
+            for (Future<Map<String, Muestras>> resultado : resultados) {
+                resultado.get().forEach((operacion, muestras) -> total.computeIfAbsent(operacion, k -> new Muestras()).sumar(muestras));
+            }
+            return ResultadoCarga.de(usuarios, duracion, total);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un usuario virtual", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Operacion elegir(List<Operacion> operaciones, int pesoTotal) {
+        int valor = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (Operacion operacion : operaciones) {
+            valor -= operacion.peso();
+            if (valor < 0) {
+                return operacion;
+            }
+        }
+        throw new IllegalStateException("Mezcla sin operaciones");
+    }
+
+    /**
+     * Las latencias, en nanosegundos, y la cantidad de errores de una operación.
+     */
+    static final class Muestras {
+
+        private long[] latencias = new long[1024];
+
+        private int cantidad;
+
+        private long errores;
+
+        void registrar(long latencia, boolean exitoso) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = latencia;
+            if (!exitoso) {
+                errores++;
+            }
+        }
+
+        void sumar(Muestras otras) {
+            for (int i = 0; i < otras.cantidad; i++) {
+                registrar(otras.latencias[i], true);
+            }
+            errores += otras.errores;
+        }
+
+        long[] ordenadas() {
+            long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+
+        long getErrores() {
+            return errores;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ar.edu.um.programacion2.carga;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Las estadísticas de una corrida de {@link GeneradorCarga}, por operación y en total.
+ *
+ * @param usuarios la cantidad de usuarios virtuales.
+ * @param segundos la duración de la medición, sin el calentamiento.
+ * @param operaciones las estadísticas de cada operación, incluida la autenticación, que no informa pedidos por segundo.
+ * @param total las estadísticas de todas las operaciones medidas juntas, sin la autenticación.
+ */
+record ResultadoCarga(int usuarios, double segundos, Map<String, Estadisticas> operaciones, Estadisticas total) {
+    static ResultadoCarga de(int usuarios, Duration duracion, Map<String, GeneradorCarga.Muestras> muestras) {
+        double segundos = duracion.toNanos() / 1e9;
+        Map<String, Estadisticas> operaciones = new LinkedHashMap<>();
+        GeneradorCarga.Muestras todas = new GeneradorCarga.Muestras();
+        muestras.forEach((operacion, deLaOperacion) -> {
+            // La autenticación ocurre una vez por usuario al empezar, así que no tiene sentido medirla por segundo
+            boolean autenticacion = GeneradorCarga.AUTENTICAR.equals(operacion);
+            operaciones.put(operacion, Estadisticas.de(deLaOperacion, autenticacion ? 0 : segundos));
+            if (!autenticacion) {
+                todas.sumar(deLaOperacion);
+            }
+        });
+        return new ResultadoCarga(usuarios, segundos, operaciones, Estadisticas.de(todas, segundos));
+    }
+
+    /**
+     * @return las estadísticas en una tabla de texto, una operación por línea.
+     */
+    String tabla() {
+        StringBuilder tabla = new StringBuilder(
+            String.format(
+                Locale.ROOT,
+                "%-14s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operación",
+                "pedidos",
+                "errores",
+                "rps",
+                "p50 ms",
+                "p95 ms",
+                "p99 ms",
+                "máx ms"
+            )
+        );
+        operaciones.forEach((operacion, estadisticas) -> tabla.append(estadisticas.fila(operacion)));
+        tabla.append(total.fila("total"));
+        return tabla.toString();
+    }
+
+    /**
+     * @param pedidos la cantidad de pedidos medidos.
+     * @param errores los que fallaron o no respondieron 2xx.
+     * @param rps los pedidos por segundo.
+     * @param p50Ms la mediana de la latencia, en milisegundos.
+     * @param p95Ms el percentil 95 de la latencia, en milisegundos.
+     * @param p99Ms el percentil 99 de la latencia, en milisegundos.
+     * @param maximoMs la latencia máxima, en milisegundos.
+     */
+    record Estadisticas(long pedidos, long errores, double rps, double p50Ms, double p95Ms, double p99Ms, double maximoMs) {
+        static Estadisticas de(GeneradorCarga.Muestras muestras, double segundos) {
+            long[] latencias = muestras.ordenadas();
+            return new Estadisticas(
+                latencias.length,
+                muestras.getErrores(),
+                segundos > 0 ? latencias.length / segundos : 0,
+                percentil(latencias, 0.50),
+                percentil(latencias, 0.95),
+                percentil(latencias, 0.99),
+                latencias.length == 0 ? 0 : latencias[latencias.length - 1] / 1e6
+            );
+        }
+
+        double tasaErrores() {
+            return pedidos == 0 ? 0 : (double) errores / pedidos;
+        }
+
+        private String fila(String operacion) {
+            return String.format(
+                Locale.ROOT,
+                "%-14s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operacion,
+                pedidos,
+                errores,
+                rps,
+                p50Ms,
+                p95Ms,
+                p99Ms,
+                maximoMs
+            );
+        }
+
+        /**
+         * Percentil por rango más cercano sobre las latencias ordenadas, en milisegundos.
+         */
+        private static double percentil(long[] latencias, double percentil) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int rango = (int) Math.ceil(percentil * latencias.length);
+            return latencias[Math.max(rango - 1, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package ar.edu.um.programacion2.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.repository.DispositivoRepository;
+import ar.edu.um.programacion2.service.SincronizacionCatalogoService;
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the second level cache regions configured by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "application.cache.catalogo.entradas=2",
+        "application.cache.catalogo.fuera-de-heap=4MB",
+        "application.cache.regiones[ar.edu.um.programacion2.domain.Venta.opciones].entradas=7",
+    }
+)
+class CacheConfigurationIT {
+
+    private static final String DISPOSITIVO_REGION = Dispositivo.class.getName();
+
+    @Autowired
+    private javax.cache.CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DispositivoRepository dispositivoRepository;
+
+    @Autowired
+    private SincronizacionCatalogoService sincronizacionCatalogoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Long> creados = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> dispositivoRepository.deleteAllById(creados));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void regionsFollowTheirGroupPolicy() {
+        ResourcePools dispositivo = resourcePools(DISPOSITIVO_REGION);
+        assertThat(dispositivo.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(2);
+        assertThat(dispositivo.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(4);
+        assertThat(dispositivo.getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+
+        ResourcePools venta = resourcePools(Venta.class.getName());
+        assertThat(venta.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(200);
+        assertThat(venta.getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+
+        ResourcePools opciones = resourcePools(Venta.class.getName() + ".opciones");
+        assertThat(opciones.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(7);
+    }
+
+    @Test
+    void catalogEntriesEvictedFromHeapAreServedOffHeap() {
+        for (int i = 0; i < 4; i++) {
+            Dispositivo dispositivo = new Dispositivo()
+                .idExterno(Long.MAX_VALUE - i)
+                .codigo("CACHE-" + i)
+                .nombre("Cache " + i)
+                .descripcion("Cache " + i)
+                .precioBase(BigDecimal.TEN)
+                .moneda(Moneda.USD);
+            creados.add(transactionTemplate.execute(status -> dispositivoRepository.save(dispositivo)).getId());
+        }
+        entityManagerFactory.getCache().evictAll();
+        double aciertos = gets("hit");
+
+        // La primera lectura guarda cada dispositivo y la segunda lo encuentra, aunque el heap solo retiene dos
+        creados.forEach(this::leer);
+        creados.forEach(this::leer);
+
+        assertThat(gets("hit") - aciertos).isEqualTo(4);
+    }
+
+    @Test
+    void syncEvictsTheUpdatedDispositivo() {
+        sincronizacionCatalogoService.sincronizar(List.of(externo("CACHE-SYNC", "Antes")));
+        Long id = dispositivoRepository.findByCodigo("CACHE-SYNC").orElseThrow().getId();
+        creados.add(id);
+        leer(id);
+        assertThat(entityManagerFactory.getCache().contains(Dispositivo.class, id)).isTrue();
+
+        sincronizacionCatalogoService.sincronizar(List.of(externo("CACHE-SYNC", "Después")));
+
+        assertThat(entityManagerFactory.getCache().contains(Dispositivo.class, id)).isFalse();
+        assertThat(leer(id).getNombre()).isEqualTo("Después");
+    }
+
+    private Dispositivo leer(Long id) {
+        return transactionTemplate.execute(status -> dispositivoRepository.findById(id).orElseThrow());
+    }
+
+    private double gets(String result) {
+        FunctionCounter counter = meterRegistry
+            .find("cache.gets")
+            .tag("cache", DISPOSITIVO_REGION)
+            .tag("result", result)
+            .functionCounter();
+        assertThat(counter).as("cache.gets for the Dispositivo region").isNotNull();
+        return counter.count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourcePools resourcePools(String region) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(region).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+    }
+
+    private static DispositivoExternoDTO externo(String codigo, String nombre) {
+        DispositivoExternoDTO externo = new DispositivoExternoDTO();
+        externo.setId(Long.MAX_VALUE - 1);
+        externo.setCodigo(codigo);
+        externo.setNombre(nombre);
+        externo.setDescripcion(nombre);
+        externo.setPrecioBase(BigDecimal.TEN);
+        externo.setMoneda("USD");
+        externo.setCaracteristicas(List.of());
+        externo.setPersonalizaciones(List.of());
+        externo.setAdicionales(List.of());
+        return externo;
+    }
+}
@@ -0,0 +1,48 @@
+package ar.edu.um.programacion2.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.undertow.servlet.api.DeploymentInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Unit tests for {@link HilosVirtualesConfiguration}.
+ */
+class HilosVirtualesConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner().withUserConfiguration(
+        HilosVirtualesConfiguration.class
+    );
+
+    @Test
+    void sinLaPropiedadUndertowSigueUsandoSusWorkers() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(UndertowDeploymentInfoCustomizer.class));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void antesDeJava21LaPropiedadSeIgnora() {
+        contextRunner
+            .withPropertyValues("spring.threads.virtual.enabled=true")
+            .run(context -> assertThat(context).doesNotHaveBean(UndertowDeploymentInfoCustomizer.class));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void conLaPropiedadUndertowDespachaLosPedidosAHilosVirtuales() {
+        contextRunner
+            .withPropertyValues("spring.threads.virtual.enabled=true")
+            .run(context -> {
+                DeploymentInfo deploymentInfo = new DeploymentInfo();
+                context.getBean(UndertowDeploymentInfoCustomizer.class).customize(deploymentInfo);
+
+                assertThat(deploymentInfo.getExecutor()).isInstanceOf(VirtualThreadTaskExecutor.class);
+                assertThat(deploymentInfo.getAsyncExecutor()).isSameAs(deploymentInfo.getExecutor());
+            });
+    }
+}
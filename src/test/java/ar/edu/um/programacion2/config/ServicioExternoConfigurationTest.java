@@ -0,0 +1,131 @@
+package ar.edu.um.programacion2.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ar.edu.um.programacion2.externo.ServicioExternoStub;
+import ar.edu.um.programacion2.management.ServicioExternoMetersService;
+import ar.edu.um.programacion2.service.CircuitoServicioExterno;
+import ar.edu.um.programacion2.service.ServicioExternoNoDisponibleException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Unit tests for the {@link WebClient} built by {@link ServicioExternoConfiguration}, against a
+ * {@link ServicioExternoStub} that delays or fails its responses.
+ */
+class ServicioExternoConfigurationTest {
+
+    private static final String TOKEN = "token-de-prueba";
+
+    @RegisterExtension
+    static final ServicioExternoStub servicioExterno = new ServicioExternoStub(10);
+
+    private ApplicationProperties applicationProperties;
+
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        servicioExterno.setToken(TOKEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    @Test
+    void leeElCatalogoConElTokenDelServicioExterno() {
+        String catalogo = webClient().get().uri("/dispositivos").retrieve().bodyToMono(String.class).block();
+
+        assertThat(catalogo).startsWith("[").contains("\"codigo\":\"SINT-9\"");
+        assertThat(servicioExterno.getDispositivosEnviados()).isEqualTo(10);
+    }
+
+    @Test
+    void unServicioQueNoRespondeFallaAlVencerElTimeoutDeRespuesta() {
+        applicationProperties.getServicioExterno().setTimeoutRespuesta(Duration.ofMillis(200));
+        servicioExterno.getCatalogo().setDemora(Duration.ofSeconds(5));
+        WebClient webClient = webClient();
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> webClient.get().uri("/dispositivos").retrieve().bodyToMono(String.class).block()).isInstanceOf(
+            WebClientException.class
+        );
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void unaRespuestaQueDejaDeLlegarFallaAlVencerElTimeoutDeLectura() {
+        applicationProperties.getServicioExterno().setTimeoutLectura(Duration.ofMillis(200));
+        servicioExterno.getCatalogo().setGoteo(64, Duration.ofSeconds(5));
+        WebClient webClient = webClient();
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> webClient.get().uri("/dispositivos").retrieve().bodyToMono(String.class).block()).isInstanceOf(
+            WebClientException.class
+        );
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void losPedidosConcurrentesNoSuperanLasConexionesDelPool() {
+        applicationProperties.getServicioExterno().setConexionesMaximas(2);
+        servicioExterno.getVentas().setDemora(Duration.ofMillis(100));
+        WebClient webClient = webClient();
+
+        Flux.range(0, 8)
+            .flatMap(venta -> webClient.post().uri("/vender").bodyValue("{\"venta\":" + venta + "}").retrieve().bodyToMono(String.class))
+            .blockLast();
+
+        assertThat(servicioExterno.getVentasRecibidas()).isEqualTo(8);
+        assertThat(servicioExterno.getVentas().getMaximoEnCurso()).isEqualTo(2);
+    }
+
+    @Test
+    void conElServicioCaidoElCircuitoRechazaSinEnviar() {
+        applicationProperties.getServicioExterno().getCircuito().setFallasParaAbrir(2);
+        servicioExterno.getCatalogo().setTasaErrores(1);
+        WebClient webClient = webClient();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> webClient.get().uri("/dispositivos").retrieve().bodyToMono(String.class).block()).isInstanceOf(
+                WebClientResponseException.ServiceUnavailable.class
+            );
+        }
+        assertThatThrownBy(() -> webClient.get().uri("/dispositivos").retrieve().bodyToMono(String.class).block()).isInstanceOf(
+            ServicioExternoNoDisponibleException.class
+        );
+
+        assertThat(servicioExterno.getCatalogo().getPedidos()).isEqualTo(2);
+    }
+
+    private WebClient webClient() {
+        ServicioExternoConfiguration configuracion = new ServicioExternoConfiguration(applicationProperties);
+        connectionProvider = configuracion.servicioExternoConnectionProvider();
+        CircuitoServicioExterno circuito = new CircuitoServicioExterno(
+            applicationProperties,
+            new ServicioExternoMetersService(new SimpleMeterRegistry())
+        );
+        return configuracion.servicioExternoWebClient(
+            WebClient.builder(),
+            connectionProvider,
+            circuito,
+            servicioExterno.getBaseUrl(),
+            TOKEN
+        );
+    }
+}
@@ -2,9 +2,12 @@ package ar.edu.um.programacion2.domain;
 
 import static ar.edu.um.programacion2.domain.OpcionTestSamples.*;
 import static ar.edu.um.programacion2.domain.PersonalizacionTestSamples.*;
+import static ar.edu.um.programacion2.domain.VentaTestSamples.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import ar.edu.um.programacion2.web.rest.TestUtil;
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class OpcionTest {
@@ -34,4 +37,26 @@ class OpcionTest {
         opcion.personalizacion(null);
         assertThat(opcion.getPersonalizacion()).isNull();
     }
+
+    @Test
+    void ventaTest() {
+        Opcion opcion = getOpcionRandomSampleGenerator();
+        Venta ventaBack = getVentaRandomSampleGenerator();
+
+        opcion.addVenta(ventaBack);
+        assertThat(opcion.getVentas()).containsOnly(ventaBack);
+        assertThat(ventaBack.getOpciones()).containsOnly(opcion);
+
+        opcion.removeVenta(ventaBack);
+        assertThat(opcion.getVentas()).doesNotContain(ventaBack);
+        assertThat(ventaBack.getOpciones()).doesNotContain(opcion);
+
+        opcion.ventas(new HashSet<>(Set.of(ventaBack)));
+        assertThat(opcion.getVentas()).containsOnly(ventaBack);
+        assertThat(ventaBack.getOpciones()).containsOnly(opcion);
+
+        opcion.setVentas(new HashSet<>());
+        assertThat(opcion.getVentas()).doesNotContain(ventaBack);
+        assertThat(ventaBack.getOpciones()).doesNotContain(opcion);
+    }
 }
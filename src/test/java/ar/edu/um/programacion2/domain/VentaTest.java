@@ -2,6 +2,7 @@ package ar.edu.um.programacion2.domain;
 
 import static ar.edu.um.programacion2.domain.AdicionalTestSamples.*;
 import static ar.edu.um.programacion2.domain.DispositivoTestSamples.*;
+import static ar.edu.um.programacion2.domain.OpcionTestSamples.*;
 import static ar.edu.um.programacion2.domain.PersonalizacionTestSamples.*;
 import static ar.edu.um.programacion2.domain.VentaTestSamples.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -74,4 +75,22 @@ class VentaTest {
         venta.setAdicionales(new HashSet<>());
         assertThat(venta.getAdicionales()).doesNotContain(adicionalBack);
     }
+
+    @Test
+    void opcionesTest() {
+        Venta venta = getVentaRandomSampleGenerator();
+        Opcion opcionBack = getOpcionRandomSampleGenerator();
+
+        venta.addOpciones(opcionBack);
+        assertThat(venta.getOpciones()).containsOnly(opcionBack);
+
+        venta.removeOpciones(opcionBack);
+        assertThat(venta.getOpciones()).doesNotContain(opcionBack);
+
+        venta.opciones(new HashSet<>(Set.of(opcionBack)));
+        assertThat(venta.getOpciones()).containsOnly(opcionBack);
+
+        venta.setOpciones(new HashSet<>());
+        assertThat(venta.getOpciones()).doesNotContain(opcionBack);
+    }
 }
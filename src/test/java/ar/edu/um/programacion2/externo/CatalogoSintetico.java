@@ -0,0 +1,113 @@
+package ar.edu.um.programacion2.externo;
+
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catálogos generados con la forma del que devuelve el servicio externo: cada dispositivo tiene
+ * {@value #CARACTERISTICAS} características, {@value #PERSONALIZACIONES} personalizaciones de {@value #OPCIONES}
+ * opciones y {@value #ADICIONALES} adicionales, uno de ellos con promoción.
+ * <p>
+ * Los ids externos y los códigos sólo dependen de la posición, así que dos catálogos del mismo tamaño describen los
+ * mismos elementos; la versión sólo cambia los precios, y con ellos la huella de cada dispositivo.
+ */
+public final class CatalogoSintetico {
+
+    public static final int CARACTERISTICAS = 3;
+
+    public static final int PERSONALIZACIONES = 3;
+
+    public static final int OPCIONES = 4;
+
+    public static final int ADICIONALES = 4;
+
+    /**
+     * Prefijo de los códigos de los dispositivos generados.
+     */
+    public static final String PREFIJO_CODIGO = "SINT-";
+
+    private CatalogoSintetico() {}
+
+    /**
+     * @param dispositivos la cantidad de dispositivos.
+     * @param version la versión de los precios.
+     * @return los dispositivos externos.
+     */
+    public static List<DispositivoExternoDTO> generar(int dispositivos, int version) {
+        List<DispositivoExternoDTO> catalogo = new ArrayList<>(dispositivos);
+        for (int d = 0; d < dispositivos; d++) {
+            catalogo.add(dispositivo(d, version));
+        }
+        return catalogo;
+    }
+
+    /**
+     * @param d la posición del dispositivo en el catálogo, desde 0; su id externo es {@code d + 1}.
+     * @param version la versión de los precios.
+     * @return el dispositivo externo.
+     */
+    public static DispositivoExternoDTO dispositivo(int d, int version) {
+        DispositivoExternoDTO dispositivo = new DispositivoExternoDTO();
+        dispositivo.setId((long) d + 1);
+        dispositivo.setCodigo(PREFIJO_CODIGO + d);
+        dispositivo.setNombre("Dispositivo " + d);
+        dispositivo.setDescripcion("Dispositivo sintético " + d);
+        dispositivo.setPrecioBase(precio(1000 + d + version));
+        dispositivo.setMoneda("USD");
+
+        List<DispositivoExternoDTO.CaracteristicaDTO> caracteristicas = new ArrayList<>(CARACTERISTICAS);
+        for (int c = 0; c < CARACTERISTICAS; c++) {
+            DispositivoExternoDTO.CaracteristicaDTO caracteristica = new DispositivoExternoDTO.CaracteristicaDTO();
+            caracteristica.setId(id(d, CARACTERISTICAS, c));
+            caracteristica.setNombre("Característica " + c);
+            caracteristica.setDescripcion("Valor " + c + " del dispositivo " + d);
+            caracteristicas.add(caracteristica);
+        }
+        dispositivo.setCaracteristicas(caracteristicas);
+
+        List<DispositivoExternoDTO.PersonalizacionDTO> personalizaciones = new ArrayList<>(PERSONALIZACIONES);
+        for (int p = 0; p < PERSONALIZACIONES; p++) {
+            DispositivoExternoDTO.PersonalizacionDTO personalizacion = new DispositivoExternoDTO.PersonalizacionDTO();
+            long idPersonalizacion = id(d, PERSONALIZACIONES, p);
+            personalizacion.setId(idPersonalizacion);
+            personalizacion.setNombre("Personalización " + p);
+            personalizacion.setDescripcion("Personalización " + p + " del dispositivo " + d);
+            List<DispositivoExternoDTO.OpcionDTO> opciones = new ArrayList<>(OPCIONES);
+            for (int o = 0; o < OPCIONES; o++) {
+                DispositivoExternoDTO.OpcionDTO opcion = new DispositivoExternoDTO.OpcionDTO();
+                opcion.setId((idPersonalizacion - 1) * OPCIONES + o + 1);
+                opcion.setCodigo("OPC-" + p + "-" + o);
+                opcion.setNombre("Opción " + o);
+                opcion.setDescripcion("Opción " + o + " de la personalización " + p);
+                opcion.setPrecioAdicional(precio(10 * o + version));
+                opciones.add(opcion);
+            }
+            personalizacion.setOpciones(opciones);
+            personalizaciones.add(personalizacion);
+        }
+        dispositivo.setPersonalizaciones(personalizaciones);
+
+        List<DispositivoExternoDTO.AdicionalDTO> adicionales = new ArrayList<>(ADICIONALES);
+        for (int a = 0; a < ADICIONALES; a++) {
+            DispositivoExternoDTO.AdicionalDTO adicional = new DispositivoExternoDTO.AdicionalDTO();
+            adicional.setId(id(d, ADICIONALES, a));
+            adicional.setNombre("Adicional " + a);
+            adicional.setDescripcion("Adicional " + a + " del dispositivo " + d);
+            adicional.setPrecio(precio(50 + a + version));
+            adicional.setPrecioGratis(a == 0 ? precio(1000) : precio(-1));
+            adicionales.add(adicional);
+        }
+        dispositivo.setAdicionales(adicionales);
+        return dispositivo;
+    }
+
+    private static long id(int dispositivo, int porDispositivo, int posicion) {
+        return (long) dispositivo * porDispositivo + posicion + 1;
+    }
+
+    private static BigDecimal precio(int unidades) {
+        return BigDecimal.valueOf(unidades).setScale(2);
+    }
+}
@@ -0,0 +1,497 @@
+package ar.edu.um.programacion2.externo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Servidor HTTP local que reemplaza al servicio externo de {@code SERVICE_BASE_URL}: publica en {@code /dispositivos}
+ * un catálogo de {@link CatalogoSintetico} y acepta las ventas que recibe en {@code /vender}.
+ * <p>
+ * Se inicia en un puerto libre; {@link #getBaseUrl()} devuelve la URL a usar como {@code SERVICE_BASE_URL}. El tamaño del
+ * catálogo se fija en dispositivos o en bytes, y se escribe a medida que se genera, sin armarlo en memoria. Cada endpoint
+ * tiene su {@link Comportamiento}, con el que se le inyectan demoras, errores y respuestas por goteo; se puede cambiar
+ * mientras el servidor atiende.
+ * <p>
+ * En JUnit se registra con {@code @RegisterExtension static ServicioExternoStub servicioExterno = new ServicioExternoStub();}:
+ * vuelve a la configuración inicial antes de cada test y se detiene al terminar la clase.
+ */
+public class ServicioExternoStub implements AutoCloseable, BeforeEachCallback, AfterAllCallback {
+
+    private static final String BASE_PATH = "/api";
+
+    private static final int DISPOSITIVOS_POR_DEFECTO = 100;
+
+    /**
+     * Las ventas recibidas que se guardan para consultarlas; las siguientes sólo se cuentan.
+     */
+    private static final int VENTAS_GUARDADAS = 10_000;
+
+    private static final byte[] ERROR = "servicio no disponible (falla inyectada)".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int dispositivosIniciales;
+
+    private final Comportamiento catalogo = new Comportamiento();
+
+    private final Comportamiento ventas = new Comportamiento();
+
+    private volatile int dispositivos;
+
+    private volatile long bytesCatalogo;
+
+    private volatile int versionPrecios;
+
+    private volatile int bytesRespuestaVenta;
+
+    private volatile String token;
+
+    private volatile Registro registro = new Registro();
+
+    public ServicioExternoStub() {
+        this(DISPOSITIVOS_POR_DEFECTO);
+    }
+
+    /**
+     * @param dispositivos la cantidad de dispositivos del catálogo publicado.
+     */
+    public ServicioExternoStub(int dispositivos) {
+        this.dispositivosIniciales = dispositivos;
+        this.dispositivos = dispositivos;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH + "/dispositivos", exchange -> atender(exchange, "GET", catalogo, this::dispositivos));
+        server.createContext(BASE_PATH + "/vender", exchange -> atender(exchange, "POST", ventas, this::vender));
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    /**
+     * @return el comportamiento de {@code GET /dispositivos}.
+     */
+    public Comportamiento getCatalogo() {
+        return catalogo;
+    }
+
+    /**
+     * @return el comportamiento de {@code POST /vender}.
+     */
+    public Comportamiento getVentas() {
+        return ventas;
+    }
+
+    /**
+     * @param dispositivos la cantidad de dispositivos del catálogo; no se usa si se fijó {@link #setBytesCatalogo(long)}.
+     */
+    public void setDispositivos(int dispositivos) {
+        this.dispositivos = dispositivos;
+    }
+
+    /**
+     * @param bytesCatalogo el tamaño mínimo del catálogo: se agregan dispositivos hasta superarlo. Con 0 se usa la
+     * cantidad de {@link #setDispositivos(int)}.
+     */
+    public void setBytesCatalogo(long bytesCatalogo) {
+        this.bytesCatalogo = bytesCatalogo;
+    }
+
+    /**
+     * @param versionPrecios la versión de los precios del catálogo; cambiarla cambia la huella de todos los dispositivos.
+     */
+    public void setVersionPrecios(int versionPrecios) {
+        this.versionPrecios = versionPrecios;
+    }
+
+    /**
+     * @param bytesRespuestaVenta el tamaño del cuerpo con el que se acepta una venta.
+     */
+    public void setBytesRespuestaVenta(int bytesRespuestaVenta) {
+        this.bytesRespuestaVenta = bytesRespuestaVenta;
+    }
+
+    /**
+     * @param token el token que deben enviar los pedidos como {@code Authorization: Bearer}, o {@code null} para aceptar
+     * cualquiera.
+     */
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * @return los dispositivos escritos en todas las respuestas del catálogo.
+     */
+    public long getDispositivosEnviados() {
+        return registro.dispositivosEnviados.get();
+    }
+
+    /**
+     * @return las ventas aceptadas.
+     */
+    public long getVentasRecibidas() {
+        return registro.ventasRecibidas.get();
+    }
+
+    /**
+     * @return los cuerpos de las primeras {@value #VENTAS_GUARDADAS} ventas aceptadas, en orden de llegada.
+     */
+    public List<String> getVentasGuardadas() {
+        return new ArrayList<>(registro.ventasGuardadas);
+    }
+
+    /**
+     * Vuelve a la configuración con la que se creó el servidor y pone en cero los contadores. Los pedidos que todavía
+     * están en curso ya no se cuentan.
+     */
+    public void reiniciar() {
+        dispositivos = dispositivosIniciales;
+        bytesCatalogo = 0;
+        versionPrecios = 0;
+        bytesRespuestaVenta = 0;
+        token = null;
+        catalogo.reiniciar();
+        ventas.reiniciar();
+        registro = new Registro();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        reiniciar();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        close();
+    }
+
+    @FunctionalInterface
+    private interface Respuesta {
+        void escribir(HttpExchange exchange, byte[] pedido, Registro registro, Medicion medicion) throws IOException;
+    }
+
+    private void atender(HttpExchange exchange, String metodo, Comportamiento comportamiento, Respuesta respuesta) throws IOException {
+        try (exchange) {
+            if (!metodo.equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String esperado = token;
+            if (esperado != null && !("Bearer " + esperado).equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            // Lo que ocurra con el pedido se cuenta en la medición vigente al recibirlo, aunque termine después de reiniciar
+            Registro registroActual = registro;
+            Medicion medicion = comportamiento.medicion;
+            medicion.empezar();
+            try {
+                byte[] pedido = exchange.getRequestBody().readAllBytes();
+                esperar(comportamiento.demora());
+                if (comportamiento.fallar(medicion)) {
+                    exchange.sendResponseHeaders(comportamiento.estadoError, ERROR.length);
+                    try (OutputStream body = comportamiento.cuerpo(exchange, medicion)) {
+                        body.write(ERROR);
+                    }
+                    return;
+                }
+                respuesta.escribir(exchange, pedido, registroActual, medicion);
+                medicion.completadas.incrementAndGet();
+            } finally {
+                medicion.terminar();
+            }
+        }
+    }
+
+    private void dispositivos(HttpExchange exchange, byte[] pedido, Registro registro, Medicion medicion) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        // Largo 0: la respuesta se envía con chunked transfer encoding, a medida que se genera
+        exchange.sendResponseHeaders(200, 0);
+        long bytesMinimos = bytesCatalogo;
+        int cantidad = dispositivos;
+        int version = versionPrecios;
+        try (Contador body = catalogo.cuerpo(exchange, medicion); SequenceWriter writer = objectMapper.writer().writeValuesAsArray(body)) {
+            for (int d = 0; bytesMinimos > 0 ? body.bytes < bytesMinimos : d < cantidad; d++) {
+                writer.write(CatalogoSintetico.dispositivo(d, version));
+                writer.flush();
+                registro.dispositivosEnviados.incrementAndGet();
+            }
+        }
+    }
+
+    private void vender(HttpExchange exchange, byte[] pedido, Registro registro, Medicion medicion) throws IOException {
+        if (registro.ventasRecibidas.incrementAndGet() <= VENTAS_GUARDADAS) {
+            registro.ventasGuardadas.add(new String(pedido, StandardCharsets.UTF_8));
+        }
+        byte[] respuesta = new byte[Math.max(bytesRespuestaVenta, 2)];
+        Arrays.fill(respuesta, (byte) ' ');
+        respuesta[0] = 'o';
+        respuesta[1] = 'k';
+        exchange.sendResponseHeaders(200, respuesta.length);
+        try (OutputStream body = ventas.cuerpo(exchange, medicion)) {
+            body.write(respuesta);
+        }
+    }
+
+    private static void esperar(Duration demora) throws InterruptedIOException {
+        if (demora.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(demora.toMillis(), demora.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Servidor detenido durante la demora");
+        }
+    }
+
+    /**
+     * Las fallas inyectadas en un endpoint y lo que se observó de sus pedidos.
+     */
+    public static final class Comportamiento {
+
+        private volatile Duration demora = Duration.ZERO;
+
+        private volatile Duration demoraVariable = Duration.ZERO;
+
+        private volatile double tasaErrores;
+
+        private volatile int estadoError = 503;
+
+        private final AtomicInteger fallasSeguidas = new AtomicInteger();
+
+        private volatile int bytesPorGoteo;
+
+        private volatile Duration pausaGoteo = Duration.ZERO;
+
+        private volatile Medicion medicion = new Medicion();
+
+        private Comportamiento() {}
+
+        /**
+         * @param demora la espera antes de responder cada pedido, después de leer su cuerpo.
+         * @param demoraVariable una espera adicional al azar, entre cero y este valor.
+         */
+        public void setDemora(Duration demora, Duration demoraVariable) {
+            this.demora = demora;
+            this.demoraVariable = demoraVariable;
+        }
+
+        public void setDemora(Duration demora) {
+            setDemora(demora, Duration.ZERO);
+        }
+
+        /**
+         * @param tasaErrores la proporción de los pedidos, entre 0 y 1, que se responden con {@link #setEstadoError(int)}.
+         */
+        public void setTasaErrores(double tasaErrores) {
+            this.tasaErrores = tasaErrores;
+        }
+
+        /**
+         * @param estadoError el estado HTTP de las fallas inyectadas; 503 por defecto.
+         */
+        public void setEstadoError(int estadoError) {
+            this.estadoError = estadoError;
+        }
+
+        /**
+         * @param fallasSeguidas la cantidad de pedidos siguientes que fallan, además de los que falle la tasa de errores.
+         */
+        public void setFallasSeguidas(int fallasSeguidas) {
+            this.fallasSeguidas.set(fallasSeguidas);
+        }
+
+        /**
+         * Escribe las respuestas de a {@code bytes} bytes, con una pausa después de cada porción, como un servidor o una
+         * red lentos. Con 0 bytes las respuestas se escriben sin pausas.
+         */
+        public void setGoteo(int bytes, Duration pausa) {
+            this.bytesPorGoteo = bytes;
+            this.pausaGoteo = pausa;
+        }
+
+        public long getPedidos() {
+            return medicion.pedidos.get();
+        }
+
+        /**
+         * @return los pedidos respondidos con una falla inyectada.
+         */
+        public long getErrores() {
+            return medicion.errores.get();
+        }
+
+        /**
+         * @return los pedidos respondidos con éxito hasta el último byte.
+         */
+        public long getCompletadas() {
+            return medicion.completadas.get();
+        }
+
+        public long getBytesEnviados() {
+            return medicion.bytesEnviados.get();
+        }
+
+        /**
+         * @return la mayor cantidad de pedidos atendidos a la vez.
+         */
+        public int getMaximoEnCurso() {
+            return medicion.maximoEnCurso.get();
+        }
+
+        private void reiniciar() {
+            setDemora(Duration.ZERO);
+            tasaErrores = 0;
+            estadoError = 503;
+            fallasSeguidas.set(0);
+            setGoteo(0, Duration.ZERO);
+            medicion = new Medicion();
+        }
+
+        private Duration demora() {
+            long variable = demoraVariable.toNanos();
+            return variable > 0 ? demora.plusNanos(ThreadLocalRandom.current().nextLong(variable + 1)) : demora;
+        }
+
+        private boolean fallar(Medicion medicion) {
+            boolean falla =
+                fallasSeguidas.getAndUpdate(restantes -> Math.max(restantes - 1, 0)) > 0 ||
+                (tasaErrores > 0 && ThreadLocalRandom.current().nextDouble() < tasaErrores);
+            if (falla) {
+                medicion.errores.incrementAndGet();
+            }
+            return falla;
+        }
+
+        private Contador cuerpo(HttpExchange exchange, Medicion medicion) {
+            return new Contador(exchange.getResponseBody(), medicion, bytesPorGoteo, pausaGoteo);
+        }
+    }
+
+    /**
+     * Lo que se recibió desde el último reinicio.
+     */
+    private static final class Registro {
+
+        private final AtomicLong dispositivosEnviados = new AtomicLong();
+
+        private final AtomicLong ventasRecibidas = new AtomicLong();
+
+        private final Queue<String> ventasGuardadas = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Los pedidos de un endpoint desde el último reinicio.
+     */
+    private static final class Medicion {
+
+        private final AtomicLong pedidos = new AtomicLong();
+
+        private final AtomicLong errores = new AtomicLong();
+
+        private final AtomicLong completadas = new AtomicLong();
+
+        private final AtomicLong bytesEnviados = new AtomicLong();
+
+        private final AtomicInteger enCurso = new AtomicInteger();
+
+        private final AtomicInteger maximoEnCurso = new AtomicInteger();
+
+        private void empezar() {
+            pedidos.incrementAndGet();
+            maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+        }
+
+        private void terminar() {
+            enCurso.decrementAndGet();
+        }
+    }
+
+    /**
+     * Cuenta los bytes de una respuesta y, si el endpoint tiene goteo, los escribe de a porciones con pausas.
+     */
+    private static final class Contador extends FilterOutputStream {
+
+        private final Medicion medicion;
+
+        private final int porcion;
+
+        private final Duration pausa;
+
+        private long bytes;
+
+        private Contador(OutputStream out, Medicion medicion, int porcion, Duration pausa) {
+            super(out);
+            this.medicion = medicion;
+            this.porcion = porcion;
+            this.pausa = pausa;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (porcion <= 0) {
+                out.write(b, off, len);
+                contar(len);
+                return;
+            }
+            for (int desde = off; desde < off + len; desde += porcion) {
+                int largo = Math.min(porcion, off + len - desde);
+                out.write(b, desde, largo);
+                out.flush();
+                contar(largo);
+                esperar(pausa);
+            }
+        }
+
+        private void contar(int largo) {
+            bytes += largo;
+            medicion.bytesEnviados.addAndGet(largo);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ar.edu.um.programacion2.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class DataSourceMedidoTest {
+
+    private MeterRegistry meterRegistry;
+
+    private ConsultasSqlMetersService consultasSqlMetersService;
+
+    private JdbcDataSource h2;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        consultasSqlMetersService = new ConsultasSqlMetersService(meterRegistry);
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:datasourcemedido;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(h2).execute("create table if not exists medida (id int primary key)");
+        new JdbcTemplate(h2).execute("delete from medida");
+    }
+
+    @Test
+    void testStatementsAndRowsAreCountedOnTheCurrentThread() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceMedido(Duration.ZERO));
+        EstadisticasSql.Medicion antes = EstadisticasSql.delHilo().medicion();
+
+        jdbcTemplate.batchUpdate("insert into medida (id) values (?)", List.of(new Object[] { 1 }, new Object[] { 2 }, new Object[] { 3 }));
+        jdbcTemplate.update("delete from medida where id = ?", 3);
+        List<Integer> ids = jdbcTemplate.queryForList("select id from medida order by id", Integer.class);
+
+        EstadisticasSql.Medicion medicion = EstadisticasSql.delHilo().medicion().desde(antes);
+        assertThat(ids).containsExactly(1, 2);
+        assertThat(medicion.sentencias()).isEqualTo(3);
+        assertThat(medicion.filas()).isEqualTo(3 + 1 + 2);
+        assertThat(medicion.nanos()).isPositive();
+        assertThat(meterRegistry.get(ConsultasSqlMetersService.LENTAS_METER_NAME).counter().count()).isZero();
+    }
+
+    @Test
+    void testSlowStatementsAreCounted() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceMedido(Duration.ofNanos(1)));
+
+        jdbcTemplate.queryForList("select id from medida");
+        jdbcTemplate.update("insert into medida (id) values (?)", 1);
+
+        assertThat(meterRegistry.get(ConsultasSqlMetersService.LENTAS_METER_NAME).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testPeticionMetersAreTaggedByEndpoint() {
+        consultasSqlMetersService.trackPeticion("GET /api/ventas", new EstadisticasSql.Medicion(4, 20, 1_000_000));
+        consultasSqlMetersService.trackPeticion("GET /api/ventas", new EstadisticasSql.Medicion(2, 10, 1_000_000));
+
+        assertThat(
+            meterRegistry
+                .get(ConsultasSqlMetersService.PETICION_SENTENCIAS_METER_NAME)
+                .tag(ConsultasSqlMetersService.PETICION_ENDPOINT_DIMENSION, "GET /api/ventas")
+                .summary()
+                .totalAmount()
+        ).isEqualTo(6);
+        assertThat(meterRegistry.get(ConsultasSqlMetersService.PETICION_FILAS_METER_NAME).summary().max()).isEqualTo(20);
+        assertThat(meterRegistry.get(ConsultasSqlMetersService.PETICION_TIEMPO_METER_NAME).timer().count()).isEqualTo(2);
+    }
+
+    private DataSourceMedido dataSourceMedido(Duration umbralLenta) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+            Map.of("consultasSqlMetersService", consultasSqlMetersService)
+        );
+        return new DataSourceMedido(h2, umbralLenta, beanFactory.getBeanProvider(ConsultasSqlMetersService.class));
+    }
+}
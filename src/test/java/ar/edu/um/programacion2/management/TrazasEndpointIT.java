@@ -0,0 +1,123 @@
+package ar.edu.um.programacion2.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.aop.logging.ReglasTrazas;
+import ar.edu.um.programacion2.security.AuthoritiesConstants;
+import ar.edu.um.programacion2.service.DispositivoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link TrazasEndpoint} and the timing done by the logging aspect.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class TrazasEndpointIT {
+
+    private static final String ENDPOINT_URL = "/management/trazas";
+
+    private static final String SERVICE_PACKAGE = "ar.edu.um.programacion2.service";
+
+    @Autowired
+    private ReglasTrazas reglasTrazas;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DispositivoService dispositivoService;
+
+    @Autowired
+    private MockMvc restTrazasMockMvc;
+
+    private double tasaMuestreo;
+
+    private Map<String, Boolean> paquetes;
+
+    @BeforeEach
+    void saveRules() {
+        tasaMuestreo = reglasTrazas.getTasaMuestreo();
+        paquetes = reglasTrazas.getPaquetes();
+    }
+
+    @AfterEach
+    void restoreRules() {
+        reglasTrazas.setTasaMuestreo(tasaMuestreo);
+        reglasTrazas.getPaquetes().keySet().forEach(reglasTrazas::quitar);
+        paquetes.forEach(reglasTrazas::configurar);
+    }
+
+    @Test
+    void tracedCallsAreTimedUntilTheirPackageIsDisabled() throws Exception {
+        restTrazasMockMvc
+            .perform(post(ENDPOINT_URL).contentType(MediaType.APPLICATION_JSON).content("{\"tasaMuestreo\": 1}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasaMuestreo").value(is(1.0)));
+
+        long servicio = llamadas("DispositivoService", "findOne");
+        dispositivoService.findOne(Long.MAX_VALUE);
+        assertThat(llamadas("DispositivoService", "findOne")).isEqualTo(servicio + 1);
+
+        restTrazasMockMvc
+            .perform(post(ENDPOINT_URL + "/" + SERVICE_PACKAGE).contentType(MediaType.APPLICATION_JSON).content("{\"trazado\": false}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.paquetes['" + SERVICE_PACKAGE + "']").value(is(false)));
+
+        dispositivoService.findOne(Long.MAX_VALUE);
+        assertThat(llamadas("DispositivoService", "findOne")).isEqualTo(servicio + 1);
+
+        restTrazasMockMvc.perform(delete(ENDPOINT_URL + "/" + SERVICE_PACKAGE)).andExpect(status().isOk());
+
+        dispositivoService.findOne(Long.MAX_VALUE);
+        assertThat(llamadas("DispositivoService", "findOne")).isEqualTo(servicio + 2);
+    }
+
+    @Test
+    void unsampledCallsAreNotTimed() throws Exception {
+        restTrazasMockMvc
+            .perform(post(ENDPOINT_URL).contentType(MediaType.APPLICATION_JSON).content("{\"tasaMuestreo\": 0}"))
+            .andExpect(status().isOk());
+
+        long servicio = llamadas("DispositivoService", "findOne");
+        dispositivoService.findOne(Long.MAX_VALUE);
+        assertThat(llamadas("DispositivoService", "findOne")).isEqualTo(servicio);
+    }
+
+    @Test
+    void invalidSamplingRateIsRejected() throws Exception {
+        restTrazasMockMvc
+            .perform(post(ENDPOINT_URL).contentType(MediaType.APPLICATION_JSON).content("{\"tasaMuestreo\": 2}"))
+            .andExpect(status().isBadRequest());
+        restTrazasMockMvc.perform(get(ENDPOINT_URL)).andExpect(jsonPath("$.tasaMuestreo").value(is(tasaMuestreo)));
+    }
+
+    @Test
+    @WithMockUser
+    void endpointIsForbiddenForUsers() throws Exception {
+        restTrazasMockMvc.perform(get(ENDPOINT_URL)).andExpect(status().isForbidden());
+    }
+
+    private long llamadas(String clase, String metodo) {
+        Timer timer = meterRegistry
+            .find(TrazasMetersService.METODO_TIEMPO_METER_NAME)
+            .tag(TrazasMetersService.METODO_CLASE_DIMENSION, clase)
+            .tag(TrazasMetersService.METODO_METODO_DIMENSION, metodo)
+            .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,203 @@
+package ar.edu.um.programacion2.repository;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Caracteristica;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.service.dto.VentaDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs {@code EXPLAIN} on the SQL of the repository lookups and fails if any of them reads a whole table.
+ * <p>
+ * With the {@code testprod} profile the plans come from the Testcontainers MySQL, where a full scan is an access of
+ * type {@code ALL} (or {@code index}, a full index scan); otherwise from H2, where it is a {@code tableScan}. Run them on
+ * MySQL with {@code ./mvnw -Pprod verify -Dit.test=PlanesConsultasIT}.
+ */
+@IntegrationTest
+@Transactional
+@TestPropertySource(
+    properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "ar.edu.um.programacion2.repository.SentenciasCapturadas"
+)
+class PlanesConsultasIT {
+
+    private static final Pattern TABLE_SCAN_H2 = Pattern.compile("/\\* ([\\w.]+)\\.tableScan \\*/");
+
+    private static final ZonedDateTime FECHA = ZonedDateTime.of(2001, 4, 5, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private DispositivoRepository dispositivoRepository;
+
+    @Autowired
+    private CaracteristicaRepository caracteristicaRepository;
+
+    @Autowired
+    private PersonalizacionRepository personalizacionRepository;
+
+    @Autowired
+    private OpcionRepository opcionRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private Dispositivo dispositivo;
+
+    private Personalizacion personalizacion;
+
+    private Venta venta;
+
+    @BeforeEach
+    void initCatalogo() {
+        for (int i = 0; i < 10; i++) {
+            dispositivo = dispositivo("PC-" + i, "10").idExterno((long) i);
+            em.persist(dispositivo);
+            em.persist(new Caracteristica().idExterno((long) i).nombre("C").descripcion("C").dispositivo(dispositivo));
+            personalizacion = personalizacion(dispositivo, "P").idExterno((long) i);
+            em.persist(personalizacion);
+            em.persist(opcion(personalizacion, "O", "O", "1").idExterno((long) i));
+            em.persist(adicional(dispositivo, "A", "1", "0").idExterno((long) i));
+            venta = new Venta().fechaVenta(FECHA.plusMinutes(i)).precioFinal(BigDecimal.TEN).dispositivo(dispositivo);
+            em.persist(venta);
+        }
+        // Sin clear: las relaciones de las entidades encontradas salen del contexto de persistencia, así que cada
+        // búsqueda prepara una sola sentencia
+        em.flush();
+    }
+
+    @Test
+    void dispositivoFindByCodigo() {
+        assertSinRecorridosCompletos(() -> dispositivoRepository.findByCodigo("PC-3"), "PC-3");
+    }
+
+    @Test
+    void caracteristicaFindByNombreAndDispositivo() {
+        assertSinRecorridosCompletos(() -> caracteristicaRepository.findByNombreAndDispositivo("C", dispositivo), "C", dispositivo.getId());
+    }
+
+    @Test
+    void personalizacionFindByNombreAndDispositivo() {
+        assertSinRecorridosCompletos(
+            () -> personalizacionRepository.findByNombreAndDispositivo("P", dispositivo),
+            "P",
+            dispositivo.getId()
+        );
+    }
+
+    @Test
+    void adicionalFindByNombreAndDispositivo() {
+        assertSinRecorridosCompletos(() -> adicionalRepository.findByNombreAndDispositivo("A", dispositivo), "A", dispositivo.getId());
+    }
+
+    @Test
+    void opcionFindByCodigoAndPersonalizacion() {
+        assertSinRecorridosCompletos(
+            () -> opcionRepository.findByCodigoAndPersonalizacion("O", personalizacion),
+            "O",
+            personalizacion.getId()
+        );
+    }
+
+    @Test
+    void opcionFindByPersonalizacionId() {
+        assertSinRecorridosCompletos(() -> opcionRepository.findByPersonalizacionId(personalizacion.getId()), personalizacion.getId());
+    }
+
+    @Test
+    void ventaScrollByFechaVenta() {
+        // H2 no usa índices para la disyunción de la posición (fecha_venta > ? or fecha_venta = ? and id > ?)
+        assumeTrue(esMysql());
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("fechaVenta", venta.getFechaVenta());
+        keys.put("id", venta.getId());
+        LocalDateTime fecha = venta.getFechaVenta().withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        assertSinRecorridosCompletos(
+            () -> ventaRepository.scrollAllBy(ScrollPosition.forward(keys), Sort.by("fechaVenta", "id"), Limit.of(20), VentaDTO.class),
+            fecha,
+            fecha,
+            venta.getId(),
+            20
+        );
+    }
+
+    /**
+     * Runs the lookup, which must prepare a single statement, and explains that statement with the given parameters.
+     */
+    private void assertSinRecorridosCompletos(Runnable consulta, Object... parametros) {
+        SentenciasCapturadas.capturar();
+        List<String> sentencias;
+        try {
+            consulta.run();
+        } finally {
+            sentencias = SentenciasCapturadas.terminar();
+        }
+        assertThat(sentencias).hasSize(1);
+        String sql = sentencias.get(0);
+        assertThat(recorridosCompletos(sql, parametros)).as(sql).isEmpty();
+    }
+
+    private List<String> recorridosCompletos(String sql, Object... parametros) {
+        List<String> recorridos = new ArrayList<>();
+        if (esMysql()) {
+            jdbcTemplate.query(
+                "explain " + sql,
+                rs -> {
+                    if ("ALL".equals(rs.getString("type")) || "index".equals(rs.getString("type"))) {
+                        recorridos.add(rs.getString("table") + " (" + rs.getString("type") + ")");
+                    }
+                },
+                parametros
+            );
+        } else {
+            String plan = jdbcTemplate.queryForObject("explain " + sql, String.class, parametros);
+            Matcher matcher = TABLE_SCAN_H2.matcher(plan);
+            while (matcher.find()) {
+                recorridos.add(matcher.group(1));
+            }
+        }
+        return recorridos;
+    }
+
+    private boolean esMysql() {
+        return "MySQL".equals(
+            jdbcTemplate.execute((ConnectionCallback<String>) conexion -> conexion.getMetaData().getDatabaseProductName())
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package ar.edu.um.programacion2.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL that Hibernate prepares on the current thread between {@link #capturar()} and {@link #terminar()}.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SentenciasCapturadas implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURADAS = new ThreadLocal<>();
+
+    public static void capturar() {
+        CAPTURADAS.set(new ArrayList<>());
+    }
+
+    public static List<String> terminar() {
+        List<String> capturadas = CAPTURADAS.get();
+        CAPTURADAS.remove();
+        return capturadas != null ? capturadas : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> capturadas = CAPTURADAS.get();
+        if (capturadas != null) {
+            capturadas.add(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,213 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import ar.edu.um.programacion2.CatalogoDePrueba;
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.ItemVendidoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoLoteVentasDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoReconstruccionDTO;
+import ar.edu.um.programacion2.service.dto.ResumenVentasDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link AnaliticaVentasService}.
+ */
+@IntegrationTest
+@Transactional
+class AnaliticaVentasServiceIT {
+
+    private static final ZoneId ZONA = ZoneId.of("America/Argentina/Buenos_Aires");
+
+    private static final LocalDate AYER = LocalDate.of(2001, 2, 3);
+
+    private static final LocalDate HOY = LocalDate.of(2001, 2, 4);
+
+    // Todavía el 3 en Buenos Aires
+    private static final ZonedDateTime NOCHE_DE_AYER = ZonedDateTime.of(2001, 2, 4, 2, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final ZonedDateTime MEDIODIA = ZonedDateTime.of(2001, 2, 4, 15, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private AnaliticaVentasService analiticaVentasService;
+
+    @Autowired
+    private ReconstruccionAnaliticaVentasService reconstruccionAnaliticaVentasService;
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private MotorPreciosService motorPreciosService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private ZoneId zonaOriginal;
+
+    private Dispositivo dispositivo;
+
+    private final List<Opcion> opciones = new ArrayList<>();
+
+    private final List<Adicional> adicionales = new ArrayList<>();
+
+    @BeforeEach
+    void initCatalogo() {
+        zonaOriginal = applicationProperties.getAnalitica().getZonaHoraria();
+        applicationProperties.getAnalitica().setZonaHoraria(ZONA);
+
+        dispositivo = dispositivo("AV-1", "1000.00").moneda(Moneda.ARS);
+        em.persist(dispositivo);
+        for (int i = 0; i < 2; i++) {
+            Personalizacion personalizacion = personalizacion(dispositivo, "P" + i).idExterno((long) i);
+            em.persist(personalizacion);
+            Opcion opcion = opcion(personalizacion, "AV-O" + i, "O" + i, "10").idExterno((long) i);
+            em.persist(opcion);
+            opciones.add(opcion);
+            Adicional adicional = adicional(dispositivo, "A" + i, "100.00", "-1").idExterno((long) i);
+            em.persist(adicional);
+            adicionales.add(adicional);
+        }
+        em.flush();
+        motorPreciosService.recargar();
+    }
+
+    @AfterEach
+    void cleanup() {
+        applicationProperties.getAnalitica().setZonaHoraria(zonaOriginal);
+        motorPreciosService.invalidar();
+    }
+
+    @Test
+    void registrarVentaSumaAlDiaDeLaZonaConfigurada() {
+        Venta deAyer = ventaService.registrarVenta(request(NOCHE_DE_AYER, opciones, adicionales));
+        Venta primera = ventaService.registrarVenta(request(MEDIODIA, opciones.subList(0, 1), adicionales.subList(0, 1)));
+        Venta segunda = ventaService.registrarVenta(request(MEDIODIA, List.of(), adicionales.subList(0, 1)));
+
+        assertThat(analiticaVentasService.resumenDiario(AYER, HOY, dispositivo.getId(), null))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(
+                new ResumenVentasDTO(AYER, dispositivo.getId(), Moneda.ARS, 1, deAyer.getPrecioFinal()),
+                new ResumenVentasDTO(HOY, dispositivo.getId(), Moneda.ARS, 2, primera.getPrecioFinal().add(segunda.getPrecioFinal()))
+            );
+        assertThat(analiticaVentasService.resumenDiario(HOY, HOY, dispositivo.getId(), Moneda.USD)).isEmpty();
+        assertThat(analiticaVentasService.masVendidos(AYER, HOY, dispositivo.getId(), ItemVendidoDTO.Tipo.ADICIONAL, 10))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(
+                new ItemVendidoDTO(ItemVendidoDTO.Tipo.ADICIONAL, adicionales.get(0).getId(), "A0", 3),
+                new ItemVendidoDTO(ItemVendidoDTO.Tipo.ADICIONAL, adicionales.get(1).getId(), "A1", 1)
+            );
+        assertThat(analiticaVentasService.masVendidos(HOY, HOY, dispositivo.getId(), ItemVendidoDTO.Tipo.OPCION, 10))
+            .extracting(ItemVendidoDTO::getId)
+            .containsExactly(opciones.get(0).getId());
+    }
+
+    @Test
+    void registrarLoteSumaLasVentasRegistradasDelTramo() {
+        VentaRequest invalida = request(MEDIODIA, opciones, adicionales);
+        invalida.getAdicionales().get(0).setId(Long.MAX_VALUE);
+
+        List<ResultadoLoteVentasDTO.ResultadoVenta> resultados = ventaService.registrarLote(
+            List.of(request(MEDIODIA, opciones, adicionales), invalida, request(MEDIODIA, opciones, List.of())),
+            motorPreciosService.instantanea()
+        );
+
+        BigDecimal total = resultados
+            .stream()
+            .map(ResultadoLoteVentasDTO.ResultadoVenta::getPrecioFinal)
+            .filter(precio -> precio != null)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(analiticaVentasService.totalesPorDispositivo(HOY, HOY, Moneda.ARS))
+            .filteredOn(resumen -> resumen.getDispositivoId().equals(dispositivo.getId()))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(new ResumenVentasDTO(null, dispositivo.getId(), Moneda.ARS, 2, total));
+        assertThat(analiticaVentasService.masVendidos(HOY, HOY, dispositivo.getId(), ItemVendidoDTO.Tipo.PERSONALIZACION, 1))
+            .extracting(ItemVendidoDTO::getCantidad)
+            .containsExactly(2L);
+    }
+
+    @Test
+    void deleteRestaLaVentaDeLosResumenes() {
+        Venta borrada = ventaService.registrarVenta(request(MEDIODIA, opciones, adicionales.subList(1, 2)));
+        Venta queda = ventaService.registrarVenta(request(MEDIODIA, opciones, adicionales.subList(0, 1)));
+        em.flush();
+
+        ventaService.delete(borrada.getId());
+
+        assertThat(analiticaVentasService.resumenDiario(HOY, HOY, dispositivo.getId(), null))
+            .extracting(ResumenVentasDTO::getCantidad, ResumenVentasDTO::getTotal)
+            .containsExactly(tuple(1L, queda.getPrecioFinal()));
+        assertThat(analiticaVentasService.masVendidos(HOY, HOY, dispositivo.getId(), ItemVendidoDTO.Tipo.ADICIONAL, 10))
+            .extracting(ItemVendidoDTO::getId)
+            .containsExactly(adicionales.get(0).getId());
+    }
+
+    @Test
+    void reconstruirRehaceLosMismosResumenesQueLasVentas() {
+        ventaService.registrarVenta(request(NOCHE_DE_AYER, opciones, adicionales));
+        ventaService.registrarVenta(request(MEDIODIA, opciones.subList(1, 2), adicionales.subList(0, 1)));
+        ventaService.registrarVenta(request(MEDIODIA, List.of(), List.of()));
+        em.flush();
+        List<ResumenVentasDTO> resumen = analiticaVentasService.resumenDiario(AYER, HOY, null, null);
+        List<List<ItemVendidoDTO>> masVendidos = masVendidos();
+
+        jdbcTemplate.update("delete from resumen_venta_dia where dia >= ? and dia <= ?", AYER, HOY);
+        jdbcTemplate.update("delete from resumen_venta_dia_item where dia >= ? and dia <= ?", AYER, HOY);
+        assertThat(analiticaVentasService.resumenDiario(AYER, HOY, null, null)).isEmpty();
+
+        ResultadoReconstruccionDTO resultado = reconstruccionAnaliticaVentasService.reconstruir(AYER, HOY).orElseThrow();
+
+        assertThat(resultado.getDias()).isEqualTo(2);
+        assertThat(resultado.getVentas()).isEqualTo(resumen.stream().mapToLong(ResumenVentasDTO::getCantidad).sum());
+        assertThat(analiticaVentasService.resumenDiario(AYER, HOY, null, null))
+            .usingRecursiveFieldByFieldElementComparator()
+            .isEqualTo(resumen);
+        assertThat(masVendidos()).usingRecursiveComparison().isEqualTo(masVendidos);
+    }
+
+    private List<List<ItemVendidoDTO>> masVendidos() {
+        List<List<ItemVendidoDTO>> masVendidos = new ArrayList<>();
+        for (ItemVendidoDTO.Tipo tipo : ItemVendidoDTO.Tipo.values()) {
+            masVendidos.add(analiticaVentasService.masVendidos(AYER, HOY, dispositivo.getId(), tipo, 10));
+        }
+        return masVendidos;
+    }
+
+    private VentaRequest request(ZonedDateTime fecha, List<Opcion> elegidas, List<Adicional> pedidos) {
+        VentaRequest request = CatalogoDePrueba.request(dispositivo, elegidas, pedidos);
+        request.setFechaVenta(fecha);
+        return request;
+    }
+}
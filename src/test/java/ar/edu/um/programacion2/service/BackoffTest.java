@@ -0,0 +1,26 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class BackoffTest {
+
+    private static final Duration INICIAL = Duration.ofSeconds(5);
+
+    private static final Duration MAXIMO = Duration.ofSeconds(30);
+
+    @Test
+    void duplicaLaDemoraConCadaIntentoFallido() {
+        assertThat(Backoff.exponencial(1, INICIAL, MAXIMO)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(Backoff.exponencial(2, INICIAL, MAXIMO)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(Backoff.exponencial(3, INICIAL, MAXIMO)).isEqualTo(Duration.ofSeconds(20));
+    }
+
+    @Test
+    void noSuperaElMaximo() {
+        assertThat(Backoff.exponencial(4, INICIAL, MAXIMO)).isEqualTo(MAXIMO);
+        assertThat(Backoff.exponencial(Integer.MAX_VALUE, INICIAL, MAXIMO)).isEqualTo(MAXIMO);
+    }
+}
@@ -0,0 +1,208 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.CatalogoDePrueba;
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.repository.AdicionalRepository;
+import ar.edu.um.programacion2.repository.DispositivoRepository;
+import ar.edu.um.programacion2.repository.OpcionRepository;
+import ar.edu.um.programacion2.repository.PersonalizacionRepository;
+import ar.edu.um.programacion2.repository.VentaRepository;
+import ar.edu.um.programacion2.service.dto.ResultadoLoteVentasDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CargaVentasService}. Each tramo commits on its own, so the catalog is committed before
+ * the test and everything is deleted afterwards.
+ */
+@IntegrationTest
+class CargaVentasServiceIT {
+
+    private static final ZonedDateTime FECHA = ZonedDateTime.of(2026, 10, 18, 12, 30, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private CargaVentasService cargaVentasService;
+
+    @Autowired
+    private MotorPreciosService motorPreciosService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private DispositivoRepository dispositivoRepository;
+
+    @Autowired
+    private PersonalizacionRepository personalizacionRepository;
+
+    @Autowired
+    private OpcionRepository opcionRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationProperties.CargaVentas configuracionOriginal;
+
+    private Dispositivo dispositivo;
+
+    private Personalizacion color;
+
+    private Opcion rojo;
+
+    private Adicional funda;
+
+    private Adicional adicionalDeOtro;
+
+    @BeforeEach
+    void initCatalogo() {
+        ApplicationProperties.CargaVentas cargaVentas = applicationProperties.getCargaVentas();
+        configuracionOriginal = new ApplicationProperties.CargaVentas();
+        configuracionOriginal.setTamanioTramo(cargaVentas.getTamanioTramo());
+        configuracionOriginal.setMaximoVentas(cargaVentas.getMaximoVentas());
+
+        dispositivo = dispositivoRepository.saveAndFlush(dispositivo("CV-1", "1000.00"));
+        color = personalizacionRepository.saveAndFlush(personalizacion(dispositivo, "Color").idExterno(7L));
+        rojo = opcionRepository.saveAndFlush(opcion(color, "CV-1-ROJO", "Rojo", "150.00").idExterno(70L));
+        funda = adicionalRepository.saveAndFlush(adicional(dispositivo, "Funda", "80.00", "-1"));
+        Dispositivo otro = dispositivoRepository.saveAndFlush(dispositivo("CV-2", "1000.00"));
+        adicionalDeOtro = adicionalRepository.saveAndFlush(adicional(otro, "Funda", "80.00", "-1"));
+        motorPreciosService.recargar();
+    }
+
+    @AfterEach
+    void cleanup() {
+        ApplicationProperties.CargaVentas cargaVentas = applicationProperties.getCargaVentas();
+        cargaVentas.setTamanioTramo(configuracionOriginal.getTamanioTramo());
+        cargaVentas.setMaximoVentas(configuracionOriginal.getMaximoVentas());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            String ventas = "select id from venta where dispositivo_id in (select id from dispositivo where codigo like 'CV-%')";
+            jdbcTemplate.update("delete from envio_venta where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from rel_venta__personalizaciones where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from rel_venta__opciones where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from rel_venta__adicionales where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from venta where id in (" + ventas + ")");
+            String dispositivos = "select id from dispositivo where codigo like 'CV-%'";
+            jdbcTemplate.update("delete from resumen_venta_dia where dispositivo_id in (" + dispositivos + ")");
+            jdbcTemplate.update("delete from resumen_venta_dia_item where dispositivo_id in (" + dispositivos + ")");
+        });
+        opcionRepository.delete(rojo);
+        personalizacionRepository.delete(color);
+        adicionalRepository.deleteAll(List.of(funda, adicionalDeOtro));
+        dispositivoRepository.deleteAll(List.of(dispositivo, adicionalDeOtro.getDispositivo()));
+        motorPreciosService.invalidar();
+    }
+
+    @Test
+    void registrarRegistraLasVentasValidasEnTramosYRechazaLasInvalidas() {
+        applicationProperties.getCargaVentas().setTamanioTramo(2);
+        List<VentaRequest> ventas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ventas.add(request(i == 3 ? adicionalDeOtro : funda));
+        }
+
+        ResultadoLoteVentasDTO resultado = cargaVentasService.registrar(ventas);
+
+        assertThat(resultado.getRegistradas()).isEqualTo(4);
+        assertThat(resultado.getRechazadas()).isEqualTo(1);
+        assertThat(resultado.isTruncado()).isFalse();
+        assertThat(resultado.getResultados()).extracting(ResultadoLoteVentasDTO.ResultadoVenta::getIndice).containsExactly(0, 1, 2, 3, 4);
+        ResultadoLoteVentasDTO.ResultadoVenta rechazada = resultado.getResultados().get(3);
+        assertThat(rechazada.getIdVenta()).isNull();
+        assertThat(rechazada.getError()).isEqualTo(
+            "El adicional con ID " + adicionalDeOtro.getId() + " no pertenece al dispositivo con ID: " + dispositivo.getId()
+        );
+
+        ResultadoLoteVentasDTO.ResultadoVenta registrada = resultado.getResultados().get(4);
+        assertThat(registrada.getError()).isNull();
+        assertThat(registrada.getPrecioFinal()).isEqualByComparingTo("1230.00");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Venta venta = ventaRepository.findOneWithEagerRelationships(registrada.getIdVenta()).orElseThrow();
+            assertThat(venta.getFechaVenta().toInstant()).isEqualTo(FECHA.toInstant());
+            assertThat(venta.getPrecioFinal()).isEqualByComparingTo("1230.00");
+            assertThat(venta.getPersonalizaciones()).containsExactly(color);
+            assertThat(venta.getOpciones()).containsExactly(rojo);
+            assertThat(venta.getAdicionales()).containsExactly(funda);
+            assertThat(
+                jdbcTemplate.queryForObject("select payload from envio_venta where venta_id = ?", String.class, registrada.getIdVenta())
+            ).contains("\"opcion\":{\"id\":70}");
+            assertThat(
+                jdbcTemplate.queryForObject(
+                    "select count(*) from envio_venta where venta_id in (select id from venta where dispositivo_id = ?)",
+                    Long.class,
+                    dispositivo.getId()
+                )
+            ).isEqualTo(4);
+        });
+    }
+
+    @Test
+    void registrarNdjsonRechazaLasLineasInvalidasSinAfectarAlResto() {
+        // Una venta válida, una línea vacía, una línea que no es JSON válido y un dispositivo inexistente
+        String ndjson = String.join(
+            "\n",
+            "{\"idDispositivo\":" + dispositivo.getId() + "}",
+            "",
+            "{\"idDispositivo\":",
+            "{\"idDispositivo\":" + Long.MAX_VALUE + "}"
+        );
+
+        ResultadoLoteVentasDTO resultado = cargaVentasService.registrarNdjson(new BufferedReader(new StringReader(ndjson)));
+
+        assertThat(resultado.getResultados()).hasSize(3);
+        assertThat(resultado.getResultados().get(0).getIdVenta()).isNotNull();
+        assertThat(resultado.getResultados().get(0).getPrecioFinal()).isEqualByComparingTo("1000.00");
+        assertThat(resultado.getResultados().get(1).getError()).startsWith("JSON inválido");
+        assertThat(resultado.getResultados().get(2).getError()).isEqualTo("Dispositivo no encontrado con ID: " + Long.MAX_VALUE);
+    }
+
+    @Test
+    void registrarSeDetieneAlAlcanzarElMaximoDeVentas() {
+        applicationProperties.getCargaVentas().setMaximoVentas(2);
+
+        ResultadoLoteVentasDTO resultado = cargaVentasService.registrar(List.of(request(funda), request(funda), request(funda)));
+
+        assertThat(resultado.isTruncado()).isTrue();
+        assertThat(resultado.getRegistradas()).isEqualTo(2);
+        assertThat(resultado.getResultados()).hasSize(2);
+    }
+
+    private VentaRequest request(Adicional adicional) {
+        VentaRequest request = CatalogoDePrueba.request(dispositivo, List.of(rojo), List.of(adicional));
+        request.setFechaVenta(FECHA);
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.service.dto.ResultadoLoteVentasDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class CargaVentasServiceTest {
+
+    @Mock
+    private VentaService ventaService;
+
+    @Mock
+    private MotorPreciosService motorPreciosService;
+
+    @Mock
+    private MotorPreciosService.Cotizador cotizador;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private CargaVentasService cargaVentasService;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties.getCargaVentas().setTamanioTramo(2);
+        cargaVentasService = new CargaVentasService(ventaService, motorPreciosService, new ObjectMapper(), applicationProperties);
+        when(motorPreciosService.instantanea()).thenReturn(cotizador);
+    }
+
+    @Test
+    void registrarRechazaSoloElTramoQueFallaAlGuardarse() {
+        AtomicLong ids = new AtomicLong();
+        when(ventaService.registrarLote(anyList(), any()))
+            .thenAnswer(invocation -> registradas(invocation.getArgument(0), ids))
+            .thenThrow(new DataAccessResourceFailureException("sin conexión"))
+            .thenAnswer(invocation -> registradas(invocation.getArgument(0), ids));
+        List<VentaRequest> ventas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ventas.add(new VentaRequest());
+        }
+
+        ResultadoLoteVentasDTO resultado = cargaVentasService.registrar(ventas);
+
+        assertThat(resultado.getRegistradas()).isEqualTo(3);
+        assertThat(resultado.getRechazadas()).isEqualTo(2);
+        assertThat(resultado.getResultados())
+            .extracting(ResultadoLoteVentasDTO.ResultadoVenta::getIdVenta)
+            .containsExactly(1L, 2L, null, null, 3L);
+        assertThat(resultado.getResultados().get(2).getError()).doesNotContain("sin conexión");
+        // Toda la carga se cotiza contra la misma instantánea del catálogo
+        verify(motorPreciosService, times(1)).instantanea();
+        verify(ventaService, times(3)).registrarLote(anyList(), eq(cotizador));
+    }
+
+    @Test
+    void registrarNoGuardaLasVentasVacias() {
+        List<VentaRequest> ventas = new ArrayList<>();
+        ventas.add(null);
+
+        ResultadoLoteVentasDTO resultado = cargaVentasService.registrar(ventas);
+
+        assertThat(resultado.getResultados()).singleElement().satisfies(venta -> assertThat(venta.getError()).isNotNull());
+        verifyNoInteractions(ventaService);
+    }
+
+    private static List<ResultadoLoteVentasDTO.ResultadoVenta> registradas(List<VentaRequest> ventas, AtomicLong ids) {
+        return ventas
+            .stream()
+            .map(venta -> ResultadoLoteVentasDTO.ResultadoVenta.registrada(ids.incrementAndGet(), BigDecimal.TEN))
+            .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.externo.CatalogoSintetico;
+import ar.edu.um.programacion2.externo.ServicioExternoStub;
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Tests de {@link CatalogoExternoService} contra un {@link ServicioExternoStub} que genera el catálogo sobre la marcha.
+ * <p>
+ * Por defecto el catálogo ocupa {@value #MEGABYTES} MB, que alcanzan para ver llegar los primeros lotes antes de que
+ * termine la respuesta. La lectura de un catálogo grande sólo se corre si se pide su tamaño, por ejemplo con
+ * {@code -Dcatalogo.stub.megabytes=256}.
+ */
+class CatalogoExternoServiceTest {
+
+    private static final long MEGABYTES = 4;
+
+    private static final int TAMANIO_LOTE = 100;
+
+    @RegisterExtension
+    static final ServicioExternoStub servicioExterno = new ServicioExternoStub();
+
+    private CatalogoExternoService catalogoExternoService;
+
+    @BeforeEach
+    void setUp() {
+        catalogoExternoService = new CatalogoExternoService(WebClient.create(servicioExterno.getBaseUrl()));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void leerDispositivosProcesaElCatalogoEnLotesMientrasSeRecibe() {
+        leerEnLotes(MEGABYTES);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "catalogo.stub.megabytes", matches = "\\d+")
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void leerDispositivosProcesaUnCatalogoGrandeEnLotesMientrasSeRecibe() {
+        leerEnLotes(Long.getLong("catalogo.stub.megabytes"));
+    }
+
+    @Test
+    void leerDispositivosSinCatalogoNoProcesaLotes() {
+        servicioExterno.setDispositivos(0);
+
+        assertThat(catalogoExternoService.leerDispositivos(TAMANIO_LOTE, List::size)).isZero();
+    }
+
+    private void leerEnLotes(long megabytes) {
+        servicioExterno.setBytesCatalogo(megabytes * 1024 * 1024);
+        AtomicInteger lotes = new AtomicInteger();
+        AtomicInteger mayorLote = new AtomicInteger();
+        AtomicBoolean primerLoteAntesDelFin = new AtomicBoolean();
+        AtomicLong ultimoId = new AtomicLong();
+
+        int leidos = catalogoExternoService.leerDispositivos(TAMANIO_LOTE, lote -> {
+            if (lotes.getAndIncrement() == 0) {
+                primerLoteAntesDelFin.set(servicioExterno.getCatalogo().getCompletadas() == 0);
+            }
+            mayorLote.accumulateAndGet(lote.size(), Math::max);
+            for (DispositivoExternoDTO dispositivo : lote) {
+                assertThat(dispositivo.getId()).isEqualTo(ultimoId.incrementAndGet());
+                assertThat(dispositivo.getPersonalizaciones()).hasSize(CatalogoSintetico.PERSONALIZACIONES);
+            }
+        });
+
+        assertThat(servicioExterno.getCatalogo().getBytesEnviados()).isGreaterThanOrEqualTo(megabytes * 1024 * 1024);
+        assertThat(leidos).isEqualTo(servicioExterno.getDispositivosEnviados());
+        assertThat(mayorLote.get()).isEqualTo(TAMANIO_LOTE);
+        assertThat(lotes.get()).isEqualTo((leidos + TAMANIO_LOTE - 1) / TAMANIO_LOTE);
+        // El primer lote se procesa antes de que el servidor termine de escribir: la respuesta no se materializa entera
+        assertThat(primerLoteAntesDelFin.get()).isTrue();
+    }
+}
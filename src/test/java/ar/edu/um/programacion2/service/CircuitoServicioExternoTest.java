@@ -0,0 +1,158 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.management.ServicioExternoMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class CircuitoServicioExternoTest {
+
+    private static final ClientRequest PEDIDO = ClientRequest.create(HttpMethod.GET, URI.create("http://externo/dispositivos")).build();
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private CircuitoServicioExterno circuito;
+
+    private final AtomicInteger enviados = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getServicioExterno().getCircuito().setFallasParaAbrir(3);
+        applicationProperties.getServicioExterno().getCircuito().setDuracionAbierto(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        circuito = new CircuitoServicioExterno(applicationProperties, new ServicioExternoMetersService(meterRegistry));
+    }
+
+    @Test
+    void abreTrasLasFallasSeguidasYRechazaSinEnviar() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(circuito.filter(PEDIDO, responder(HttpStatus.SERVICE_UNAVAILABLE)).block()).isNotNull();
+        }
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.ABIERTO);
+
+        assertThatThrownBy(() -> circuito.filter(PEDIDO, responder(HttpStatus.OK)).block()).isInstanceOf(
+            ServicioExternoNoDisponibleException.class
+        );
+
+        assertThat(enviados.get()).isEqualTo(3);
+        assertThat(meterRegistry.get(ServicioExternoMetersService.CIRCUITO_ESTADO_METER_NAME).gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get(ServicioExternoMetersService.CIRCUITO_APERTURAS_METER_NAME).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ServicioExternoMetersService.CIRCUITO_RECHAZOS_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void unaRespuestaExitosaReiniciaLaCuentaDeFallas() {
+        circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+        circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+        circuito.filter(PEDIDO, responder(HttpStatus.OK)).block();
+        circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+        circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.CERRADO);
+    }
+
+    @Test
+    void losErroresDelClienteNoCuentanComoFallas() {
+        for (int i = 0; i < 5; i++) {
+            circuito.filter(PEDIDO, responder(HttpStatus.BAD_REQUEST)).block();
+        }
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.CERRADO);
+    }
+
+    @Test
+    void unPedidoCanceladoAntesDeLaRespuestaCuentaComoFalla() {
+        for (int i = 0; i < 3; i++) {
+            // Como hace Mono#timeout en EnvioVentasService: cancela el pedido que no respondió a tiempo
+            circuito.filter(PEDIDO, request -> Mono.never()).timeout(Duration.ofMillis(10)).onErrorComplete().block();
+        }
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.ABIERTO);
+    }
+
+    @Test
+    void pasadaLaDuracionDejaPasarUnaPruebaQueCierraElCircuito() {
+        applicationProperties.getServicioExterno().getCircuito().setDuracionAbierto(Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+        }
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.ABIERTO);
+
+        Sinks.One<ClientResponse> respuestaPrueba = Sinks.one();
+        CompletableFuture<ClientResponse> prueba = circuito.filter(PEDIDO, request -> respuestaPrueba.asMono()).toFuture();
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.SEMIABIERTO);
+        // Mientras la prueba está en curso se rechazan los demás pedidos
+        assertThatThrownBy(() -> circuito.filter(PEDIDO, responder(HttpStatus.OK)).block()).isInstanceOf(
+            ServicioExternoNoDisponibleException.class
+        );
+
+        respuestaPrueba.tryEmitValue(respuesta(HttpStatus.OK));
+        assertThat(prueba.join().statusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.CERRADO);
+        assertThat(meterRegistry.get(ServicioExternoMetersService.CIRCUITO_ESTADO_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void unaPruebaFallidaVuelveAAbrirElCircuito() {
+        applicationProperties.getServicioExterno().getCircuito().setDuracionAbierto(Duration.ZERO);
+        for (int i = 0; i < 3; i++) {
+            circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+        }
+        applicationProperties.getServicioExterno().getCircuito().setDuracionAbierto(Duration.ofMinutes(1));
+
+        circuito.filter(PEDIDO, responder(HttpStatus.BAD_GATEWAY)).block();
+
+        assertThat(circuito.getEstado()).isEqualTo(CircuitoServicioExterno.Estado.ABIERTO);
+        assertThat(meterRegistry.get(ServicioExternoMetersService.CIRCUITO_APERTURAS_METER_NAME).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void deshabilitadoNoCortaNunca() {
+        applicationProperties.getServicioExterno().getCircuito().setHabilitado(false);
+        for (int i = 0; i < 5; i++) {
+            circuito.filter(PEDIDO, fallar()).onErrorComplete().block();
+        }
+
+        assertThat(circuito.filter(PEDIDO, responder(HttpStatus.OK)).block()).isNotNull();
+        assertThat(enviados.get()).isEqualTo(6);
+    }
+
+    private ExchangeFunction responder(HttpStatus estado) {
+        return request -> Mono.fromSupplier(() -> {
+            enviados.incrementAndGet();
+            return respuesta(estado);
+        });
+    }
+
+    private ExchangeFunction fallar() {
+        return request -> Mono.defer(() -> {
+            enviados.incrementAndGet();
+            return Mono.error(new IOException("Connection refused"));
+        });
+    }
+
+    private static ClientResponse respuesta(HttpStatus estado) {
+        return ClientResponse.create(estado).build();
+    }
+}
@@ -4,20 +4,24 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import ar.edu.um.programacion2.config.ApplicationProperties;
 import ar.edu.um.programacion2.domain.*;
 import ar.edu.um.programacion2.domain.enumeration.Moneda;
 import ar.edu.um.programacion2.repository.*;
 import ar.edu.um.programacion2.service.dto.DispositivoDTO;
 import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
 import ar.edu.um.programacion2.service.mapper.DispositivoMapper;
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -47,6 +51,15 @@ class DispositivoServiceTest {
     @Mock
     private DispositivoMapper dispositivoMapper;
 
+    @Mock
+    private SincronizacionCatalogoService sincronizacionCatalogoService;
+
+    @Mock
+    private CatalogoExternoService catalogoExternoService;
+
+    @Spy
+    private ApplicationProperties applicationProperties = new ApplicationProperties();
+
     @InjectMocks
     private DispositivoService dispositivoService;
 
@@ -63,9 +76,12 @@ class DispositivoServiceTest {
         requestHeadersSpecMock = Mockito.mock(WebClient.RequestHeadersSpec.class);
         responseSpecMock = Mockito.mock(WebClient.ResponseSpec.class);
 
-        Mockito.<WebClient.RequestHeadersUriSpec<?>>when(webClient.get()).thenReturn(requestHeadersUriSpecMock);
-        Mockito.<WebClient.RequestHeadersSpec<?>>when(requestHeadersUriSpecMock.uri(anyString())).thenReturn(requestHeadersSpecMock);
-        when(requestHeadersSpecMock.retrieve()).thenReturn(responseSpecMock);
+        // lenient: el modo batch lee el catálogo a través de CatalogoExternoService y no usa este WebClient
+        Mockito.lenient().<WebClient.RequestHeadersUriSpec<?>>when(webClient.get()).thenReturn(requestHeadersUriSpecMock);
+        Mockito.lenient()
+            .<WebClient.RequestHeadersSpec<?>>when(requestHeadersUriSpecMock.uri(anyString()))
+            .thenReturn(requestHeadersSpecMock);
+        lenient().when(requestHeadersSpecMock.retrieve()).thenReturn(responseSpecMock);
 
         // Inicializar el campo webClient en DispositivoService
         ReflectionTestUtils.setField(dispositivoService, "webClient", webClient);
@@ -132,4 +148,24 @@ class DispositivoServiceTest {
         verify(opcionRepository, never()).save(any(Opcion.class));
         verify(adicionalRepository, never()).save(any(Adicional.class));
     }
+
+    @Test
+    void testSincronizarCatalogo() {
+        DispositivoExternoDTO dispositivoExternoDTO = new DispositivoExternoDTO();
+        dispositivoExternoDTO.setCodigo("DISP001");
+        when(catalogoExternoService.leerDispositivos(anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<List<DispositivoExternoDTO>> procesarLote = invocation.getArgument(1);
+            procesarLote.accept(List.of(dispositivoExternoDTO));
+            return 1;
+        });
+        when(sincronizacionCatalogoService.sincronizar(anyList())).thenReturn(new ResultadoSincronizacionDTO());
+
+        dispositivoService.sincronizarCatalogo();
+
+        // El modo batch delega en el servicio de sincronización y no usa los repositorios entidad por entidad
+        verify(catalogoExternoService).leerDispositivos(eq(applicationProperties.getSincronizacion().getTamanioLote()), any());
+        verify(sincronizacionCatalogoService).sincronizar(List.of(dispositivoExternoDTO));
+        verify(dispositivoRepository, never()).findByCodigo(anyString());
+        verify(dispositivoRepository, never()).save(any(Dispositivo.class));
+    }
 }
@@ -0,0 +1,216 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.externo.ServicioExternoStub;
+import ar.edu.um.programacion2.management.EnvioVentasMetersService;
+import ar.edu.um.programacion2.management.ServicioExternoMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Integration tests for {@link EnvioVentasService} against a {@link ServicioExternoStub} that fails or delays its
+ * responses.
+ */
+@IntegrationTest
+@Transactional
+class EnvioVentasServiceIT {
+
+    @Autowired
+    private EnvioVentasService envioVentasService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @RegisterExtension
+    static final ServicioExternoStub servicioExterno = new ServicioExternoStub();
+
+    private Object webClientOriginal;
+
+    private ApplicationProperties.EnvioVentas configuracionOriginal;
+
+    @BeforeEach
+    void setUp() {
+        webClientOriginal = ReflectionTestUtils.getField(envioVentasService, "webClient");
+        ReflectionTestUtils.setField(envioVentasService, "webClient", WebClient.create(servicioExterno.getBaseUrl()));
+        ApplicationProperties.EnvioVentas envioVentas = applicationProperties.getEnvioVentas();
+        configuracionOriginal = new ApplicationProperties.EnvioVentas();
+        configuracionOriginal.setTamanioLote(envioVentas.getTamanioLote());
+        configuracionOriginal.setConcurrencia(envioVentas.getConcurrencia());
+        configuracionOriginal.setTimeout(envioVentas.getTimeout());
+        configuracionOriginal.setIntentosMaximos(envioVentas.getIntentosMaximos());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(envioVentasService, "webClient", webClientOriginal);
+        ApplicationProperties.EnvioVentas envioVentas = applicationProperties.getEnvioVentas();
+        envioVentas.setTamanioLote(configuracionOriginal.getTamanioLote());
+        envioVentas.setConcurrencia(configuracionOriginal.getConcurrencia());
+        envioVentas.setTimeout(configuracionOriginal.getTimeout());
+        envioVentas.setIntentosMaximos(configuracionOriginal.getIntentosMaximos());
+    }
+
+    @Test
+    void despacharEntregaLasVentasEnLotesConConcurrenciaAcotada() {
+        applicationProperties.getEnvioVentas().setTamanioLote(4);
+        applicationProperties.getEnvioVentas().setConcurrencia(2);
+        servicioExterno.getVentas().setDemora(Duration.ofMillis(50));
+        double entregasPrevias = meterRegistry.get(EnvioVentasMetersService.LATENCIA_METER_NAME).timer().count();
+        for (long venta = 1; venta <= 6; venta++) {
+            envioVentasService.encolar(venta, Map.of("idDispositivo", venta));
+        }
+
+        assertThat(envioVentasService.despachar()).isEqualTo(4);
+        assertThat(envioVentasService.despachar()).isEqualTo(2);
+        assertThat(envioVentasService.despachar()).isZero();
+
+        assertThat(servicioExterno.getVentasGuardadas()).hasSize(6).contains("{\"idDispositivo\":1}", "{\"idDispositivo\":6}");
+        assertThat(servicioExterno.getVentas().getMaximoEnCurso()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from envio_venta where entregado is not null", Long.class)).isEqualTo(6);
+        assertThat(meterRegistry.get(EnvioVentasMetersService.PENDIENTES_METER_NAME).gauge().value()).isZero();
+        assertThat(meterRegistry.get(EnvioVentasMetersService.LATENCIA_METER_NAME).timer().count() - entregasPrevias).isEqualTo(6);
+    }
+
+    @Test
+    void despacharReprogramaLasVentasFallidasConBackoff() {
+        servicioExterno.getVentas().setFallasSeguidas(1);
+        envioVentasService.encolar(1L, Map.of("idDispositivo", 1));
+
+        Instant antes = Instant.now();
+        assertThat(envioVentasService.despachar()).isEqualTo(1);
+
+        Map<String, Object> envio = jdbcTemplate.queryForMap("select * from envio_venta where venta_id = 1");
+        assertThat(envio.get("INTENTOS")).isEqualTo(1);
+        assertThat(envio.get("ENTREGADO")).isNull();
+        assertThat((String) envio.get("ULTIMO_ERROR")).contains("503").contains("servicio no disponible");
+        assertThat(((Timestamp) envio.get("PROXIMO_INTENTO")).toInstant()).isAfterOrEqualTo(
+            antes.plus(applicationProperties.getEnvioVentas().getBackoffInicial())
+        );
+        assertThat(meterRegistry.get(EnvioVentasMetersService.PENDIENTES_METER_NAME).gauge().value()).isEqualTo(1);
+        // Hasta que llegue el próximo intento no se vuelve a enviar
+        assertThat(envioVentasService.despachar()).isZero();
+
+        adelantarReintentos();
+        assertThat(envioVentasService.despachar()).isEqualTo(1);
+
+        assertThat(servicioExterno.getVentasGuardadas()).hasSize(1);
+        assertThat(jdbcTemplate.queryForMap("select intentos, entregado from envio_venta where venta_id = 1")).satisfies(fila -> {
+            assertThat(fila.get("INTENTOS")).isEqualTo(2);
+            assertThat(fila.get("ENTREGADO")).isNotNull();
+        });
+    }
+
+    @Test
+    void despacharTrataLaDemoraExcesivaComoFalla() {
+        applicationProperties.getEnvioVentas().setTimeout(Duration.ofMillis(100));
+        servicioExterno.getVentas().setDemora(Duration.ofSeconds(1));
+        envioVentasService.encolar(1L, Map.of("idDispositivo", 1));
+
+        assertThat(envioVentasService.despachar()).isEqualTo(1);
+
+        assertThat((String) jdbcTemplate.queryForObject("select ultimo_error from envio_venta where venta_id = 1", String.class)).contains(
+            "Timeout"
+        );
+        assertThat(jdbcTemplate.queryForObject("select entregado from envio_venta where venta_id = 1", Timestamp.class)).isNull();
+    }
+
+    @Test
+    void despacharDescartaLaVentaTrasAgotarLosIntentos() {
+        applicationProperties.getEnvioVentas().setIntentosMaximos(2);
+        servicioExterno.getVentas().setFallasSeguidas(Integer.MAX_VALUE);
+        envioVentasService.encolar(1L, Map.of("idDispositivo", 1));
+        double descartadasPrevias = meterRegistry.get(EnvioVentasMetersService.DESCARTADAS_METER_NAME).counter().count();
+
+        envioVentasService.despachar();
+        adelantarReintentos();
+        envioVentasService.despachar();
+        adelantarReintentos();
+
+        assertThat(envioVentasService.despachar()).isZero();
+        List<Map<String, Object>> envios = jdbcTemplate.queryForList("select intentos, proximo_intento, entregado from envio_venta");
+        assertThat(envios).singleElement().satisfies(fila -> {
+            assertThat(fila.get("INTENTOS")).isEqualTo(2);
+            assertThat(fila.get("PROXIMO_INTENTO")).isNull();
+            assertThat(fila.get("ENTREGADO")).isNull();
+        });
+        assertThat(meterRegistry.get(EnvioVentasMetersService.DESCARTADAS_METER_NAME).counter().count() - descartadasPrevias).isEqualTo(1);
+    }
+
+    @Test
+    void despacharNoGastaIntentosMientrasElCircuitoEstaAbierto() {
+        ApplicationProperties propiedadesCircuito = new ApplicationProperties();
+        propiedadesCircuito.getServicioExterno().getCircuito().setFallasParaAbrir(1);
+        CircuitoServicioExterno circuito = new CircuitoServicioExterno(
+            propiedadesCircuito,
+            new ServicioExternoMetersService(new SimpleMeterRegistry())
+        );
+        ReflectionTestUtils.setField(
+            envioVentasService,
+            "webClient",
+            WebClient.builder().baseUrl(servicioExterno.getBaseUrl()).filter(circuito).build()
+        );
+        applicationProperties.getEnvioVentas().setConcurrencia(1);
+        applicationProperties.getEnvioVentas().setIntentosMaximos(1);
+        servicioExterno.getVentas().setFallasSeguidas(Integer.MAX_VALUE);
+        for (long venta = 1; venta <= 3; venta++) {
+            envioVentasService.encolar(venta, Map.of("idDispositivo", venta));
+        }
+        double fallidosPrevios = intentosFallidos();
+        double descartadasPrevias = meterRegistry.get(EnvioVentasMetersService.DESCARTADAS_METER_NAME).counter().count();
+
+        Instant antes = Instant.now();
+        // La primera falla abre el circuito, que rechaza las otras dos sin enviarlas
+        assertThat(envioVentasService.despachar()).isEqualTo(1);
+
+        assertThat(servicioExterno.getVentas().getPedidos()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select proximo_intento from envio_venta where venta_id = 1", Timestamp.class)).isNull();
+        List<Map<String, Object>> rechazados = jdbcTemplate.queryForList(
+            "select intentos, proximo_intento, ultimo_error from envio_venta where venta_id in (2, 3)"
+        );
+        assertThat(rechazados).hasSize(2).allSatisfy(fila -> {
+            assertThat(fila.get("INTENTOS")).isEqualTo(0);
+            assertThat(fila.get("ULTIMO_ERROR")).isNull();
+            assertThat(((Timestamp) fila.get("PROXIMO_INTENTO")).toInstant()).isAfter(antes.plusSeconds(20));
+        });
+        assertThat(intentosFallidos() - fallidosPrevios).isEqualTo(1);
+        assertThat(meterRegistry.get(EnvioVentasMetersService.DESCARTADAS_METER_NAME).counter().count() - descartadasPrevias).isEqualTo(1);
+    }
+
+    private double intentosFallidos() {
+        return meterRegistry
+            .get(EnvioVentasMetersService.INTENTOS_METER_NAME)
+            .tag(EnvioVentasMetersService.INTENTOS_METER_RESULTADO_DIMENSION, "error")
+            .counter()
+            .count();
+    }
+
+    private void adelantarReintentos() {
+        jdbcTemplate.update(
+            "update envio_venta set proximo_intento = ? where proximo_intento is not null",
+            Timestamp.from(Instant.now().minusSeconds(1))
+        );
+    }
+}
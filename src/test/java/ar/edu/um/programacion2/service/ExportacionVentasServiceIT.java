@@ -0,0 +1,156 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.VentaExportadaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link ExportacionVentasService}.
+ */
+@IntegrationTest
+@Transactional
+class ExportacionVentasServiceIT {
+
+    private static final ZonedDateTime DESDE = ZonedDateTime.of(2001, 3, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final ZonedDateTime HASTA = DESDE.plusDays(2);
+
+    @Autowired
+    private ExportacionVentasService exportacionVentasService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    private Dispositivo dispositivo;
+
+    private Venta completa;
+
+    private Venta simple;
+
+    private Venta deOtroDispositivo;
+
+    @BeforeEach
+    void initVentas() {
+        dispositivo = dispositivo("EX-1", "1000.00").moneda(Moneda.ARS);
+        em.persist(dispositivo);
+        Personalizacion color = personalizacion(dispositivo, "Color");
+        em.persist(color);
+        Personalizacion memoria = personalizacion(dispositivo, "Memoria");
+        em.persist(memoria);
+        Opcion rojo = opcion(color, "EX-ROJO", "Rojo, \"oscuro\"", "10");
+        em.persist(rojo);
+        em.persist(opcion(color, "EX-AZUL", "Azul", "10").idExterno(2L));
+        Adicional funda = adicional(dispositivo, "Funda", "100.00", "-1");
+        em.persist(funda);
+        Adicional cargador = adicional(dispositivo, "Cargador", "100.00", "-1");
+        em.persist(cargador);
+        Dispositivo otro = dispositivo("EX-2", "1000.00").moneda(Moneda.ARS);
+        em.persist(otro);
+
+        completa = new Venta()
+            .fechaVenta(DESDE.plusHours(10))
+            .precioFinal(new BigDecimal("1500.00"))
+            .dispositivo(dispositivo)
+            .addPersonalizaciones(memoria)
+            .addPersonalizaciones(color)
+            .addOpciones(rojo)
+            .addAdicionales(funda)
+            .addAdicionales(cargador);
+        em.persist(completa);
+        simple = new Venta().fechaVenta(DESDE.plusDays(1).plusHours(10)).precioFinal(new BigDecimal("1000.00")).dispositivo(dispositivo);
+        em.persist(simple);
+        deOtroDispositivo = new Venta().fechaVenta(DESDE.plusHours(12)).precioFinal(new BigDecimal("10.50")).dispositivo(otro);
+        em.persist(deOtroDispositivo);
+        em.flush();
+    }
+
+    @Test
+    void exportarCsvAplanaPersonalizacionesYAdicionales() {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        long exportadas = exportacionVentasService.exportar(
+            DESDE,
+            HASTA,
+            dispositivo.getId(),
+            ExportacionVentasService.Formato.CSV,
+            salida
+        );
+
+        assertThat(exportadas).isEqualTo(2);
+        assertThat(salida.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+            "id,fechaVenta,dispositivoId,dispositivoCodigo,moneda,precioFinal,personalizaciones,adicionales",
+            completa.getId() +
+            ",2001-03-01T10:00:00Z," +
+            dispositivo.getId() +
+            ",EX-1,ARS,1500.00,\"Color=Rojo, \"\"oscuro\"\";Memoria\",Cargador;Funda",
+            simple.getId() + ",2001-03-02T10:00:00Z," + dispositivo.getId() + ",EX-1,ARS,1000.00,,"
+        );
+    }
+
+    @Test
+    void exportarNdjsonFiltraPorFecha() throws Exception {
+        assertThat(exportarNdjson(DESDE, HASTA, null)).extracting(VentaExportadaDTO::getId).containsExactly(
+            completa.getId(),
+            simple.getId(),
+            deOtroDispositivo.getId()
+        );
+        assertThat(exportarNdjson(DESDE.plusDays(1), HASTA, null)).extracting(VentaExportadaDTO::getId).containsExactly(simple.getId());
+        assertThat(exportarNdjson(DESDE, DESDE.plusHours(10), null)).isEmpty();
+    }
+
+    @Test
+    void exportarNdjsonIncluyeLasRelaciones() throws Exception {
+        List<VentaExportadaDTO> ventas = exportarNdjson(DESDE, DESDE.plusDays(1), dispositivo.getId());
+
+        assertThat(ventas).hasSize(1);
+        VentaExportadaDTO venta = ventas.get(0);
+        assertThat(venta.getFechaVenta()).isEqualTo(completa.getFechaVenta());
+        assertThat(venta.getDispositivoCodigo()).isEqualTo("EX-1");
+        assertThat(venta.getMoneda()).isEqualTo(Moneda.ARS);
+        assertThat(venta.getPrecioFinal()).isEqualByComparingTo("1500");
+        assertThat(venta.getPersonalizaciones())
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(
+                new VentaExportadaDTO.PersonalizacionExportada("Color", "Rojo, \"oscuro\""),
+                new VentaExportadaDTO.PersonalizacionExportada("Memoria", null)
+            );
+        assertThat(venta.getAdicionales()).containsExactly("Cargador", "Funda");
+    }
+
+    private List<VentaExportadaDTO> exportarNdjson(ZonedDateTime desde, ZonedDateTime hasta, Long dispositivoId) throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        exportacionVentasService.exportar(desde, hasta, dispositivoId, ExportacionVentasService.Formato.NDJSON, salida);
+        List<VentaExportadaDTO> ventas = new ArrayList<>();
+        for (String linea : salida.toString(StandardCharsets.UTF_8).lines().toList()) {
+            ventas.add(objectMapper.readValue(linea, VentaExportadaDTO.class));
+        }
+        return ventas;
+    }
+}
@@ -0,0 +1,238 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.web.rest.TestUtil.assertMaxSqlStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import ar.edu.um.programacion2.CatalogoDePrueba;
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.repository.DispositivoRepository;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import ar.edu.um.programacion2.web.rest.VentaResource;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link IdempotenciaVentasService}. The clave and its venta commit together, so the dispositivo
+ * is committed before the test and everything is deleted afterwards.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class IdempotenciaVentasServiceIT {
+
+    private static final String VENDER_URL = "/api/ventas/vender";
+
+    private static final ZonedDateTime FECHA = ZonedDateTime.of(2026, 10, 18, 12, 30, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private IdempotenciaVentasService idempotenciaVentasService;
+
+    @Autowired
+    private MotorPreciosService motorPreciosService;
+
+    @Autowired
+    private DispositivoRepository dispositivoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Dispositivo dispositivo;
+
+    @BeforeEach
+    void initDispositivo() {
+        dispositivo = dispositivoRepository.saveAndFlush(CatalogoDePrueba.dispositivo("IV-1", "1000.00"));
+        motorPreciosService.recargar();
+    }
+
+    @AfterEach
+    void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            String ventas = "select id from venta where dispositivo_id = " + dispositivo.getId();
+            jdbcTemplate.update("delete from clave_idempotencia_venta where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from clave_idempotencia_venta where venta_id not in (select id from venta)");
+            jdbcTemplate.update("delete from envio_venta where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from venta where id in (" + ventas + ")");
+            jdbcTemplate.update("delete from resumen_venta_dia where dispositivo_id = " + dispositivo.getId());
+            jdbcTemplate.update("delete from resumen_venta_dia_item where dispositivo_id = " + dispositivo.getId());
+        });
+        dispositivoRepository.delete(dispositivo);
+        motorPreciosService.invalidar();
+        cache().clear();
+    }
+
+    @Test
+    void registrarVentaRepetidaDevuelveLaOriginalSinRegistrarOtra() throws Exception {
+        String original = idempotenciaVentasService.registrarVenta(request(), "clave-1");
+
+        String repetida = assertMaxSqlStatements(0, () -> idempotenciaVentasService.registrarVenta(request(), "clave-1"));
+
+        assertThat(repetida).isEqualTo(original);
+        assertThat(contarVentas()).isEqualTo(1);
+        assertThat(contar("select count(*) from envio_venta where venta_id = ?", ventaId(original))).isEqualTo(1);
+    }
+
+    @Test
+    void registrarVentaRepetidaBuscaLaClaveEnLaBaseSiNoEstaEnCache() {
+        String original = idempotenciaVentasService.registrarVenta(request(), "clave-2");
+        cache().clear();
+
+        String repetida = idempotenciaVentasService.registrarVenta(request(), "clave-2");
+
+        assertThat(repetida).isEqualTo(original);
+        assertThat(contarVentas()).isEqualTo(1);
+    }
+
+    @Test
+    void registrarVentaConClaveUsadaPorOtroPedidoFalla() {
+        idempotenciaVentasService.registrarVenta(request(), "clave-3");
+        VentaRequest otra = request();
+        otra.setFechaVenta(FECHA.plusDays(1));
+
+        assertThatThrownBy(() -> idempotenciaVentasService.registrarVenta(otra, "clave-3")).isInstanceOf(
+            ClaveIdempotenciaReutilizadaException.class
+        );
+        cache().clear();
+        assertThatThrownBy(() -> idempotenciaVentasService.registrarVenta(otra, "clave-3")).isInstanceOf(
+            ClaveIdempotenciaReutilizadaException.class
+        );
+        assertThat(contarVentas()).isEqualTo(1);
+    }
+
+    @Test
+    void registrarVentaRepetidaDevuelveLaRespuestaOriginalAunqueLaVentaCambie() {
+        String original = idempotenciaVentasService.registrarVenta(request(), "clave-5");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update("update venta set precio_final = 1.00 where id = ?", ventaId(original))
+        );
+
+        assertThat(idempotenciaVentasService.registrarVenta(request(), "clave-5")).isEqualTo(original);
+        cache().clear();
+        assertThat(idempotenciaVentasService.registrarVenta(request(), "clave-5")).isEqualTo(original);
+    }
+
+    @Test
+    void registrarVentaRepetidaDeUnaVentaEliminadaDevuelveLaRespuestaOriginal() {
+        String original = idempotenciaVentasService.registrarVenta(request(), "clave-6");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from envio_venta where venta_id = ?", ventaId(original));
+            jdbcTemplate.update("delete from venta where id = ?", ventaId(original));
+        });
+        cache().clear();
+
+        assertThat(idempotenciaVentasService.registrarVenta(request(), "clave-6")).isEqualTo(original);
+        assertThat(contarVentas()).isZero();
+    }
+
+    @Test
+    @WithMockUser
+    void venderConLaMismaClaveRespondeLoMismoSinRegistrarOtra() throws Exception {
+        byte[] pedido = objectMapper.writeValueAsBytes(request());
+        String original = vender("clave-7", pedido)
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        vender("clave-7", pedido).andExpect(status().isOk()).andExpect(content().json(original, true));
+        vender(" ", pedido).andExpect(status().isBadRequest());
+        assertThat(contarVentas()).isEqualTo(1);
+    }
+
+    @Test
+    void registrarVentaConLaMismaClaveALaVezRegistraUnaSola() throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<String>> pedidos = List.of(
+                CompletableFuture.supplyAsync(() -> registrarAlLargar(largada, "clave-4"), executor),
+                CompletableFuture.supplyAsync(() -> registrarAlLargar(largada, "clave-4"), executor)
+            );
+            largada.countDown();
+
+            assertThat(pedidos.get(0).get()).isEqualTo(pedidos.get(1).get());
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(contarVentas()).isEqualTo(1);
+    }
+
+    private String registrarAlLargar(CountDownLatch largada, String clave) {
+        try {
+            largada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return idempotenciaVentasService.registrarVenta(request(), clave);
+    }
+
+    private ResultActions vender(String clave, byte[] pedido) throws Exception {
+        return mockMvc.perform(
+            post(VENDER_URL).header(VentaResource.IDEMPOTENCY_KEY_HEADER, clave).contentType(MediaType.APPLICATION_JSON).content(pedido)
+        );
+    }
+
+    private long ventaId(String venta) {
+        try {
+            return objectMapper.readTree(venta).get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long contarVentas() {
+        return contar("select count(*) from venta where dispositivo_id = ?", dispositivo.getId());
+    }
+
+    private long contar(String sql, Long id) {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject(sql, Long.class, id));
+    }
+
+    private org.springframework.cache.Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(IdempotenciaVentasService.VENTAS_POR_CLAVE_CACHE));
+    }
+
+    private VentaRequest request() {
+        VentaRequest request = CatalogoDePrueba.request(dispositivo, List.of(), List.of());
+        request.setFechaVenta(FECHA);
+        return request;
+    }
+}
@@ -0,0 +1,141 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.service.dto.CotizacionDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link MotorPreciosService}.
+ */
+@IntegrationTest
+@Transactional
+class MotorPreciosServiceIT {
+
+    @Autowired
+    private MotorPreciosService motorPreciosService;
+
+    @Autowired
+    private EntityManager em;
+
+    private Dispositivo dispositivo;
+
+    private Personalizacion color;
+
+    private Opcion rojo;
+
+    private Adicional funda;
+
+    private Adicional cargador;
+
+    private Dispositivo otroDispositivo;
+
+    private Adicional adicionalDeOtro;
+
+    @BeforeEach
+    void initCatalogo() {
+        dispositivo = dispositivo("MP-1", "1000.00");
+        em.persist(dispositivo);
+        color = personalizacion(dispositivo, "Color");
+        em.persist(color);
+        rojo = opcion(color, "MP-1-ROJO", "Rojo", "150.50");
+        em.persist(rojo);
+        funda = adicional(dispositivo, "Funda", "80.00", "1100.00");
+        em.persist(funda);
+        cargador = adicional(dispositivo, "Cargador", "40.00", "-1");
+        em.persist(cargador);
+
+        otroDispositivo = dispositivo("MP-2", "500.00");
+        em.persist(otroDispositivo);
+        adicionalDeOtro = adicional(otroDispositivo, "Funda", "10.00", "-1");
+        em.persist(adicionalDeOtro);
+        em.flush();
+        motorPreciosService.recargar();
+    }
+
+    @Test
+    void cotizarSumaRecargosYAplicaLaPromocion() {
+        CotizacionDTO cotizacion = motorPreciosService.cotizar(request(dispositivo, List.of(rojo), List.of(funda, cargador)));
+
+        assertThat(cotizacion.getMoneda()).isEqualTo(Moneda.USD);
+        assertThat(cotizacion.getPrecioBase()).isEqualByComparingTo("1000");
+        assertThat(cotizacion.getPersonalizaciones())
+            .singleElement()
+            .satisfies(p -> assertThat(p.getPrecio()).isEqualByComparingTo("150.50"));
+        // 1150.50 alcanza el umbral de 1100 de la funda; el cargador no tiene promoción
+        assertThat(cotizacion.getAdicionales()).extracting(CotizacionDTO.AdicionalCotizado::isGratis).containsExactly(true, false);
+        assertThat(cotizacion.getPrecioFinal()).isEqualByComparingTo("1190.50");
+    }
+
+    @Test
+    void cotizarCobraElAdicionalSiNoSeAlcanzaElUmbral() {
+        CotizacionDTO cotizacion = motorPreciosService.cotizar(request(dispositivo, List.of(), List.of(funda)));
+
+        assertThat(cotizacion.getAdicionales()).singleElement().satisfies(a -> {
+            assertThat(a.isGratis()).isFalse();
+            assertThat(a.getPrecio()).isEqualByComparingTo("80");
+        });
+        assertThat(cotizacion.getPrecioFinal()).isEqualByComparingTo("1080");
+    }
+
+    @Test
+    void cotizarRechazaElementosDeOtroDispositivo() {
+        assertThatThrownBy(() -> motorPreciosService.cotizar(request(dispositivo, List.of(), List.of(adicionalDeOtro))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("no pertenece al dispositivo");
+        assertThatThrownBy(() -> motorPreciosService.cotizar(request(otroDispositivo, List.of(rojo), List.of())))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("no pertenece al dispositivo");
+    }
+
+    @Test
+    void cotizarRechazaIdsInexistentes() {
+        Dispositivo inexistente = new Dispositivo();
+        inexistente.setId(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> motorPreciosService.cotizar(request(inexistente, List.of(), List.of())))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Dispositivo no encontrado con ID: " + Long.MAX_VALUE);
+    }
+
+    @Test
+    void recargarReflejaLosCambiosDelCatalogo() {
+        dispositivo.setPrecioBase(new BigDecimal("2000.00"));
+        em.flush();
+        assertThat(motorPreciosService.cotizar(request(dispositivo, List.of(), List.of())).getPrecioFinal()).isEqualByComparingTo("1000");
+
+        motorPreciosService.invalidar();
+
+        assertThat(motorPreciosService.cotizar(request(dispositivo, List.of(), List.of())).getPrecioFinal()).isEqualByComparingTo("2000");
+    }
+
+    @Test
+    void instantaneaNoCambiaAlRecargar() {
+        MotorPreciosService.Cotizador cotizador = motorPreciosService.instantanea();
+        dispositivo.setPrecioBase(new BigDecimal("2000.00"));
+        em.flush();
+
+        motorPreciosService.recargar();
+
+        assertThat(cotizador.cotizar(request(dispositivo, List.of(), List.of())).getPrecioFinal()).isEqualByComparingTo("1000");
+        assertThat(motorPreciosService.cotizar(request(dispositivo, List.of(), List.of())).getPrecioFinal()).isEqualByComparingTo("2000");
+    }
+}
@@ -0,0 +1,229 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.enumeration.Moneda;
+import ar.edu.um.programacion2.repository.AdicionalRepository;
+import ar.edu.um.programacion2.repository.CaracteristicaRepository;
+import ar.edu.um.programacion2.repository.DispositivoRepository;
+import ar.edu.um.programacion2.repository.OpcionRepository;
+import ar.edu.um.programacion2.repository.PersonalizacionRepository;
+import ar.edu.um.programacion2.service.dto.DispositivoExternoDTO;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link SincronizacionCatalogoService}.
+ */
+@IntegrationTest
+@Transactional
+class SincronizacionCatalogoServiceIT {
+
+    @Autowired
+    private SincronizacionCatalogoService sincronizacionCatalogoService;
+
+    @Autowired
+    private DispositivoRepository dispositivoRepository;
+
+    @Autowired
+    private CaracteristicaRepository caracteristicaRepository;
+
+    @Autowired
+    private PersonalizacionRepository personalizacionRepository;
+
+    @Autowired
+    private OpcionRepository opcionRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void sincronizarInsertaElCatalogoCompleto() {
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(crearCatalogo(3));
+
+        assertThat(resultado.getDispositivos().getInsertados()).isEqualTo(3);
+        assertThat(resultado.getCaracteristicas().getInsertados()).isEqualTo(3);
+        assertThat(resultado.getPersonalizaciones().getInsertados()).isEqualTo(6);
+        assertThat(resultado.getOpciones().getInsertados()).isEqualTo(12);
+        assertThat(resultado.getAdicionales().getInsertados()).isEqualTo(3);
+
+        Dispositivo dispositivo = dispositivoRepository.findByCodigo("SYNC-1").orElseThrow();
+        assertThat(dispositivo.getMoneda()).isEqualTo(Moneda.USD);
+        assertThat(dispositivo.getPrecioBase()).isEqualByComparingTo("1001");
+        Personalizacion personalizacion = personalizacionRepository.findByNombreAndDispositivo("Color", dispositivo).orElseThrow();
+        assertThat(opcionRepository.findByPersonalizacionId(personalizacion.getId())).extracting(Opcion::getCodigo).containsOnly(
+            "SYNC-1-Color-A",
+            "SYNC-1-Color-B"
+        );
+        assertThat(caracteristicaRepository.findByNombreAndDispositivo("Pantalla", dispositivo)).isPresent();
+        assertThat(adicionalRepository.findByNombreAndDispositivo("Funda", dispositivo)).isPresent();
+    }
+
+    @Test
+    void sincronizarSinCambiosNoEscribeFilas() {
+        sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+
+        assertThat(resultado.hayCambios()).isFalse();
+        assertThat(resultado.getSubarbolesOmitidos()).isEqualTo(2);
+        assertThat(resultado.getSubarbolesReescritos()).isZero();
+        assertThat(resultado.getDispositivos().getSinCambios()).isEqualTo(2);
+        // Los subárboles omitidos no se comparan fila por fila
+        assertThat(resultado.getOpciones().getSinCambios()).isZero();
+        assertThat(resultado.getAdicionales().getSinCambios()).isZero();
+    }
+
+    @Test
+    void sincronizarOmiteLosSubarbolesConLaMismaHuella() {
+        sincronizacionCatalogoService.sincronizar(crearCatalogo(3));
+        List<DispositivoExternoDTO> catalogo = crearCatalogo(3);
+        catalogo.get(2).getAdicionales().get(0).setPrecio(new BigDecimal("30"));
+
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(catalogo);
+
+        assertThat(resultado.getSubarbolesOmitidos()).isEqualTo(2);
+        assertThat(resultado.getSubarbolesReescritos()).isEqualTo(1);
+        assertThat(resultado.getAdicionales().getActualizados()).isEqualTo(1);
+        assertThat(resultado.getOpciones().getSinCambios()).isEqualTo(4);
+        assertThat(dispositivoRepository.findByCodigo("SYNC-3").orElseThrow().getHashContenido()).isNotEqualTo(
+            dispositivoRepository.findByCodigo("SYNC-1").orElseThrow().getHashContenido()
+        );
+    }
+
+    @Test
+    void sincronizarActualizaSoloLasFilasModificadas() {
+        sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+        List<DispositivoExternoDTO> catalogo = crearCatalogo(2);
+        catalogo.get(0).getPersonalizaciones().get(0).getOpciones().get(0).setPrecioAdicional(new BigDecimal("99.50"));
+        catalogo.get(1).setNombre("Renombrado");
+
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(catalogo);
+
+        assertThat(resultado.getSubarbolesReescritos()).isEqualTo(2);
+        assertThat(resultado.getDispositivos().getActualizados()).isEqualTo(2);
+        assertThat(resultado.getOpciones().getActualizados()).isEqualTo(1);
+        assertThat(resultado.getOpciones().getSinCambios()).isEqualTo(7);
+        assertThat(resultado.getCaracteristicas().hayCambios()).isFalse();
+        assertThat(dispositivoRepository.findByCodigo("SYNC-2").orElseThrow().getNombre()).isEqualTo("Renombrado");
+    }
+
+    @Test
+    void sincronizarCorrigeLaEdicionLocalDeUnDispositivo() {
+        sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+        Dispositivo dispositivo = dispositivoRepository.findByCodigo("SYNC-2").orElseThrow();
+        dispositivoRepository.saveAndFlush(dispositivo.nombre("Editado localmente"));
+        em.clear();
+
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+
+        assertThat(resultado.getSubarbolesOmitidos()).isEqualTo(1);
+        assertThat(resultado.getSubarbolesReescritos()).isEqualTo(1);
+        em.clear();
+        assertThat(dispositivoRepository.findByCodigo("SYNC-2").orElseThrow().getNombre()).isEqualTo("Dispositivo 2");
+    }
+
+    @Test
+    void sincronizarCorrigeLaEdicionLocalDeUnaOpcion() {
+        sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+        Dispositivo dispositivo = dispositivoRepository.findByCodigo("SYNC-1").orElseThrow();
+        Personalizacion personalizacion = personalizacionRepository.findByNombreAndDispositivo("Color", dispositivo).orElseThrow();
+        Opcion opcion = opcionRepository.findByPersonalizacionId(personalizacion.getId()).get(0);
+        opcionRepository.saveAndFlush(opcion.precioAdicional(BigDecimal.ONE));
+        em.clear();
+
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+
+        assertThat(resultado.getSubarbolesReescritos()).isEqualTo(1);
+        assertThat(resultado.getOpciones().getActualizados()).isEqualTo(1);
+        em.clear();
+        assertThat(opcionRepository.findById(opcion.getId()).orElseThrow().getPrecioAdicional()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void sincronizarCorrigeUnaOpcionMovidaAOtroDispositivo() {
+        sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+        Dispositivo origen = dispositivoRepository.findByCodigo("SYNC-1").orElseThrow();
+        Dispositivo destino = dispositivoRepository.findByCodigo("SYNC-2").orElseThrow();
+        Personalizacion color = personalizacionRepository.findByNombreAndDispositivo("Color", origen).orElseThrow();
+        Opcion opcion = opcionRepository.findByPersonalizacionId(color.getId()).get(0);
+        opcionRepository.saveAndFlush(
+            opcion.personalizacion(personalizacionRepository.findByNombreAndDispositivo("Color", destino).orElseThrow())
+        );
+        em.clear();
+
+        ResultadoSincronizacionDTO resultado = sincronizacionCatalogoService.sincronizar(crearCatalogo(2));
+
+        // Se reescriben el dispositivo al que llegó la opción y también el que la perdió
+        assertThat(resultado.getSubarbolesReescritos()).isEqualTo(2);
+        assertThat(resultado.getOpciones().getInsertados()).isEqualTo(1);
+        em.clear();
+        assertThat(opcionRepository.findByPersonalizacionId(color.getId())).extracting(Opcion::getCodigo).containsOnly(
+            "SYNC-1-Color-A",
+            "SYNC-1-Color-B"
+        );
+    }
+
+    private static List<DispositivoExternoDTO> crearCatalogo(int cantidad) {
+        List<DispositivoExternoDTO> catalogo = new ArrayList<>();
+        for (long i = 1; i <= cantidad; i++) {
+            DispositivoExternoDTO dispositivo = new DispositivoExternoDTO();
+            dispositivo.setId(i);
+            dispositivo.setCodigo("SYNC-" + i);
+            dispositivo.setNombre("Dispositivo " + i);
+            dispositivo.setDescripcion("Descripción " + i);
+            dispositivo.setPrecioBase(BigDecimal.valueOf(1000 + i));
+            dispositivo.setMoneda("USD");
+
+            DispositivoExternoDTO.CaracteristicaDTO caracteristica = new DispositivoExternoDTO.CaracteristicaDTO();
+            caracteristica.setId(i);
+            caracteristica.setNombre("Pantalla");
+            caracteristica.setDescripcion("6 pulgadas");
+            dispositivo.setCaracteristicas(List.of(caracteristica));
+
+            List<DispositivoExternoDTO.PersonalizacionDTO> personalizaciones = new ArrayList<>();
+            for (String nombre : List.of("Color", "Memoria")) {
+                DispositivoExternoDTO.PersonalizacionDTO personalizacion = new DispositivoExternoDTO.PersonalizacionDTO();
+                personalizacion.setId(i);
+                personalizacion.setNombre(nombre);
+                personalizacion.setDescripcion(nombre + " del dispositivo");
+                List<DispositivoExternoDTO.OpcionDTO> opciones = new ArrayList<>();
+                for (String sufijo : List.of("A", "B")) {
+                    DispositivoExternoDTO.OpcionDTO opcion = new DispositivoExternoDTO.OpcionDTO();
+                    opcion.setId(i);
+                    opcion.setCodigo(dispositivo.getCodigo() + "-" + nombre + "-" + sufijo);
+                    opcion.setNombre(nombre + " " + sufijo);
+                    opcion.setDescripcion("Opción " + sufijo);
+                    opcion.setPrecioAdicional(new BigDecimal("10.00"));
+                    opciones.add(opcion);
+                }
+                personalizacion.setOpciones(opciones);
+                personalizaciones.add(personalizacion);
+            }
+            dispositivo.setPersonalizaciones(personalizaciones);
+
+            DispositivoExternoDTO.AdicionalDTO adicional = new DispositivoExternoDTO.AdicionalDTO();
+            adicional.setId(i);
+            adicional.setNombre("Funda");
+            adicional.setDescripcion("Funda protectora");
+            adicional.setPrecio(new BigDecimal("25"));
+            adicional.setPrecioGratis(new BigDecimal("-1"));
+            dispositivo.setAdicionales(List.of(adicional));
+            catalogo.add(dispositivo);
+        }
+        return catalogo;
+    }
+}
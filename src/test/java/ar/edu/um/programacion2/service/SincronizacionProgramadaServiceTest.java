@@ -0,0 +1,172 @@
+package ar.edu.um.programacion2.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import ar.edu.um.programacion2.config.ApplicationProperties;
+import ar.edu.um.programacion2.management.CatalogoMetersService;
+import ar.edu.um.programacion2.service.dto.ResultadoSincronizacionDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+
+class SincronizacionProgramadaServiceTest {
+
+    private DispositivoService dispositivoService;
+
+    private MotorPreciosService motorPreciosService;
+
+    private InstantaneaCatalogoService instantaneaCatalogoService;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private MockClock clock;
+
+    private SincronizacionProgramadaService sincronizacionProgramadaService;
+
+    @BeforeEach
+    void setUp() {
+        dispositivoService = mock(DispositivoService.class);
+        motorPreciosService = mock(MotorPreciosService.class);
+        instantaneaCatalogoService = mock(InstantaneaCatalogoService.class);
+        applicationProperties = new ApplicationProperties();
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        sincronizacionProgramadaService = new SincronizacionProgramadaService(
+            dispositivoService,
+            applicationProperties,
+            new CatalogoMetersService(meterRegistry),
+            motorPreciosService,
+            instantaneaCatalogoService
+        );
+    }
+
+    @Test
+    void sincronizarEnModoBatchRegistraDuracionYRetraso() {
+        ResultadoSincronizacionDTO resultado = new ResultadoSincronizacionDTO();
+        when(dispositivoService.sincronizarCatalogo()).thenReturn(resultado);
+        assertThat(meterRegistry.get(CatalogoMetersService.RETRASO_METER_NAME).gauge().value()).isNaN();
+
+        assertThat(sincronizacionProgramadaService.sincronizar()).contains(resultado);
+        clock.add(Duration.ofSeconds(90));
+
+        verify(dispositivoService, never()).traerDispositivos();
+        // Sin cambios en el catálogo no hace falta reconstruir la tabla de precios
+        verify(motorPreciosService, never()).recargar();
+        verify(instantaneaCatalogoService, never()).recargar();
+        assertThat(meterRegistry.get(CatalogoMetersService.DURACION_METER_NAME).tag("resultado", "exito").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CatalogoMetersService.RETRASO_METER_NAME).gauge().value()).isEqualTo(90.0);
+    }
+
+    @Test
+    void sincronizarConCambiosRecargaLaTablaDePreciosYLaInstantanea() {
+        ResultadoSincronizacionDTO resultado = new ResultadoSincronizacionDTO();
+        resultado.getOpciones().setActualizados(1);
+        when(dispositivoService.sincronizarCatalogo()).thenReturn(resultado);
+
+        sincronizacionProgramadaService.sincronizar();
+
+        verify(motorPreciosService).recargar();
+        verify(instantaneaCatalogoService).recargar();
+    }
+
+    @Test
+    void sincronizarEnModoIndividualUsaLosRepositorios() {
+        applicationProperties.getSincronizacion().setModo(ApplicationProperties.Sincronizacion.Modo.INDIVIDUAL);
+
+        assertThat(sincronizacionProgramadaService.sincronizar()).isPresent();
+
+        verify(dispositivoService).traerDispositivos();
+        verify(dispositivoService, never()).sincronizarCatalogo();
+    }
+
+    @Test
+    void sincronizarDescartaLaEjecucionSiHayOtraEnCurso() throws Exception {
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(dispositivoService.sincronizarCatalogo()).thenAnswer(invocation -> {
+            enCurso.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return new ResultadoSincronizacionDTO();
+        });
+        CompletableFuture<Optional<ResultadoSincronizacionDTO>> primera = CompletableFuture.supplyAsync(
+            sincronizacionProgramadaService::sincronizar
+        );
+        assertThat(enCurso.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sincronizacionProgramadaService.sincronizar()).isEmpty();
+
+        liberar.countDown();
+        assertThat(primera.get(5, TimeUnit.SECONDS)).isPresent();
+        verify(dispositivoService, times(1)).sincronizarCatalogo();
+        assertThat(meterRegistry.get(CatalogoMetersService.SUPERPUESTAS_METER_NAME).counter().count()).isEqualTo(1);
+        // Terminada la primera, la siguiente vuelve a ejecutarse
+        assertThat(sincronizacionProgramadaService.sincronizar()).isPresent();
+    }
+
+    @Test
+    void sincronizarPropagaLaFallaYRegistraLaDuracion() {
+        when(dispositivoService.sincronizarCatalogo()).thenThrow(new IllegalStateException("servicio externo caído"));
+
+        assertThatThrownBy(() -> sincronizacionProgramadaService.sincronizar()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(CatalogoMetersService.DURACION_METER_NAME).tag("resultado", "error").timer().count()).isEqualTo(1);
+        // Los lotes confirmados antes de la falla pueden haber cambiado precios
+        verify(motorPreciosService).invalidar();
+        verify(instantaneaCatalogoService).invalidar();
+        // La falla libera la ejecución
+        doReturn(new ResultadoSincronizacionDTO()).when(dispositivoService).sincronizarCatalogo();
+        assertThat(sincronizacionProgramadaService.sincronizar()).isPresent();
+    }
+
+    @Test
+    void sincronizarProgramadaAplicaBackoffExponencialTrasFallas() {
+        ApplicationProperties.Sincronizacion sincronizacion = applicationProperties.getSincronizacion();
+        sincronizacion.setIntervalo(Duration.ofMinutes(2));
+        sincronizacion.setBackoffInicial(Duration.ofSeconds(30));
+        sincronizacion.setBackoffMaximo(Duration.ofMinutes(3));
+        when(dispositivoService.sincronizarCatalogo()).thenThrow(new IllegalStateException("servicio externo caído"));
+
+        assertThat(sincronizacionProgramadaService.demoraHastaLaProxima()).isEqualTo(Duration.ofMinutes(2));
+        sincronizacionProgramadaService.sincronizarProgramada();
+        assertThat(sincronizacionProgramadaService.demoraHastaLaProxima()).isEqualTo(Duration.ofSeconds(30));
+        sincronizacionProgramadaService.sincronizarProgramada();
+        assertThat(sincronizacionProgramadaService.demoraHastaLaProxima()).isEqualTo(Duration.ofSeconds(60));
+        sincronizacionProgramadaService.sincronizarProgramada();
+        assertThat(sincronizacionProgramadaService.demoraHastaLaProxima()).isEqualTo(Duration.ofSeconds(120));
+        sincronizacionProgramadaService.sincronizarProgramada();
+        assertThat(sincronizacionProgramadaService.demoraHastaLaProxima()).isEqualTo(Duration.ofMinutes(3));
+
+        doReturn(new ResultadoSincronizacionDTO()).when(dispositivoService).sincronizarCatalogo();
+        sincronizacionProgramadaService.sincronizarProgramada();
+        assertThat(sincronizacionProgramadaService.demoraHastaLaProxima()).isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void proximaEjecucionSeCuentaDesdeElFinDeLaAnterior() {
+        applicationProperties.getSincronizacion().setRetrasoInicial(Duration.ofSeconds(10));
+        Instant ahora = Instant.parse("2026-10-18T10:00:00Z");
+        SimpleTriggerContext triggerContext = new SimpleTriggerContext(Clock.fixed(ahora, ZoneOffset.UTC));
+
+        assertThat(sincronizacionProgramadaService.proximaEjecucion(triggerContext)).isEqualTo(ahora.plusSeconds(10));
+
+        Instant fin = ahora.plus(Duration.ofMinutes(5));
+        triggerContext.update(ahora.plusSeconds(10), ahora.plusSeconds(10), fin);
+        assertThat(sincronizacionProgramadaService.proximaEjecucion(triggerContext)).isEqualTo(fin.plus(Duration.ofMinutes(2)));
+    }
+}
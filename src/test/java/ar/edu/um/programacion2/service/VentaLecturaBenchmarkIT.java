@@ -0,0 +1,237 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.repository.AdicionalRepository;
+import ar.edu.um.programacion2.repository.DispositivoRepository;
+import ar.edu.um.programacion2.repository.OpcionRepository;
+import ar.edu.um.programacion2.repository.PersonalizacionRepository;
+import ar.edu.um.programacion2.repository.VentaRepository;
+import ar.edu.um.programacion2.service.dto.VentaDTO;
+import ar.edu.um.programacion2.service.mapper.VentaMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the two ways of reading a page of ventas with their relationships: the bag fetching of
+ * {@link VentaRepository#findAllWithEagerRelationships(org.springframework.data.domain.Pageable)} mapped with
+ * {@link VentaMapper}, and the flat tuples of {@link VentaService#findAllWithEagerRelationships}.
+ * <p>
+ * It loads {@code benchmark.ventas} ventas (100k by default), so it only runs on demand:
+ * {@code ./mvnw verify -Dit.test=VentaLecturaBenchmarkIT -Dbenchmark=true}. Run it with the {@code testprod} profile
+ * to measure against MySQL instead of H2.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VentaLecturaBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VentaLecturaBenchmarkIT.class);
+
+    private static final int VENTAS = Integer.getInteger("benchmark.ventas", 100_000);
+
+    private static final int RELACIONADOS = 5;
+
+    private static final int TAMANIO_LOTE = 1_000;
+
+    private static final int CALENTAMIENTO = 20;
+
+    private static final int ITERACIONES = 200;
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private VentaMapper ventaMapper;
+
+    @Autowired
+    private DispositivoRepository dispositivoRepository;
+
+    @Autowired
+    private PersonalizacionRepository personalizacionRepository;
+
+    @Autowired
+    private OpcionRepository opcionRepository;
+
+    @Autowired
+    private AdicionalRepository adicionalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Dispositivo dispositivo;
+
+    private final List<Personalizacion> personalizaciones = new ArrayList<>();
+
+    private final List<Opcion> opciones = new ArrayList<>();
+
+    private final List<Adicional> adicionales = new ArrayList<>();
+
+    private final Random random = new Random(42);
+
+    @BeforeEach
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void cargarVentas() {
+        dispositivo = dispositivoRepository.saveAndFlush(dispositivo("BENCH-1", "1000.00"));
+        for (int i = 0; i < RELACIONADOS; i++) {
+            Personalizacion personalizacion = personalizacionRepository.saveAndFlush(
+                personalizacion(dispositivo, "P" + i).idExterno((long) i)
+            );
+            personalizaciones.add(personalizacion);
+            opciones.add(opcionRepository.saveAndFlush(opcion(personalizacion, "BENCH-O" + i, "O" + i, "10").idExterno((long) i)));
+            adicionales.add(adicionalRepository.saveAndFlush(adicional(dispositivo, "A" + i, "1", "-1").idExterno((long) i)));
+        }
+
+        long inicio = System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int desde = 0; desde < VENTAS; desde += TAMANIO_LOTE) {
+            int cantidad = Math.min(TAMANIO_LOTE, VENTAS - desde);
+            transactionTemplate.executeWithoutResult(status -> insertarLote(cantidad));
+        }
+        LOG.info("Cargadas {} ventas en {} ms", VENTAS, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void insertarLote(int cantidad) {
+        Timestamp fecha = Timestamp.from(Instant.now());
+        List<Object[]> ventas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            ventas.add(new Object[] { fecha, new BigDecimal("1234.00"), dispositivo.getId() });
+        }
+        jdbcTemplate.batchUpdate("insert into venta (fecha_venta, precio_final, dispositivo_id) values (?, ?, ?)", ventas);
+        List<Long> ids = jdbcTemplate.queryForList(
+            "select id from venta where dispositivo_id = ? order by id desc limit ?",
+            Long.class,
+            dispositivo.getId(),
+            cantidad
+        );
+        // Cada venta elige tres personalizaciones con su opción y dos adicionales
+        List<Object[]> conPersonalizacion = new ArrayList<>();
+        List<Object[]> conOpcion = new ArrayList<>();
+        List<Object[]> conAdicional = new ArrayList<>();
+        for (Long id : ids) {
+            for (int i = 0; i < 3; i++) {
+                int elegida = (int) ((id + i) % RELACIONADOS);
+                conPersonalizacion.add(new Object[] { id, personalizaciones.get(elegida).getId() });
+                conOpcion.add(new Object[] { id, opciones.get(elegida).getId() });
+            }
+            for (int i = 0; i < 2; i++) {
+                conAdicional.add(new Object[] { id, adicionales.get((int) ((id + i) % RELACIONADOS)).getId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "insert into rel_venta__personalizaciones (venta_id, personalizaciones_id) values (?, ?)",
+            conPersonalizacion
+        );
+        jdbcTemplate.batchUpdate("insert into rel_venta__opciones (venta_id, opciones_id) values (?, ?)", conOpcion);
+        jdbcTemplate.batchUpdate("insert into rel_venta__adicionales (venta_id, adicionales_id) values (?, ?)", conAdicional);
+    }
+
+    @AfterEach
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            String ventas = "select id from venta where dispositivo_id = " + dispositivo.getId();
+            jdbcTemplate.update("delete from rel_venta__personalizaciones where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from rel_venta__opciones where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from rel_venta__adicionales where venta_id in (" + ventas + ")");
+            jdbcTemplate.update("delete from venta where dispositivo_id = " + dispositivo.getId());
+        });
+        opcionRepository.deleteAll(opciones);
+        personalizacionRepository.deleteAll(personalizaciones);
+        adicionalRepository.deleteAll(adicionales);
+        dispositivoRepository.delete(dispositivo);
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void compararLecturaDePaginasConRelaciones() {
+        TransactionTemplate soloLectura = new TransactionTemplate(transactionManager);
+        soloLectura.setReadOnly(true);
+        for (int tamanio : new int[] { 20, 100 }) {
+            int paginas = VENTAS / tamanio;
+            PageRequest muestra = PageRequest.of(paginas / 2, tamanio, Sort.by("id"));
+            assertThat(ventaService.findAllWithEagerRelationships(muestra).getContent())
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .isEqualTo(soloLectura.execute(status -> ventaRepository.findAllWithEagerRelationships(muestra).map(ventaMapper::toDto)));
+
+            Resultado entidades = medir(tamanio, () ->
+                soloLectura.execute(status ->
+                    ventaRepository.findAllWithEagerRelationships(pagina(paginas, tamanio)).map(ventaMapper::toDto).getContent()
+                )
+            );
+            Resultado tuplas = medir(tamanio, () ->
+                ventaService.findAllWithEagerRelationships(pagina(paginas, tamanio)).getContent()
+            );
+            LOG.info("{} ventas, páginas de {}: entidades {}; tuplas {}", VENTAS, tamanio, entidades, tuplas);
+        }
+    }
+
+    private PageRequest pagina(int paginas, int tamanio) {
+        return PageRequest.of(random.nextInt(paginas), tamanio, Sort.by("id"));
+    }
+
+    private Resultado medir(int tamanio, Supplier<List<VentaDTO>> lectura) {
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            assertThat(lectura.get()).hasSize(tamanio);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            lectura.get();
+        }
+        long nanos = System.nanoTime() - inicio;
+        long consultas = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+        return new Resultado(nanos / 1_000_000.0 / ITERACIONES, (double) consultas / ITERACIONES);
+    }
+
+    private record Resultado(double milisegundos, double consultas) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.2f ms y %.1f consultas por página", milisegundos, consultas);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package ar.edu.um.programacion2.service;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Adicional;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.domain.Venta;
+import ar.edu.um.programacion2.repository.VentaRepository;
+import ar.edu.um.programacion2.service.dto.VentaDTO;
+import ar.edu.um.programacion2.service.dto.VentaRequest;
+import ar.edu.um.programacion2.service.mapper.VentaMapper;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link VentaService}.
+ */
+@IntegrationTest
+@Transactional
+class VentaServiceIT {
+
+    private static final int CANTIDAD = 10;
+
+    @Autowired
+    private VentaService ventaService;
+
+    @Autowired
+    private MotorPreciosService motorPreciosService;
+
+    @Autowired
+    private VentaRepository ventaRepository;
+
+    @Autowired
+    private VentaMapper ventaMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    private Dispositivo dispositivo;
+
+    private final List<Opcion> opciones = new ArrayList<>();
+
+    private final List<Adicional> adicionales = new ArrayList<>();
+
+    @BeforeEach
+    void initCatalogo() {
+        dispositivo = dispositivo("VS-1", "1000.00");
+        em.persist(dispositivo);
+        for (int i = 0; i < CANTIDAD; i++) {
+            Personalizacion personalizacion = personalizacion(dispositivo, "P" + i).idExterno((long) i);
+            em.persist(personalizacion);
+            Opcion opcion = opcion(personalizacion, "O" + i, "O" + i, "10").idExterno((long) i);
+            em.persist(opcion);
+            opciones.add(opcion);
+            Adicional adicional = adicional(dispositivo, "A" + i, "1", "-1");
+            em.persist(adicional);
+            adicionales.add(adicional);
+        }
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void cargarReferenciasUsaUnaConsultaPorTipoDeEntidad() {
+        VentaService.ReferenciasVenta referencias = ventaService.cargarReferencias(request(dispositivo, opciones, adicionales));
+
+        assertThat(referencias.personalizaciones).hasSize(CANTIDAD);
+        assertThat(referencias.opciones).hasSize(CANTIDAD);
+        assertThat(referencias.adicionales).hasSize(CANTIDAD);
+        // Dispositivo, personalizaciones, opciones y adicionales, sin importar cuántos pida la venta
+        assertThat(statistics.getPrepareStatementCount()).isBetween(1L, 4L);
+    }
+
+    @Test
+    void registrarVentaCotizaConLasEntidadesQueValido() {
+        motorPreciosService.recargar();
+        // Por fuera de Hibernate: la tabla del motor conserva el precio anterior
+        jdbcTemplate.update("update opcion set precio_adicional = 20 where id = ?", opciones.get(0).getId());
+
+        Venta venta = ventaService.registrarVenta(request(dispositivo, opciones, adicionales));
+
+        assertThat(venta.getPrecioFinal()).isEqualByComparingTo("1120");
+    }
+
+    @Test
+    void registrarVentaLaEncolaEnLaMismaTransaccion() {
+        motorPreciosService.recargar();
+
+        Venta venta = ventaService.registrarVenta(request(dispositivo, opciones, adicionales));
+
+        String payload = jdbcTemplate.queryForObject("select payload from envio_venta where venta_id = ?", String.class, venta.getId());
+        assertThat(payload).contains("\"idDispositivo\":1").contains("\"precioFinal\":1110");
+    }
+
+    @Test
+    void registrarVentaGuardaLaOpcionElegidaYArmaElEnvioSinConsultasPorPersonalizacion() {
+        motorPreciosService.recargar();
+        statistics.clear();
+
+        Venta venta = ventaService.registrarVenta(request(dispositivo, opciones, adicionales));
+        em.flush();
+
+        // Sólo las consultas de cargarReferencias: el envío se arma sin buscar las opciones de cada personalización
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(jdbcTemplate.queryForList("select opciones_id from rel_venta__opciones where venta_id = ?", Long.class, venta.getId()))
+            .containsExactlyInAnyOrderElementsOf(opciones.stream().map(Opcion::getId).toList());
+        String payload = jdbcTemplate.queryForObject("select payload from envio_venta where venta_id = ?", String.class, venta.getId());
+        assertThat(payload).contains("\"opcion\":{\"id\":3}").contains("\"opcion\":{\"id\":9}");
+    }
+
+    @Test
+    void findAllWithEagerRelationshipsArmaLosDtoSinHidratarEntidades() {
+        motorPreciosService.recargar();
+        ventaService.registrarVenta(request(dispositivo, opciones, adicionales));
+        ventaService.registrarVenta(request(dispositivo, opciones.subList(0, 2), List.of()));
+        em.flush();
+        em.clear();
+        PageRequest pagina = PageRequest.of(0, 2, Sort.by("id").descending());
+        statistics.clear();
+
+        Page<VentaDTO> ventas = ventaService.findAllWithEagerRelationships(pagina);
+
+        // La página, el total y las tres tablas de relación en una sola consulta
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(ventas.getContent())
+            .usingRecursiveComparison()
+            .ignoringCollectionOrder()
+            .isEqualTo(ventaRepository.findAllWithEagerRelationships(pagina).map(ventaMapper::toDto).getContent());
+        assertThat(ventas.getContent().get(0).getOpciones()).hasSize(2);
+        assertThat(ventas.getContent().get(1).getAdicionales()).hasSize(CANTIDAD);
+    }
+
+    @Test
+    void findAllLeeLosDtoSinCargarEntidades() {
+        motorPreciosService.recargar();
+        Venta venta = ventaService.registrarVenta(request(dispositivo, opciones, adicionales));
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        Page<VentaDTO> ventas = ventaService.findAll(PageRequest.of(0, 20, Sort.by("id").descending()));
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        VentaDTO leida = ventas.getContent().get(0);
+        assertThat(leida.getId()).isEqualTo(venta.getId());
+        assertThat(leida.getPrecioFinal()).isEqualByComparingTo(venta.getPrecioFinal());
+        assertThat(leida.getDispositivo().getId()).isEqualTo(dispositivo.getId());
+    }
+
+    @Test
+    void cargarReferenciasRechazaAdicionalesDeOtroDispositivo() {
+        Dispositivo otro = dispositivo("VS-2", "1000.00");
+        em.persist(otro);
+        Adicional ajeno = adicional(otro, "Ajeno", "1", "-1");
+        em.persist(ajeno);
+        List<Adicional> conAjeno = new ArrayList<>(adicionales);
+        conAjeno.add(ajeno);
+
+        assertThatThrownBy(() -> ventaService.registrarVenta(request(dispositivo, opciones, conAjeno)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("El adicional con ID " + ajeno.getId() + " no pertenece al dispositivo con ID: " + dispositivo.getId());
+    }
+
+    @Test
+    void cargarReferenciasRechazaOpcionesDeOtraPersonalizacion() {
+        VentaRequest request = request(dispositivo, opciones, List.of());
+        request.getPersonalizaciones().get(0).getOpcion().setId(opciones.get(1).getId());
+
+        assertThatThrownBy(() -> ventaService.cargarReferencias(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("no pertenece a la personalización");
+    }
+
+    @Test
+    void cargarReferenciasRechazaIdsInexistentes() {
+        VentaRequest request = request(dispositivo, List.of(), adicionales);
+        request.getAdicionales().get(0).setId(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> ventaService.cargarReferencias(request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Adicional no encontrado con ID: " + Long.MAX_VALUE);
+    }
+}
@@ -1,27 +1,28 @@
 package ar.edu.um.programacion2.service;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Opcion;
+import ar.edu.um.programacion2.domain.Personalizacion;
 import ar.edu.um.programacion2.domain.Venta;
 import ar.edu.um.programacion2.repository.*;
+import ar.edu.um.programacion2.service.dto.CotizacionDTO;
+import ar.edu.um.programacion2.service.dto.VentaExternaDTO;
 import ar.edu.um.programacion2.service.dto.VentaRequest;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 @ExtendWith(MockitoExtension.class)
 class VentaServiceTest {
@@ -42,54 +43,19 @@ class VentaServiceTest {
     private AdicionalRepository adicionalRepository;
 
     @Mock
-    private WebClient.Builder webClientBuilder;
+    private MotorPreciosService motorPreciosService;
 
-    @InjectMocks
-    private VentaService ventaService;
-
-    // Variable para almacenar el mock que necesitamos verificar
-    private WebClient.RequestBodyUriSpec requestBodyUriSpecMock;
+    @Mock
+    private EnvioVentasService envioVentasService;
 
-    @BeforeEach
-    void setUp() {
-        // Establecer valores en el servicio
-        ReflectionTestUtils.setField(ventaService, "baseUrl", "http://mockurl.com");
-        ReflectionTestUtils.setField(ventaService, "apiToken", "mock-token");
-        // Otras configuraciones comunes a todos los tests
-    }
+    @Mock
+    private AnaliticaVentasService analiticaVentasService;
 
-    // Método para configurar el WebClient mockeado y evitar redundancias
-    private void configurarWebClientMock() {
-        // Configurar los mocks del WebClient.Builder
-        when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
-        when(webClientBuilder.defaultHeader(anyString(), anyString())).thenReturn(webClientBuilder);
-
-        // Mockear el WebClient
-        WebClient webClientMock = Mockito.mock(WebClient.class);
-        when(webClientBuilder.build()).thenReturn(webClientMock);
-
-        // Mockear las etapas del WebClient
-        requestBodyUriSpecMock = Mockito.mock(WebClient.RequestBodyUriSpec.class);
-        WebClient.RequestBodySpec requestBodySpecMock = Mockito.mock(WebClient.RequestBodySpec.class);
-        WebClient.RequestHeadersSpec<?> requestHeadersSpecMock = Mockito.mock(WebClient.RequestHeadersSpec.class);
-        WebClient.ResponseSpec responseSpecMock = Mockito.mock(WebClient.ResponseSpec.class);
-
-        // Configurar el flujo del WebClient
-        when(webClientMock.post()).thenReturn(requestBodyUriSpecMock);
-        when(requestBodyUriSpecMock.uri(anyString())).thenReturn(requestBodySpecMock);
-        Mockito.<WebClient.RequestHeadersSpec<?>>when(requestBodySpecMock.bodyValue(any())).thenReturn(requestHeadersSpecMock);
-        when(requestHeadersSpecMock.retrieve()).thenReturn(responseSpecMock);
-        when(responseSpecMock.bodyToMono(String.class)).thenReturn(Mono.just("Mock Response"));
-
-        // Inicializar el WebClient en el servicio
-        ventaService.initWebClient();
-    }
+    @InjectMocks
+    private VentaService ventaService;
 
     @Test
     void testRegistrarVenta_Success() {
-        // Configurar el WebClient mockeado
-        configurarWebClientMock();
-
         // Datos de entrada
         VentaRequest request = new VentaRequest();
         request.setIdDispositivo(1L);
@@ -98,8 +64,11 @@ class VentaServiceTest {
         dispositivo.setId(1L);
         dispositivo.setPrecioBase(BigDecimal.valueOf(100));
 
-        // Mockear repositorios
+        // Mockear repositorios y motor de precios
         when(dispositivoRepository.findById(1L)).thenReturn(Optional.of(dispositivo));
+        CotizacionDTO cotizacion = new CotizacionDTO();
+        cotizacion.setPrecioFinal(BigDecimal.valueOf(100));
+        when(motorPreciosService.cotizar(eq(request), any())).thenReturn(cotizacion);
         when(ventaRepository.save(any(Venta.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Llamar al método
@@ -112,7 +81,11 @@ class VentaServiceTest {
 
         // Verificar interacciones
         verify(dispositivoRepository, times(1)).findById(1L);
+        verify(motorPreciosService, times(1)).cotizar(eq(request), any());
+        verify(motorPreciosService, never()).cotizar(request);
         verify(ventaRepository, times(1)).save(any(Venta.class));
+        verify(envioVentasService, times(1)).encolar(eq(result.getId()), any());
+        verify(analiticaVentasService, times(1)).registrar(List.of(result));
     }
 
     @Test
@@ -129,26 +102,58 @@ class VentaServiceTest {
 
         // Verificar que no se guardó ninguna venta
         verify(ventaRepository, never()).save(any());
+        verify(envioVentasService, never()).encolar(any(), any());
     }
 
     @Test
     void testRegistrarVentaEnServicioExterno() {
-        // Configurar el WebClient mockeado
-        configurarWebClientMock();
-
         // Datos de entrada
         Venta venta = new Venta();
+        venta.setId(7L);
         Dispositivo dispositivo = new Dispositivo();
         dispositivo.setIdExterno(1L);
         venta.setDispositivo(dispositivo);
+        Personalizacion personalizacion = new Personalizacion();
+        personalizacion.setId(2L);
+        personalizacion.setIdExterno(20L);
+        Opcion opcion = new Opcion();
+        opcion.setIdExterno(30L);
+        opcion.setPersonalizacion(personalizacion);
+        venta.addPersonalizaciones(personalizacion);
+        venta.addOpciones(opcion);
         venta.setPrecioFinal(BigDecimal.valueOf(150));
         venta.setFechaVenta(ZonedDateTime.now());
 
         // Llamar al método
         ventaService.registrarVentaEnServicioExterno(venta);
 
-        // Verificar que se llamó al método uri con el argumento correcto
-        verify(requestBodyUriSpecMock, times(1)).uri("/vender");
-        // Puedes agregar más verificaciones si es necesario
+        // Verificar que la venta se encoló con la opción elegida, sin consultar las opciones de la personalización
+        verify(envioVentasService, times(1)).encolar(
+            eq(7L),
+            argThat(
+                (VentaExternaDTO cuerpo) ->
+                    Long.valueOf(1L).equals(cuerpo.getIdDispositivo()) &&
+                    BigDecimal.valueOf(150).equals(cuerpo.getPrecioFinal()) &&
+                    cuerpo.getPersonalizaciones().size() == 1 &&
+                    Long.valueOf(20L).equals(cuerpo.getPersonalizaciones().get(0).getId()) &&
+                    Long.valueOf(30L).equals(cuerpo.getPersonalizaciones().get(0).getOpcion().getId())
+            )
+        );
+        verifyNoInteractions(opcionRepository);
+    }
+
+    @Test
+    void testRegistrarVentaEnServicioExterno_SinOpcion() {
+        Venta venta = new Venta();
+        venta.setId(7L);
+        venta.setDispositivo(new Dispositivo());
+        Personalizacion personalizacion = new Personalizacion();
+        personalizacion.setId(2L);
+        venta.addPersonalizaciones(personalizacion);
+        venta.setFechaVenta(ZonedDateTime.now());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ventaService.registrarVentaEnServicioExterno(venta));
+
+        verify(envioVentasService, never()).encolar(any(), any());
     }
 }
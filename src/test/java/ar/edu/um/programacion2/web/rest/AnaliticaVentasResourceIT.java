@@ -0,0 +1,87 @@
+package ar.edu.um.programacion2.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.security.AuthoritiesConstants;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link AnaliticaVentasResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class AnaliticaVentasResourceIT {
+
+    private static final String API_URL = "/api/analitica/ventas";
+
+    private static final LocalDate DIA = LocalDate.of(2001, 2, 3);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restAnaliticaMockMvc;
+
+    @Test
+    @Transactional
+    void getResumenDiario() throws Exception {
+        jdbcTemplate.update(
+            "insert into resumen_venta_dia (dia, dispositivo_id, moneda, cantidad, total) values (?, ?, ?, ?, ?)",
+            DIA,
+            Long.MAX_VALUE,
+            "EUR",
+            3,
+            "4500.50"
+        );
+
+        restAnaliticaMockMvc
+            .perform(get(API_URL + "/diario?desde={dia}&hasta={dia}&moneda=EUR", DIA, DIA))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].dia").value(hasItem(DIA.toString())))
+            .andExpect(jsonPath("$.[*].dispositivoId").value(hasItem(Long.MAX_VALUE)))
+            .andExpect(jsonPath("$.[*].cantidad").value(hasItem(3)))
+            .andExpect(jsonPath("$.[*].total").value(hasItem(4500.5)));
+    }
+
+    @Test
+    void getResumenDiarioWithInvalidRange() throws Exception {
+        restAnaliticaMockMvc.perform(get(API_URL + "/diario?desde=2026-10-18&hasta=2026-10-17")).andExpect(status().isBadRequest());
+        restAnaliticaMockMvc.perform(get(API_URL + "/por-moneda?desde=2020-01-01&hasta=2026-01-01")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMasVendidosWithInvalidLimit() throws Exception {
+        restAnaliticaMockMvc
+            .perform(get(API_URL + "/mas-vendidos?desde=2026-10-18&hasta=2026-10-18&tipo=ADICIONAL&limite=0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void reconstruirIsForbiddenForUsers() throws Exception {
+        restAnaliticaMockMvc.perform(post(API_URL + "/reconstruir?desde=2026-10-18&hasta=2026-10-18")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void reconstruir() throws Exception {
+        restAnaliticaMockMvc
+            .perform(post(API_URL + "/reconstruir?desde={dia}&hasta={dia}", DIA, DIA))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dias").value(1))
+            .andExpect(jsonPath("$.ventas").value(0));
+    }
+}
@@ -0,0 +1,165 @@
+package ar.edu.um.programacion2.web.rest;
+
+import static ar.edu.um.programacion2.CatalogoDePrueba.adicional;
+import static ar.edu.um.programacion2.CatalogoDePrueba.dispositivo;
+import static ar.edu.um.programacion2.CatalogoDePrueba.opcion;
+import static ar.edu.um.programacion2.CatalogoDePrueba.personalizacion;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import ar.edu.um.programacion2.IntegrationTest;
+import ar.edu.um.programacion2.domain.Caracteristica;
+import ar.edu.um.programacion2.domain.Dispositivo;
+import ar.edu.um.programacion2.domain.Personalizacion;
+import ar.edu.um.programacion2.service.InstantaneaCatalogoService;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link CatalogoResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CatalogoResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/catalogo";
+
+    private static final String CODIGO = "CATALOGO-IT";
+
+    private static final String DISPOSITIVO = "$[?(@.codigo == '" + CODIGO + "')]";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InstantaneaCatalogoService instantaneaCatalogoService;
+
+    @Autowired
+    private MockMvc restCatalogoMockMvc;
+
+    private Dispositivo dispositivo;
+
+    @BeforeEach
+    void initTest() {
+        dispositivo = transactionTemplate.execute(status -> {
+            Dispositivo nuevo = dispositivo(CODIGO, "100.00").idExterno(Long.MAX_VALUE - 20).nombre("Catálogo").descripcion("Catálogo");
+            em.persist(nuevo);
+            em.persist(new Caracteristica().idExterno(Long.MAX_VALUE - 20).nombre("Pantalla").descripcion("6 pulgadas").dispositivo(nuevo));
+            Personalizacion personalizacion = personalizacion(nuevo, "Color").idExterno(Long.MAX_VALUE - 20);
+            em.persist(personalizacion);
+            em.persist(opcion(personalizacion, "ROJO", "Rojo", "5.00").idExterno(Long.MAX_VALUE - 20));
+            em.persist(adicional(nuevo, "Funda", "10.00", "-1.00").idExterno(Long.MAX_VALUE - 20));
+            return nuevo;
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long id = dispositivo.getId();
+            em
+                .createQuery(
+                    "delete from Opcion o where o.personalizacion.id in (select p.id from Personalizacion p where p.dispositivo.id = :id)"
+                )
+                .setParameter("id", id)
+                .executeUpdate();
+            for (String entidad : new String[] { "Personalizacion", "Caracteristica", "Adicional" }) {
+                em.createQuery("delete from " + entidad + " e where e.dispositivo.id = :id").setParameter("id", id).executeUpdate();
+            }
+            em.createQuery("delete from Dispositivo d where d.id = :id").setParameter("id", id).executeUpdate();
+        });
+        instantaneaCatalogoService.invalidar();
+    }
+
+    @Test
+    void getCatalogo() throws Exception {
+        instantaneaCatalogoService.recargar();
+
+        restCatalogoMockMvc
+            .perform(get(ENTITY_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string(HttpHeaders.ETAG, "W/" + instantaneaCatalogoService.instantanea().etag()))
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andExpect(jsonPath(DISPOSITIVO + ".id").value(hasItem(dispositivo.getId().intValue())))
+            .andExpect(jsonPath(DISPOSITIVO + ".precioBase").value(hasItem(100.0)))
+            .andExpect(jsonPath(DISPOSITIVO + ".caracteristicas[0].nombre").value(hasItem("Pantalla")))
+            .andExpect(jsonPath(DISPOSITIVO + ".personalizaciones[0].opciones[0].codigo").value(hasItem("ROJO")))
+            .andExpect(jsonPath(DISPOSITIVO + ".personalizaciones[0].opciones[0].precioAdicional").value(hasItem(5.0)))
+            .andExpect(jsonPath(DISPOSITIVO + ".adicionales[0].precioGratis").value(hasItem(-1.0)));
+    }
+
+    @Test
+    void getCatalogoWithMatchingEtagIsNotModified() throws Exception {
+        String etag = "W/" + instantaneaCatalogoService.instantanea().etag();
+
+        restCatalogoMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(new byte[0]));
+
+        restCatalogoMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, "\"otro\""))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void getCatalogoCompressed() throws Exception {
+        InstantaneaCatalogoService.Instantanea instantanea = instantaneaCatalogoService.instantanea();
+
+        MvcResult result = restCatalogoMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.ETAG, "W/" + instantanea.etag()))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+            .andReturn();
+
+        assertThat(descomprimir(result.getResponse().getContentAsByteArray())).isEqualTo(instantanea.json());
+
+        restCatalogoMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void catalogoChangesAreSeenAfterCommit() throws Exception {
+        String etag = "W/" + instantaneaCatalogoService.instantanea().etag();
+
+        transactionTemplate.executeWithoutResult(status -> em.find(Dispositivo.class, dispositivo.getId()).setNombre("Renombrado"));
+
+        restCatalogoMockMvc
+            .perform(get(ENTITY_API_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+            .andExpect(jsonPath(DISPOSITIVO + ".nombre").value(hasItem("Renombrado")));
+    }
+
+    private static byte[] descomprimir(byte[] gzip) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return entrada.readAllBytes();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ar.edu.um.programacion2.web.rest;
 
 import static ar.edu.um.programacion2.domain.DispositivoAsserts.*;
+import static ar.edu.um.programacion2.web.rest.TestUtil.assertMaxSqlStatements;
 import static ar.edu.um.programacion2.web.rest.TestUtil.createUpdateProxyForBean;
 import static ar.edu.um.programacion2.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -275,9 +276,8 @@ class DispositivoResourceIT {
         // Initialize the database
         insertedDispositivo = dispositivoRepository.saveAndFlush(dispositivo);
 
-        // Get all the dispositivoList
-        restDispositivoMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+        // Get all the dispositivoList: the page and its count
+        assertMaxSqlStatements(2, () -> restDispositivoMockMvc.perform(get(ENTITY_API_URL + "?sort=id,desc")))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(dispositivo.getId().intValue())))
@@ -289,6 +289,20 @@ class DispositivoResourceIT {
             .andExpect(jsonPath("$.[*].moneda").value(hasItem(DEFAULT_MONEDA.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllDispositivosByCursor() throws Exception {
+        // Initialize the database
+        insertedDispositivo = dispositivoRepository.saveAndFlush(dispositivo);
+
+        // Get the window that ends at the last dispositivo
+        restDispositivoMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(dispositivo.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getDispositivo() throws Exception {
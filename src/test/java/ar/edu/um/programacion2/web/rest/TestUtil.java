@@ -2,6 +2,7 @@ package ar.edu.um.programacion2.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import ar.edu.um.programacion2.management.EstadisticasSql;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
@@ -12,6 +13,7 @@ import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.Callable;
 import org.hamcrest.Description;
 import org.hamcrest.TypeSafeDiagnosingMatcher;
 import org.hamcrest.TypeSafeMatcher;
@@ -180,6 +182,23 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Runs an action on the current thread, such as a {@code MockMvc} request, and asserts that it executed at most
+     * {@code max} SQL statements. Flush the pending changes before, or their statements are counted too.
+     *
+     * @param max the maximum number of SQL statements.
+     * @param action the action to run.
+     * @return the result of the action.
+     * @throws Exception if the action fails.
+     */
+    public static <T> T assertMaxSqlStatements(long max, Callable<T> action) throws Exception {
+        EstadisticasSql estadisticas = EstadisticasSql.delHilo();
+        EstadisticasSql.Medicion before = estadisticas.medicion();
+        T result = action.call();
+        assertThat(estadisticas.medicion().desde(before).sentencias()).as("SQL statements").isLessThanOrEqualTo(max);
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> T createUpdateProxyForBean(T update, T original) {
         Enhancer e = new Enhancer();
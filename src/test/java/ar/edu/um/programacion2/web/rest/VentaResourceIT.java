@@ -1,11 +1,16 @@
 package ar.edu.um.programacion2.web.rest;
 
 import static ar.edu.um.programacion2.domain.VentaAsserts.*;
+import static ar.edu.um.programacion2.web.rest.TestUtil.assertMaxSqlStatements;
 import static ar.edu.um.programacion2.web.rest.TestUtil.createUpdateProxyForBean;
 import static ar.edu.um.programacion2.web.rest.TestUtil.sameInstant;
 import static ar.edu.um.programacion2.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -17,6 +22,7 @@ import ar.edu.um.programacion2.repository.VentaRepository;
 import ar.edu.um.programacion2.service.VentaService;
 import ar.edu.um.programacion2.service.dto.VentaDTO;
 import ar.edu.um.programacion2.service.mapper.VentaMapper;
+import ar.edu.um.programacion2.web.rest.util.KeysetPagination;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
@@ -25,6 +31,7 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -37,9 +44,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -225,9 +234,8 @@ class VentaResourceIT {
         // Initialize the database
         insertedVenta = ventaRepository.saveAndFlush(venta);
 
-        // Get all the ventaList
-        restVentaMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+        // Get all the ventaList: the page, its count and the relationships of the whole page
+        assertMaxSqlStatements(3, () -> restVentaMockMvc.perform(get(ENTITY_API_URL + "?sort=id,desc")))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(venta.getId().intValue())))
@@ -235,6 +243,77 @@ class VentaResourceIT {
             .andExpect(jsonPath("$.[*].precioFinal").value(hasItem(sameNumber(DEFAULT_PRECIO_FINAL))));
     }
 
+    @Test
+    @Transactional
+    void getAllVentasByCursor() throws Exception {
+        // Initialize the database with ventas later than any other one
+        List<Venta> ventas = new ArrayList<>();
+        for (int dia = 1; dia <= 3; dia++) {
+            Venta nueva = createEntity(em).fechaVenta(ZonedDateTime.of(2100, 1, dia, 0, 0, 0, 0, ZoneOffset.UTC));
+            ventas.add(ventaRepository.saveAndFlush(nueva));
+        }
+
+        // Get the first window, without counting the ventas
+        String cursor = restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&sort=fechaVenta,desc&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(contains(ventas.get(2).getId().intValue(), ventas.get(1).getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader(KeysetPagination.NEXT_CURSOR_HEADER);
+
+        // Get the window after the cursor
+        restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=fechaVenta,desc&size=2").param(KeysetPagination.CURSOR_PARAMETER, cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(ventas.get(0).getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllVentasByInvalidCursor() throws Exception {
+        restVentaMockMvc.perform(get(ENTITY_API_URL + "?cursor=no-es-un-cursor")).andExpect(status().isBadRequest());
+        restVentaMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=precioFinal,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportVentasOfNonExistingDispositivo() throws Exception {
+        MvcResult csv = restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/export?dispositivoId={id}", Long.MAX_VALUE).accept(VentaResource.TEXT_CSV_VALUE))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restVentaMockMvc
+            .perform(asyncDispatch(csv))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(VentaResource.TEXT_CSV_VALUE))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("ventas.csv")))
+            .andExpect(content().string(startsWith("id,fechaVenta,dispositivoId,")))
+            .andExpect(content().string(endsWith(",personalizaciones,adicionales\n")));
+
+        MvcResult ndjson = restVentaMockMvc
+            .perform(get(ENTITY_API_URL + "/export?dispositivoId={id}", Long.MAX_VALUE).accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restVentaMockMvc
+            .perform(asyncDispatch(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void exportVentasWithInvalidRange() throws Exception {
+        restVentaMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/export?desde=2026-10-18T00:00:00Z&hasta=2026-10-17T00:00:00Z").accept(VentaResource.TEXT_CSV_VALUE)
+            )
+            .andExpect(status().isBadRequest());
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllVentasWithEagerRelationshipsIsEnabled() throws Exception {
         when(ventaServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));